@@ -0,0 +1,70 @@
+package com.dmdr.personal.portal.admin.observability.live;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost added to each captured request by {@link LiveEndpointMetrics#record}, spread over a number of endpoints
+ * with the wall clock driving bucket rotation. The budget is well under a microsecond per request.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -pl personal-portal-admin -am test -DskipTests -Djmh.args="LiveEndpointMetrics -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LiveEndpointMetricsBenchmark {
+
+    @Param({"1", "50"})
+    public int endpointCount;
+
+    private LiveEndpointMetrics metrics;
+    private String[] templatePaths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        metrics = new LiveEndpointMetrics(Clock.systemUTC());
+        templatePaths = new String[endpointCount];
+        for (int i = 0; i < endpointCount; i++) {
+            templatePaths[i] = "/api/v1/resource-" + i + "/{id}";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        private int sequence;
+    }
+
+    @Benchmark
+    public void record(Request request) {
+        int n = request.sequence++;
+        metrics.record(
+            "GET",
+            templatePaths[n % templatePaths.length],
+            n % 20 == 0 ? 500 : 200,
+            n & 255,
+            System.currentTimeMillis()
+        );
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended(Request request) {
+        record(request);
+    }
+}
@@ -0,0 +1,213 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of {@link RequestLogPersistenceGateway#enqueue} from many request threads at once, comparing the ring
+ * buffer gateway with the synchronized list and thread pool it replaced. The writer does nothing, so only the
+ * hand-off is measured. Each call first burns {@code requestWork} tokens of CPU, standing in for the request that
+ * produced the record, so producers cannot outrun the drainer just by spinning.
+ * <p>
+ * The {@code accepted} and {@code dropped} secondary results split the score: only {@code accepted} counts records
+ * that reached the buffer. A non-zero {@code dropped} means the drainer, not the producers, was the bottleneck, and
+ * the primary score overstates what the gateway sustained.
+ * <p>
+ * Producers beyond the host's cores only take turns on them, so the 4, 16 and 64 thread variants compare the
+ * gateways only on a host with at least that many cores; check {@code nproc} before reading the results.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -pl personal-portal-admin -am test -DskipTests -Djmh.args="RequestLogGateway"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLogGatewayBenchmark {
+
+    private static final RequestLogRecord RECORD = new RequestLogRecord(
+        "/api/v1/articles/42",
+        "/api/v1/articles/{id}",
+        "GET",
+        200,
+        12L,
+        null,
+        Instant.parse("2026-03-23T10:15:30Z"),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+
+    @Param({"synchronized-list", "mpsc-ring"})
+    public String gateway;
+
+    @Param({"1000"})
+    public long requestWork;
+
+    @Param({"1048576"})
+    public int bufferCapacity;
+
+    private Predicate<RequestLogRecord> target;
+    private AsyncRequestLogPersistenceGateway ringGateway;
+    private SynchronizedListGateway listGateway;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setAsyncBufferCapacity(bufferCapacity);
+        RequestLogWriter writer = records -> { };
+        if ("mpsc-ring".equals(gateway)) {
+            ringGateway = new AsyncRequestLogPersistenceGateway(writer, properties, new SimpleMeterRegistry());
+            target = ringGateway::tryEnqueue;
+        } else {
+            listGateway = new SynchronizedListGateway(writer, properties.getAsyncFlushBatchSize());
+            target = record -> {
+                listGateway.enqueue(record);
+                return true;
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (ringGateway != null) {
+            ringGateway.flushOnShutdown();
+        }
+        if (listGateway != null) {
+            listGateway.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void enqueue1Thread(Outcome outcome) {
+        enqueue(outcome);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void enqueue4Threads(Outcome outcome) {
+        enqueue(outcome);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void enqueue16Threads(Outcome outcome) {
+        enqueue(outcome);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void enqueue64Threads(Outcome outcome) {
+        enqueue(outcome);
+    }
+
+    private void enqueue(Outcome outcome) {
+        Blackhole.consumeCPU(requestWork);
+        if (target.test(RECORD)) {
+            outcome.accepted++;
+        } else {
+            outcome.dropped++;
+        }
+    }
+
+    /**
+     * Per-thread split of the primary score into records that reached the buffer and records that were dropped.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcome {
+
+        public long accepted;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            dropped = 0;
+        }
+    }
+
+    /**
+     * The gateway before the ring buffer: every request thread takes one lock to append, and the thread that fills
+     * a batch hands the flush to the former default pool (2-4 threads, 1000-task queue, discard policy). The timed
+     * flush is left out, as it ran once per second.
+     */
+    static final class SynchronizedListGateway implements RequestLogPersistenceGateway {
+
+        private final RequestLogWriter requestLogWriter;
+        private final int flushBatchSize;
+        private final Object bufferLock = new Object();
+        private final List<RequestLogRecord> buffer;
+        private final ExecutorService executor = new ThreadPoolExecutor(
+            2,
+            4,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000),
+            new ThreadPoolExecutor.DiscardPolicy()
+        );
+
+        SynchronizedListGateway(RequestLogWriter requestLogWriter, int flushBatchSize) {
+            this.requestLogWriter = requestLogWriter;
+            this.flushBatchSize = flushBatchSize;
+            this.buffer = new ArrayList<>(flushBatchSize);
+        }
+
+        @Override
+        public void enqueue(RequestLogRecord record) {
+            boolean shouldFlushBySize;
+            synchronized (bufferLock) {
+                buffer.add(record);
+                shouldFlushBySize = buffer.size() >= flushBatchSize;
+            }
+            if (shouldFlushBySize) {
+                executor.execute(this::persistBuffer);
+            }
+        }
+
+        void shutdown() {
+            executor.shutdownNow();
+        }
+
+        private void persistBuffer() {
+            List<RequestLogRecord> toPersist;
+            synchronized (bufferLock) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                toPersist = new ArrayList<>(buffer);
+                buffer.clear();
+            }
+            requestLogWriter.persistBatch(toPersist);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sustained insert rate of {@link JdbcRequestLogWriter} in each {@link RequestLogWriteMode}, against a real
+ * PostgreSQL with the migrated {@code request_log} table; no Testcontainers. The {@code rows} line of the result
+ * is rows per second. Rows written are deleted at tear-down.
+ * <p>
+ * Defaults match the {@code dev} profile database; override with {@code -Dbenchmark.jdbc.url=...},
+ * {@code -Dbenchmark.jdbc.username=...} and {@code -Dbenchmark.jdbc.password=...}. Run with
+ * {@code mvn -Pbenchmark -pl personal-portal-admin -am test -DskipTests -Djmh.args="RequestLogWriter"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RequestLogWriterBenchmark {
+
+    private static final String PATH_PREFIX = "/jmh/request-log-writer/";
+
+    @Param({"COPY", "JDBC_BATCH"})
+    public RequestLogWriteMode mode;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcRequestLogWriter writer;
+    private List<RequestLogRecord> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+            System.getProperty(
+                "benchmark.jdbc.url",
+                "jdbc:postgresql://localhost:5422/personal_portal?reWriteBatchedInserts=true"
+            ),
+            System.getProperty("benchmark.jdbc.username", "postgres"),
+            System.getProperty("benchmark.jdbc.password", "password"),
+            true
+        );
+        dataSource.setAutoCommit(false);
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setWriteMode(mode);
+        writer = new JdbcRequestLogWriter(
+            new JdbcTemplate(dataSource),
+            new DataSourceTransactionManager(dataSource),
+            properties,
+            Clock.systemUTC()
+        );
+        // Sized like real rows: sanitized headers on every record, a body on some, error text on one in ten.
+        // user_id is left null because it references users.
+        batch = IntStream.range(0, batchSize)
+            .mapToObj(i -> new RequestLogRecord(
+                PATH_PREFIX + i,
+                PATH_PREFIX + "{id}",
+                i % 3 == 0 ? "POST" : "GET",
+                i % 10 == 0 ? 500 : 200,
+                i % 250,
+                null,
+                Instant.now(),
+                i % 10 == 0 ? "INTERNAL_ERROR" : null,
+                i % 10 == 0 ? "Unexpected failure while loading resource " + i : null,
+                i % 3 == 0 ? "{\"title\":\"Benchmark article " + i + "\",\"email\":\"***\"}" : null,
+                "{\"Accept\":[\"application/json\"],\"Authorization\":[\"***\"],\"User-Agent\":[\"jmh\"]}",
+                "{\"Content-Type\":[\"application/json\"]}",
+                i % 10 == 0 ? "java.lang.IllegalStateException: boom\n\tat example.Service.load(Service.java:42)" : null
+            ))
+            .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+            new JdbcTemplate(dataSource).update("DELETE FROM request_log WHERE path LIKE ?", PATH_PREFIX + "%")
+        );
+        dataSource.destroy();
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Benchmark
+    public void persistBatch(Rows rows) {
+        writer.persistBatch(batch);
+        rows.rows += batchSize;
+    }
+}
@@ -1,9 +1,7 @@
 package com.dmdr.personal.portal.admin.observability;
 
-import java.util.concurrent.ThreadPoolExecutor;
 import com.dmdr.personal.portal.admin.observability.capture.RequestLoggingFilter;
 import java.time.Clock;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -14,10 +12,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
- * Binds {@link RequestLogObservabilityProperties} and provides the async executor used for request-log writes.
+ * Binds {@link RequestLogObservabilityProperties} and registers the request logging filter.
  * Scheduled retention/rollup jobs should use {@code zone = "UTC"} on {@code @Scheduled} with the cron strings from properties.
  */
 @AutoConfiguration
@@ -25,32 +22,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @EnableConfigurationProperties(RequestLogObservabilityProperties.class)
 @EnableAsync
 @EnableScheduling
-@Slf4j
 public class RequestLogObservabilityAutoConfiguration {
 
-	public static final String REQUEST_LOG_TASK_EXECUTOR_BEAN_NAME = "requestLogTaskExecutor";
 	public static final int REQUEST_LOGGING_FILTER_ORDER_AFTER_SECURITY = -90;
 
-	@Bean(name = REQUEST_LOG_TASK_EXECUTOR_BEAN_NAME)
-	public ThreadPoolTaskExecutor requestLogTaskExecutor(RequestLogObservabilityProperties properties) {
-		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-		executor.setCorePoolSize(properties.getAsyncCorePoolSize());
-		executor.setMaxPoolSize(properties.getAsyncMaxPoolSize());
-		executor.setQueueCapacity(properties.getAsyncQueueCapacity());
-		executor.setThreadNamePrefix("request-log-");
-		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
-		executor.setWaitForTasksToCompleteOnShutdown(false);
-		executor.setAcceptTasksAfterContextClose(false);
-		executor.initialize();
-		log.info(
-			"Request-log async executor configured: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
-			properties.getAsyncCorePoolSize(),
-			properties.getAsyncMaxPoolSize(),
-			properties.getAsyncQueueCapacity()
-		);
-		return executor;
-	}
-
 	@Bean
 	public Clock requestLogClock() {
 		return Clock.systemUTC();
@@ -1,5 +1,7 @@
 package com.dmdr.personal.portal.admin.observability;
 
+import com.dmdr.personal.portal.admin.observability.persistence.RequestLogBackpressurePolicy;
+import com.dmdr.personal.portal.admin.observability.persistence.RequestLogWriteMode;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -34,14 +36,20 @@ public class RequestLogObservabilityProperties {
 	private boolean retentionJobEnabled = true;
 
 	/**
-	 * Max rows to delete per SQL statement during retention cleanup.
+	 * Cron for creating upcoming {@code request_log} day partitions (Spring {@code @Scheduled} — use {@code zone} UTC
+	 * on the job). The job also runs once at startup.
 	 */
-	private int retentionDeleteBatchSize = 500;
+	private String partitionCron = "0 30 * * * *";
 
 	/**
-	 * Upper bound for delete batches in one retention run to avoid long DB spikes.
+	 * Enables/disables the partition creation job.
 	 */
-	private int retentionMaxBatchesPerRun = 200;
+	private boolean partitionJobEnabled = true;
+
+	/**
+	 * Days after today (UTC) that must already have a {@code request_log} partition.
+	 */
+	private int partitionPremakeDays = 7;
 
 	/**
 	 * Cron for hourly rollup (Spring {@code @Scheduled} — use {@code zone} UTC on the job).
@@ -58,11 +66,20 @@ public class RequestLogObservabilityProperties {
 	 */
 	private int rollupBatchSize = 1000;
 
-	private int asyncCorePoolSize = 2;
+	/**
+	 * Records buffered in memory between request threads and the request-log drainer (rounded up to a power of two).
+	 */
+	private int asyncBufferCapacity = 8192;
 
-	private int asyncMaxPoolSize = 4;
+	/**
+	 * What request threads do when the buffer is full.
+	 */
+	private RequestLogBackpressurePolicy asyncBackpressure = RequestLogBackpressurePolicy.DROP;
 
-	private int asyncQueueCapacity = 1000;
+	/**
+	 * Longest a request thread waits for buffer space under {@link RequestLogBackpressurePolicy#WAIT}.
+	 */
+	private long asyncBackpressureMaxWaitMs = 50;
 
 	/**
 	 * Max in-memory request-log records per flush batch.
@@ -74,6 +91,11 @@ public class RequestLogObservabilityProperties {
 	 */
 	private long asyncFlushIntervalMs = 1000;
 
+	/**
+	 * How flush batches are written: PostgreSQL COPY, or a JDBC batch of inserts.
+	 */
+	private RequestLogWriteMode writeMode = RequestLogWriteMode.COPY;
+
 	/**
 	 * Enables/disables request body capture for observability logs.
 	 */
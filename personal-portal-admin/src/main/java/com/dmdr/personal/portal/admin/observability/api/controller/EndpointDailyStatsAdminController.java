@@ -8,6 +8,7 @@ import com.dmdr.personal.portal.admin.observability.api.EndpointStatsPeriodQuery
 import com.dmdr.personal.portal.admin.observability.api.EndpointTopErrorsQuery;
 import com.dmdr.personal.portal.admin.observability.service.EndpointStatsDailyQueryService;
 import com.dmdr.personal.portal.admin.observability.api.mapper.EndpointStatsDailyMapper;
+import com.dmdr.personal.portal.admin.observability.api.response.EndpointLatencyPercentilesResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.EndpointStatsDailyResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.EndpointStatsPeriodResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.TopErrorEndpointResponse;
@@ -86,6 +87,27 @@ public class EndpointDailyStatsAdminController {
         return queryService.searchPeriod(query);
     }
 
+    @GetMapping("/period/latency")
+    public List<EndpointLatencyPercentilesResponse> periodLatency(
+        @RequestParam LocalDate from,
+        @RequestParam LocalDate to,
+        @RequestParam List<String> methods,
+        @RequestParam List<String> templatePaths
+    ) {
+        validatePeriodRange(from, to);
+        List<String> normalizedMethods = normalizedMethods(methods);
+        List<String> normalizedTemplatePaths = normalizedTemplatePaths(templatePaths);
+        validateNonEmptyListFilter("methods", normalizedMethods);
+        validateNonEmptyListFilter("templatePaths", normalizedTemplatePaths);
+        EndpointStatsPeriodQuery query = new EndpointStatsPeriodQuery(
+            from,
+            to,
+            normalizedMethods,
+            normalizedTemplatePaths
+        );
+        return queryService.searchLatencyPercentiles(query);
+    }
+
     @GetMapping("/period/top-errors")
     public Page<TopErrorEndpointResponse> topErrors(
         @RequestParam LocalDate from,
@@ -0,0 +1,35 @@
+package com.dmdr.personal.portal.admin.observability.api.controller;
+
+import com.dmdr.personal.portal.admin.observability.api.response.LiveEndpointStatsResponse;
+import com.dmdr.personal.portal.admin.observability.live.LiveEndpointMetrics;
+import com.dmdr.personal.portal.admin.observability.live.LiveWindow;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Public endpoint contract in docs/observability/admin-observability-public-api.md.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/observability/endpoint-stats/live")
+public class LiveEndpointStatsAdminController {
+
+    private final LiveEndpointMetrics liveEndpointMetrics;
+
+    public LiveEndpointStatsAdminController(LiveEndpointMetrics liveEndpointMetrics) {
+        this.liveEndpointMetrics = liveEndpointMetrics;
+    }
+
+    @GetMapping
+    public List<LiveEndpointStatsResponse> list(@RequestParam(defaultValue = "5m") String window) {
+        LiveWindow liveWindow = LiveWindow.fromCode(window.trim());
+        if (liveWindow == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'window' must be one of 5m, 1h");
+        }
+        return liveEndpointMetrics.snapshot(liveWindow);
+    }
+}
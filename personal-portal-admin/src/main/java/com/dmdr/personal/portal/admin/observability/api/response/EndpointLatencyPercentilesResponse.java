@@ -0,0 +1,16 @@
+package com.dmdr.personal.portal.admin.observability.api.response;
+
+/**
+ * Period latency percentiles per endpoint, merged from the daily rollup histograms.
+ * Values are in milliseconds and accurate to within 2%.
+ * See docs/observability/design/rest-request-observability.md.
+ */
+public record EndpointLatencyPercentilesResponse(
+    String method,
+    String templatePath,
+    long sampleCount,
+    long p50Ms,
+    long p95Ms,
+    long p99Ms
+) {
+}
@@ -0,0 +1,16 @@
+package com.dmdr.personal.portal.admin.observability.api.response;
+
+/**
+ * Recent endpoint stats served from memory; latency values are in milliseconds.
+ * See docs/observability/admin-observability-public-api.md.
+ */
+public record LiveEndpointStatsResponse(
+    String method,
+    String templatePath,
+    long totalCount,
+    long errorCount,
+    long p50Ms,
+    long p95Ms,
+    long p99Ms
+) {
+}
@@ -1,10 +1,12 @@
 package com.dmdr.personal.portal.admin.observability.capture;
 
 import com.dmdr.personal.portal.admin.observability.classification.HttpOutcomeClassifier;
+import com.dmdr.personal.portal.admin.observability.live.LiveEndpointMetrics;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogPersistenceGateway;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecord;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecordFactory;
 import com.dmdr.personal.portal.admin.observability.routing.RequestLoggingPathPolicy;
+import com.dmdr.personal.portal.core.web.RequestClassification;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,17 +34,20 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     private final RequestLoggingPathPolicy pathPolicy;
     private final RequestLogRecordFactory requestLogRecordFactory;
     private final RequestLogPersistenceGateway persistenceGateway;
+    private final LiveEndpointMetrics liveEndpointMetrics;
     private final Clock clock;
 
     public RequestLoggingFilter(
         RequestLoggingPathPolicy pathPolicy,
         RequestLogRecordFactory requestLogRecordFactory,
         RequestLogPersistenceGateway persistenceGateway,
+        LiveEndpointMetrics liveEndpointMetrics,
         Clock clock
     ) {
         this.pathPolicy = Objects.requireNonNull(pathPolicy, "pathPolicy must not be null");
         this.requestLogRecordFactory = Objects.requireNonNull(requestLogRecordFactory, "requestLogRecordFactory must not be null");
         this.persistenceGateway = Objects.requireNonNull(persistenceGateway, "persistenceGateway must not be null");
+        this.liveEndpointMetrics = Objects.requireNonNull(liveEndpointMetrics, "liveEndpointMetrics must not be null");
         this.clock = Objects.requireNonNull(clock, "clock must not be null");
     }
 
@@ -54,8 +59,8 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     )
         throws ServletException, IOException {
         HttpServletRequest requestToProcess = wrapIfNeeded(request);
-        String path = requestToProcess.getRequestURI();
-        if (!pathPolicy.shouldCaptureAtAll(path)) {
+        RequestClassification classification = RequestClassification.of(requestToProcess);
+        if (!pathPolicy.shouldCaptureAtAll(classification)) {
             chain.doFilter(requestToProcess, response);
             return;
         }
@@ -65,7 +70,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             chain.doFilter(requestToProcess, response);
         } finally {
             RequestLogCaptureContext.current(requestToProcess)
-                .ifPresent(context -> finalizeAndEnqueue(path, requestToProcess, response, context));
+                .ifPresent(context -> finalizeAndEnqueue(classification, requestToProcess, response, context));
         }
     }
 
@@ -87,7 +92,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     }
 
     private void finalizeAndEnqueue(
-        String path,
+        RequestClassification classification,
         HttpServletRequest request,
         HttpServletResponse response,
         RequestLogCaptureContext context
@@ -95,14 +100,22 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         mergeErrorAttributes(request, context);
 
         int status = response.getStatus();
-        if (pathPolicy.shouldSkipSuccess(path) && HttpOutcomeClassifier.isSuccess(status)) {
+        if (pathPolicy.shouldSkipSuccess(classification) && HttpOutcomeClassifier.isSuccess(status)) {
             return;
         }
-        if (pathPolicy.isProbablyStaticAsset(path, null)) {
+        if (pathPolicy.isProbablyStaticAsset(classification, null)) {
             return;
         }
 
         RequestLogRecord record = requestLogRecordFactory.build(request, response, context);
+        // Same requests as the persisted log, so live and rolled-up stats agree; counted even if the queue drops it
+        liveEndpointMetrics.record(
+            record.method(),
+            record.templatePath(),
+            record.status(),
+            record.durationMs(),
+            record.createdAt().toEpochMilli()
+        );
         persistenceGateway.enqueue(record);
     }
 
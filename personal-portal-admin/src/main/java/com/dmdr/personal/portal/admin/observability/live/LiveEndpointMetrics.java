@@ -0,0 +1,199 @@
+package com.dmdr.personal.portal.admin.observability.live;
+
+import com.dmdr.personal.portal.admin.observability.api.response.LiveEndpointStatsResponse;
+import com.dmdr.personal.portal.admin.observability.classification.HttpOutcomeClassifier;
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-endpoint request counts, errors and latency over the last five minutes and the last hour, updated by
+ * {@code RequestLoggingFilter} as each request completes. Unlike {@code endpoint_stats}, nothing waits for the
+ * hourly rollup or reads {@code request_log} back.
+ * <p>
+ * Each endpoint keeps a ring of one-second buckets (counts) and a ring of one-minute buckets (counts and a
+ * {@link LatencyHistogram}-compatible histogram). Recording is lock-free: a bucket that has rotated out of its slot
+ * is replaced by compare-and-set, and counters are {@link LongAdder}/{@link AtomicLongArray}. A request finishing
+ * exactly as its slot rotates may be counted in the discarded bucket, which is an accepted inaccuracy.
+ */
+@Component
+@Slf4j
+public class LiveEndpointMetrics {
+
+    static final int SECONDS_RETAINED = 300;
+    static final int MINUTES_RETAINED = 60;
+    static final int MAX_ENDPOINTS = 1000;
+
+    private final Map<EndpointKey, EndpointWindows> endpoints = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public LiveEndpointMetrics(Clock clock) {
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    public void record(String method, String templatePath, int status, long durationMs, long epochMillis) {
+        EndpointWindows windows = windowsFor(new EndpointKey(method, templatePath));
+        if (windows == null) {
+            return;
+        }
+        boolean error = !HttpOutcomeClassifier.isSuccess(status);
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+
+        SecondBucket second = bucketFor(windows.seconds, epochSecond, SecondBucket::new);
+        if (second != null) {
+            second.add(error);
+        }
+        MinuteBucket minute = bucketFor(windows.minutes, Math.floorDiv(epochSecond, 60L), MinuteBucket::new);
+        if (minute != null) {
+            minute.add(error);
+            minute.latency.incrementAndGet(LatencyHistogram.bucketOf(durationMs));
+        }
+    }
+
+    /**
+     * Counts come from the one-second buckets of the window. Percentiles come from the one-minute buckets that
+     * overlap it, so for {@link LiveWindow#LAST_5_MINUTES} they also cover the seconds before the window start
+     * within its oldest minute.
+     *
+     * @return endpoints with requests in the window, busiest first
+     */
+    public List<LiveEndpointStatsResponse> snapshot(LiveWindow window) {
+        long nowSecond = Math.floorDiv(clock.millis(), 1000L);
+        long nowMinute = Math.floorDiv(nowSecond, 60L);
+        long fromMinute = nowMinute - window.minutes() + 1;
+
+        List<LiveEndpointStatsResponse> result = new ArrayList<>();
+        for (Map.Entry<EndpointKey, EndpointWindows> entry : endpoints.entrySet()) {
+            EndpointWindows windows = entry.getValue();
+            long totalCount = 0;
+            long errorCount = 0;
+            if (window == LiveWindow.LAST_5_MINUTES) {
+                long fromSecond = nowSecond - SECONDS_RETAINED + 1;
+                for (int i = 0; i < windows.seconds.length(); i++) {
+                    SecondBucket bucket = windows.seconds.get(i);
+                    if (bucket != null && bucket.epoch >= fromSecond && bucket.epoch <= nowSecond) {
+                        totalCount += bucket.count.sum();
+                        errorCount += bucket.errors.sum();
+                    }
+                }
+            }
+
+            LatencyHistogram latency = new LatencyHistogram();
+            for (int i = 0; i < windows.minutes.length(); i++) {
+                MinuteBucket bucket = windows.minutes.get(i);
+                if (bucket != null && bucket.epoch >= fromMinute && bucket.epoch <= nowMinute) {
+                    if (window == LiveWindow.LAST_HOUR) {
+                        totalCount += bucket.count.sum();
+                        errorCount += bucket.errors.sum();
+                    }
+                    for (int b = 0; b < bucket.latency.length(); b++) {
+                        long count = bucket.latency.get(b);
+                        if (count > 0) {
+                            latency.add(b, count);
+                        }
+                    }
+                }
+            }
+
+            if (totalCount > 0 && !latency.isEmpty()) {
+                result.add(new LiveEndpointStatsResponse(
+                    entry.getKey().method(),
+                    entry.getKey().templatePath(),
+                    totalCount,
+                    errorCount,
+                    latency.percentile(0.50),
+                    latency.percentile(0.95),
+                    latency.percentile(0.99)
+                ));
+            }
+        }
+        result.sort(Comparator.comparingLong(LiveEndpointStatsResponse::totalCount).reversed()
+            .thenComparing(LiveEndpointStatsResponse::method)
+            .thenComparing(LiveEndpointStatsResponse::templatePath));
+        return result;
+    }
+
+    private EndpointWindows windowsFor(EndpointKey key) {
+        EndpointWindows windows = endpoints.get(key);
+        if (windows != null) {
+            return windows;
+        }
+        // Template paths are bounded, but methods come from clients; stop tracking new endpoints past the cap
+        if (endpoints.size() >= MAX_ENDPOINTS) {
+            log.debug("Live endpoint metrics full, not tracking {} {}", key.method(), key.templatePath());
+            return null;
+        }
+        return endpoints.computeIfAbsent(key, ignored -> new EndpointWindows());
+    }
+
+    /**
+     * @return the bucket for {@code epoch}, replacing an older one in its slot, or null if the slot already moved
+     *         past {@code epoch} (a request that finished more than one ring length ago)
+     */
+    private static <B extends Bucket> B bucketFor(AtomicReferenceArray<B> ring, long epoch, LongFunction<B> factory) {
+        int slot = (int) Math.floorMod(epoch, (long) ring.length());
+        while (true) {
+            B bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch == epoch) {
+                return bucket;
+            }
+            if (bucket != null && bucket.epoch > epoch) {
+                return null;
+            }
+            B fresh = factory.apply(epoch);
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private record EndpointKey(String method, String templatePath) {
+    }
+
+    private static final class EndpointWindows {
+        private final AtomicReferenceArray<SecondBucket> seconds = new AtomicReferenceArray<>(SECONDS_RETAINED);
+        private final AtomicReferenceArray<MinuteBucket> minutes = new AtomicReferenceArray<>(MINUTES_RETAINED);
+    }
+
+    private abstract static class Bucket {
+        final long epoch;
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void add(boolean error) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+
+    private static final class SecondBucket extends Bucket {
+        SecondBucket(long epochSecond) {
+            super(epochSecond);
+        }
+    }
+
+    private static final class MinuteBucket extends Bucket {
+        final AtomicLongArray latency = new AtomicLongArray(LatencyHistogram.bucketCount());
+
+        MinuteBucket(long epochMinute) {
+            super(epochMinute);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dmdr.personal.portal.admin.observability.live;
+
+/**
+ * Time windows served from {@link LiveEndpointMetrics}.
+ */
+public enum LiveWindow {
+    LAST_5_MINUTES("5m", 5),
+    LAST_HOUR("1h", 60);
+
+    private final String code;
+    private final int minutes;
+
+    LiveWindow(String code, int minutes) {
+        this.code = code;
+        this.minutes = minutes;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int minutes() {
+        return minutes;
+    }
+
+    /**
+     * @return the window for a request parameter such as {@code 5m}, or null if there is none
+     */
+    public static LiveWindow fromCode(String code) {
+        for (LiveWindow window : values()) {
+            if (window.code.equalsIgnoreCase(code)) {
+                return window;
+            }
+        }
+        return null;
+    }
+}
@@ -5,11 +5,13 @@ import com.dmdr.personal.portal.admin.observability.classification.HttpOutcomeBu
 import com.dmdr.personal.portal.admin.observability.classification.HttpOutcomeClassifier;
 import com.dmdr.personal.portal.admin.observability.model.EndpointRequestStatsDailyEntity;
 import com.dmdr.personal.portal.admin.observability.model.CheckpointEntity;
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
 import com.dmdr.personal.portal.admin.observability.model.RequestLogEntity;
 import com.dmdr.personal.portal.admin.observability.repository.EndpointRequestStatsDailyRepository;
 import com.dmdr.personal.portal.admin.observability.repository.ObservabilityRollupCheckpointRepository;
 import com.dmdr.personal.portal.admin.observability.repository.RequestLogRepository;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -31,6 +33,13 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
 
     static final String ROLLUP_JOB_NAME = "endpoint_stats_rollup";
 
+    /**
+     * How far before the last processed row's {@code created_at} the cursor still looks. {@code created_at} is
+     * stamped when a batch is written, just before its ids are drawn, so a later id never carries a much earlier
+     * timestamp; the margin covers clock differences between instances.
+     */
+    static final Duration CREATED_AT_LOOKBACK = Duration.ofHours(1);
+
     private final RequestLogRepository requestLogRepository;
     private final EndpointRequestStatsDailyRepository endpointRequestStatsDailyRepository;
     private final ObservabilityRollupCheckpointRepository checkpointRepository;
@@ -68,10 +77,7 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
         }
 
         long startIdExclusive = checkpoint.getLastProcessedRequestLogId();
-        List<RequestLogEntity> logs = requestLogRepository.findByIdGreaterThanOrderByIdAsc(
-            startIdExclusive,
-            PageRequest.of(0, batchSize)
-        );
+        List<RequestLogEntity> logs = findLogsAfter(checkpoint, PageRequest.of(0, batchSize));
 
         if (logs.isEmpty()) {
             ensureTodayZeroRows(todayUtc);
@@ -84,15 +90,17 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
 
         Map<AggregateKey, AggregateDelta> deltas = new LinkedHashMap<>();
         long maxProcessedId = startIdExclusive;
+        Instant maxProcessedCreatedAt = checkpoint.getLastProcessedCreatedAt();
         for (RequestLogEntity log : logs) {
             AggregateKey key = new AggregateKey(
                 log.getCreatedAt().atZone(ZoneOffset.UTC).toLocalDate(),
                 log.getMethod(),
                 log.getTemplatePath()
             );
-            deltas.computeIfAbsent(key, ignored -> new AggregateDelta()).increment(log.getStatus());
-            if (log.getId() != null) {
-                maxProcessedId = Math.max(maxProcessedId, log.getId());
+            deltas.computeIfAbsent(key, ignored -> new AggregateDelta()).increment(log.getStatus(), log.getDurationMs());
+            if (log.getId() != null && log.getId() > maxProcessedId) {
+                maxProcessedId = log.getId();
+                maxProcessedCreatedAt = log.getCreatedAt();
             }
         }
 
@@ -102,6 +110,7 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
         ensureTodayZeroRows(todayUtc);
 
         checkpoint.setLastProcessedRequestLogId(maxProcessedId);
+        checkpoint.setLastProcessedCreatedAt(maxProcessedCreatedAt);
         checkpoint.setUpdatedAt(now);
         checkpointRepository.save(checkpoint);
         log.info(
@@ -112,6 +121,23 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
         );
     }
 
+    /**
+     * With a known {@code created_at} for the checkpoint, the query also bounds {@code created_at} so PostgreSQL
+     * prunes the older {@code request_log} partitions instead of probing each one's id index.
+     */
+    private List<RequestLogEntity> findLogsAfter(CheckpointEntity checkpoint, PageRequest page) {
+        long startIdExclusive = checkpoint.getLastProcessedRequestLogId();
+        Instant lastProcessedCreatedAt = checkpoint.getLastProcessedCreatedAt();
+        if (lastProcessedCreatedAt == null) {
+            return requestLogRepository.findByIdGreaterThanOrderByIdAsc(startIdExclusive, page);
+        }
+        return requestLogRepository.findByCreatedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+            lastProcessedCreatedAt.minus(CREATED_AT_LOOKBACK),
+            startIdExclusive,
+            page
+        );
+    }
+
     @SuppressWarnings("null")
     private void ensureTodayZeroRows(LocalDate todayUtc) {
         for (EndpointRequestStatsDailyRepository.MethodTemplatePairProjection pair : endpointRequestStatsDailyRepository.findDistinctMethodTemplatePairs()) {
@@ -141,6 +167,11 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
         stats.setClientErrorCount(stats.getClientErrorCount() + delta.clientErrorCount);
         stats.setServerErrorCount(stats.getServerErrorCount() + delta.serverErrorCount);
         stats.setOtherNonSuccessCount(stats.getOtherNonSuccessCount() + delta.otherNonSuccessCount);
+        if (!delta.latency.isEmpty()) {
+            LatencyHistogram latency = LatencyHistogram.fromBytes(stats.getLatencyHistogram());
+            latency.merge(delta.latency);
+            stats.setLatencyHistogram(latency.toBytes());
+        }
 
         endpointRequestStatsDailyRepository.save(stats);
     }
@@ -178,9 +209,13 @@ public class DefaultEndpointRequestStatsRollupService implements EndpointRequest
         private long clientErrorCount;
         private long serverErrorCount;
         private long otherNonSuccessCount;
+        private final LatencyHistogram latency = new LatencyHistogram();
 
-        private void increment(int status) {
+        private void increment(int status, Long durationMs) {
             totalCount++;
+            if (durationMs != null) {
+                latency.record(durationMs);
+            }
             HttpOutcomeBucket bucket = HttpOutcomeClassifier.classify(status);
             switch (bucket) {
                 case SUCCESS_2XX -> successCount++;
@@ -0,0 +1,62 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository.RequestLogDayPartition;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates the day partitions for today and the next {@code partition-premake-days} days (UTC). {@code request_log}
+ * has no default partition, so a row for a day without one fails to insert; creating days a week early leaves
+ * room for several missed runs.
+ */
+@Service
+@Slf4j
+public class DefaultRequestLogPartitionService implements RequestLogPartitionService {
+
+    private final RequestLogPartitionRepository partitionRepository;
+    private final RequestLogObservabilityProperties properties;
+    private final Clock clock;
+
+    public DefaultRequestLogPartitionService(
+        RequestLogPartitionRepository partitionRepository,
+        RequestLogObservabilityProperties properties,
+        Clock clock
+    ) {
+        this.partitionRepository = Objects.requireNonNull(partitionRepository, "partitionRepository must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    @Override
+    public void ensureUpcomingPartitions() {
+        int premakeDays = properties.getPartitionPremakeDays();
+        if (premakeDays < 0) {
+            throw new IllegalArgumentException("partitionPremakeDays must be >= 0");
+        }
+        if (!partitionRepository.isPartitioned()) {
+            log.info("Request-log partition creation skipped: request_log is not a partitioned PostgreSQL table");
+            return;
+        }
+        Set<LocalDate> existing = partitionRepository.findDayPartitions().stream()
+            .map(RequestLogDayPartition::day)
+            .collect(Collectors.toSet());
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        int created = 0;
+        for (int i = 0; i <= premakeDays; i++) {
+            LocalDate day = today.plusDays(i);
+            if (!existing.contains(day)) {
+                partitionRepository.createDayPartition(day);
+                created++;
+            }
+        }
+        log.info("Request-log partitions ready through {}: created={}", today.plusDays(premakeDays), created);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository.RequestLogDayPartition;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Retention by partition: a day's success or failure partition is detached and dropped once the whole day is
+ * past that outcome's retention window, and the day partition itself once both are. Dropping a table is a
+ * catalog change, so the cost no longer grows with the number of expired rows and leaves no dead tuples behind.
+ * Rows therefore live up to one day longer than their window.
+ * See docs/observability/dev/rest-request-observability-impl-plan-composer.md (Phase D / Step D1).
+ */
+@Service
+@Slf4j
+public class PartitionDropRequestLogRetentionService implements RequestLogRetentionService {
+
+    private final RequestLogPartitionRepository partitionRepository;
+    private final RequestLogObservabilityProperties properties;
+    private final Clock clock;
+
+    public PartitionDropRequestLogRetentionService(
+        RequestLogPartitionRepository partitionRepository,
+        RequestLogObservabilityProperties properties,
+        Clock clock
+    ) {
+        this.partitionRepository = Objects.requireNonNull(partitionRepository, "partitionRepository must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    @Override
+    public void purgeExpiredDetailRows() {
+        if (!partitionRepository.isPartitioned()) {
+            log.warn("Request-log retention skipped: request_log is not a partitioned PostgreSQL table");
+            return;
+        }
+        Instant now = Instant.now(clock);
+        Instant successCutoff = now.minus(properties.getRetentionSuccessDays(), ChronoUnit.DAYS);
+        Instant failureCutoff = now.minus(properties.getRetentionFailureDays(), ChronoUnit.DAYS);
+
+        int daysDropped = 0;
+        int outcomePartitionsDropped = 0;
+        int failed = 0;
+        for (RequestLogDayPartition partition : partitionRepository.findDayPartitions()) {
+            Instant dayEnd = partition.day().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            boolean successExpired = !dayEnd.isAfter(successCutoff);
+            boolean failureExpired = !dayEnd.isAfter(failureCutoff);
+            if (!successExpired && !failureExpired) {
+                // Partitions are ordered by day, so every later one is newer still
+                break;
+            }
+            try {
+                if (successExpired && failureExpired) {
+                    partitionRepository.dropDayPartition(partition.day());
+                    daysDropped++;
+                } else if (successExpired && partition.hasSuccessPartition()) {
+                    partitionRepository.dropSuccessPartition(partition.day());
+                    outcomePartitionsDropped++;
+                } else if (failureExpired && partition.hasFailurePartition()) {
+                    partitionRepository.dropFailurePartition(partition.day());
+                    outcomePartitionsDropped++;
+                }
+            } catch (DataAccessException exception) {
+                // Typically the lock timeout; the next run retries
+                failed++;
+                log.warn("Request-log retention could not drop partitions for {}", partition.day(), exception);
+            }
+        }
+        log.info(
+            "Request-log retention cleanup completed: daysDropped={}, outcomePartitionsDropped={}, failed={}",
+            daysDropped,
+            outcomePartitionsDropped,
+            failed
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates upcoming request-log partitions at startup and then on a UTC cron.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "observability.request-log",
+    name = "partition-job-enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+@Slf4j
+public class RequestLogPartitionScheduler {
+
+    private final RequestLogPartitionService requestLogPartitionService;
+
+    public RequestLogPartitionScheduler(RequestLogPartitionService requestLogPartitionService) {
+        this.requestLogPartitionService = Objects.requireNonNull(
+            requestLogPartitionService,
+            "requestLogPartitionService must not be null"
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUpcomingPartitionsOnStartup() {
+        try {
+            ensureUpcomingPartitions();
+        } catch (RuntimeException exception) {
+            // The hourly run retries; a failure here must not stop the application
+            log.error("Request-log partition creation failed at startup", exception);
+        }
+    }
+
+    @Scheduled(cron = "${observability.request-log.partition-cron:0 30 * * * *}", zone = "UTC")
+    public void ensureUpcomingPartitions() {
+        log.info("Starting request-log partition creation run");
+        requestLogPartitionService.ensureUpcomingPartitions();
+        log.info("Finished request-log partition creation run");
+    }
+}
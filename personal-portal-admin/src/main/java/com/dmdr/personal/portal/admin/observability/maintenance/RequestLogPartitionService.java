@@ -0,0 +1,9 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+/**
+ * Keeps {@code request_log} day partitions ready ahead of the rows that will land in them.
+ */
+public interface RequestLogPartitionService {
+
+    void ensureUpcomingPartitions();
+}
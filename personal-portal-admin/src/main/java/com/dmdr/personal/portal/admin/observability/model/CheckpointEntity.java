@@ -31,6 +31,12 @@ public class CheckpointEntity {
     @Column(name = "last_processed_request_log_id", nullable = false)
     private long lastProcessedRequestLogId;
 
+    /**
+     * {@code created_at} of the row at {@link #lastProcessedRequestLogId}; null until the first rollup after V22.
+     */
+    @Column(name = "last_processed_created_at")
+    private Instant lastProcessedCreatedAt;
+
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 }
@@ -51,4 +51,9 @@ public class EndpointRequestStatsDailyEntity {
 
     @Column(name = "other_non_success_count", nullable = false)
     private long otherNonSuccessCount;
+
+    /** {@link LatencyHistogram#toBytes()} of the durations rolled up into this row; null when there were none. */
+    @Column(name = "latency_histogram", columnDefinition = "BYTEA")
+    @ToString.Exclude
+    private byte[] latencyHistogram;
 }
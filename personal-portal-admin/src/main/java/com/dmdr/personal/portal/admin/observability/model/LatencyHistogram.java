@@ -0,0 +1,178 @@
+package com.dmdr.personal.portal.admin.observability.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Mergeable request latency distribution stored with each {@code endpoint_stats} row.
+ * <p>
+ * Durations fall into fixed logarithmic buckets, so any percentile read back is within
+ * {@link #RELATIVE_ACCURACY} of a recorded duration, and histograms for different days or endpoints merge by
+ * adding bucket counts. Durations above {@link #MAX_TRACKED_MS} are counted in the last bucket.
+ */
+public final class LatencyHistogram {
+
+    public static final double RELATIVE_ACCURACY = 0.02;
+    public static final long MAX_TRACKED_MS = 3_600_000L;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKED_MS) + 1;
+
+    // Bucket 0 holds 0 ms; bucket i > 0 holds durations in (GAMMA^(i-2), GAMMA^(i-1)]
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+
+    public void record(long durationMs) {
+        add(bucketOf(durationMs), 1);
+    }
+
+    /**
+     * Adds {@code count} samples to a bucket, for callers that keep their own counts per {@link #bucketOf(long)}.
+     */
+    public void add(int bucket, long count) {
+        counts[bucket] += count;
+        totalCount += count;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.95 for p95
+     * @return the duration in milliseconds that {@code quantile} of the recorded requests did not exceed
+     */
+    public long percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        if (totalCount == 0) {
+            throw new IllegalStateException("histogram is empty");
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Sparse encoding: a version byte, the number of non-empty buckets, then for each of them the distance from
+     * the previous non-empty bucket and its count, all as unsigned varints.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(FORMAT_VERSION);
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count > 0) {
+                nonEmpty++;
+            }
+        }
+        writeVarint(out, nonEmpty);
+        int previous = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                writeVarint(out, i - previous);
+                writeVarint(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param bytes output of {@link #toBytes()}; {@code null} or empty reads as an empty histogram
+     */
+    public static LatencyHistogram fromBytes(byte[] bytes) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (bytes == null || bytes.length == 0) {
+            return histogram;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            byte version = in.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported latency histogram version: " + version);
+            }
+            long nonEmpty = readVarint(in);
+            int index = 0;
+            for (long n = 0; n < nonEmpty; n++) {
+                index = Math.addExact(index, Math.toIntExact(readVarint(in)));
+                if (index >= BUCKET_COUNT) {
+                    throw new IllegalArgumentException("Latency histogram bucket out of range: " + index);
+                }
+                long count = readVarint(in);
+                histogram.counts[index] += count;
+                histogram.totalCount += count;
+            }
+        } catch (BufferUnderflowException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed latency histogram", e);
+        }
+        return histogram;
+    }
+
+    public static int bucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * @return the bucket a duration is counted in, between 0 and {@link #bucketCount()} - 1
+     */
+    public static int bucketOf(long durationMs) {
+        return bucketIndex(Math.min(durationMs, MAX_TRACKED_MS));
+    }
+
+    private static int bucketIndex(long durationMs) {
+        if (durationMs <= 0) {
+            return 0;
+        }
+        return 1 + (int) Math.ceil(Math.log(durationMs) / LOG_GAMMA);
+    }
+
+    private static long bucketValue(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        // The point of the bucket whose relative distance to both bounds is RELATIVE_ACCURACY
+        return Math.round(2 * Math.pow(GAMMA, index - 1) / (1 + GAMMA));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed latency histogram varint");
+    }
+}
@@ -1,110 +1,249 @@
 package com.dmdr.personal.portal.admin.observability.persistence;
 
 import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import static com.dmdr.personal.portal.admin.observability.RequestLogObservabilityAutoConfiguration.REQUEST_LOG_TASK_EXECUTOR_BEAN_NAME;
 
 /**
  * Best-effort async gateway that may drop in-memory records under load or shutdown.
  * See docs/observability/dev/rest-request-observability-impl-plan-composer.md (Step C5).
+ * <p>
+ * Request threads only offer records to a bounded lock-free {@link MpscRingBuffer}. A single drainer thread writes
+ * them in batches of {@code async-flush-batch-size}, or whatever has arrived after {@code async-flush-interval-ms}.
+ * When the buffer is full the record is dropped, immediately or after a bounded wait depending on
+ * {@link RequestLogBackpressurePolicy}, and counted in {@code request_log.buffer.dropped}; so are records still
+ * buffered when the shutdown drain runs out of time. Records of a batch the writer fails on, e.g. for a day without
+ * a {@code request_log} partition, are counted in {@code request_log.write.failed}.
  */
 @Slf4j
 @Component
 public class AsyncRequestLogPersistenceGateway implements RequestLogPersistenceGateway {
 
-    private final Executor executor;
+    private static final Duration SHUTDOWN_DRAIN_TIMEOUT = Duration.ofSeconds(5);
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
     private final RequestLogWriter requestLogWriter;
     private final int flushBatchSize;
-    private final long flushIntervalMs;
-    private final Object bufferLock = new Object();
-    private final List<RequestLogRecord> buffer;
-    private final ScheduledExecutorService flushScheduler;
+    private final long flushIntervalNanos;
+    private final RequestLogBackpressurePolicy backpressure;
+    private final long backpressureMaxWaitNanos;
+    private final Duration shutdownDrainTimeout;
+    private final MpscRingBuffer<RequestLogRecord> buffer;
+    private final Counter droppedCounter;
+    private final Counter writeFailedCounter;
+    private final Thread drainer;
+    private volatile boolean drainerParked;
+    private volatile boolean running = true;
+    private volatile long shutdownDeadlineNanos;
+
+    @Autowired
+    public AsyncRequestLogPersistenceGateway(
+        RequestLogWriter requestLogWriter,
+        RequestLogObservabilityProperties properties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(requestLogWriter, properties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
 
     public AsyncRequestLogPersistenceGateway(
-        @Qualifier(REQUEST_LOG_TASK_EXECUTOR_BEAN_NAME) Executor executor,
         RequestLogWriter requestLogWriter,
-        RequestLogObservabilityProperties properties
+        RequestLogObservabilityProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this(requestLogWriter, properties, meterRegistry, SHUTDOWN_DRAIN_TIMEOUT);
+    }
+
+    AsyncRequestLogPersistenceGateway(
+        RequestLogWriter requestLogWriter,
+        RequestLogObservabilityProperties properties,
+        MeterRegistry meterRegistry,
+        Duration shutdownDrainTimeout
     ) {
-        this.executor = Objects.requireNonNull(executor, "executor must not be null");
         this.requestLogWriter = Objects.requireNonNull(requestLogWriter, "requestLogWriter must not be null");
         Objects.requireNonNull(properties, "properties must not be null");
+        Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
         this.flushBatchSize = positive(properties.getAsyncFlushBatchSize(), "asyncFlushBatchSize");
-        this.flushIntervalMs = positiveLong(properties.getAsyncFlushIntervalMs(), "asyncFlushIntervalMs");
-        this.buffer = new ArrayList<>(flushBatchSize);
-        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(new FlushThreadFactory());
-        this.flushScheduler.scheduleWithFixedDelay(
-            this::flushByTime,
-            flushIntervalMs,
-            flushIntervalMs,
-            TimeUnit.MILLISECONDS
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+            positiveLong(properties.getAsyncFlushIntervalMs(), "asyncFlushIntervalMs")
         );
+        this.backpressure = Objects.requireNonNull(properties.getAsyncBackpressure(), "asyncBackpressure must not be null");
+        this.backpressureMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(
+            positiveLong(properties.getAsyncBackpressureMaxWaitMs(), "asyncBackpressureMaxWaitMs")
+        );
+        this.shutdownDrainTimeout = Objects.requireNonNull(
+            shutdownDrainTimeout,
+            "shutdownDrainTimeout must not be null"
+        );
+        this.buffer = new MpscRingBuffer<>(positive(properties.getAsyncBufferCapacity(), "asyncBufferCapacity"));
+        this.droppedCounter = Counter.builder("request_log.buffer.dropped")
+            .description("Request-log records dropped on a full buffer or at the shutdown drain deadline")
+            .register(meterRegistry);
+        this.writeFailedCounter = Counter.builder("request_log.write.failed")
+            .description("Request-log records lost because writing their batch failed")
+            .register(meterRegistry);
+        Gauge.builder("request_log.buffer.size", buffer, MpscRingBuffer::size)
+            .description("Request-log records waiting for the drainer")
+            .register(meterRegistry);
+        this.drainer = new Thread(this::drainLoop, "request-log-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
     }
 
     @Override
     public void enqueue(RequestLogRecord record) {
+        tryEnqueue(record);
+    }
+
+    /**
+     * @return {@code false} if the record was dropped because the buffer was full
+     */
+    boolean tryEnqueue(RequestLogRecord record) {
         log.debug("Enqueuing request-log record: {}", record);
         if (record == null) {
-            return;
+            return true;
         }
-        boolean shouldFlushBySize = false;
-        synchronized (bufferLock) {
-            buffer.add(record);
-            shouldFlushBySize = buffer.size() >= flushBatchSize;
+        if (!buffer.offer(record) && !(backpressure == RequestLogBackpressurePolicy.WAIT && offerWithinWait(record))) {
+            droppedCounter.increment();
+            return false;
         }
-        if (shouldFlushBySize) {
-            try {
-                executor.execute(this::flushBySize);
-            } catch (RuntimeException exception) {
-                log.warn("Request-log flush task scheduling failed; keeping records buffered for timed flush", exception);
-            }
+        if (drainerParked && buffer.size() >= flushBatchSize) {
+            drainerParked = false;
+            LockSupport.unpark(drainer);
         }
+        return true;
     }
 
-    @PreDestroy
-    void flushOnShutdown() {
-        flushScheduler.shutdownNow();
-        persistBuffer("shutdown");
+    /**
+     * @return records dropped since startup because the buffer was full or the shutdown drain ran out of time
+     */
+    public long droppedCount() {
+        return (long) droppedCounter.count();
     }
 
-    private void flushByTime() {
-        persistBuffer("time");
+    /**
+     * @return records lost since startup because the writer failed on their batch
+     */
+    public long writeFailedCount() {
+        return (long) writeFailedCounter.count();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        shutdownDeadlineNanos = System.nanoTime() + shutdownDrainTimeout.toNanos();
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(shutdownDrainTimeout.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainer.isAlive()) {
+            log.warn("Request-log drainer did not finish within {} ms; {} records still buffered",
+                shutdownDrainTimeout.toMillis(), buffer.size());
+        }
     }
 
-    private void flushBySize() {
-        persistBuffer("size");
+    private boolean offerWithinWait(RequestLogRecord record) {
+        long deadline = System.nanoTime() + backpressureMaxWaitNanos;
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            if (buffer.offer(record)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private void persistBuffer(String reason) {
-        List<RequestLogRecord> toPersist;
-        synchronized (bufferLock) {
-            if (buffer.isEmpty()) {
-                return;
+    private void drainLoop() {
+        List<RequestLogRecord> batch = new ArrayList<>(flushBatchSize);
+        long lastFlush = System.nanoTime();
+        long reportedDrops = 0;
+        while (running) {
+            buffer.drainTo(batch, flushBatchSize - batch.size());
+            long now = System.nanoTime();
+            if (batch.size() >= flushBatchSize) {
+                persist(batch, "size");
+                lastFlush = now;
+                continue;
+            }
+            long untilTimedFlush = flushIntervalNanos - (now - lastFlush);
+            if (untilTimedFlush <= 0) {
+                if (!batch.isEmpty()) {
+                    persist(batch, "time");
+                }
+                lastFlush = now;
+                reportedDrops = reportDrops(reportedDrops);
+                continue;
+            }
+            drainerParked = true;
+            if (buffer.size() < flushBatchSize - batch.size()) {
+                LockSupport.parkNanos(this, untilTimedFlush);
+            }
+            drainerParked = false;
+        }
+        // Shutdown: write what was buffered when it began, without chasing records that keep arriving, until the
+        // deadline. A position a producer has claimed but not yet published drains as nothing, so wait for it
+        // parked rather than spinning.
+        long deadline = shutdownDeadlineNanos;
+        int remaining = buffer.size();
+        if (!batch.isEmpty()) {
+            persist(batch, "shutdown");
+        }
+        while (remaining > 0 && buffer.size() > 0 && System.nanoTime() - deadline < 0) {
+            int drained = buffer.drainTo(batch, Math.min(flushBatchSize, remaining));
+            remaining -= drained;
+            if (drained == 0) {
+                LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+                continue;
             }
-            toPersist = new ArrayList<>(buffer);
-            buffer.clear();
+            persist(batch, "shutdown");
+        }
+        reportDrops(reportedDrops);
+        int abandoned = Math.min(remaining, buffer.size());
+        if (abandoned > 0) {
+            droppedCounter.increment(abandoned);
+            log.warn("Request-log shutdown drain ran out of time; dropping {} buffered records", abandoned);
         }
+    }
+
+    private void persist(List<RequestLogRecord> batch, String reason) {
         try {
-            requestLogWriter.persistBatch(toPersist);
-            log.debug("Flushed request-log batch: reason={}, size={}", reason, toPersist.size());
+            requestLogWriter.persistBatch(List.copyOf(batch));
+            log.debug("Flushed request-log batch: reason={}, size={}", reason, batch.size());
         } catch (Exception exception) {
+            writeFailedCounter.increment(batch.size());
             log.warn(
                 "Request-log batch persistence failed; dropping {} in-memory records (reason={})",
-                toPersist.size(),
+                batch.size(),
                 reason,
                 exception
             );
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private long reportDrops(long reportedDrops) {
+        long dropped = droppedCount();
+        if (dropped > reportedDrops) {
+            log.warn("Request-log buffer full; dropped {} records since the last report ({} total)",
+                dropped - reportedDrops, dropped);
         }
+        return dropped;
     }
 
     private static int positive(int value, String field) {
@@ -120,13 +259,4 @@ public class AsyncRequestLogPersistenceGateway implements RequestLogPersistenceG
         }
         return value;
     }
-
-    private static final class FlushThreadFactory implements ThreadFactory {
-        @Override
-        public Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable, "request-log-flush-scheduler");
-            thread.setDaemon(true);
-            return thread;
-        }
-    }
 }
@@ -0,0 +1,181 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JDBC request-log writer. {@code request_log} ids are IDENTITY, so Hibernate cannot batch the inserts and
+ * {@code saveAll} costs one round-trip per record; this writer sends each flush batch in one go instead.
+ * See docs/observability/dev/rest-request-observability-impl-plan-composer.md (Step C6).
+ * <p>
+ * The mode comes from {@code observability.request-log.write-mode}: {@link RequestLogWriteMode#COPY} streams the
+ * batch as CSV through {@code COPY request_log FROM STDIN}, {@link RequestLogWriteMode#JDBC_BATCH} sends a JDBC
+ * batch of inserts. COPY falls back to the JDBC batch on non-PostgreSQL connections, e.g. H2 in tests.
+ */
+@Slf4j
+@Component
+public class JdbcRequestLogWriter implements RequestLogWriter {
+
+    static final String COLUMNS = "path, template_path, method, status, duration_ms, user_id, created_at, "
+        + "error_code, error_message, request_body, request_headers, response_headers, stack_trace";
+    static final String INSERT_SQL = "INSERT INTO request_log (" + COLUMNS + ") "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String COPY_SQL = "COPY request_log (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final int ROW_CAPACITY = 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestLogWriteMode writeMode;
+    private final Clock clock;
+    private volatile boolean copyFallbackLogged;
+
+    public JdbcRequestLogWriter(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        RequestLogObservabilityProperties properties,
+        Clock clock
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate must not be null");
+        this.transactionTemplate = new TransactionTemplate(
+            Objects.requireNonNull(transactionManager, "transactionManager must not be null")
+        );
+        Objects.requireNonNull(properties, "properties must not be null");
+        this.writeMode = Objects.requireNonNull(properties.getWriteMode(), "writeMode must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    @Override
+    public void persistBatch(List<RequestLogRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        Instant createdAt = Instant.now(clock);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (writeMode == RequestLogWriteMode.COPY
+                && Boolean.TRUE.equals(jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> copy(connection, records, createdAt)
+                ))) {
+                return;
+            }
+            insertBatch(records, createdAt);
+        });
+    }
+
+    /**
+     * @return false if the connection is not PostgreSQL and nothing was written
+     */
+    private boolean copy(Connection connection, List<RequestLogRecord> records, Instant createdAt) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            if (!copyFallbackLogged) {
+                copyFallbackLogged = true;
+                log.warn("Request-log COPY needs a PostgreSQL connection; writing JDBC batches instead");
+            }
+            return false;
+        }
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL);
+        try {
+            // Each row is built in memory and handed to the encoder in one call; per-character writes to the
+            // OutputStreamWriter took a lock each and made COPY slower than JDBC batches
+            Writer out = new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+            StringBuilder row = new StringBuilder(ROW_CAPACITY);
+            for (RequestLogRecord record : records) {
+                row.setLength(0);
+                appendCsvRow(row, record, createdAt);
+                out.append(row);
+            }
+            out.flush();
+            copy.endCopy();
+            return true;
+        } catch (IOException | RuntimeException exception) {
+            // Ending the copy would commit the rows sent so far
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+            throw new SQLException("COPY into request_log failed", exception);
+        }
+    }
+
+    private void insertBatch(List<RequestLogRecord> records, Instant createdAt) {
+        OffsetDateTime createdAtUtc = OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (statement, record) -> {
+            statement.setString(1, record.path());
+            statement.setString(2, record.templatePath());
+            statement.setString(3, record.method());
+            statement.setInt(4, record.status());
+            statement.setLong(5, record.durationMs());
+            statement.setObject(6, record.userId());
+            statement.setObject(7, createdAtUtc);
+            statement.setString(8, record.errorCode());
+            statement.setString(9, record.errorMessage());
+            statement.setString(10, record.requestBody());
+            statement.setString(11, record.requestHeaders());
+            statement.setString(12, record.responseHeaders());
+            statement.setString(13, record.stackTrace());
+        });
+    }
+
+    /**
+     * Writes one {@link #COPY_SQL} row. Text is always quoted, so an empty string stays distinct from NULL (an
+     * unquoted empty field) and no value can be read as the {@code \.} end-of-data marker.
+     */
+    static void appendCsvRow(Appendable out, RequestLogRecord record, Instant createdAt) throws IOException {
+        appendText(out, record.path());
+        out.append(',');
+        appendText(out, record.templatePath());
+        out.append(',');
+        appendText(out, record.method());
+        out.append(',').append(Integer.toString(record.status()));
+        out.append(',').append(Long.toString(record.durationMs()));
+        out.append(',');
+        if (record.userId() != null) {
+            out.append(record.userId().toString());
+        }
+        out.append(',').append(createdAt.toString());
+        out.append(',');
+        appendText(out, record.errorCode());
+        out.append(',');
+        appendText(out, record.errorMessage());
+        out.append(',');
+        appendText(out, record.requestBody());
+        out.append(',');
+        appendText(out, record.requestHeaders());
+        out.append(',');
+        appendText(out, record.responseHeaders());
+        out.append(',');
+        appendText(out, record.stackTrace());
+        out.append('\n');
+    }
+
+    private static void appendText(Appendable out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        out.append('"');
+        int start = 0;
+        for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', start)) {
+            out.append(value, start, quote + 1).append('"');
+            start = quote + 1;
+        }
+        out.append(value, start, value.length());
+        out.append('"');
+    }
+}
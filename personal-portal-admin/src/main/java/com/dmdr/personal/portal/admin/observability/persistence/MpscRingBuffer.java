@@ -0,0 +1,97 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producer threads and exactly one consumer thread.
+ * <p>
+ * Producers claim a position with a compare-and-set on the tail, write the element into its slot, then publish
+ * it by advancing the slot's sequence number (D. Vyukov's bounded queue). The consumer reads a slot only once
+ * its sequence shows it published, and hands the slot back to producers one lap later. Nothing blocks; a full
+ * queue makes {@link #offer} return false.
+ */
+final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the consumer; volatile so producers can read the size
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        // Rounded up to a power of two so a position maps to its slot with a mask. With a single slot, "published
+        // at position p" and "free for position p + 1" would be the same sequence number, so the minimum is two.
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return false if the queue is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.getAcquire(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[slot] = element;
+                    sequences.setRelease(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element from one lap ago
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code limit} published elements into {@code target}. Consumer thread only.
+     *
+     * @return the number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> target, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) position & mask;
+            if (sequences.getAcquire(slot) != position + 1) {
+                break;
+            }
+            target.add((E) elements[slot]);
+            elements[slot] = null;
+            sequences.setRelease(slot, position + elements.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * @return claimed positions not yet drained; may include elements still being published
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, elements.length));
+    }
+}
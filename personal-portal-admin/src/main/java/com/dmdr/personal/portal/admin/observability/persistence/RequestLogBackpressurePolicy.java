@@ -0,0 +1,17 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+/**
+ * What a request thread does when the request-log buffer is full.
+ */
+public enum RequestLogBackpressurePolicy {
+
+    /**
+     * Drop the new record immediately; request latency is never affected.
+     */
+    DROP,
+
+    /**
+     * Wait up to {@code async-backpressure-max-wait-ms} for the drainer to make room, then drop.
+     */
+    WAIT
+}
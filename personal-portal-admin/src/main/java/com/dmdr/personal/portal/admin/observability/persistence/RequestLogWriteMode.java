@@ -0,0 +1,19 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+/**
+ * How {@link JdbcRequestLogWriter} sends a flush batch to the database.
+ */
+public enum RequestLogWriteMode {
+
+    /**
+     * Stream the batch with PostgreSQL {@code COPY ... FROM STDIN}; one round-trip per batch. Falls back to
+     * {@link #JDBC_BATCH} on a connection that is not PostgreSQL.
+     */
+    COPY,
+
+    /**
+     * One {@code INSERT} per record sent as a JDBC batch. With the PostgreSQL driver's {@code reWriteBatchedInserts}
+     * the batch becomes a few multi-row inserts.
+     */
+    JDBC_BATCH
+}
@@ -62,6 +62,12 @@ public interface EndpointRequestStatsDailyRepository
         long getTotalErrorCount();
     }
 
+    interface LatencyHistogramProjection {
+        String getMethod();
+        String getTemplatePath();
+        byte[] getLatencyHistogram();
+    }
+
     Optional<EndpointRequestStatsDailyEntity> findByBucketStartAndMethodAndTemplatePath(
         LocalDate bucketStart,
         String method,
@@ -146,6 +152,31 @@ public interface EndpointRequestStatsDailyRepository
         List<String> templatePaths
     );
 
+    /**
+     * Daily latency histograms for the period, to be merged per endpoint with {@code LatencyHistogram#merge}.
+     */
+    @Query(
+        """
+        select
+            e.method as method,
+            e.templatePath as templatePath,
+            e.latencyHistogram as latencyHistogram
+        from EndpointRequestStatsDailyEntity e
+        where e.bucketStart >= :from
+          and e.bucketStart <= :to
+          and e.method in :methods
+          and e.templatePath in :templatePaths
+          and e.latencyHistogram is not null
+        order by e.method asc, e.templatePath asc
+        """
+    )
+    List<LatencyHistogramProjection> findLatencyHistograms(
+        LocalDate from,
+        LocalDate to,
+        List<String> methods,
+        List<String> templatePaths
+    );
+
     @Query(
         value = """
         select
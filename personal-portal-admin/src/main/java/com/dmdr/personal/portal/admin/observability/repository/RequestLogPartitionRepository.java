@@ -0,0 +1,165 @@
+package com.dmdr.personal.portal.admin.observability.repository;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Day partitions of {@code request_log} (see migration V22): {@code request_log_p20260323} covers one UTC day of
+ * {@code created_at} and is split by status into {@code request_log_p20260323_success} (2xx) and
+ * {@code request_log_p20260323_failure} (everything else). PostgreSQL only; DDL is not expressible in JPA.
+ * <p>
+ * Each change runs in its own transaction with a short lock timeout: attaching or detaching a partition locks
+ * the parent table, and a run that cannot get the lock is better retried later than left queuing writers.
+ */
+@Repository
+public class RequestLogPartitionRepository {
+
+    static final String PARENT_TABLE = "request_log";
+    private static final String DAY_PREFIX = PARENT_TABLE + "_p";
+    private static final String SUCCESS_SUFFIX = "_success";
+    private static final String FAILURE_SUFFIX = "_failure";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RequestLogPartitionRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate must not be null");
+        this.transactionTemplate = new TransactionTemplate(
+            Objects.requireNonNull(transactionManager, "transactionManager must not be null")
+        );
+    }
+
+    /**
+     * @return false on databases other than PostgreSQL (H2 in tests) or if {@code request_log} is not partitioned
+     */
+    public boolean isPartitioned() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+            Boolean.class,
+            PARENT_TABLE
+        ));
+    }
+
+    /**
+     * @return existing day partitions, oldest first
+     */
+    public List<RequestLogDayPartition> findDayPartitions() {
+        Set<String> existing = Set.copyOf(jdbcTemplate.queryForList(
+            """
+                SELECT c.relname
+                FROM pg_partition_tree(?::regclass) t
+                JOIN pg_class c ON c.oid = t.relid
+                WHERE t.level > 0
+                """,
+            String.class,
+            PARENT_TABLE
+        ));
+        Map<LocalDate, RequestLogDayPartition> days = new TreeMap<>();
+        for (String name : existing) {
+            LocalDate day = parseDay(name);
+            if (day != null) {
+                days.put(day, new RequestLogDayPartition(
+                    day,
+                    existing.contains(dayTable(day) + SUCCESS_SUFFIX),
+                    existing.contains(dayTable(day) + FAILURE_SUFFIX)
+                ));
+            }
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    public void createDayPartition(LocalDate day) {
+        String dayTable = dayTable(day);
+        String from = day.atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+        String to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+        executeWithLockTimeout(
+            "CREATE TABLE IF NOT EXISTS " + dayTable + " PARTITION OF " + PARENT_TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "') PARTITION BY RANGE (status)",
+            "CREATE TABLE IF NOT EXISTS " + dayTable + SUCCESS_SUFFIX + " PARTITION OF " + dayTable
+                + " FOR VALUES FROM (200) TO (300)",
+            "CREATE TABLE IF NOT EXISTS " + dayTable + FAILURE_SUFFIX + " PARTITION OF " + dayTable + " DEFAULT"
+        );
+    }
+
+    /**
+     * Detaches the whole day, then drops it with both of its outcome partitions.
+     */
+    public void dropDayPartition(LocalDate day) {
+        String dayTable = dayTable(day);
+        executeWithLockTimeout(
+            "ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + dayTable,
+            "DROP TABLE " + dayTable
+        );
+    }
+
+    public void dropSuccessPartition(LocalDate day) {
+        dropOutcomePartition(day, SUCCESS_SUFFIX);
+    }
+
+    public void dropFailurePartition(LocalDate day) {
+        dropOutcomePartition(day, FAILURE_SUFFIX);
+    }
+
+    private void dropOutcomePartition(LocalDate day, String suffix) {
+        String dayTable = dayTable(day);
+        executeWithLockTimeout(
+            "ALTER TABLE " + dayTable + " DETACH PARTITION " + dayTable + suffix,
+            "DROP TABLE " + dayTable + suffix
+        );
+    }
+
+    private void executeWithLockTimeout(String... statements) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+        });
+    }
+
+    // Table names are built from dates only, so the DDL above never embeds outside input
+    static String dayTable(LocalDate day) {
+        return DAY_PREFIX + DAY_FORMAT.format(day);
+    }
+
+    /**
+     * @return the day of a day partition name, or null for outcome partitions and unrelated names
+     */
+    static LocalDate parseDay(String tableName) {
+        if (!tableName.startsWith(DAY_PREFIX) || tableName.length() != DAY_PREFIX.length() + 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(tableName.substring(DAY_PREFIX.length()), DAY_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * One day partition and which of its outcome partitions still exist.
+     */
+    public record RequestLogDayPartition(LocalDate day, boolean hasSuccessPartition, boolean hasFailurePartition) {
+    }
+}
@@ -1,83 +1,47 @@
 package com.dmdr.personal.portal.admin.observability.routing;
 
-import java.util.List;
-import java.util.Locale;
+import com.dmdr.personal.portal.core.web.RequestClassification;
+import com.dmdr.personal.portal.core.web.RequestClassification.LoggingPolicy;
+import com.dmdr.personal.portal.core.web.RequestClassifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 /**
  * See docs/observability/dev/rest-request-observability-impl-plan-composer.md (Phase B3).
+ * <p>
+ * The rules live in {@link RequestClassifier}: {@code /actuator/**} is never captured, successful
+ * {@code /admin/**} responses are skipped and static assets are recognised by extension.
  */
 @Component
 public class DefaultRequestLoggingPathPolicy implements RequestLoggingPathPolicy {
 
-    private static final List<String> NO_CAPTURE_PREFIXES = List.of("/actuator", "/actuator/");
-    private static final List<String> SKIP_SUCCESS_PREFIXES = List.of("/admin", "/admin/");
-    private static final List<String> STATIC_SUFFIXES = List.of(
-        ".css",
-        ".js",
-        ".mjs",
-        ".map",
-        ".png",
-        ".jpg",
-        ".jpeg",
-        ".gif",
-        ".svg",
-        ".ico",
-        ".webp",
-        ".woff",
-        ".woff2",
-        ".ttf",
-        ".eot"
-    );
-
     @Override
     public boolean shouldCaptureAtAll(String path) {
-        String normalized = normalize(path);
-        return !matchesAnyPrefix(normalized, NO_CAPTURE_PREFIXES);
+        return shouldCaptureAtAll(RequestClassifier.classify(path));
     }
 
     @Override
     public boolean shouldSkipSuccess(String path) {
-        String normalized = normalize(path);
-        return matchesAnyPrefix(normalized, SKIP_SUCCESS_PREFIXES);
+        return shouldSkipSuccess(RequestClassifier.classify(path));
     }
 
     @Override
     public boolean isProbablyStaticAsset(String path, Object handlerOrNull) {
-        if (handlerOrNull instanceof ResourceHttpRequestHandler) {
-            return true;
-        }
+        return isProbablyStaticAsset(RequestClassifier.classify(path), handlerOrNull);
+    }
 
-        String normalized = normalize(path).toLowerCase(Locale.ROOT);
-        for (String suffix : STATIC_SUFFIXES) {
-            if (suffix == null || suffix.isBlank()) {
-                continue;
-            }
-            if (normalized.endsWith(suffix.toLowerCase(Locale.ROOT))) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public boolean shouldCaptureAtAll(RequestClassification classification) {
+        return classification.logging() != LoggingPolicy.NONE;
     }
 
-    private static boolean matchesAnyPrefix(String path, List<String> prefixes) {
-        for (String prefix : prefixes) {
-            if (prefix == null || prefix.isBlank()) {
-                continue;
-            }
-            String normalizedPrefix = normalize(prefix);
-            if (path.equals(normalizedPrefix) || path.startsWith(normalizedPrefix)) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public boolean shouldSkipSuccess(RequestClassification classification) {
+        return classification.logging() == LoggingPolicy.ERRORS_ONLY;
     }
 
-    private static String normalize(String path) {
-        if (path == null || path.isBlank()) {
-            return "/";
-        }
-        return path.startsWith("/") ? path : "/" + path;
+    @Override
+    public boolean isProbablyStaticAsset(RequestClassification classification, Object handlerOrNull) {
+        return handlerOrNull instanceof ResourceHttpRequestHandler || classification.staticAsset();
     }
 }
@@ -1,5 +1,7 @@
 package com.dmdr.personal.portal.admin.observability.routing;
 
+import com.dmdr.personal.portal.core.web.RequestClassification;
+
 /**
  * See docs/observability/dev/rest-request-observability-impl-plan-composer.md (Phase B3).
  */
@@ -10,4 +12,25 @@ public interface RequestLoggingPathPolicy {
     boolean shouldSkipSuccess(String path);
 
     boolean isProbablyStaticAsset(String path, Object handlerOrNull);
+
+    /**
+     * Same as {@link #shouldCaptureAtAll(String)} for an already classified request.
+     */
+    default boolean shouldCaptureAtAll(RequestClassification classification) {
+        return shouldCaptureAtAll(classification.path());
+    }
+
+    /**
+     * Same as {@link #shouldSkipSuccess(String)} for an already classified request.
+     */
+    default boolean shouldSkipSuccess(RequestClassification classification) {
+        return shouldSkipSuccess(classification.path());
+    }
+
+    /**
+     * Same as {@link #isProbablyStaticAsset(String, Object)} for an already classified request.
+     */
+    default boolean isProbablyStaticAsset(RequestClassification classification, Object handlerOrNull) {
+        return isProbablyStaticAsset(classification.path(), handlerOrNull);
+    }
 }
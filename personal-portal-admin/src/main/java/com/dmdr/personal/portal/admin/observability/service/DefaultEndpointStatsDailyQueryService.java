@@ -4,11 +4,15 @@ import com.dmdr.personal.portal.admin.observability.api.EndpointStatsDailyQuery;
 import com.dmdr.personal.portal.admin.observability.api.EndpointStatsPeriodQuery;
 import com.dmdr.personal.portal.admin.observability.api.EndpointStatsDailySpecifications;
 import com.dmdr.personal.portal.admin.observability.api.EndpointTopErrorsQuery;
+import com.dmdr.personal.portal.admin.observability.api.response.EndpointLatencyPercentilesResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.EndpointStatsPeriodResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.TopErrorEndpointResponse;
 import com.dmdr.personal.portal.admin.observability.model.EndpointRequestStatsDailyEntity;
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
 import com.dmdr.personal.portal.admin.observability.repository.EndpointRequestStatsDailyRepository;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
@@ -94,4 +98,35 @@ public class DefaultEndpointStatsDailyQueryService implements EndpointStatsDaily
                 row.getTotalErrorCount()
             ));
     }
+
+    @Override
+    public List<EndpointLatencyPercentilesResponse> searchLatencyPercentiles(EndpointStatsPeriodQuery query) {
+        if (query.methods() == null || query.methods().isEmpty()
+            || query.templatePaths() == null || query.templatePaths().isEmpty()) {
+            return List.of();
+        }
+        // Rows arrive ordered by method and template path, so insertion order is the response order
+        Map<List<String>, LatencyHistogram> merged = new LinkedHashMap<>();
+        for (EndpointRequestStatsDailyRepository.LatencyHistogramProjection row : repository.findLatencyHistograms(
+            query.from(),
+            query.to(),
+            query.methods(),
+            query.templatePaths()
+        )) {
+            merged.computeIfAbsent(List.of(row.getMethod(), row.getTemplatePath()), ignored -> new LatencyHistogram())
+                .merge(LatencyHistogram.fromBytes(row.getLatencyHistogram()));
+        }
+        return merged.entrySet()
+            .stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .map(entry -> new EndpointLatencyPercentilesResponse(
+                entry.getKey().get(0),
+                entry.getKey().get(1),
+                entry.getValue().count(),
+                entry.getValue().percentile(0.50),
+                entry.getValue().percentile(0.95),
+                entry.getValue().percentile(0.99)
+            ))
+            .toList();
+    }
 }
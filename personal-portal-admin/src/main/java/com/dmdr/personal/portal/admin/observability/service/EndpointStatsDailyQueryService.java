@@ -4,6 +4,7 @@ import com.dmdr.personal.portal.admin.observability.api.EndpointStatsDailyQuery;
 import com.dmdr.personal.portal.admin.observability.api.EndpointStatsPeriodQuery;
 import com.dmdr.personal.portal.admin.observability.api.EndpointTopErrorsQuery;
 import com.dmdr.personal.portal.admin.observability.model.EndpointRequestStatsDailyEntity;
+import com.dmdr.personal.portal.admin.observability.api.response.EndpointLatencyPercentilesResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.EndpointStatsPeriodResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.TopErrorEndpointResponse;
 import java.util.List;
@@ -16,4 +17,6 @@ public interface EndpointStatsDailyQueryService {
     List<EndpointStatsPeriodResponse> searchPeriod(EndpointStatsPeriodQuery query);
 
     Page<TopErrorEndpointResponse> searchTopErrors(EndpointTopErrorsQuery query);
+
+    List<EndpointLatencyPercentilesResponse> searchLatencyPercentiles(EndpointStatsPeriodQuery query);
 }
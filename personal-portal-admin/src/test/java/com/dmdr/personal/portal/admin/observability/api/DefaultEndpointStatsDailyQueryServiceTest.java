@@ -5,6 +5,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
 import com.dmdr.personal.portal.admin.observability.repository.EndpointRequestStatsDailyRepository;
 import com.dmdr.personal.portal.admin.observability.service.DefaultEndpointStatsDailyQueryService;
 import java.time.LocalDate;
@@ -188,4 +189,61 @@ class DefaultEndpointStatsDailyQueryServiceTest {
         assertThat(result.getContent().get(0).otherNonSuccessCount()).isEqualTo(1L);
         assertThat(result.getContent().get(0).totalErrorCount()).isEqualTo(20L);
     }
+
+    @Test
+    void searchLatencyPercentiles_shouldMergeDailyHistogramsPerEndpoint() {
+        EndpointRequestStatsDailyRepository repository = mock(EndpointRequestStatsDailyRepository.class);
+        DefaultEndpointStatsDailyQueryService service = new DefaultEndpointStatsDailyQueryService(repository);
+        LatencyHistogram day1 = new LatencyHistogram();
+        LatencyHistogram day2 = new LatencyHistogram();
+        for (int i = 0; i < 95; i++) {
+            day1.record(10);
+        }
+        for (int i = 0; i < 5; i++) {
+            day2.record(1_000);
+        }
+        var rows = List.of(
+            latencyRow("GET", "/api/v1/public/articles", day1),
+            latencyRow("GET", "/api/v1/public/articles", day2)
+        );
+        when(
+            repository.findLatencyHistograms(
+                LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-31"),
+                List.of("GET"),
+                List.of("/api/v1/public/articles")
+            )
+        ).thenReturn(rows);
+
+        var result = service.searchLatencyPercentiles(
+            new EndpointStatsPeriodQuery(
+                LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-31"),
+                List.of("GET"),
+                List.of("/api/v1/public/articles")
+            )
+        );
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).method()).isEqualTo("GET");
+        assertThat(result.get(0).templatePath()).isEqualTo("/api/v1/public/articles");
+        assertThat(result.get(0).sampleCount()).isEqualTo(100L);
+        assertThat(result.get(0).p50Ms()).isEqualTo(10L);
+        assertThat(result.get(0).p95Ms()).isEqualTo(10L);
+        assertThat(result.get(0).p99Ms()).isBetween(980L, 1_020L);
+    }
+
+    private static EndpointRequestStatsDailyRepository.LatencyHistogramProjection latencyRow(
+        String method,
+        String templatePath,
+        LatencyHistogram histogram
+    ) {
+        EndpointRequestStatsDailyRepository.LatencyHistogramProjection row = mock(
+            EndpointRequestStatsDailyRepository.LatencyHistogramProjection.class
+        );
+        when(row.getMethod()).thenReturn(method);
+        when(row.getTemplatePath()).thenReturn(templatePath);
+        when(row.getLatencyHistogram()).thenReturn(histogram.toBytes());
+        return row;
+    }
 }
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.dmdr.personal.portal.admin.observability.api.response.EndpointLatencyPercentilesResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.EndpointStatsPeriodResponse;
 import com.dmdr.personal.portal.admin.observability.api.response.TopErrorEndpointResponse;
 import com.dmdr.personal.portal.admin.observability.api.controller.EndpointDailyStatsAdminController;
@@ -133,6 +134,46 @@ class EndpointDailyStatsAdminControllerTest {
         assertThat(query.templatePaths()).containsExactly("/api/v1/public/articles");
     }
 
+    @Test
+    void periodLatency_shouldNormalizeListsAndPassToService() {
+        EndpointStatsDailyQueryService queryService = mock(EndpointStatsDailyQueryService.class);
+        EndpointStatsDailyMapper mapper = mock(EndpointStatsDailyMapper.class);
+        EndpointDailyStatsAdminController controller = new EndpointDailyStatsAdminController(queryService, mapper);
+        when(queryService.searchLatencyPercentiles(any()))
+            .thenReturn(List.of(new EndpointLatencyPercentilesResponse("GET", "/api/v1/public/articles", 10, 5, 40, 90)));
+
+        var result = controller.periodLatency(
+            LocalDate.parse("2026-03-01"),
+            LocalDate.parse("2026-03-31"),
+            List.of("get", " GET ", ""),
+            List.of(" /api/v1/public/articles ", "")
+        );
+
+        ArgumentCaptor<EndpointStatsPeriodQuery> queryCaptor = ArgumentCaptor.forClass(EndpointStatsPeriodQuery.class);
+        verify(queryService).searchLatencyPercentiles(queryCaptor.capture());
+        EndpointStatsPeriodQuery query = queryCaptor.getValue();
+        assertThat(query.methods()).containsExactly("GET");
+        assertThat(query.templatePaths()).containsExactly("/api/v1/public/articles");
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).p95Ms()).isEqualTo(40L);
+    }
+
+    @Test
+    void periodLatency_shouldRejectMoreThanOneCalendarMonth() {
+        EndpointStatsDailyQueryService queryService = mock(EndpointStatsDailyQueryService.class);
+        EndpointStatsDailyMapper mapper = mock(EndpointStatsDailyMapper.class);
+        EndpointDailyStatsAdminController controller = new EndpointDailyStatsAdminController(queryService, mapper);
+
+        assertThatThrownBy(() -> controller.periodLatency(
+            LocalDate.parse("2026-03-01"),
+            LocalDate.parse("2026-04-02"),
+            List.of("GET"),
+            List.of("/api/v1/public/articles")
+        ))
+            .isInstanceOf(ResponseStatusException.class)
+            .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
     @Test
     @SuppressWarnings("null")
     void topErrors_shouldCapPageSizeTo20() {
@@ -0,0 +1,39 @@
+package com.dmdr.personal.portal.admin.observability.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.admin.observability.api.controller.LiveEndpointStatsAdminController;
+import com.dmdr.personal.portal.admin.observability.api.response.LiveEndpointStatsResponse;
+import com.dmdr.personal.portal.admin.observability.live.LiveEndpointMetrics;
+import com.dmdr.personal.portal.admin.observability.live.LiveWindow;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class LiveEndpointStatsAdminControllerTest {
+
+    @Test
+    void list_shouldServeRequestedWindowFromMemory() {
+        LiveEndpointMetrics metrics = mock(LiveEndpointMetrics.class);
+        LiveEndpointStatsAdminController controller = new LiveEndpointStatsAdminController(metrics);
+        List<LiveEndpointStatsResponse> stats = List.of(new LiveEndpointStatsResponse("GET", "/api/v1/a", 3, 1, 5, 9, 9));
+        when(metrics.snapshot(LiveWindow.LAST_HOUR)).thenReturn(stats);
+
+        assertThat(controller.list(" 1H ")).isEqualTo(stats);
+        verify(metrics).snapshot(LiveWindow.LAST_HOUR);
+    }
+
+    @Test
+    void list_shouldRejectUnknownWindow() {
+        LiveEndpointStatsAdminController controller = new LiveEndpointStatsAdminController(mock(LiveEndpointMetrics.class));
+
+        assertThatThrownBy(() -> controller.list("1d"))
+            .isInstanceOf(ResponseStatusException.class)
+            .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
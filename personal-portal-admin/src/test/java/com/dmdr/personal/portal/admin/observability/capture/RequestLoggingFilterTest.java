@@ -1,11 +1,15 @@
 package com.dmdr.personal.portal.admin.observability.capture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dmdr.personal.portal.admin.observability.api.response.LiveEndpointStatsResponse;
+import com.dmdr.personal.portal.admin.observability.live.LiveEndpointMetrics;
+import com.dmdr.personal.portal.admin.observability.live.LiveWindow;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogPersistenceGateway;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecord;
 import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecordFactory;
@@ -26,15 +30,17 @@ import org.springframework.web.util.ContentCachingRequestWrapper;
 
 class RequestLoggingFilterTest {
 
-    private final RequestLoggingPathPolicy pathPolicy = mock(RequestLoggingPathPolicy.class);
+    private final RequestLoggingPathPolicy pathPolicy = mock(RequestLoggingPathPolicy.class, CALLS_REAL_METHODS);
     private final RequestLogRecordFactory requestLogRecordFactory = mock(RequestLogRecordFactory.class);
     private final RequestLogPersistenceGateway persistenceGateway = mock(RequestLogPersistenceGateway.class);
     private final Clock clock = Clock.fixed(Instant.parse("2026-03-23T12:00:00Z"), ZoneOffset.UTC);
+    private final LiveEndpointMetrics liveEndpointMetrics = new LiveEndpointMetrics(clock);
 
     private final RequestLoggingFilter filter = new RequestLoggingFilter(
         pathPolicy,
         requestLogRecordFactory,
         persistenceGateway,
+        liveEndpointMetrics,
         clock
     );
 
@@ -142,6 +148,24 @@ class RequestLoggingFilterTest {
         org.assertj.core.api.Assertions.assertThat(context.getStackTrace()).isEqualTo("stack");
     }
 
+    @Test
+    void doFilterInternal_shouldCountCapturedRequestInLiveMetrics() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> response.setStatus(503);
+        when(pathPolicy.shouldCaptureAtAll("/api/articles/42")).thenReturn(true);
+        when(pathPolicy.shouldSkipSuccess("/api/articles/42")).thenReturn(false);
+        when(pathPolicy.isProbablyStaticAsset("/api/articles/42", null)).thenReturn(false);
+        when(requestLogRecordFactory.build(any(), any(), any())).thenReturn(
+            new RequestLogRecord("/api/articles/42", "/api/articles/{id}", "GET", 503, 25L, null, Instant.now(clock), null, null, null, null, null, null)
+        );
+
+        filter.doFilter(request, response, chain);
+
+        org.assertj.core.api.Assertions.assertThat(liveEndpointMetrics.snapshot(LiveWindow.LAST_5_MINUTES))
+            .containsExactly(new LiveEndpointStatsResponse("GET", "/api/articles/{id}", 1, 1, 25, 25, 25));
+    }
+
     @Test
     void doFilterInternal_shouldWrapMutatingRequestForBodyCaching() throws ServletException, IOException {
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/body");
@@ -0,0 +1,153 @@
+package com.dmdr.personal.portal.admin.observability.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dmdr.personal.portal.admin.observability.api.response.LiveEndpointStatsResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class LiveEndpointMetricsTest {
+
+    private static final long START = Instant.parse("2026-03-23T12:00:00Z").toEpochMilli();
+
+    private final MutableClock clock = new MutableClock(START);
+    private final LiveEndpointMetrics metrics = new LiveEndpointMetrics(clock);
+
+    @Test
+    void snapshot_shouldAggregateCountsErrorsAndPercentilesPerEndpoint() {
+        for (int i = 0; i < 98; i++) {
+            metrics.record("GET", "/api/v1/a", 200, 10, START);
+        }
+        metrics.record("GET", "/api/v1/a", 500, 1_000, START);
+        metrics.record("GET", "/api/v1/a", 404, 1_000, START);
+        metrics.record("POST", "/api/v1/b", 201, 40, START);
+
+        List<LiveEndpointStatsResponse> result = metrics.snapshot(LiveWindow.LAST_5_MINUTES);
+
+        assertThat(result).hasSize(2);
+        LiveEndpointStatsResponse busiest = result.get(0);
+        assertThat(busiest.method()).isEqualTo("GET");
+        assertThat(busiest.templatePath()).isEqualTo("/api/v1/a");
+        assertThat(busiest.totalCount()).isEqualTo(100);
+        assertThat(busiest.errorCount()).isEqualTo(2);
+        assertThat(busiest.p50Ms()).isEqualTo(10);
+        assertThat(busiest.p95Ms()).isEqualTo(10);
+        assertThat(busiest.p99Ms()).isBetween(980L, 1_020L);
+        assertThat(result.get(1)).isEqualTo(new LiveEndpointStatsResponse("POST", "/api/v1/b", 1, 0, 40, 40, 40));
+    }
+
+    @Test
+    void snapshot_shouldDropRequestsOlderThanTheWindow() {
+        metrics.record("GET", "/api/v1/a", 200, 10, START);
+        clock.advanceSeconds(301);
+        metrics.record("GET", "/api/v1/a", 200, 10, clock.millis());
+
+        assertThat(metrics.snapshot(LiveWindow.LAST_5_MINUTES)).singleElement()
+            .satisfies(stats -> assertThat(stats.totalCount()).isEqualTo(1));
+        assertThat(metrics.snapshot(LiveWindow.LAST_HOUR)).singleElement()
+            .satisfies(stats -> assertThat(stats.totalCount()).isEqualTo(2));
+
+        clock.advanceSeconds(3_600);
+
+        assertThat(metrics.snapshot(LiveWindow.LAST_HOUR)).isEmpty();
+    }
+
+    @Test
+    void record_shouldReuseRingSlotsAfterAFullRotation() {
+        metrics.record("GET", "/api/v1/a", 200, 10, START);
+        clock.advanceSeconds(LiveEndpointMetrics.SECONDS_RETAINED);
+        metrics.record("GET", "/api/v1/a", 500, 10, clock.millis());
+
+        // Same one-second slot as the first request, which is now outside the window
+        LiveEndpointStatsResponse stats = metrics.snapshot(LiveWindow.LAST_5_MINUTES).get(0);
+        assertThat(stats.totalCount()).isEqualTo(1);
+        assertThat(stats.errorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_shouldIgnoreRequestsOlderThanTheirRotatedSlot() {
+        clock.advanceSeconds(LiveEndpointMetrics.SECONDS_RETAINED);
+        metrics.record("GET", "/api/v1/a", 200, 10, clock.millis());
+        metrics.record("GET", "/api/v1/a", 200, 10, START);
+
+        assertThat(metrics.snapshot(LiveWindow.LAST_5_MINUTES).get(0).totalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_shouldCountEveryRequestFromConcurrentThreads() throws InterruptedException {
+        int threads = 4;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    metrics.record("GET", "/api/v1/a", i % 10 == 0 ? 500 : 200, i % 100, START);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        LiveEndpointStatsResponse stats = metrics.snapshot(LiveWindow.LAST_HOUR).get(0);
+        assertThat(stats.totalCount()).isEqualTo((long) threads * perThread);
+        assertThat(stats.errorCount()).isEqualTo((long) threads * perThread / 10);
+    }
+
+    @Test
+    void record_shouldStopTrackingNewEndpointsPastTheCap() {
+        for (int i = 0; i < LiveEndpointMetrics.MAX_ENDPOINTS + 5; i++) {
+            metrics.record("M" + i, "/api/v1/a", 200, 10, START);
+        }
+
+        assertThat(metrics.snapshot(LiveWindow.LAST_5_MINUTES)).hasSize(LiveEndpointMetrics.MAX_ENDPOINTS);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advanceSeconds(long seconds) {
+            millis += seconds * 1000L;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
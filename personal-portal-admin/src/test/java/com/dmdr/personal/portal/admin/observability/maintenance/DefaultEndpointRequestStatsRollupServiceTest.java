@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
 import com.dmdr.personal.portal.admin.observability.model.EndpointRequestStatsDailyEntity;
 import com.dmdr.personal.portal.admin.observability.model.CheckpointEntity;
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
 import com.dmdr.personal.portal.admin.observability.model.RequestLogEntity;
 import com.dmdr.personal.portal.admin.observability.repository.EndpointRequestStatsDailyRepository;
 import com.dmdr.personal.portal.admin.observability.repository.ObservabilityRollupCheckpointRepository;
@@ -228,6 +229,113 @@ class DefaultEndpointRequestStatsRollupServiceTest {
         verify(checkpointRepository, never()).save(any(CheckpointEntity.class));
     }
 
+    @Test
+    void rollUpSinceLastCheckpoint_shouldMergeDurationsIntoExistingLatencyHistogram() {
+        RequestLogRepository requestLogRepository = mock(RequestLogRepository.class);
+        EndpointRequestStatsDailyRepository statsRepository = mock(EndpointRequestStatsDailyRepository.class);
+        ObservabilityRollupCheckpointRepository checkpointRepository = mock(ObservabilityRollupCheckpointRepository.class);
+        RequestLogObservabilityProperties properties = properties(100);
+        Clock clock = Clock.fixed(Instant.parse("2026-03-23T11:00:00Z"), ZoneOffset.UTC);
+
+        CheckpointEntity checkpoint = new CheckpointEntity();
+        checkpoint.setJobName(DefaultEndpointRequestStatsRollupService.ROLLUP_JOB_NAME);
+        checkpoint.setLastProcessedRequestLogId(10L);
+        checkpoint.setUpdatedAt(Instant.parse("2026-03-23T10:00:00Z"));
+
+        LatencyHistogram earlier = new LatencyHistogram();
+        earlier.record(40);
+        EndpointRequestStatsDailyEntity existing = new EndpointRequestStatsDailyEntity();
+        existing.setBucketStart(java.time.LocalDate.parse("2026-03-23"));
+        existing.setMethod("GET");
+        existing.setTemplatePath("/api/v1/foo");
+        existing.setTotalCount(1);
+        existing.setSuccessCount(1);
+        existing.setLatencyHistogram(earlier.toBytes());
+
+        RequestLogEntity fast = log(11L, "GET", "/api/v1/foo", 200, "2026-03-23T10:05:00Z");
+        fast.setDurationMs(40L);
+        RequestLogEntity slow = log(12L, "GET", "/api/v1/foo", 200, "2026-03-23T10:06:00Z");
+        slow.setDurationMs(900L);
+
+        when(checkpointRepository.findById(DefaultEndpointRequestStatsRollupService.ROLLUP_JOB_NAME))
+            .thenReturn(Optional.of(checkpoint));
+        when(requestLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class)))
+            .thenReturn(List.of(fast, slow));
+        when(statsRepository.findDistinctMethodTemplatePairs()).thenReturn(Collections.emptyList());
+        when(statsRepository.findByBucketStartAndMethodAndTemplatePath(
+            java.time.LocalDate.parse("2026-03-23"),
+            "GET",
+            "/api/v1/foo"
+        )).thenReturn(Optional.of(existing));
+        when(statsRepository.save(any(EndpointRequestStatsDailyEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DefaultEndpointRequestStatsRollupService service = new DefaultEndpointRequestStatsRollupService(
+            requestLogRepository,
+            statsRepository,
+            checkpointRepository,
+            properties,
+            clock
+        );
+
+        service.rollUpSinceLastCheckpoint();
+
+        LatencyHistogram latency = LatencyHistogram.fromBytes(existing.getLatencyHistogram());
+        assertThat(existing.getTotalCount()).isEqualTo(3);
+        assertThat(latency.count()).isEqualTo(3);
+        assertThat(latency.percentile(0.5)).isBetween(39L, 41L);
+        assertThat(latency.percentile(0.99)).isBetween(882L, 918L);
+    }
+
+    @Test
+    void rollUpSinceLastCheckpoint_shouldBoundQueryByLastProcessedCreatedAt() {
+        RequestLogRepository requestLogRepository = mock(RequestLogRepository.class);
+        EndpointRequestStatsDailyRepository statsRepository = mock(EndpointRequestStatsDailyRepository.class);
+        ObservabilityRollupCheckpointRepository checkpointRepository = mock(ObservabilityRollupCheckpointRepository.class);
+        RequestLogObservabilityProperties properties = properties(100);
+        Clock clock = Clock.fixed(Instant.parse("2026-03-23T11:00:00Z"), ZoneOffset.UTC);
+
+        CheckpointEntity checkpoint = new CheckpointEntity();
+        checkpoint.setJobName(DefaultEndpointRequestStatsRollupService.ROLLUP_JOB_NAME);
+        checkpoint.setLastProcessedRequestLogId(10L);
+        checkpoint.setLastProcessedCreatedAt(Instant.parse("2026-03-23T10:00:00Z"));
+        checkpoint.setUpdatedAt(Instant.parse("2026-03-23T10:00:00Z"));
+
+        RequestLogEntity first = log(11L, "GET", "/api/v1/foo", 200, "2026-03-23T10:05:00Z");
+        RequestLogEntity second = log(12L, "GET", "/api/v1/foo", 200, "2026-03-23T10:04:59Z");
+
+        when(checkpointRepository.findById(DefaultEndpointRequestStatsRollupService.ROLLUP_JOB_NAME))
+            .thenReturn(Optional.of(checkpoint));
+        when(requestLogRepository.findByCreatedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+            eq(Instant.parse("2026-03-23T09:00:00Z")),
+            eq(10L),
+            any(Pageable.class)
+        )).thenReturn(List.of(first, second));
+        when(statsRepository.findDistinctMethodTemplatePairs()).thenReturn(Collections.emptyList());
+        when(statsRepository.findByBucketStartAndMethodAndTemplatePath(
+            java.time.LocalDate.parse("2026-03-23"),
+            "GET",
+            "/api/v1/foo"
+        )).thenReturn(Optional.empty());
+        when(statsRepository.save(any(EndpointRequestStatsDailyEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DefaultEndpointRequestStatsRollupService service = new DefaultEndpointRequestStatsRollupService(
+            requestLogRepository,
+            statsRepository,
+            checkpointRepository,
+            properties,
+            clock
+        );
+
+        service.rollUpSinceLastCheckpoint();
+
+        verify(requestLogRepository, never()).findByIdGreaterThanOrderByIdAsc(any(Long.class), any(Pageable.class));
+        ArgumentCaptor<CheckpointEntity> checkpointCaptor = ArgumentCaptor.forClass(CheckpointEntity.class);
+        verify(checkpointRepository).save(checkpointCaptor.capture());
+        CheckpointEntity savedCheckpoint = Objects.requireNonNull(checkpointCaptor.getValue());
+        assertThat(savedCheckpoint.getLastProcessedRequestLogId()).isEqualTo(12L);
+        assertThat(savedCheckpoint.getLastProcessedCreatedAt()).isEqualTo(Instant.parse("2026-03-23T10:04:59Z"));
+    }
+
     private static RequestLogEntity log(Long id, String method, String templatePath, int status, String createdAt) {
         RequestLogEntity entity = new RequestLogEntity();
         entity.setId(id);
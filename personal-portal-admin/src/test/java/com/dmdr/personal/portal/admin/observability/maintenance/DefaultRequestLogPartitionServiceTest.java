@@ -0,0 +1,66 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository.RequestLogDayPartition;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("null")
+class DefaultRequestLogPartitionServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-23T23:30:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void ensureUpcomingPartitions_shouldCreateOnlyMissingDays() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findDayPartitions()).thenReturn(List.of(
+            new RequestLogDayPartition(LocalDate.parse("2026-03-23"), true, true),
+            new RequestLogDayPartition(LocalDate.parse("2026-03-24"), true, true)
+        ));
+
+        service(repository, 3).ensureUpcomingPartitions();
+
+        verify(repository).createDayPartition(LocalDate.parse("2026-03-25"));
+        verify(repository).createDayPartition(LocalDate.parse("2026-03-26"));
+        verify(repository, times(2)).createDayPartition(any());
+    }
+
+    @Test
+    void ensureUpcomingPartitions_shouldSkipWhenTableIsNotPartitioned() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(false);
+
+        service(repository, 7).ensureUpcomingPartitions();
+
+        verify(repository, never()).createDayPartition(any());
+    }
+
+    @Test
+    void ensureUpcomingPartitions_shouldRejectNegativePremakeDays() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+
+        assertThatThrownBy(() -> service(repository, -1).ensureUpcomingPartitions())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("partitionPremakeDays");
+    }
+
+    private static DefaultRequestLogPartitionService service(RequestLogPartitionRepository repository, int premakeDays) {
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setPartitionPremakeDays(premakeDays);
+        return new DefaultRequestLogPartitionService(repository, properties, CLOCK);
+    }
+}
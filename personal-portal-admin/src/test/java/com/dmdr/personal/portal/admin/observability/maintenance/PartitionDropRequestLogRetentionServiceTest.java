@@ -0,0 +1,85 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository.RequestLogDayPartition;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+@SuppressWarnings("null")
+class PartitionDropRequestLogRetentionServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-23T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void purgeExpiredDetailRows_shouldDropDaysPastBothWindowsAndSuccessPartitionsPastSuccessWindow() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findDayPartitions()).thenReturn(List.of(
+            day("2026-02-20", true, true),
+            day("2026-03-10", true, true),
+            day("2026-03-15", false, true),
+            day("2026-03-16", true, true),
+            day("2026-03-20", true, true)
+        ));
+
+        service(repository).purgeExpiredDetailRows();
+
+        // Failure cutoff 2026-02-21T10:00Z, success cutoff 2026-03-16T10:00Z
+        verify(repository).dropDayPartition(LocalDate.parse("2026-02-20"));
+        verify(repository).dropSuccessPartition(LocalDate.parse("2026-03-10"));
+        verify(repository, never()).dropSuccessPartition(LocalDate.parse("2026-03-15"));
+        verify(repository, never()).dropSuccessPartition(LocalDate.parse("2026-03-16"));
+        verify(repository, never()).dropFailurePartition(any());
+        verify(repository, never()).dropDayPartition(LocalDate.parse("2026-03-10"));
+    }
+
+    @Test
+    void purgeExpiredDetailRows_shouldSkipWhenTableIsNotPartitioned() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(false);
+
+        service(repository).purgeExpiredDetailRows();
+
+        verify(repository, never()).findDayPartitions();
+    }
+
+    @Test
+    void purgeExpiredDetailRows_shouldContinueWithNextDayWhenDropFails() {
+        RequestLogPartitionRepository repository = mock(RequestLogPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findDayPartitions()).thenReturn(List.of(
+            day("2026-02-18", true, true),
+            day("2026-02-19", true, true)
+        ));
+        doThrow(new CannotAcquireLockException("lock timeout"))
+            .when(repository).dropDayPartition(LocalDate.parse("2026-02-18"));
+
+        service(repository).purgeExpiredDetailRows();
+
+        verify(repository).dropDayPartition(LocalDate.parse("2026-02-19"));
+    }
+
+    private static PartitionDropRequestLogRetentionService service(RequestLogPartitionRepository repository) {
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setRetentionSuccessDays(7);
+        properties.setRetentionFailureDays(30);
+        return new PartitionDropRequestLogRetentionService(repository, properties, CLOCK);
+    }
+
+    private static RequestLogDayPartition day(String day, boolean hasSuccess, boolean hasFailure) {
+        return new RequestLogDayPartition(LocalDate.parse(day), hasSuccess, hasFailure);
+    }
+}
@@ -0,0 +1,31 @@
+package com.dmdr.personal.portal.admin.observability.maintenance;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+
+class RequestLogPartitionSchedulerTest {
+
+    @Test
+    void ensureUpcomingPartitions_shouldDelegateToService() {
+        RequestLogPartitionService service = mock(RequestLogPartitionService.class);
+        RequestLogPartitionScheduler scheduler = new RequestLogPartitionScheduler(service);
+
+        scheduler.ensureUpcomingPartitions();
+
+        verify(service).ensureUpcomingPartitions();
+    }
+
+    @Test
+    void ensureUpcomingPartitionsOnStartup_shouldNotPropagateFailure() {
+        RequestLogPartitionService service = mock(RequestLogPartitionService.class);
+        doThrow(new IllegalStateException("database unavailable")).when(service).ensureUpcomingPartitions();
+        RequestLogPartitionScheduler scheduler = new RequestLogPartitionScheduler(service);
+
+        scheduler.ensureUpcomingPartitionsOnStartup();
+
+        verify(service).ensureUpcomingPartitions();
+    }
+}
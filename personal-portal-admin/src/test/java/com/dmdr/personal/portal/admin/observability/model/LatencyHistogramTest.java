@@ -0,0 +1,92 @@
+package com.dmdr.personal.portal.admin.observability.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentile_shouldStayWithinRelativeAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long durationMs = 1; durationMs <= 10_000; durationMs++) {
+            histogram.record(durationMs);
+        }
+
+        assertThat(histogram.count()).isEqualTo(10_000);
+        assertThat((double) histogram.percentile(0.50)).isCloseTo(5_000, within(5_000 * LatencyHistogram.RELATIVE_ACCURACY));
+        assertThat((double) histogram.percentile(0.95)).isCloseTo(9_500, within(9_500 * LatencyHistogram.RELATIVE_ACCURACY));
+        assertThat((double) histogram.percentile(0.99)).isCloseTo(9_900, within(9_900 * LatencyHistogram.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void percentile_shouldReportSmallDurationsExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(2);
+
+        assertThat(histogram.percentile(0)).isEqualTo(0);
+        assertThat(histogram.percentile(0.5)).isEqualTo(1);
+        assertThat(histogram.percentile(1)).isEqualTo(2);
+    }
+
+    @Test
+    void merge_shouldMatchRecordingEverythingInOneHistogram() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            fast.record(20);
+            all.record(20);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.record(2_000);
+            all.record(2_000);
+        }
+
+        fast.merge(slow);
+
+        assertThat(fast.toBytes()).isEqualTo(all.toBytes());
+        assertThat(fast.percentile(0.9)).isEqualTo(all.percentile(0.9));
+        assertThat((double) fast.percentile(0.95)).isCloseTo(2_000, within(2_000 * LatencyHistogram.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void toBytes_shouldRoundTripSparseBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(250);
+        histogram.record(LatencyHistogram.MAX_TRACKED_MS * 10);
+
+        byte[] bytes = histogram.toBytes();
+        LatencyHistogram decoded = LatencyHistogram.fromBytes(bytes);
+
+        assertThat(bytes.length).isLessThan(16);
+        assertThat(decoded.count()).isEqualTo(4);
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(decoded.percentile(0.5)).isEqualTo(3);
+    }
+
+    @Test
+    void fromBytes_shouldReadNullAsEmpty() {
+        assertThat(LatencyHistogram.fromBytes(null).isEmpty()).isTrue();
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(null).percentile(0.5))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fromBytes_shouldRejectMalformedInput() {
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(new byte[] {9}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version");
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(new byte[] {1, 2, 5}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(new byte[] {1, 1, (byte) 0xFF, 0x7F, 1}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("out of range");
+    }
+}
@@ -1,5 +1,6 @@
 package com.dmdr.personal.portal.admin.observability.persistence;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -7,10 +8,15 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.timeout;
 
 import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class AsyncRequestLogPersistenceGatewayTest {
@@ -18,9 +24,8 @@ class AsyncRequestLogPersistenceGatewayTest {
     @Test
     void enqueue_shouldFlushByBatchSize() {
         RequestLogWriter requestLogWriter = mock(RequestLogWriter.class);
-        Executor directExecutor = Runnable::run;
         RequestLogObservabilityProperties properties = properties(2, 60_000);
-        AsyncRequestLogPersistenceGateway gateway = new AsyncRequestLogPersistenceGateway(directExecutor, requestLogWriter, properties);
+        AsyncRequestLogPersistenceGateway gateway = gateway(requestLogWriter, properties);
 
         RequestLogRecord record = new RequestLogRecord(
             "/api/articles/42",
@@ -41,7 +46,7 @@ class AsyncRequestLogPersistenceGatewayTest {
         gateway.enqueue(record);
         gateway.enqueue(record);
 
-        verify(requestLogWriter).persistBatch(List.of(record, record));
+        verify(requestLogWriter, timeout(500)).persistBatch(List.of(record, record));
         gateway.flushOnShutdown();
     }
 
@@ -49,23 +54,9 @@ class AsyncRequestLogPersistenceGatewayTest {
     void enqueue_shouldFlushByTimeInterval() {
         RequestLogWriter requestLogWriter = mock(RequestLogWriter.class);
         RequestLogObservabilityProperties properties = properties(100, 20);
-        AsyncRequestLogPersistenceGateway gateway = new AsyncRequestLogPersistenceGateway(Runnable::run, requestLogWriter, properties);
+        AsyncRequestLogPersistenceGateway gateway = gateway(requestLogWriter, properties);
 
-        RequestLogRecord record = new RequestLogRecord(
-            "/api/time",
-            "/api/time",
-            "GET",
-            200,
-            5L,
-            null,
-            Instant.parse("2026-03-23T10:15:30Z"),
-            null,
-            null,
-            null,
-            null,
-            null,
-            null
-        );
+        RequestLogRecord record = record("/api/time");
         gateway.enqueue(record);
 
         verify(requestLogWriter, timeout(500)).persistBatch(List.of(record));
@@ -73,7 +64,7 @@ class AsyncRequestLogPersistenceGatewayTest {
     }
 
     @Test
-    void enqueue_shouldSwallowWriterFailure() {
+    void enqueue_shouldSwallowAndCountWriterFailure() {
         RequestLogWriter requestLogWriter = mock(RequestLogWriter.class);
         RequestLogRecord record = new RequestLogRecord(
             "/api/fail",
@@ -92,12 +83,172 @@ class AsyncRequestLogPersistenceGatewayTest {
         );
         doThrow(new RuntimeException("db down")).when(requestLogWriter).persistBatch(List.of(record, record));
         RequestLogObservabilityProperties properties = properties(2, 60_000);
-        AsyncRequestLogPersistenceGateway gateway = new AsyncRequestLogPersistenceGateway(Runnable::run, requestLogWriter, properties);
+        AsyncRequestLogPersistenceGateway gateway = gateway(requestLogWriter, properties);
 
         gateway.enqueue(record);
         gateway.enqueue(record);
 
         assertThatCode(gateway::flushOnShutdown).doesNotThrowAnyException();
+        assertThat(gateway.writeFailedCount()).isEqualTo(2);
+        assertThat(gateway.droppedCount()).isZero();
+    }
+
+    @Test
+    void flushOnShutdown_shouldWriteBufferedRecords() {
+        List<RequestLogRecord> written = new CopyOnWriteArrayList<>();
+        RequestLogObservabilityProperties properties = properties(3, 60_000);
+        AsyncRequestLogPersistenceGateway gateway = gateway(written::addAll, properties);
+
+        for (int i = 0; i < 7; i++) {
+            gateway.enqueue(record("/api/" + i));
+        }
+        gateway.flushOnShutdown();
+
+        assertThat(written).extracting(RequestLogRecord::path)
+            .containsExactly("/api/0", "/api/1", "/api/2", "/api/3", "/api/4", "/api/5", "/api/6");
+    }
+
+    @Test
+    void flushOnShutdown_shouldStopAtDeadlineAndCountLeftoversAsDropped() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        List<RequestLogRecord> written = new CopyOnWriteArrayList<>();
+        AsyncRequestLogPersistenceGateway gateway = new AsyncRequestLogPersistenceGateway(records -> {
+            writerBlocked.countDown();
+            await(releaseWriter);
+            written.addAll(records);
+        }, properties(1, 60_000), new SimpleMeterRegistry(), Duration.ofMillis(100));
+
+        gateway.enqueue(record("/api/in-writer"));
+        assertThat(writerBlocked.await(1, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            gateway.enqueue(record("/api/" + i));
+        }
+        long started = System.nanoTime();
+        gateway.flushOnShutdown();
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        releaseWriter.countDown();
+
+        assertThat(waitedMs).isLessThan(1_000);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (gateway.droppedCount() < 5 && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        assertThat(gateway.droppedCount()).isEqualTo(5);
+        assertThat(written).extracting(RequestLogRecord::path).containsExactly("/api/in-writer");
+    }
+
+    @Test
+    void enqueue_shouldDropAndCountWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        List<RequestLogRecord> written = new CopyOnWriteArrayList<>();
+        RequestLogObservabilityProperties properties = properties(1, 60_000);
+        properties.setAsyncBufferCapacity(4);
+        AsyncRequestLogPersistenceGateway gateway = gateway(records -> {
+            writerBlocked.countDown();
+            await(releaseWriter);
+            written.addAll(records);
+        }, properties);
+
+        gateway.enqueue(record("/api/in-writer"));
+        assertThat(writerBlocked.await(1, TimeUnit.SECONDS)).isTrue();
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            accepted.add(gateway.tryEnqueue(record("/api/" + i)));
+        }
+
+        assertThat(accepted).containsExactly(true, true, true, true, false, false);
+        assertThat(gateway.droppedCount()).isEqualTo(2);
+        releaseWriter.countDown();
+        gateway.flushOnShutdown();
+        assertThat(written).extracting(RequestLogRecord::path)
+            .containsExactly("/api/in-writer", "/api/0", "/api/1", "/api/2", "/api/3");
+    }
+
+    @Test
+    void enqueue_shouldWaitForSpaceUnderWaitPolicy() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        List<RequestLogRecord> written = new CopyOnWriteArrayList<>();
+        RequestLogObservabilityProperties properties = properties(1, 60_000);
+        properties.setAsyncBufferCapacity(2);
+        properties.setAsyncBackpressure(RequestLogBackpressurePolicy.WAIT);
+        properties.setAsyncBackpressureMaxWaitMs(2_000);
+        AsyncRequestLogPersistenceGateway gateway = gateway(records -> {
+            writerBlocked.countDown();
+            await(releaseWriter);
+            written.addAll(records);
+        }, properties);
+
+        gateway.enqueue(record("/api/in-writer"));
+        assertThat(writerBlocked.await(1, TimeUnit.SECONDS)).isTrue();
+        gateway.enqueue(record("/api/buffered-1"));
+        gateway.enqueue(record("/api/buffered-2"));
+        Thread releaser = new Thread(() -> {
+            sleep(100);
+            releaseWriter.countDown();
+        });
+        releaser.start();
+        gateway.enqueue(record("/api/waited"));
+        releaser.join();
+
+        gateway.flushOnShutdown();
+        assertThat(gateway.droppedCount()).isZero();
+        assertThat(written).extracting(RequestLogRecord::path)
+            .containsExactly("/api/in-writer", "/api/buffered-1", "/api/buffered-2", "/api/waited");
+    }
+
+    @Test
+    void enqueue_shouldKeepEveryRecordFromConcurrentProducers() throws InterruptedException {
+        List<RequestLogRecord> written = new CopyOnWriteArrayList<>();
+        RequestLogObservabilityProperties properties = properties(50, 10);
+        properties.setAsyncBufferCapacity(1 << 16);
+        AsyncRequestLogPersistenceGateway gateway = gateway(written::addAll, properties);
+        RequestLogRecord record = record("/api/concurrent");
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    gateway.enqueue(record);
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        gateway.flushOnShutdown();
+
+        assertThat(gateway.droppedCount()).isZero();
+        assertThat(written).hasSize(40_000);
+    }
+
+    private static AsyncRequestLogPersistenceGateway gateway(
+        RequestLogWriter requestLogWriter,
+        RequestLogObservabilityProperties properties
+    ) {
+        return new AsyncRequestLogPersistenceGateway(requestLogWriter, properties, new SimpleMeterRegistry());
+    }
+
+    private static RequestLogRecord record(String path) {
+        return new RequestLogRecord(
+            path,
+            path,
+            "GET",
+            200,
+            5L,
+            null,
+            Instant.parse("2026-03-23T10:15:30Z"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
     }
 
     private static RequestLogObservabilityProperties properties(int flushBatchSize, long flushIntervalMs) {
@@ -106,4 +257,20 @@ class AsyncRequestLogPersistenceGatewayTest {
         properties.setAsyncFlushIntervalMs(flushIntervalMs);
         return properties;
     }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
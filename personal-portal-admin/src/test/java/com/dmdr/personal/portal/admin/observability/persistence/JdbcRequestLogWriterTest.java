@@ -0,0 +1,168 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.model.RequestLogEntity;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogRepository;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+@ContextConfiguration(classes = JdbcRequestLogWriterTest.JpaSliceConfig.class)
+class JdbcRequestLogWriterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-23T15:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RequestLogRepository repository;
+
+    @Test
+    void persistBatch_shouldMapRecordAndUseUtcClockForCreatedAt() {
+        RequestLogRecord record = new RequestLogRecord(
+            "/api/articles/7",
+            "/api/articles/{id}",
+            "PATCH",
+            422,
+            35L,
+            UUID.randomUUID(),
+            Instant.parse("2020-01-01T00:00:00Z"),
+            "VALIDATION_FAILED",
+            "Bad field",
+            "{\"email\":\"***\"}",
+            "{\"Authorization\":[\"***\"]}",
+            "{\"Set-Cookie\":[\"***\"]}",
+            "stack"
+        );
+
+        writer(RequestLogWriteMode.JDBC_BATCH).persistBatch(List.of(record));
+
+        List<RequestLogEntity> rows = repository.findAll();
+        assertThat(rows).hasSize(1);
+        RequestLogEntity entity = rows.get(0);
+        assertThat(entity.getPath()).isEqualTo("/api/articles/7");
+        assertThat(entity.getTemplatePath()).isEqualTo("/api/articles/{id}");
+        assertThat(entity.getMethod()).isEqualTo("PATCH");
+        assertThat(entity.getStatus()).isEqualTo(422);
+        assertThat(entity.getDurationMs()).isEqualTo(35L);
+        assertThat(entity.getUserId()).isEqualTo(record.userId());
+        assertThat(entity.getCreatedAt()).isEqualTo(Instant.parse("2026-03-23T15:00:00Z"));
+        assertThat(entity.getErrorCode()).isEqualTo("VALIDATION_FAILED");
+        assertThat(entity.getErrorMessage()).isEqualTo("Bad field");
+        assertThat(entity.getRequestBody()).isEqualTo("{\"email\":\"***\"}");
+        assertThat(entity.getRequestHeaders()).isEqualTo("{\"Authorization\":[\"***\"]}");
+        assertThat(entity.getResponseHeaders()).isEqualTo("{\"Set-Cookie\":[\"***\"]}");
+        assertThat(entity.getStackTrace()).isEqualTo("stack");
+    }
+
+    @Test
+    void persistBatch_shouldFallBackToJdbcBatchWhenCopyIsUnavailable() {
+        writer(RequestLogWriteMode.COPY).persistBatch(List.of(record("/api/a", null), record("/api/b", null)));
+
+        assertThat(repository.findAll())
+            .extracting(RequestLogEntity::getPath)
+            .containsExactlyInAnyOrder("/api/a", "/api/b");
+    }
+
+    @Test
+    void persistBatch_shouldIgnoreEmptyBatch() {
+        writer(RequestLogWriteMode.JDBC_BATCH).persistBatch(List.of());
+
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void appendCsvRow_shouldQuoteTextAndLeaveNullsEmpty() throws IOException {
+        StringBuilder row = new StringBuilder();
+        UUID userId = UUID.fromString("8f7c2a4e-3b1d-4c5e-9f0a-1b2c3d4e5f60");
+        RequestLogRecord record = new RequestLogRecord(
+            "/api/search",
+            "/api/search",
+            "GET",
+            500,
+            12L,
+            userId,
+            null,
+            "",
+            "said \"no\", twice",
+            null,
+            null,
+            null,
+            "line one\n\\.\nline three"
+        );
+
+        JdbcRequestLogWriter.appendCsvRow(row, record, Instant.parse("2026-03-23T15:00:00Z"));
+
+        assertThat(row.toString()).isEqualTo(
+            "\"/api/search\",\"/api/search\",\"GET\",500,12," + userId + ",2026-03-23T15:00:00Z,"
+                + "\"\",\"said \"\"no\"\", twice\",,,,\"line one\n\\.\nline three\"\n"
+        );
+    }
+
+    @Test
+    void persistBatch_shouldWriteEveryRecordOfLargeBatch() {
+        List<RequestLogRecord> records = IntStream.range(0, 250)
+            .mapToObj(i -> record("/api/" + i, UUID.randomUUID()))
+            .toList();
+
+        writer(RequestLogWriteMode.JDBC_BATCH).persistBatch(records);
+
+        assertThat(repository.findAll())
+            .hasSize(250)
+            .map(RequestLogEntity::getPath)
+            .contains("/api/0", "/api/249");
+    }
+
+    private JdbcRequestLogWriter writer(RequestLogWriteMode mode) {
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setWriteMode(mode);
+        return new JdbcRequestLogWriter(new JdbcTemplate(dataSource), transactionManager, properties, CLOCK);
+    }
+
+    private static RequestLogRecord record(String path, UUID userId) {
+        return new RequestLogRecord(
+            path,
+            path,
+            "GET",
+            200,
+            5L,
+            userId,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = RequestLogEntity.class)
+    @EnableJpaRepositories(basePackageClasses = RequestLogRepository.class)
+    static class JpaSliceConfig {
+    }
+}
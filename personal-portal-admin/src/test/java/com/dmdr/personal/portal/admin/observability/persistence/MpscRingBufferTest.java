@@ -0,0 +1,94 @@
+package com.dmdr.personal.portal.admin.observability.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void constructor_shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<String>(1).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<String>(4).capacity()).isEqualTo(4);
+        assertThat(new MpscRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offer_shouldRejectWhenFullAndAcceptAgainAfterDrain() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+        List<String> drained = new ArrayList<>();
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(2);
+
+        assertThat(drained).containsExactly("a", "b", "c");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void offer_shouldNotOverwriteUndrainedElementInSmallestBuffer() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(1);
+        List<String> drained = new ArrayList<>();
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.offer("d")).isFalse();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(2);
+
+        assertThat(drained).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void drainTo_shouldReceiveEveryElementFromConcurrentProducersInProducerOrder() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 20_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(256);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new long[] {producer, i})) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] nextPerProducer = new long[producers];
+        Set<Long> seen = new HashSet<>();
+        List<long[]> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            received += buffer.drainTo(batch, 64);
+            for (long[] element : batch) {
+                int producer = (int) element[0];
+                assertThat(element[1]).isEqualTo(nextPerProducer[producer]++);
+                seen.add(element[0] * perProducer + element[1]);
+            }
+            batch.clear();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
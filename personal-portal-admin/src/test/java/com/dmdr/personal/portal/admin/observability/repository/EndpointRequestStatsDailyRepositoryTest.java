@@ -3,7 +3,9 @@ package com.dmdr.personal.portal.admin.observability.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.dmdr.personal.portal.admin.observability.model.EndpointRequestStatsDailyEntity;
+import com.dmdr.personal.portal.admin.observability.model.LatencyHistogram;
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -56,6 +58,32 @@ class EndpointRequestStatsDailyRepositoryTest {
         assertThat(page1.getContent().get(0).getTotalErrorCount()).isEqualTo(6L);
     }
 
+    @Test
+    @SuppressWarnings("null")
+    void findLatencyHistograms_shouldReturnStoredHistogramsInPeriod() {
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.record(120);
+        EndpointRequestStatsDailyEntity withLatency = createRow(LocalDate.parse("2026-03-01"), "GET", "/api/v1/a", 1, 1, 0, 0, 0, 0);
+        withLatency.setLatencyHistogram(latency.toBytes());
+        repository.save(withLatency);
+        repository.save(createRow(LocalDate.parse("2026-03-02"), "GET", "/api/v1/a", 0, 0, 0, 0, 0, 0));
+        EndpointRequestStatsDailyEntity outsidePeriod = createRow(LocalDate.parse("2026-02-28"), "GET", "/api/v1/a", 1, 1, 0, 0, 0, 0);
+        outsidePeriod.setLatencyHistogram(latency.toBytes());
+        repository.save(outsidePeriod);
+
+        var rows = repository.findLatencyHistograms(
+            LocalDate.parse("2026-03-01"),
+            LocalDate.parse("2026-03-31"),
+            List.of("GET"),
+            List.of("/api/v1/a")
+        );
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getMethod()).isEqualTo("GET");
+        assertThat(rows.get(0).getTemplatePath()).isEqualTo("/api/v1/a");
+        assertThat(LatencyHistogram.fromBytes(rows.get(0).getLatencyHistogram()).count()).isEqualTo(1);
+    }
+
     private static EndpointRequestStatsDailyEntity createRow(
         LocalDate bucketStart,
         String method,
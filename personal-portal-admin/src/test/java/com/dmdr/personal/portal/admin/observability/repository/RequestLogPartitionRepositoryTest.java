@@ -0,0 +1,24 @@
+package com.dmdr.personal.portal.admin.observability.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class RequestLogPartitionRepositoryTest {
+
+    @Test
+    void dayTable_shouldUseBasicIsoDate() {
+        assertThat(RequestLogPartitionRepository.dayTable(LocalDate.parse("2026-03-09")))
+            .isEqualTo("request_log_p20260309");
+    }
+
+    @Test
+    void parseDay_shouldReadDayPartitionsOnly() {
+        assertThat(RequestLogPartitionRepository.parseDay("request_log_p20260309"))
+            .isEqualTo(LocalDate.parse("2026-03-09"));
+        assertThat(RequestLogPartitionRepository.parseDay("request_log_p20260309_success")).isNull();
+        assertThat(RequestLogPartitionRepository.parseDay("request_log_p20261399")).isNull();
+        assertThat(RequestLogPartitionRepository.parseDay("request_log_unpartitioned")).isNull();
+    }
+}
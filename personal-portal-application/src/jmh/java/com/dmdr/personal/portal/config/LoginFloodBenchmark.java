@@ -0,0 +1,105 @@
+package com.dmdr.personal.portal.config;
+
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a cheap public request while login requests flood the same request thread pool.
+ * <p>
+ * {@code workers} stands in for the servlet container's request threads. In the {@code flood} group, 64 threads
+ * keep submitting logins (a BCrypt check) and one thread submits a public request and waits for it; compare the
+ * {@code flood:publicRequest} percentiles with {@code idle}, which submits public requests alone.
+ * <ul>
+ *     <li>{@code inline}: BCrypt runs on the request thread, as before.</li>
+ *     <li>{@code bounded}: BCrypt runs through {@link BoundedPasswordEncoder} with the default pool and queue.</li>
+ * </ul>
+ * {@code mvn -Pbenchmark -pl personal-portal-application test -DskipTests -Djmh.args="LoginFlood"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginFloodBenchmark {
+
+    private static final int REQUEST_THREADS = 48;
+
+    @Param({"inline", "bounded"})
+    public String hashing;
+
+    private ExecutorService workers;
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        passwordHash = bcrypt.encode("correct-horse-battery-staple");
+        int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        passwordEncoder = "bounded".equals(hashing)
+                ? new BoundedPasswordEncoder(bcrypt, hashingThreads, 32, Duration.ofSeconds(5),
+                        new SimpleMeterRegistry())
+                : bcrypt;
+        workers = Executors.newFixedThreadPool(REQUEST_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        workers.shutdownNow();
+        if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.destroy();
+        }
+    }
+
+    @Benchmark
+    @Group("flood")
+    @GroupThreads(64)
+    public boolean login() throws Exception {
+        return workers.submit(() -> {
+            try {
+                return passwordEncoder.matches("wrong-password", passwordHash);
+            } catch (PersonalPortalRuntimeException busy) {
+                return false;
+            }
+        }).get();
+    }
+
+    @Benchmark
+    @Group("flood")
+    @GroupThreads(1)
+    public int publicRequest() throws Exception {
+        return workers.submit(LoginFloodBenchmark::renderPublicPage).get();
+    }
+
+    @Benchmark
+    public int idle() throws Exception {
+        return workers.submit(LoginFloodBenchmark::renderPublicPage).get();
+    }
+
+    private static int renderPublicPage() {
+        return String.valueOf(System.nanoTime()).hashCode();
+    }
+}
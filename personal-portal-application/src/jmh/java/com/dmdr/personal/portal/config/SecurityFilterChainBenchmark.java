@@ -0,0 +1,156 @@
+package com.dmdr.personal.portal.config;
+
+import com.dmdr.personal.portal.admin.observability.capture.RequestLoggingFilter;
+import com.dmdr.personal.portal.admin.observability.live.LiveEndpointMetrics;
+import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecord;
+import com.dmdr.personal.portal.admin.observability.routing.DefaultRequestLoggingPathPolicy;
+import com.dmdr.personal.portal.core.state.HomePageActiveHolder;
+import com.dmdr.personal.portal.service.JwtService;
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.service.UserStatusService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Per-request cost of the application's own servlet filters for an authenticated request: correlation id, JWT,
+ * already-authenticated, home-page-active, account lock, account activation and request logging, in chain order.
+ * The user status lookup is a constant and log records are dropped after the live endpoint metrics count them, so
+ * only the filters' own work is measured.
+ * <ul>
+ *     <li>{@code filtersOnly}: the filters around an empty servlet.</li>
+ *     <li>{@code mockMvc}: the same filters in front of a trivial controller through MockMvc.</li>
+ * </ul>
+ * {@code mvn -Pbenchmark -pl personal-portal-application test -DskipTests -Djmh.args="SecurityFilterChain"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-256-bits-minimum";
+
+    @Param({"/api/v1/user/session/booking", "/api/v1/public/media/image/42", "/api/v1/admin/users"})
+    public String path;
+
+    private Filter[] filters;
+    private MockMvc mockMvc;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HomePageActiveHolder.setActive(true);
+        JwtService jwtService = new JwtService(SECRET, "personal-portal", "personal-portal-api", 10, 10_000);
+        UUID userId = UUID.randomUUID();
+        authorization = "Bearer " + jwtService.generateToken(userId, Set.of("ROLE_USER"), UUID.randomUUID());
+        UserStatus status = new UserStatus(userId, false, true, Set.of(1L), 0L);
+        UserStatusService userStatusService = new UserStatusService() {
+            @Override
+            public Optional<UserStatus> findStatus(UUID id) {
+                return Optional.of(status);
+            }
+
+            @Override
+            public void evict(UUID id) {
+            }
+        };
+
+        filters = new Filter[] {
+                new ClearSecurityContextFilter(),
+                new CorrelationIdFilter(),
+                new JwtAuthenticationFilter(jwtService),
+                new AlreadyAuthenticatedFilter(),
+                new HomePageActiveFilter(),
+                new AccountLockedFilter(userStatusService),
+                new AccountActivationFilter(userStatusService),
+                new RequestLoggingFilter(new DefaultRequestLoggingPathPolicy(),
+                        (request, response, context) -> new RequestLogRecord(request.getRequestURI(),
+                                request.getRequestURI(), request.getMethod(), response.getStatus(), 0L, null,
+                                Instant.now(), null, null, null, null, null, null),
+                        record -> { }, new LiveEndpointMetrics(Clock.systemUTC()), Clock.systemUTC())
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(new OkController()).addFilters(filters).build();
+    }
+
+    @Benchmark
+    public int filtersOnly() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new OkServlet(), filters).doFilter(request, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int mockMvc() throws Exception {
+        return mockMvc.perform(get(path).header("Authorization", authorization)).andReturn().getResponse().getStatus();
+    }
+
+    static class OkServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+    }
+
+    @RestController
+    static class OkController {
+        @GetMapping("/**")
+        String ok() {
+            return "ok";
+        }
+    }
+
+    /**
+     * The security context is thread-bound; real requests get a fresh one from Spring Security.
+     */
+    static class ClearSecurityContextFilter extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                @NonNull FilterChain filterChain) throws ServletException, IOException {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
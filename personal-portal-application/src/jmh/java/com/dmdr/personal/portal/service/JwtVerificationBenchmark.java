@@ -0,0 +1,86 @@
+package com.dmdr.personal.portal.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token.
+ * <ul>
+ *     <li>{@code perRequestTripleParse}: the former filter, which verified the token three times and rebuilt the
+ *     key and parser for each.</li>
+ *     <li>{@code coldVerify}: a token seen for the first time, verified once with the prebuilt parser.</li>
+ *     <li>{@code warmVerify}: a token already in the verified-claims cache.</li>
+ * </ul>
+ * {@code mvn -Pbenchmark -pl personal-portal-application test -DskipTests -Djmh.args="JwtVerification"}, with the
+ * other modules installed ({@code -am} would also run their benchmarks).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-256-bits-minimum";
+    private static final String ISSUER = "personal-portal";
+    private static final String AUDIENCE = "personal-portal-api";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncached = new JwtService(SECRET, ISSUER, AUDIENCE, 10, new VerifiedClaimsCache(0), Clock.systemUTC());
+        cached = new JwtService(SECRET, ISSUER, AUDIENCE, 10, new VerifiedClaimsCache(10_000), Clock.systemUTC());
+        token = cached.generateToken(UUID.randomUUID(), Set.of("ROLE_USER", "ROLE_ADMIN"), UUID.randomUUID());
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public void perRequestTripleParse(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token));
+        blackhole.consume(UUID.fromString(legacyParse(token).getSubject()));
+        blackhole.consume(legacyParse(token).get("roles"));
+    }
+
+    @Benchmark
+    public VerifiedClaims coldVerify() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedClaims warmVerify() {
+        return cached.verify(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
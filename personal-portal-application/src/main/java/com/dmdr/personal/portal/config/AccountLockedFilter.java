@@ -1,8 +1,9 @@
 package com.dmdr.personal.portal.config;
 
+import com.dmdr.personal.portal.core.web.RequestClassification;
 import com.dmdr.personal.portal.service.exception.PortalErrorCode;
-import com.dmdr.personal.portal.users.model.User;
-import com.dmdr.personal.portal.users.repository.UserRepository;
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.service.UserStatusService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,29 +18,22 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 @Component
 @Slf4j
 public class AccountLockedFilter extends OncePerRequestFilter {
 
     private static final String ACCOUNT_LOCKED_MESSAGE = "Account is locked.";
-    private static final Pattern PUBLIC_API_PATH = Pattern.compile("^/api/v\\d+/public(?:/.*)?$");
-    private static final Pattern ADMIN_API_PATH = Pattern.compile("^/api/v\\d+/admin(?:/.*)?$");
-    private static final Pattern AUTH_API_PATH = Pattern.compile("^/api/v\\d+/auth(?:/.*)?$");
 
-    private final UserRepository userRepository;
+    private final UserStatusService userStatusService;
 
-    public AccountLockedFilter(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public AccountLockedFilter(UserStatusService userStatusService) {
+        this.userStatusService = userStatusService;
     }
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return PUBLIC_API_PATH.matcher(path).matches()
-                || ADMIN_API_PATH.matcher(path).matches()
-                || AUTH_API_PATH.matcher(path).matches();
+        return RequestClassification.of(request).isAccountCheckExempt();
     }
 
     @Override
@@ -58,16 +52,16 @@ public class AccountLockedFilter extends OncePerRequestFilter {
             return;
         }
 
-        Optional<User> user;
+        Optional<UserStatus> status;
         try {
-            user = userRepository.findUserById(userId);
+            status = RequestUserStatus.resolve(request, userStatusService, userId);
         } catch (Exception e) {
             log.error("Failed to validate account lock for user {}: {}", userId, e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (user.isPresent() && user.get().isLocked()) {
+        if (status.isPresent() && status.get().locked()) {
             response.setStatus(PortalErrorCode.ACCOUNT_LOCKED.getHttpCode());
             response.setContentType("application/json");
             response.getWriter().write("{\"code\":\"" + PortalErrorCode.ACCOUNT_LOCKED.getCode()
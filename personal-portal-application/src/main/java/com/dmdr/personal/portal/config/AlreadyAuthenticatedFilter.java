@@ -1,5 +1,6 @@
 package com.dmdr.personal.portal.config;
 
+import com.dmdr.personal.portal.core.web.RequestClassification;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,14 +18,11 @@ import java.io.IOException;
 @Slf4j
 public class AlreadyAuthenticatedFilter extends OncePerRequestFilter {
 
-    private static final String LOGIN_PATH = "/api/v1/auth/login";
-    private static final String REGISTRY_PATH = "/api/v1/auth/registry";
-
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String requestPath = request.getRequestURI();
+        RequestClassification classification = RequestClassification.of(request);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         // Check if user is authenticated (not anonymous) and trying to access login or registry endpoints
@@ -33,8 +31,8 @@ public class AlreadyAuthenticatedFilter extends OncePerRequestFilter {
                 && authentication.isAuthenticated()
                 && !"anonymousUser".equals(authentication.getPrincipal());
 
-        if (isAuthenticated && (requestPath.equals(LOGIN_PATH) || requestPath.equals(REGISTRY_PATH))) {
-            log.debug("Authenticated user attempted to access {} endpoint", requestPath);
+        if (isAuthenticated && classification.credentialsEntry()) {
+            log.debug("Authenticated user attempted to access {} endpoint", classification.path());
             response.setStatus(HttpServletResponse.SC_CONFLICT);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\":\"Already authenticated. Cannot access login/registry endpoints.\"}");
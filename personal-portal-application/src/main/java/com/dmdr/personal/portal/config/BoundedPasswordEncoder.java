@@ -0,0 +1,142 @@
+package com.dmdr.personal.portal.config;
+
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the delegate's CPU-bound hashing on a small dedicated pool instead of the calling request thread.
+ * <p>
+ * At most {@code poolSize} hashes run at once and at most {@code queueCapacity} wait, in arrival order. A call
+ * that finds the queue full, or waits longer than {@code maxWait}, fails with
+ * {@link PortalErrorCode#AUTHENTICATION_BUSY} right away, so a login flood holds a bounded number of request
+ * threads and leaves the rest to other endpoints.
+ * <p>
+ * Publishes {@code auth.password.hashing.queue} (time spent waiting for a hashing thread),
+ * {@code auth.password.hashing.execution}, {@code auth.password.hashing.rejected} and
+ * {@code auth.password.hashing.queue.size}.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final Timer queueTimer;
+    private final Timer executionTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, Duration maxWait,
+            MeterRegistry meterRegistry) {
+        if (poolSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("poolSize and queueCapacity must be positive");
+        }
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity, true),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueTimer = Timer.builder("auth.password.hashing.queue")
+                .description("Time a hashing call waited for a hashing thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("auth.password.hashing.execution")
+                .description("Time spent hashing or verifying a password or code")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.password.hashing.queue.size", executor, pool -> pool.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            log.warn("Password hashing queue is full; rejecting request");
+            throw new PersonalPortalRuntimeException(PortalErrorCode.AUTHENTICATION_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Frees the queue slot if the task has not started; a hash already running finishes and is discarded
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            timeoutCounter.increment();
+            log.warn("Password hashing did not complete within {} ms; rejecting request",
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            throw new PersonalPortalRuntimeException(PortalErrorCode.AUTHENTICATION_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            Thread.currentThread().interrupt();
+            throw new PersonalPortalRuntimeException(PortalErrorCode.AUTHENTICATION_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.dmdr.personal.portal.config;
 
 import com.dmdr.personal.portal.core.security.SystemRole;
 import com.dmdr.personal.portal.core.state.HomePageActiveHolder;
+import com.dmdr.personal.portal.core.web.RequestClassification;
 import com.dmdr.personal.portal.service.exception.PortalErrorCode;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,17 +15,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
 
 @Component
 public class HomePageActiveFilter extends OncePerRequestFilter {
 
-    private static final Pattern USER_API_PATH = Pattern.compile("^/api/v\\d+/user(?:/.*)?$");
-
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return !USER_API_PATH.matcher(path).matches();
+        return RequestClassification.of(request).area() != RequestClassification.Area.USER_API;
     }
 
     @Override
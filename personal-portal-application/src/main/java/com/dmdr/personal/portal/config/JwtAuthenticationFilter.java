@@ -1,6 +1,7 @@
 package com.dmdr.personal.portal.config;
 
 import com.dmdr.personal.portal.service.JwtService;
+import com.dmdr.personal.portal.service.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,7 +17,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -46,27 +46,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(BEARER_PREFIX.length());
 
-            if (jwtService.isValidToken(token)) {
-                UUID userId = jwtService.extractUserId(token);
-                Set<String> roles = jwtService.extractRoles(token);
+            // One verification per token; repeats are served from the verified-claims cache
+            VerifiedClaims claims = jwtService.verify(token);
 
-                log.debug("Extracted roles from token: {}", roles);
+            log.debug("Extracted roles from token: {}", claims.roles());
 
-                // Convert roles to Spring Security authorities
-                Set<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toSet());
+            // Convert roles to Spring Security authorities
+            Set<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toSet());
 
-                log.debug("Created authorities: {}", authorities);
+            log.debug("Created authorities: {}", authorities);
 
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Create authentication token
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(claims.userId(), null, authorities);
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            // Set authentication in security context
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         } catch (Exception e) {
             log.debug("Failed to process JWT token: {}", e.getMessage());
             // Continue filter chain without setting authentication
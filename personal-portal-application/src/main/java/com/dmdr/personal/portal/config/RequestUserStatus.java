@@ -0,0 +1,32 @@
+package com.dmdr.personal.portal.config;
+
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.service.UserStatusService;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves the authenticated user's {@link UserStatus} once per request and shares it between the account
+ * filters through a request attribute.
+ */
+final class RequestUserStatus {
+
+    private static final String ATTRIBUTE_PREFIX = RequestUserStatus.class.getName() + ".";
+
+    private RequestUserStatus() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Optional<UserStatus> resolve(HttpServletRequest request, UserStatusService userStatusService, UUID userId) {
+        String attribute = ATTRIBUTE_PREFIX + userId;
+        Object resolved = request.getAttribute(attribute);
+        if (resolved != null) {
+            return (Optional<UserStatus>) resolved;
+        }
+        Optional<UserStatus> status = userStatusService.findStatus(userId);
+        request.setAttribute(attribute, status);
+        return status;
+    }
+}
@@ -1,6 +1,10 @@
 package com.dmdr.personal.portal.config;
 
 import com.dmdr.personal.portal.core.security.SystemRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -19,6 +23,8 @@ import org.springframework.security.web.csrf.CsrfTokenRequestHandler;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
@@ -53,9 +59,19 @@ public class WebSecurityConfig {
         this.csrfRequestMatcher = csrfRequestMatcher;
     }
 
+    /**
+     * BCrypt on a bounded hashing pool, so password and verification code checks do not run on request threads.
+     * A pool size of 0 uses half of the available processors.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password-hashing.pool-size:0}") int poolSize,
+            @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${auth.password-hashing.max-wait-ms:5000}") long maxWaitMs,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity,
+                Duration.ofMillis(maxWaitMs), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
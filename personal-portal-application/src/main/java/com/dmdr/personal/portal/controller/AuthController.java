@@ -1,6 +1,7 @@
 package com.dmdr.personal.portal.controller;
 
 import com.dmdr.personal.portal.service.JwtService;
+import com.dmdr.personal.portal.service.LoginAttemptThrottle;
 import com.dmdr.personal.portal.users.dto.AuthResponse;
 import com.dmdr.personal.portal.users.dto.CreateUserRequest;
 import com.dmdr.personal.portal.users.dto.ForgotPasswordRequest;
@@ -51,31 +52,37 @@ public class AuthController {
     private final RefreshTokenService refreshTokenService;
     private final AccountVerificationService accountVerificationService;
     private final CsrfTokenRepository csrfTokenRepository;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     public AuthController(UserService userService,
             JwtService jwtService,
             PasswordResetService passwordResetService,
             RefreshTokenService refreshTokenService,
             AccountVerificationService accountVerificationService,
-            CsrfTokenRepository csrfTokenRepository) {
+            CsrfTokenRepository csrfTokenRepository,
+            LoginAttemptThrottle loginAttemptThrottle) {
         this.userService = userService;
         this.jwtService = jwtService;
         this.passwordResetService = passwordResetService;
         this.refreshTokenService = refreshTokenService;
         this.accountVerificationService = accountVerificationService;
         this.csrfTokenRepository = csrfTokenRepository;
+        this.loginAttemptThrottle = loginAttemptThrottle;
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest,
             HttpServletResponse httpResponse) {
-        User user = userService.findByEmail(request.getEmail())
-                .orElseThrow(() -> new PersonalPortalRuntimeException(PortalErrorCode.INVALID_EMAIL_PASSWORD));
+        String clientAddress = httpRequest.getRemoteAddr();
+        loginAttemptThrottle.checkAllowed(request.getEmail(), clientAddress);
 
-        if (!userService.validatePassword(request.getPassword(), user.getPassword())) {
+        User user = userService.findByEmail(request.getEmail()).orElse(null);
+        if (user == null || !userService.validatePassword(request.getPassword(), user.getPassword())) {
+            loginAttemptThrottle.recordFailure(request.getEmail(), clientAddress);
             throw new PersonalPortalRuntimeException(PortalErrorCode.INVALID_EMAIL_PASSWORD);
         }
+        loginAttemptThrottle.recordSuccess(request.getEmail(), clientAddress);
         if (user.isLocked()) {
             throw new PersonalPortalRuntimeException(PortalErrorCode.ACCOUNT_LOCKED);
         }
@@ -4,19 +4,17 @@ import com.dmdr.personal.portal.booking.model.Booking;
 import com.dmdr.personal.portal.booking.repository.BookingRepository;
 import com.dmdr.personal.portal.core.model.TimezoneEntry;
 import com.dmdr.personal.portal.booking.dto.booking.AvailableDaysResponse;
-import com.dmdr.personal.portal.booking.dto.booking.BookingSuggestion;
 import com.dmdr.personal.portal.booking.dto.booking.BookingSuggestionsResponse;
+import com.dmdr.personal.portal.booking.dto.booking.SuggestedSlots;
 import com.dmdr.personal.portal.booking.model.SessionType;
 import com.dmdr.personal.portal.booking.repository.SessionTypeRepository;
 import com.dmdr.personal.portal.booking.service.AvailabilityService;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -64,7 +62,7 @@ public class BookingSuggestionController {
 				.orElseThrow(() -> new IllegalArgumentException("SessionType not found: " + sessionTypeId));
 
 		// Calculate booking suggestions
-		List<BookingSuggestion> suggestions = availabilityService.calculateBookingSuggestion(
+		SuggestedSlots suggestions = availabilityService.calculateBookingSuggestion(
 				sessionType,
 				suggestedDate,
 				timezoneId);
@@ -89,7 +87,7 @@ public class BookingSuggestionController {
 				.orElseThrow(() -> new IllegalArgumentException("Booking not found: " + bookingId));
 
 		// Calculate booking suggestions
-		List<BookingSuggestion> suggestions = availabilityService.calculateBookingSuggestionForUpdate(
+		SuggestedSlots suggestions = availabilityService.calculateBookingSuggestionForUpdate(
 				bookingToUpdate,
 				suggestedDate,
 				timezoneId);
@@ -122,7 +120,7 @@ public class BookingSuggestionController {
 	}
 
 	private BookingSuggestionsResponse transformToDto(
-			List<BookingSuggestion> suggestions,
+			SuggestedSlots suggestions,
 			Long sessionTypeId,
 			Integer sessionDurationMinutes,
 			Integer sessionBufferMinutes,
@@ -137,32 +135,26 @@ public class BookingSuggestionController {
 		dto.setSessionBufferMinutes(sessionBufferMinutes);
 
 		// Calculate offset from timezone
-		ZoneId zoneId = ZoneId.of(timezoneEntry.getGmtOffset());
-		Instant now = Instant.now();
-		ZoneOffset offset = zoneId.getRules().getOffset(now);
-		dto.setOffset(offset.toString());
-
-		// Transform suggestions to slots
-		List<BookingSuggestionsResponse.Slot> slots = suggestions.stream()
-				.sorted(Comparator.comparing(BookingSuggestion::getStartTimeInstant))
-				.map(suggestion -> {
-					BookingSuggestionsResponse.Slot slot = new BookingSuggestionsResponse.Slot();
-					LocalDate localDateOfSuggestion = suggestion.getStartTimeInstant()
-							.atZone(zoneId)
-							.toLocalDate();
-					LocalTime startTime = suggestion.getStartTime()
-							.atZone(zoneId)
-							.toLocalTime();
-					LocalTime endTime = suggestion.getEndTime()
-							.atZone(zoneId)
-							.toLocalTime();
-					slot.setDate(localDateOfSuggestion);
-					slot.setStartTime(startTime);
-					slot.setEndTime(endTime);
-					slot.setStartTimeInstant(suggestion.getStartTimeInstant());
-					return slot;
-				})
-				.collect(Collectors.toList());
+		dto.setOffset(timezoneEntry.offsetAt(Instant.now()).toString());
+
+		// Transform suggestions to slots; the service emits them in ascending start order
+		ZoneRules zoneRules = timezoneEntry.zoneRules();
+		List<BookingSuggestionsResponse.Slot> slots = new ArrayList<>(suggestions.size());
+		for (int i = 0; i < suggestions.size(); i++) {
+			Instant startTimeInstant = suggestions.startTime(i);
+			long endSecond = suggestions.endEpochSecond(i);
+			LocalDateTime start = LocalDateTime.ofEpochSecond(
+					suggestions.startEpochSecond(i), 0, zoneRules.getOffset(startTimeInstant));
+			LocalDateTime end = LocalDateTime.ofEpochSecond(
+					endSecond, 0, zoneRules.getOffset(Instant.ofEpochSecond(endSecond)));
+
+			BookingSuggestionsResponse.Slot slot = new BookingSuggestionsResponse.Slot();
+			slot.setDate(start.toLocalDate());
+			slot.setStartTime(start.toLocalTime());
+			slot.setEndTime(end.toLocalTime());
+			slot.setStartTimeInstant(startTimeInstant);
+			slots.add(slot);
+		}
 
 		dto.setSlots(slots);
 		return dto;
@@ -1,18 +1,27 @@
 package com.dmdr.personal.portal.controller;
 
 import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.content.service.ImageVariant;
 import com.dmdr.personal.portal.content.service.MediaService;
-import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import com.dmdr.personal.portal.content.service.storage.MediaContent;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
+import com.dmdr.personal.portal.controller.util.MediaFileResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -20,60 +29,110 @@ import java.util.UUID;
 @Slf4j
 public class MediaEntityController {
 
-    private final ObjectStorageService objectStorageService;
+    private static final String JPEG_FORMAT = "jpeg";
+
+    private final MediaFileCache mediaFileCache;
     private final MediaService mediaService;
 
-    public MediaEntityController(ObjectStorageService objectStorageService, MediaService mediaService) {
-        this.objectStorageService = objectStorageService;
+    public MediaEntityController(MediaFileCache mediaFileCache, MediaService mediaService) {
+        this.mediaFileCache = mediaFileCache;
         this.mediaService = mediaService;
     }
 
+    /**
+     * Serves the original, or with {@code w} the smallest stored variant at least that wide, in a format the
+     * {@code Accept} header lists explicitly when one is stored (WebP where it beat the JPEG, see
+     * {@code media.variants.formats}). Falls back to the original when no variant is wide enough.
+     */
     @GetMapping("/image/{mediaId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable("mediaId") UUID mediaId) {
+    public void getImage(@PathVariable("mediaId") UUID mediaId,
+            @RequestParam(name = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         MediaEntity mediaEntity = mediaService.findById(mediaId)
                 .orElse(null);
 
         if (mediaEntity == null) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
 
         String key = mediaEntity.getFileUrl();
-        byte[] imageData = objectStorageService.downloadFile(key);
-
-        if (imageData == null) {
-            return ResponseEntity.notFound().build();
+        if (width != null && width > 0 && !mediaEntity.getVariants().isEmpty()) {
+            List<ImageVariant> variants = mediaEntity.getVariants().stream().map(ImageVariant::parse).toList();
+            if (variants.stream().map(ImageVariant::format).distinct().count() > 1) {
+                // Caches must keep one copy per format the variant is chosen from
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            Optional<ImageVariant> variant = selectVariant(variants, width, request.getHeader(HttpHeaders.ACCEPT));
+            if (variant.isPresent()) {
+                writeMedia(variant.get().storageKey(key), MediaType.parseMediaType(variant.get().mimeType()),
+                        request, response);
+                return;
+            }
         }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(detectContentType(mediaEntity.getFileType(), key));
-        headers.setContentLength(imageData.length);
-
-        return new ResponseEntity<>(imageData, headers, HttpStatus.OK);
+        writeMedia(key, detectContentType(mediaEntity.getFileType(), key), request, response);
     }
 
     @GetMapping("/image/{mediaId}/thumbnail")
-    public ResponseEntity<byte[]> getThumbnail(@PathVariable("mediaId") UUID mediaId) {
+    public void getThumbnail(@PathVariable("mediaId") UUID mediaId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         MediaEntity mediaEntity = mediaService.findById(mediaId)
                 .orElse(null);
 
         if (mediaEntity == null) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
 
         // Calculate thumbnail key: "thumbnail/" + original fileUrl
         String thumbnailKey = "thumbnail/" + mediaEntity.getFileUrl();
-        byte[] thumbnailData = objectStorageService.downloadFile(thumbnailKey);
+        // Thumbnails are always JPEG, so set content type accordingly
+        writeMedia(thumbnailKey, MediaType.IMAGE_JPEG, request, response);
+    }
 
-        if (thumbnailData == null) {
-            return ResponseEntity.notFound().build();
+    private void writeMedia(String key, MediaType contentType, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<MediaContent> opened = mediaFileCache.open(key);
+        if (opened.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        try (MediaContent content = opened.get()) {
+            MediaFileResponseWriter.write(content, contentType, request, response);
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        // Thumbnails are always JPEG, so set content type accordingly
-        headers.setContentType(MediaType.IMAGE_JPEG);
-        headers.setContentLength(thumbnailData.length);
+    /**
+     * Narrowest variant at least {@code width} wide; at that width, any format the client lists explicitly is
+     * preferred over JPEG, which every client accepts.
+     */
+    private static Optional<ImageVariant> selectVariant(List<ImageVariant> variants, int width, String accept) {
+        List<MediaType> accepted = parseAccept(accept);
+        return variants.stream()
+                .filter(variant -> variant.width() >= width)
+                .filter(variant -> variant.format().equals(JPEG_FORMAT) || isExplicitlyAccepted(accepted, variant))
+                .min(Comparator.comparingInt(ImageVariant::width)
+                        .thenComparing(variant -> variant.format().equals(JPEG_FORMAT)));
+    }
 
-        return new ResponseEntity<>(thumbnailData, headers, HttpStatus.OK);
+    private static boolean isExplicitlyAccepted(List<MediaType> accepted, ImageVariant variant) {
+        MediaType type = MediaType.parseMediaType(variant.mimeType());
+        // A wildcard such as image/* says nothing about support for newer formats
+        return accepted.stream().anyMatch(candidate -> !candidate.isWildcardSubtype() && candidate.includes(type)
+                && candidate.getQualityValue() > 0);
+    }
+
+    private static List<MediaType> parseAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return List.of();
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
     }
 
     private MediaType detectContentType(String fileType, String key) {
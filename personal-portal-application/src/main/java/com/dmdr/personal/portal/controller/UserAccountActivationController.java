@@ -1,5 +1,6 @@
 package com.dmdr.personal.portal.controller;
 
+import com.dmdr.personal.portal.service.LoginAttemptThrottle;
 import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
 import com.dmdr.personal.portal.service.exception.PortalErrorCode;
 import com.dmdr.personal.portal.users.dto.RequestVerificationCodeRequest;
@@ -7,6 +8,7 @@ import com.dmdr.personal.portal.users.dto.VerifyAccountRequest;
 import com.dmdr.personal.portal.users.model.User;
 import com.dmdr.personal.portal.users.service.AccountVerificationService;
 import com.dmdr.personal.portal.users.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -22,20 +24,30 @@ public class UserAccountActivationController {
 
     private final UserService userService;
     private final AccountVerificationService accountVerificationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     public UserAccountActivationController(UserService userService,
-            AccountVerificationService accountVerificationService) {
+            AccountVerificationService accountVerificationService,
+            LoginAttemptThrottle loginAttemptThrottle) {
         this.userService = userService;
         this.accountVerificationService = accountVerificationService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
     }
 
     @PostMapping("/verification")
-    public ResponseEntity<Void> verifyAccount(@Valid @RequestBody VerifyAccountRequest request) {
-        User user = userService.findByEmail(request.getEmail())
-                .orElseThrow(() -> new PersonalPortalRuntimeException(PortalErrorCode.INVALID_EMAIL_PASSWORD));
+    public ResponseEntity<Void> verifyAccount(@Valid @RequestBody VerifyAccountRequest request,
+            HttpServletRequest httpRequest) {
+        String clientAddress = httpRequest.getRemoteAddr();
+        loginAttemptThrottle.checkAllowed(request.getEmail(), clientAddress);
+        User user = userService.findByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            loginAttemptThrottle.recordFailure(request.getEmail(), clientAddress);
+            throw new PersonalPortalRuntimeException(PortalErrorCode.INVALID_EMAIL_PASSWORD);
+        }
         try {
             accountVerificationService.verifyCode(user, request.getCode());
         } catch (IllegalArgumentException e) {
+            loginAttemptThrottle.recordFailure(request.getEmail(), clientAddress);
             throw new PersonalPortalRuntimeException(PortalErrorCode.INVALID_OR_EXPIRED_VERIFICATION_CODE);
         }
         return ResponseEntity.noContent().build();
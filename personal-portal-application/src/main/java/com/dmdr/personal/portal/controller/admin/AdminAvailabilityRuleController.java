@@ -1,6 +1,7 @@
 package com.dmdr.personal.portal.controller.admin;
 
 import com.dmdr.personal.portal.booking.dto.availability.rule.AvailabilityRuleResponse;
+import com.dmdr.personal.portal.booking.dto.availability.rule.CreateAvailabilityRuleBatchRequest;
 import com.dmdr.personal.portal.booking.dto.availability.rule.CreateAvailabilityRuleRequest;
 import com.dmdr.personal.portal.booking.dto.availability.rule.UpdateAvailabilityRuleRequest;
 import com.dmdr.personal.portal.booking.service.AvailabilityRuleService;
@@ -67,6 +68,19 @@ public class AdminAvailabilityRuleController {
 		}
 	}
 
+	@PostMapping("/batch")
+	public ResponseEntity<List<AvailabilityRuleResponse>> createBatch(
+		@Valid @RequestBody CreateAvailabilityRuleBatchRequest request
+	) {
+		String ctx = "rulesCount=" + request.getRules().size();
+		log.info("BEGIN createAvailabilityRuleBatch {}", ctx);
+		try {
+			return ResponseEntity.ok(availabilityRuleService.createAll(request.getRules()));
+		} finally {
+			log.info("END createAvailabilityRuleBatch {}", ctx);
+		}
+	}
+
 	@PutMapping("/{id}")
 	public ResponseEntity<AvailabilityRuleResponse> update(
 		@PathVariable("id") Long id,
@@ -1,6 +1,7 @@
 package com.dmdr.personal.portal.controller.admin;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -13,9 +14,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import com.dmdr.personal.portal.content.dto.MediaEntityMapper;
 import com.dmdr.personal.portal.content.dto.MediaEntityResponse;
 import com.dmdr.personal.portal.content.dto.PaginatedResponse;
@@ -25,6 +31,7 @@ import com.dmdr.personal.portal.content.service.MediaService;
 import com.dmdr.personal.portal.content.service.ThumbnailService;
 import com.dmdr.personal.portal.service.CurrentUserService;
 import com.dmdr.personal.portal.controller.util.ImageFileValidator;
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -61,40 +68,51 @@ public class AdminMediaEntityController {
                 return ResponseEntity.badRequest().body(Map.of("error", "File name is required."));
             }
 
-            byte[] fileBytes = file.getBytes();
+            // Hash the upload as it is read into memory, so identical files resolve to the media already stored
+            MessageDigest digest = sha256();
+            byte[] fileBytes;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                fileBytes = in.readAllBytes();
+            }
             String fileType = determineFileType(file);
 
-            // Step 1: Generate thumbnail first (validates it works before any DB/storage
-            // operations)
+            // Step 1: Reject files that cannot have a thumbnail before any DB/storage operations
 
             if (thumbnailService.isSvg(fileType, originalFilename)) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("error", "SVG files are not supported for thumbnails."));
             }
 
-            byte[] thumbnailBytes = thumbnailService.generateThumbnail(fileBytes);
-            if (thumbnailBytes == null) {
-                return ResponseEntity.internalServerError()
-                        .body(Map.of("error", "Failed to generate thumbnail."));
-            }
-
             // Step 2: Create MediaEntity (without fileUrl - will be set in service)
             MediaEntity mediaEntity = new MediaEntity();
             mediaEntity.setFileType(fileType);
             mediaEntity.setAltText(null);
             mediaEntity.setUploadedById(currentUserService.getCurrentUser().getId());
-
-            // Step 3: Save to DB and upload to object storage atomically
-            // If storage upload fails, DB transaction will rollback automatically
-            MediaEntity savedMedia = mediaService.createMediaWithS3Upload(
-                    mediaEntity,
-                    originalFilename,
-                    fileBytes,
-                    thumbnailBytes);
+            mediaEntity.setContentHash(HexFormat.of().formatHex(digest.digest()));
+
+            // Step 3: Save to DB and upload to object storage atomically, generating the thumbnail and
+            // responsive variants while the original uploads. If thumbnail generation or storage upload fails,
+            // DB transaction will rollback automatically
+            MediaEntity savedMedia;
+            try {
+                savedMedia = mediaService.createMediaWithS3Upload(
+                        mediaEntity,
+                        originalFilename,
+                        fileBytes,
+                        () -> thumbnailService.generateRenditions(fileBytes));
+            } catch (DataIntegrityViolationException e) {
+                // The same file was uploaded concurrently and saved first: return that media. Any other
+                // constraint violation leaves no row with this hash and is rethrown
+                savedMedia = mediaService.findByContentHash(mediaEntity.getContentHash()).orElseThrow(() -> e);
+                log.info("Concurrent upload of identical content, reusing stored media {}", ctx);
+            }
 
             return ResponseEntity.ok(Map.of("mediaId", savedMedia.getMediaId().toString()));
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Failed to read file."));
+        } catch (PersonalPortalRuntimeException e) {
+            return ResponseEntity.status(e.getErrorCode().getHttpCode())
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             // Storage upload failure - transaction already rolled back
             return ResponseEntity.internalServerError()
@@ -105,6 +123,15 @@ public class AdminMediaEntityController {
         }
     }
 
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     private String determineFileType(MultipartFile file) {
         String contentType = file.getContentType();
         if (contentType != null && !contentType.isEmpty()) {
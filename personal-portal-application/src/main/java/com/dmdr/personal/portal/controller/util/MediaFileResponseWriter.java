@@ -0,0 +1,149 @@
+package com.dmdr.personal.portal.controller.util;
+
+import com.dmdr.personal.portal.content.service.storage.CachedMediaFile;
+import com.dmdr.personal.portal.content.service.storage.MediaContent;
+import com.dmdr.personal.portal.content.service.storage.ObjectDownload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Writes media to the response with validators and, for cached files, byte ranges.
+ * <p>
+ * Media keys are never reused for different content, so responses are marked immutable. A matching
+ * {@code If-None-Match} yields 304; a single {@code Range} (honoured only if {@code If-Range}, when present,
+ * matches the ETag) yields 206, and an unsatisfiable one 416. Multiple ranges are answered with the whole file.
+ * The body is copied from the file channel or the object storage stream, so it never sits on the heap as a whole;
+ * objects streamed from storage go through one fixed-size buffer and are always sent whole.
+ */
+public class MediaFileResponseWriter {
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final int STREAM_BUFFER_BYTES = 16 * 1024;
+
+    private MediaFileResponseWriter() {
+        // Utility class - prevent instantiation
+    }
+
+    public static void write(MediaContent content, MediaType contentType, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        switch (content) {
+            case CachedMediaFile file -> write(file, contentType, request, response);
+            case ObjectDownload download -> write(download, contentType, request, response);
+        }
+    }
+
+    private static void write(ObjectDownload download, MediaType contentType, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (download.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, download.etag());
+            if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), download.etag())) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setContentType(contentType.toString());
+        if (download.contentLength() >= 0) {
+            response.setContentLengthLong(download.contentLength());
+        }
+        InputStream in = download.body();
+        OutputStream out = response.getOutputStream();
+        byte[] buffer = new byte[STREAM_BUFFER_BYTES];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static void write(CachedMediaFile file, MediaType contentType, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long size = file.size();
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), file.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), file.etag())) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    start = size;
+                }
+                if (start >= size || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        response.setContentType(contentType.toString());
+        response.setContentLengthLong(end - start + 1);
+        // Not closed: the container owns the response stream
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = end - start + 1;
+        while (remaining > 0) {
+            long written = file.channel().transferTo(position, remaining, out);
+            if (written <= 0) {
+                throw new IOException("Cached media file ended before its recorded size");
+            }
+            position += written;
+            remaining -= written;
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored and the whole file is sent
+            return List.of();
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        // Only a strong entity tag can validate a range; a date cannot, as no Last-Modified is sent
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
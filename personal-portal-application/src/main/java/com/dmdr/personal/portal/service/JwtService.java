@@ -1,13 +1,18 @@
 package com.dmdr.personal.portal.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -17,28 +22,44 @@ import java.util.stream.Collectors;
 @Service
 public class JwtService {
 
-    private final String secretKey;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final String issuer;
     private final String audience;
     private final long accessTokenTtlMs;
+    private final VerifiedClaimsCache verifiedClaimsCache;
+    private final Clock clock;
 
+    @Autowired
     public JwtService(
             @Value("${jwt.secret.key}") String secretKey,
             @Value("${jwt.issuer}") String issuer,
             @Value("${jwt.audience}") String audience,
-            @Value("${jwt.access-token-ttl-minutes:10}") long accessTokenTtlMinutes) {
-        this.secretKey = secretKey;
+            @Value("${jwt.access-token-ttl-minutes:10}") long accessTokenTtlMinutes,
+            @Value("${jwt.verified-claims-cache.max-entries:10000}") int verifiedClaimsCacheMaxEntries) {
+        this(secretKey, issuer, audience, accessTokenTtlMinutes, new VerifiedClaimsCache(verifiedClaimsCacheMaxEntries),
+                Clock.systemUTC());
+    }
+
+    JwtService(String secretKey, String issuer, String audience, long accessTokenTtlMinutes,
+            VerifiedClaimsCache verifiedClaimsCache, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         this.issuer = issuer;
         this.audience = audience;
         this.accessTokenTtlMs = accessTokenTtlMinutes * 60 * 1000L;
-    }
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.verifiedClaimsCache = verifiedClaimsCache;
+        this.clock = clock;
+        // Thread-safe and immutable; building it per call re-derived the key and the validators every time
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
     }
 
     public String generateToken(UUID userId, Set<String> roles, UUID sessionId) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + accessTokenTtlMs);
 
         return Jwts.builder()
@@ -51,18 +72,34 @@ public class JwtService {
                 .claim("sid", sessionId.toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .requireIssuer(issuer)
-                .requireAudience(audience)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifies the token once and returns everything the authentication filter needs from it. Tokens seen
+     * before are answered from the verified-claims cache until they expire.
+     *
+     * @param token the JWT token
+     * @return the verified claims
+     * @throws JwtException if the token is malformed, expired or fails signature, issuer or
+     *         audience checks
+     */
+    public VerifiedClaims verify(String token) {
+        return verifiedClaimsCache.get(token, this::parseVerified, clock.instant());
+    }
+
+    private VerifiedClaims parseVerified(String token) {
+        Claims claims = extractClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new MalformedJwtException("Access token has no expiration");
+        }
+        return new VerifiedClaims(UUID.fromString(claims.getSubject()), rolesOf(claims), expiration.toInstant());
     }
 
     public UUID extractUserId(String token) {
@@ -79,9 +116,12 @@ public class JwtService {
         return extractClaims(token).getSubject();
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> extractRoles(String token) {
-        Claims claims = extractClaims(token);
+        return rolesOf(extractClaims(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> rolesOf(Claims claims) {
         Object rolesObj = claims.get("roles");
         if (rolesObj instanceof Set) {
             return (Set<String>) rolesObj;
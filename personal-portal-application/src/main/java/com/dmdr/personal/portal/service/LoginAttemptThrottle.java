@@ -0,0 +1,150 @@
+package com.dmdr.personal.portal.service;
+
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts failed credential checks per account and client address pair and per client address over a sliding
+ * window, and rejects further attempts with {@link PortalErrorCode#TOO_MANY_ATTEMPTS} once either limit is reached,
+ * before the caller looks up the user or hashes anything.
+ * <p>
+ * The account limit is kept per address so that failures sent from elsewhere cannot lock the owner out: an
+ * attacker only exhausts the pairs it uses, and the address limit caps how many accounts one address can try.
+ * <p>
+ * State is in memory and per node. Each map tracks at most {@code maxTrackedKeys} keys; when full, keys with no
+ * failure inside the window are swept and new keys that still do not fit are not tracked.
+ */
+@Service
+public class LoginAttemptThrottle {
+
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerAddress;
+    private final long windowMs;
+    private final int maxTrackedKeys;
+    private final Clock clock;
+    private final Map<String, FailureWindow> accountsByAddress = new ConcurrentHashMap<>();
+    private final Map<String, FailureWindow> addresses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAttemptThrottle(
+            @Value("${auth.login-throttle.max-failures-per-account:10}") int maxFailuresPerAccount,
+            @Value("${auth.login-throttle.max-failures-per-address:50}") int maxFailuresPerAddress,
+            @Value("${auth.login-throttle.window-seconds:900}") long windowSeconds,
+            @Value("${auth.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(maxFailuresPerAccount, maxFailuresPerAddress, Duration.ofSeconds(windowSeconds), maxTrackedKeys,
+                Clock.systemUTC());
+    }
+
+    LoginAttemptThrottle(int maxFailuresPerAccount, int maxFailuresPerAddress, Duration window, int maxTrackedKeys,
+            Clock clock) {
+        if (maxFailuresPerAccount < 1 || maxFailuresPerAddress < 1) {
+            throw new IllegalArgumentException("Failure limits must be positive");
+        }
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.windowMs = window.toMillis();
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Throws {@link PortalErrorCode#TOO_MANY_ATTEMPTS} if the account from this address, or the address itself,
+     * has used up its failures for the current window.
+     */
+    public void checkAllowed(String account, String address) {
+        long now = clock.millis();
+        if (isBlocked(accountsByAddress, accountKey(account, address), now) || isBlocked(addresses, address, now)) {
+            throw new PersonalPortalRuntimeException(PortalErrorCode.TOO_MANY_ATTEMPTS);
+        }
+    }
+
+    public void recordFailure(String account, String address) {
+        long now = clock.millis();
+        record(accountsByAddress, accountKey(account, address), maxFailuresPerAccount, now);
+        record(addresses, address, maxFailuresPerAddress, now);
+    }
+
+    /**
+     * Clears the account's failures from this address; the address keeps its count so one good login does not
+     * reset a spray.
+     */
+    public void recordSuccess(String account, String address) {
+        String key = accountKey(account, address);
+        if (key != null) {
+            accountsByAddress.remove(key);
+        }
+    }
+
+    private boolean isBlocked(Map<String, FailureWindow> windows, String key, long now) {
+        if (key == null) {
+            return false;
+        }
+        FailureWindow window = windows.get(key);
+        return window != null && window.isFull(now - windowMs);
+    }
+
+    private void record(Map<String, FailureWindow> windows, String key, int limit, long now) {
+        if (key == null) {
+            return;
+        }
+        FailureWindow window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxTrackedKeys) {
+                long windowStart = now - windowMs;
+                windows.values().removeIf(existing -> existing.isIdle(windowStart));
+                if (windows.size() >= maxTrackedKeys) {
+                    return;
+                }
+            }
+            window = windows.computeIfAbsent(key, ignored -> new FailureWindow(limit));
+        }
+        window.add(now);
+    }
+
+    private static String accountKey(String account, String address) {
+        if (account == null) {
+            return null;
+        }
+        String normalized = account.trim().toLowerCase(Locale.ROOT);
+        return address == null ? normalized : normalized + '|' + address;
+    }
+
+    /**
+     * Timestamps of the last {@code limit} failures in a ring; the key is blocked while the oldest of them is
+     * still inside the window.
+     */
+    private static final class FailureWindow {
+        private final long[] failures;
+        private int next;
+        private int count;
+
+        private FailureWindow(int limit) {
+            this.failures = new long[limit];
+        }
+
+        private synchronized void add(long timestamp) {
+            failures[next] = timestamp;
+            next = (next + 1) % failures.length;
+            count = Math.min(count + 1, failures.length);
+        }
+
+        private synchronized boolean isFull(long windowStart) {
+            // Once full, the next slot to overwrite holds the oldest failure
+            return count == failures.length && failures[next] > windowStart;
+        }
+
+        private synchronized boolean isIdle(long windowStart) {
+            int newest = (next - 1 + failures.length) % failures.length;
+            return count == 0 || failures[newest] <= windowStart;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dmdr.personal.portal.service;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The parts of a signature-checked access token the request pipeline needs.
+ *
+ * @param userId    token subject
+ * @param roles     granted roles, never null
+ * @param expiresAt token expiry; the claims must not be trusted from this instant on
+ */
+public record VerifiedClaims(UUID userId, Set<String> roles, Instant expiresAt) {
+
+    public VerifiedClaims {
+        roles = Set.copyOf(roles);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
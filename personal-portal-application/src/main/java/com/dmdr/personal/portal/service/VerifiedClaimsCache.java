@@ -0,0 +1,79 @@
+package com.dmdr.personal.portal.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Remembers which access tokens already passed signature verification so a client sending the same token on
+ * every request pays for HMAC and JSON parsing once per token rather than once per request.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token, so the cache never holds a usable bearer token, and are dropped
+ * once the token expires. At most {@code maxEntries} tokens are kept; when full, expired entries are swept and
+ * tokens that still do not fit are verified without being cached. A {@code maxEntries} of 0 disables caching.
+ */
+public class VerifiedClaimsCache {
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, VerifiedClaims> entries = new ConcurrentHashMap<>();
+
+    public VerifiedClaimsCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached claims for the token, or verifies it with {@code verifier} and caches the result.
+     * Exceptions thrown by the verifier propagate and nothing is cached.
+     */
+    public VerifiedClaims get(String token, Function<String, VerifiedClaims> verifier, Instant now) {
+        if (maxEntries == 0) {
+            return verifier.apply(token);
+        }
+        ByteBuffer key = digest(token);
+        VerifiedClaims cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(now)) {
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+
+        VerifiedClaims verified = verifier.apply(token);
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        if (entries.size() < maxEntries) {
+            entries.put(key, verified);
+        }
+        return verified;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictExpired(Instant now) {
+        entries.values().removeIf(claims -> claims.isExpiredAt(now));
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Range-typed overlap index for bookings.
+-- The booking overlap query has the shape "start < :end AND end > :start". Two btrees on start/end can only
+-- bound one side of that predicate, so the planner scans everything before (or after) the window. A GiST index
+-- on a tstzrange answers "&&" directly.
+-- The range is half-open ([)), like the predicate it replaces. A row with a missing or inverted bound gets
+-- a NULL range and never overlaps anything.
+-- Rules and overrides are read through the in-memory AvailabilityStore, so their tables get no range column.
+
+ALTER TABLE bookings
+    ADD COLUMN time_range TSTZRANGE GENERATED ALWAYS AS (
+        CASE WHEN start_time <= end_time THEN tstzrange(start_time, end_time, '[)') END
+    ) STORED;
+
+CREATE INDEX idx_bookings_time_range ON bookings USING GIST (time_range);
+
+ANALYZE bookings;
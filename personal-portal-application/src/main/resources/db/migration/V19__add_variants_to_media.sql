@@ -0,0 +1,3 @@
+-- Responsive renditions stored next to the original, such as '960.webp'; empty for media uploaded before them
+ALTER TABLE media
+    ADD COLUMN variants VARCHAR(32)[] NOT NULL DEFAULT ARRAY[]::VARCHAR(32)[];
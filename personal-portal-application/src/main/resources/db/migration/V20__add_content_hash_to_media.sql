@@ -0,0 +1,6 @@
+-- SHA-256 of the uploaded bytes, so identical uploads share one media row and one set of stored objects.
+-- Media uploaded before this column stays NULL, which the unique index allows any number of times.
+ALTER TABLE media
+    ADD COLUMN content_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX idx_media_content_hash ON media(content_hash);
@@ -0,0 +1,4 @@
+-- Per-day latency distribution (LatencyHistogram encoding) so period percentiles merge rollup rows
+-- instead of rescanning request_log. Rows rolled up before this column stay NULL and count as no samples.
+ALTER TABLE endpoint_stats
+    ADD COLUMN latency_histogram BYTEA;
@@ -0,0 +1,88 @@
+-- Partition request_log by UTC day so retention drops whole partitions instead of deleting rows by ctid.
+-- Each day is split again by status: 2xx rows in <day>_success, everything else in the <day>_failure default
+-- partition, matching the success/failure retention windows. Names follow RequestLogPartitionRepository:
+-- request_log_p20260323, request_log_p20260323_success, request_log_p20260323_failure.
+-- RequestLogPartitionScheduler keeps creating days ahead; this migration covers the existing rows and the next
+-- week. There is no default day partition: it would make every later CREATE ... PARTITION OF scan it.
+
+ALTER TABLE request_log RENAME TO request_log_unpartitioned;
+DROP INDEX IF EXISTS idx_request_log_created_at;
+DROP INDEX IF EXISTS idx_request_log_template_path_created_at;
+DROP INDEX IF EXISTS idx_request_log_status_created_at;
+-- Keep the sequence so ids stay increasing for the rollup checkpoint
+ALTER SEQUENCE request_log_id_seq OWNED BY NONE;
+
+-- No primary key: on a partitioned table it would have to include created_at and status. Ids still come from
+-- the sequence; idx_request_log_id serves the detail lookup and the rollup cursor.
+CREATE TABLE request_log (
+    id BIGINT NOT NULL DEFAULT nextval('request_log_id_seq'),
+    path VARCHAR(2048) NOT NULL,
+    template_path VARCHAR(2048) NOT NULL,
+    method VARCHAR(16) NOT NULL,
+    status INTEGER NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    error_code VARCHAR(128),
+    error_message TEXT,
+    request_body TEXT,
+    request_headers TEXT,
+    response_headers TEXT,
+    stack_trace TEXT
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE request_log_id_seq OWNED BY request_log.id;
+
+CREATE INDEX idx_request_log_id ON request_log(id);
+CREATE INDEX idx_request_log_created_at ON request_log(created_at);
+CREATE INDEX idx_request_log_template_path_created_at ON request_log(template_path, created_at);
+CREATE INDEX idx_request_log_status_created_at ON request_log(status, created_at);
+
+DO $$
+DECLARE
+    partition_day DATE := COALESCE(
+        (SELECT MIN(created_at AT TIME ZONE 'UTC')::date FROM request_log_unpartitioned),
+        (now() AT TIME ZONE 'UTC')::date
+    );
+    last_day DATE := (now() AT TIME ZONE 'UTC')::date + 7;
+    day_table TEXT;
+BEGIN
+    WHILE partition_day <= last_day LOOP
+        day_table := 'request_log_p' || to_char(partition_day, 'YYYYMMDD');
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF request_log FOR VALUES FROM (%L) TO (%L) PARTITION BY RANGE (status)',
+            day_table,
+            partition_day::timestamp AT TIME ZONE 'UTC',
+            (partition_day + 1)::timestamp AT TIME ZONE 'UTC'
+        );
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (200) TO (300)',
+            day_table || '_success',
+            day_table
+        );
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', day_table || '_failure', day_table);
+        partition_day := partition_day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO request_log (
+    id, path, template_path, method, status, duration_ms, user_id, created_at,
+    error_code, error_message, request_body, request_headers, response_headers, stack_trace
+)
+SELECT
+    id, path, template_path, method, status, duration_ms, user_id, created_at,
+    error_code, error_message, request_body, request_headers, response_headers, stack_trace
+FROM request_log_unpartitioned;
+
+DROP TABLE request_log_unpartitioned;
+
+-- Lets the rollup bound its cursor query by created_at, so it only reads recent partitions
+ALTER TABLE portal_checkpoint
+    ADD COLUMN last_processed_created_at TIMESTAMPTZ;
+
+UPDATE portal_checkpoint c
+SET last_processed_created_at = (
+    SELECT rl.created_at FROM request_log rl WHERE rl.id = c.last_processed_request_log_id
+);
+
+ANALYZE request_log;
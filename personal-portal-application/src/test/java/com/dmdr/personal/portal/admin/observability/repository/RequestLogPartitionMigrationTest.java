@@ -0,0 +1,203 @@
+package com.dmdr.personal.portal.admin.observability.repository;
+
+import com.dmdr.personal.portal.admin.observability.RequestLogObservabilityProperties;
+import com.dmdr.personal.portal.admin.observability.persistence.JdbcRequestLogWriter;
+import com.dmdr.personal.portal.admin.observability.persistence.RequestLogRecord;
+import com.dmdr.personal.portal.admin.observability.persistence.RequestLogWriteMode;
+import com.dmdr.personal.portal.admin.observability.repository.RequestLogPartitionRepository.RequestLogDayPartition;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs migration V22 and the partition DDL of {@link RequestLogPartitionRepository} on a real PostgreSQL, since the
+ * regular test suite runs on H2 and never partitions {@code request_log}. Only runs against a scratch database:
+ * <pre>
+ * REQUEST_LOG_PARTITION_TEST_DATASOURCE_URL=jdbc:postgresql://localhost:5432/scratch \
+ * REQUEST_LOG_PARTITION_TEST_DB_USERNAME=... REQUEST_LOG_PARTITION_TEST_DB_PASSWORD=... \
+ * mvn -pl personal-portal-application test
+ * </pre>
+ * Migrations run into a throwaway schema that is dropped afterwards. Each test works on its own days, so they do
+ * not depend on order.
+ */
+@EnabledIfEnvironmentVariable(named = "REQUEST_LOG_PARTITION_TEST_DATASOURCE_URL", matches = ".+")
+class RequestLogPartitionMigrationTest {
+
+    private static final String SCHEMA = "request_log_partition_test";
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DataSourceTransactionManager transactionManager;
+    private static RequestLogPartitionRepository repository;
+
+    @BeforeAll
+    static void migrateAcrossV22() {
+        String url = System.getenv("REQUEST_LOG_PARTITION_TEST_DATASOURCE_URL");
+        String username = System.getenv("REQUEST_LOG_PARTITION_TEST_DB_USERNAME");
+        String password = System.getenv("REQUEST_LOG_PARTITION_TEST_DB_PASSWORD");
+
+        // The repository uses unqualified table names, so every connection resolves them in the test schema
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA, username, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        repository = new RequestLogPartitionRepository(jdbcTemplate, transactionManager);
+
+        flyway(url, username, password).target("21").load().migrate();
+        // Rows from before the migration: two days ago, success and failure, and yesterday
+        insertUnpartitioned(1, TODAY.minusDays(2), 200);
+        insertUnpartitioned(2, TODAY.minusDays(2), 503);
+        insertUnpartitioned(3, TODAY.minusDays(1), 201);
+        jdbcTemplate.execute("SELECT setval('request_log_id_seq', 3)");
+        jdbcTemplate.update("INSERT INTO portal_checkpoint (job_name, last_processed_request_log_id, updated_at) "
+                + "VALUES ('endpoint_stats_rollup', 2, now())");
+
+        flyway(url, username, password).load().migrate();
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    @Test
+    void migrationShouldMoveExistingRowsIntoOutcomePartitions() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, tableoid::regclass::text AS partition FROM request_log ORDER BY id");
+
+        assertThat(rows).extracting(row -> row.get("partition")).containsExactly(
+                RequestLogPartitionRepository.dayTable(TODAY.minusDays(2)) + "_success",
+                RequestLogPartitionRepository.dayTable(TODAY.minusDays(2)) + "_failure",
+                RequestLogPartitionRepository.dayTable(TODAY.minusDays(1)) + "_success");
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('request_log_id_seq')", Long.class)).isGreaterThan(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_processed_created_at FROM portal_checkpoint WHERE job_name = 'endpoint_stats_rollup'",
+                Instant.class)).isEqualTo(noon(TODAY.minusDays(2)));
+    }
+
+    @Test
+    void migrationShouldPartitionFromOldestRowThroughNextWeek() {
+        assertThat(repository.isPartitioned()).isTrue();
+
+        List<RequestLogDayPartition> partitions = repository.findDayPartitions();
+
+        assertThat(partitions).extracting(RequestLogDayPartition::day)
+                .contains(TODAY.minusDays(2), TODAY.minusDays(1), TODAY, TODAY.plusDays(7));
+        assertThat(partitions).allMatch(p -> p.hasSuccessPartition() && p.hasFailurePartition());
+    }
+
+    @Test
+    void createDayPartitionShouldAcceptCopiedRowsForNewDay() {
+        LocalDate day = TODAY.plusDays(30);
+
+        repository.createDayPartition(day);
+        repository.createDayPartition(day);
+        writer(day).persistBatch(List.of(record(200), record(404), record(500)));
+
+        assertThat(repository.findDayPartitions())
+                .contains(new RequestLogDayPartition(day, true, true));
+        assertThat(countRows(RequestLogPartitionRepository.dayTable(day) + "_success")).isEqualTo(1);
+        assertThat(countRows(RequestLogPartitionRepository.dayTable(day) + "_failure")).isEqualTo(2);
+    }
+
+    @Test
+    void copyShouldFailForDayWithoutPartition() {
+        LocalDate day = TODAY.plusDays(400);
+
+        assertThatThrownBy(() -> writer(day).persistBatch(List.of(record(200))))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("no partition of relation");
+    }
+
+    @Test
+    void dropOutcomePartitionsShouldLeaveTheOtherOutcome() {
+        LocalDate successDropped = TODAY.plusDays(40);
+        LocalDate failureDropped = TODAY.plusDays(41);
+        repository.createDayPartition(successDropped);
+        repository.createDayPartition(failureDropped);
+        writer(successDropped).persistBatch(List.of(record(200), record(500)));
+        writer(failureDropped).persistBatch(List.of(record(200), record(500)));
+
+        repository.dropSuccessPartition(successDropped);
+        repository.dropFailurePartition(failureDropped);
+
+        assertThat(repository.findDayPartitions()).contains(
+                new RequestLogDayPartition(successDropped, false, true),
+                new RequestLogDayPartition(failureDropped, true, false));
+        assertThat(countRowsOn(successDropped)).isEqualTo(1);
+        assertThat(countRowsOn(failureDropped)).isEqualTo(1);
+    }
+
+    @Test
+    void dropDayPartitionShouldRemoveDayAndItsRows() {
+        LocalDate day = TODAY.plusDays(50);
+        repository.createDayPartition(day);
+        writer(day).persistBatch(List.of(record(200), record(500)));
+
+        repository.dropDayPartition(day);
+
+        assertThat(repository.findDayPartitions()).extracting(RequestLogDayPartition::day).doesNotContain(day);
+        assertThat(countRowsOn(day)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class,
+                RequestLogPartitionRepository.dayTable(day) + "_failure")).isTrue();
+    }
+
+    private static FluentConfiguration flyway(
+            String url, String username, String password) {
+        return Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration");
+    }
+
+    private static void insertUnpartitioned(long id, LocalDate day, int status) {
+        jdbcTemplate.update("INSERT INTO request_log (id, path, template_path, method, status, duration_ms, created_at) "
+                + "VALUES (?, '/api/seed', '/api/seed', 'GET', ?, 5, ?::timestamptz)", id, status, noon(day).toString());
+    }
+
+    private static JdbcRequestLogWriter writer(LocalDate day) {
+        RequestLogObservabilityProperties properties = new RequestLogObservabilityProperties();
+        properties.setWriteMode(RequestLogWriteMode.COPY);
+        return new JdbcRequestLogWriter(jdbcTemplate, transactionManager, properties,
+                Clock.fixed(noon(day), ZoneOffset.UTC));
+    }
+
+    private static RequestLogRecord record(int status) {
+        return new RequestLogRecord("/api/partition-test", "/api/partition-test", "GET", status, 3L, null,
+                null, null, null, null, null, null, null);
+    }
+
+    private static long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private static long countRowsOn(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM request_log WHERE created_at >= ?::timestamptz "
+                        + "AND created_at < ?::timestamptz", Long.class,
+                day.atStartOfDay(ZoneOffset.UTC).toInstant().toString(),
+                day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toString());
+    }
+
+    private static Instant noon(LocalDate day) {
+        return day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+}
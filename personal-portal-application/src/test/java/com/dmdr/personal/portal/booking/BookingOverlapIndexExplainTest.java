@@ -0,0 +1,110 @@
+package com.dmdr.personal.portal.booking;
+
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves on a real PostgreSQL that the booking overlap query uses the V18 GiST index once the table is large.
+ * The regular test suite runs on H2, so this only runs against a scratch database:
+ * <pre>
+ * BOOKING_EXPLAIN_TEST_DATASOURCE_URL=jdbc:postgresql://localhost:5432/scratch \
+ * BOOKING_EXPLAIN_TEST_DB_USERNAME=... BOOKING_EXPLAIN_TEST_DB_PASSWORD=... mvn -pl personal-portal-application test
+ * </pre>
+ * Migrations run into a throwaway schema that is dropped afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BOOKING_EXPLAIN_TEST_DATASOURCE_URL", matches = ".+")
+class BookingOverlapIndexExplainTest {
+
+    private static final String SCHEMA = "booking_explain_test";
+    private static final int ROWS = 300_000;
+
+    private static final Map<String, String> WINDOW = Map.of(
+            ":dayStart", "'2031-06-10T00:00:00Z'",
+            ":dayEnd", "'2031-06-11T00:00:00Z'",
+            ":startInstant", "'2031-06-10T00:00:00Z'",
+            ":endInstant", "'2031-06-11T00:00:00Z'");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        String url = System.getenv("BOOKING_EXPLAIN_TEST_DATASOURCE_URL");
+        String username = System.getenv("BOOKING_EXPLAIN_TEST_DB_USERNAME");
+        String password = System.getenv("BOOKING_EXPLAIN_TEST_DB_PASSWORD");
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+            // One booking per 15 minutes from 2030 on
+            statement.execute("INSERT INTO bookings (start_time, end_time, status, session_name, "
+                    + "session_duration_minutes, session_buffer_minutes, session_prices) "
+                    + "SELECT TIMESTAMPTZ '2030-01-01' + g * INTERVAL '15 minutes', "
+                    + "TIMESTAMPTZ '2030-01-01' + g * INTERVAL '15 minutes' + INTERVAL '50 minutes', "
+                    + "CASE WHEN g % 3 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, 'Session', 50, 10, '{}' "
+                    + "FROM generate_series(1, " + ROWS + ") g");
+            statement.execute("ANALYZE bookings");
+        }
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void bookingOverlapQueryShouldUseTimeRangeIndex() throws SQLException {
+        String plan = explain(BookingRepository.OVERLAPPING_BOOKINGS_QUERY,
+                Map.of(":statuses", "'CONFIRMED', 'PENDING_APPROVAL'"));
+
+        assertThat(plan).contains("idx_bookings_time_range");
+    }
+
+    /**
+     * EXPLAIN of a repository query with its named parameters replaced by literals.
+     */
+    private static String explain(String query, Map<String, String> parameters) throws SQLException {
+        String sql = query;
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            sql = sql.replace(parameter.getKey(), parameter.getValue());
+        }
+        for (Map.Entry<String, String> parameter : WINDOW.entrySet()) {
+            sql = sql.replace(parameter.getKey(), parameter.getValue());
+        }
+
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.dmdr.personal.portal.booking;
+
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on a real PostgreSQL which rows {@link BookingRepository#OVERLAPPING_BOOKINGS_QUERY} returns, since its
+ * range operator does not run on the H2 test database. Only runs against a scratch database:
+ * <pre>
+ * BOOKING_OVERLAP_TEST_DATASOURCE_URL=jdbc:postgresql://localhost:5432/scratch \
+ * BOOKING_OVERLAP_TEST_DB_USERNAME=... BOOKING_OVERLAP_TEST_DB_PASSWORD=... mvn -pl personal-portal-application test
+ * </pre>
+ * Migrations run into a throwaway schema that is dropped afterwards. Every booking is named after where it lies
+ * relative to the 10:00-11:00 window the tests query.
+ */
+@EnabledIfEnvironmentVariable(named = "BOOKING_OVERLAP_TEST_DATASOURCE_URL", matches = ".+")
+class BookingOverlapQueryTest {
+
+    private static final String SCHEMA = "booking_overlap_test";
+    private static final Instant WINDOW_START = Instant.parse("2031-06-10T10:00:00Z");
+    private static final Instant WINDOW_END = Instant.parse("2031-06-10T11:00:00Z");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        String url = System.getenv("BOOKING_OVERLAP_TEST_DATASOURCE_URL");
+        String username = System.getenv("BOOKING_OVERLAP_TEST_DB_USERNAME");
+        String password = System.getenv("BOOKING_OVERLAP_TEST_DB_PASSWORD");
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        // The query uses unqualified table names, so every connection resolves them in the test schema
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA, username, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+        insert("ends-at-window-start", "09:00", "10:00", "CONFIRMED");
+        insert("starts-at-window-end", "11:00", "12:00", "CONFIRMED");
+        insert("overlaps-window-start", "09:30", "10:30", "CONFIRMED");
+        insert("overlaps-window-end", "10:30", "11:30", "PENDING_APPROVAL");
+        insert("inside-window", "10:15", "10:45", "CONFIRMED");
+        insert("same-as-window", "10:00", "11:00", "PENDING_APPROVAL");
+        insert("covers-window", "09:00", "12:00", "CONFIRMED");
+        insert("ends-one-second-into-window", "09:00", "10:00:01", "CONFIRMED");
+        insert("cancelled-inside-window", "10:15", "10:45", "CANCELLED");
+        insert("other-day", "10:15", "10:45", "CONFIRMED", "2031-06-11");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    @Test
+    void shouldReturnBookingsOverlappingTheWindowButNotAdjacentOnes() {
+        assertThat(overlapping(List.of("CONFIRMED", "PENDING_APPROVAL"), WINDOW_START, WINDOW_END))
+                .containsExactlyInAnyOrder(
+                        "overlaps-window-start",
+                        "overlaps-window-end",
+                        "inside-window",
+                        "same-as-window",
+                        "covers-window",
+                        "ends-one-second-into-window");
+    }
+
+    @Test
+    void shouldOnlyReturnRequestedStatuses() {
+        assertThat(overlapping(List.of("PENDING_APPROVAL"), WINDOW_START, WINDOW_END))
+                .containsExactlyInAnyOrder("overlaps-window-end", "same-as-window");
+        assertThat(overlapping(List.of("CANCELLED"), WINDOW_START, WINDOW_END))
+                .containsExactly("cancelled-inside-window");
+    }
+
+    @Test
+    void shouldTreatWindowEndAsExclusive() {
+        // A window ending where a booking starts does not reach it; one a second longer does
+        assertThat(overlapping(List.of("CONFIRMED"), Instant.parse("2031-06-10T10:50:00Z"), WINDOW_END))
+                .doesNotContain("starts-at-window-end");
+        assertThat(overlapping(List.of("CONFIRMED"), Instant.parse("2031-06-10T10:50:00Z"),
+                WINDOW_END.plusSeconds(1)))
+                .contains("starts-at-window-end");
+    }
+
+    private static List<String> overlapping(List<String> statuses, Instant start, Instant end) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("statuses", statuses)
+                .addValue("dayStart", OffsetDateTime.ofInstant(start, ZoneOffset.UTC))
+                .addValue("dayEnd", OffsetDateTime.ofInstant(end, ZoneOffset.UTC));
+        return namedJdbcTemplate.query(BookingRepository.OVERLAPPING_BOOKINGS_QUERY, parameters,
+                (row, rowNum) -> row.getString("session_name"));
+    }
+
+    private static void insert(String name, String start, String end, String status) {
+        insert(name, start, end, status, "2031-06-10");
+    }
+
+    private static void insert(String name, String start, String end, String status, String day) {
+        jdbcTemplate.update("INSERT INTO bookings (start_time, end_time, status, session_name, "
+                        + "session_duration_minutes, session_buffer_minutes, session_prices) "
+                        + "VALUES (?::timestamptz, ?::timestamptz, ?, ?, 60, 0, '{}')",
+                day + "T" + start + "Z", day + "T" + end + "Z", status, name);
+    }
+}
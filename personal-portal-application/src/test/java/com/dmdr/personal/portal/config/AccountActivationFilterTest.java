@@ -1,7 +1,7 @@
 package com.dmdr.personal.portal.config;
 
-import com.dmdr.personal.portal.users.model.User;
-import com.dmdr.personal.portal.users.repository.UserRepository;
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.service.UserStatusService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockFilterChain;
@@ -12,6 +12,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,8 +23,8 @@ import static org.mockito.Mockito.when;
 
 class AccountActivationFilterTest {
 
-    private final UserRepository userRepository = mock(UserRepository.class);
-    private final AccountActivationFilter filter = new AccountActivationFilter(userRepository);
+    private final UserStatusService userStatusService = mock(UserStatusService.class);
+    private final AccountActivationFilter filter = new AccountActivationFilter(userStatusService);
 
     @AfterEach
     void tearDown() {
@@ -39,7 +40,7 @@ class AccountActivationFilterTest {
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verifyNoInteractions(userRepository);
+        verifyNoInteractions(userStatusService);
         assertThat(response.getStatus()).isEqualTo(200);
     }
 
@@ -48,16 +49,14 @@ class AccountActivationFilterTest {
         UUID userId = UUID.randomUUID();
         setAuthenticatedUser(userId);
 
-        User user = new User();
-        user.setActive(true);
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userStatusService.findStatus(userId)).thenReturn(Optional.of(status(userId, true)));
 
         MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pages/about-me");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verify(userRepository).findUserById(userId);
+        verify(userStatusService).findStatus(userId);
         assertThat(response.getStatus()).isEqualTo(200);
     }
 
@@ -66,20 +65,22 @@ class AccountActivationFilterTest {
         UUID userId = UUID.randomUUID();
         setAuthenticatedUser(userId);
 
-        User user = new User();
-        user.setActive(false);
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userStatusService.findStatus(userId)).thenReturn(Optional.of(status(userId, false)));
 
         MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pages/about-me");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verify(userRepository).findUserById(userId);
+        verify(userStatusService).findStatus(userId);
         assertThat(response.getStatus()).isEqualTo(403);
         assertThat(response.getContentAsString()).contains("Account must be activated.");
     }
 
+    private static UserStatus status(UUID userId, boolean active) {
+        return new UserStatus(userId, false, active, Set.of(1L), 0L);
+    }
+
     private void setAuthenticatedUser(UUID userId) {
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
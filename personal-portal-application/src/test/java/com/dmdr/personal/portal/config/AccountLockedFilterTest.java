@@ -1,7 +1,7 @@
 package com.dmdr.personal.portal.config;
 
-import com.dmdr.personal.portal.users.model.User;
-import com.dmdr.personal.portal.users.repository.UserRepository;
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.service.UserStatusService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockFilterChain;
@@ -12,18 +12,20 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class AccountLockedFilterTest {
 
-    private final UserRepository userRepository = mock(UserRepository.class);
-    private final AccountLockedFilter filter = new AccountLockedFilter(userRepository);
+    private final UserStatusService userStatusService = mock(UserStatusService.class);
+    private final AccountLockedFilter filter = new AccountLockedFilter(userStatusService);
 
     @AfterEach
     void tearDown() {
@@ -39,7 +41,7 @@ class AccountLockedFilterTest {
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verifyNoInteractions(userRepository);
+        verifyNoInteractions(userStatusService);
         assertThat(response.getStatus()).isEqualTo(200);
     }
 
@@ -48,16 +50,14 @@ class AccountLockedFilterTest {
         UUID userId = UUID.randomUUID();
         setAuthenticatedUser(userId);
 
-        User user = new User();
-        user.setLocked(false);
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userStatusService.findStatus(userId)).thenReturn(Optional.of(status(userId, false)));
 
         MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/booking");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verify(userRepository).findUserById(userId);
+        verify(userStatusService).findStatus(userId);
         assertThat(response.getStatus()).isEqualTo(200);
     }
 
@@ -66,20 +66,39 @@ class AccountLockedFilterTest {
         UUID userId = UUID.randomUUID();
         setAuthenticatedUser(userId);
 
-        User user = new User();
-        user.setLocked(true);
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userStatusService.findStatus(userId)).thenReturn(Optional.of(status(userId, true)));
 
         MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/booking");
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         filter.doFilter(request, response, new MockFilterChain());
 
-        verify(userRepository).findUserById(userId);
+        verify(userStatusService).findStatus(userId);
         assertThat(response.getStatus()).isEqualTo(403);
         assertThat(response.getContentAsString()).contains("PEC-422");
     }
 
+    @Test
+    void shouldShareResolvedStatusWithActivationFilter() throws Exception {
+        UUID userId = UUID.randomUUID();
+        setAuthenticatedUser(userId);
+        when(userStatusService.findStatus(userId)).thenReturn(Optional.of(status(userId, false)));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/booking");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AccountActivationFilter activationFilter = new AccountActivationFilter(userStatusService);
+
+        filter.doFilter(request, response,
+                (req, res) -> activationFilter.doFilter(req, res, new MockFilterChain()));
+
+        verify(userStatusService, times(1)).findStatus(userId);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private static UserStatus status(UUID userId, boolean locked) {
+        return new UserStatus(userId, locked, true, Set.of(1L), 0L);
+    }
+
     private void setAuthenticatedUser(UUID userId) {
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,119 @@
+package com.dmdr.personal.portal.config;
+
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final BoundedPasswordEncoder encoder =
+            new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void shouldHashOnPoolThreadAndRecordQueueTime() {
+        release.countDown();
+
+        assertThat(encoder.encode("secret")).startsWith("{hashed-on password-hashing-");
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(meterRegistry.get("auth.password.hashing.queue").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.hashing.execution").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued();
+
+        assertThatThrownBy(() -> encoder.matches("third", "third"))
+                .isInstanceOfSatisfying(PersonalPortalRuntimeException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(PortalErrorCode.AUTHENTICATION_BUSY));
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue-full").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxWaitAndFreeTheQueueSlot() throws Exception {
+        BoundedPasswordEncoder impatient = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1,
+                Duration.ofMillis(50), new SimpleMeterRegistry());
+        try {
+            CompletableFuture.runAsync(() -> catchBusy(() -> impatient.encode("first")));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> impatient.encode("second")).isInstanceOf(PersonalPortalRuntimeException.class);
+            // The timed-out call no longer holds the only queue slot
+            CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> impatient.encode("third"));
+            release.countDown();
+            assertThat(next.get(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            impatient.destroy();
+        }
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue.size").gauge().value() < 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void catchBusy(Runnable call) {
+        try {
+            call.run();
+        } catch (PersonalPortalRuntimeException ignored) {
+            // Expected once the wait exceeds max-wait
+        }
+    }
+
+    /**
+     * Blocks every call until released, so tests can hold the single hashing thread.
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return "{hashed-on " + Thread.currentThread().getName() + "}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            block();
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        private void block() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
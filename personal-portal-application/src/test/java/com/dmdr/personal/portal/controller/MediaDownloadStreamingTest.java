@@ -0,0 +1,208 @@
+package com.dmdr.personal.portal.controller;
+
+import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.content.service.MediaService;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
+import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Downloads through {@link MediaEntityController} from an in-process S3-compatible stub, measuring what each
+ * download allocates on its request thread. Memory per download must stay flat however large the object is.
+ */
+class MediaDownloadStreamingTest {
+
+    private static final int OBJECT_BYTES = 8 * 1024 * 1024;
+    private static final int PARALLEL_DOWNLOADS = 50;
+    /** Far below the object size: the SDK's request overhead plus fixed copy buffers. */
+    private static final long MAX_ALLOCATED_PER_DOWNLOAD = 1024 * 1024;
+
+    @TempDir
+    Path cacheDirectory;
+
+    private HttpServer s3Stub;
+    private S3Client s3Client;
+    private ObjectStorageService objectStorageService;
+    private final MediaService mediaService = mock(MediaService.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3Stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        s3Stub.createContext("/media-bucket/", MediaDownloadStreamingTest::serveObject);
+        s3Stub.setExecutor(Executors.newFixedThreadPool(PARALLEL_DOWNLOADS));
+        s3Stub.start();
+
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create("http://127.0.0.1:" + s3Stub.getAddress().getPort()))
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(PARALLEL_DOWNLOADS))
+                .build();
+        objectStorageService = new ObjectStorageService(s3Client, "media-bucket");
+
+        when(mediaService.findById(any())).thenAnswer(invocation -> {
+            MediaEntity media = new MediaEntity();
+            media.setMediaId(invocation.getArgument(0));
+            media.setFileUrl("image-" + invocation.getArgument(0) + ".jpg");
+            media.setFileType("image/jpeg");
+            return Optional.of(media);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        s3Stub.stop(0);
+    }
+
+    @Test
+    void shouldStreamFiftyParallelDownloadsWithFlatMemoryPerDownload() throws Exception {
+        // Objects above max-object-bytes are streamed through without touching the disk cache
+        MediaEntityController controller =
+                new MediaEntityController(new MediaFileCache(objectStorageService, cacheDirectory, 1, 0), mediaService);
+        warmUp(controller);
+
+        List<DownloadResult> results = downloadInParallel(controller);
+
+        for (DownloadResult result : results) {
+            assertThat(result.status()).isEqualTo(200);
+            assertThat(result.bytesWritten()).isEqualTo(OBJECT_BYTES);
+            assertThat(result.allocatedBytes()).isLessThan(MAX_ALLOCATED_PER_DOWNLOAD);
+        }
+    }
+
+    @Test
+    void shouldStreamCacheMissesToDiskWithFlatMemory() throws Exception {
+        MediaFileCache cache = new MediaFileCache(objectStorageService, cacheDirectory, 4L * OBJECT_BYTES, OBJECT_BYTES);
+        MediaEntityController controller = new MediaEntityController(cache, mediaService);
+
+        warmUp(controller);
+        DownloadResult miss = download(controller, UUID.randomUUID());
+
+        assertThat(miss.status()).isEqualTo(200);
+        assertThat(miss.bytesWritten()).isEqualTo(OBJECT_BYTES);
+        assertThat(miss.allocatedBytes()).isLessThan(MAX_ALLOCATED_PER_DOWNLOAD);
+    }
+
+    private List<DownloadResult> downloadInParallel(MediaEntityController controller) throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(PARALLEL_DOWNLOADS);
+        try {
+            List<Callable<DownloadResult>> downloads = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_DOWNLOADS; i++) {
+                downloads.add(() -> download(controller, UUID.randomUUID()));
+            }
+            List<DownloadResult> results = new ArrayList<>();
+            for (Future<DownloadResult> result : requestThreads.invokeAll(downloads)) {
+                results.add(result.get());
+            }
+            return results;
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * The first download pays for one-off class loading and client setup, which is not per-download memory.
+     */
+    private static void warmUp(MediaEntityController controller) throws IOException {
+        download(controller, UUID.randomUUID());
+    }
+
+    private static DownloadResult download(MediaEntityController controller, UUID mediaId) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/public/media/image/" + mediaId);
+        CountingResponse response = new CountingResponse();
+        long before = allocatedBytes();
+        controller.getImage(mediaId, null, request, response);
+        long allocated = allocatedBytes() - before;
+        return new DownloadResult(response.getStatus(), response.counter.count, allocated);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static void serveObject(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "image/jpeg");
+        exchange.getResponseHeaders().add("ETag", "\"stub-etag\"");
+        exchange.sendResponseHeaders(200, OBJECT_BYTES);
+        byte[] chunk = new byte[64 * 1024];
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (int sent = 0; sent < OBJECT_BYTES; sent += chunk.length) {
+                body.write(chunk, 0, Math.min(chunk.length, OBJECT_BYTES - sent));
+            }
+        }
+    }
+
+    private record DownloadResult(int status, long bytesWritten, long allocatedBytes) {
+    }
+
+    /**
+     * Counts the body instead of buffering it like {@link MockHttpServletResponse} does.
+     */
+    private static final class CountingResponse extends MockHttpServletResponse {
+        private final CountingOutputStream counter = new CountingOutputStream();
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return counter;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}
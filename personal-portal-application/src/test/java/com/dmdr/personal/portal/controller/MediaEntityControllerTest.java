@@ -0,0 +1,271 @@
+package com.dmdr.personal.portal.controller;
+
+import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.content.service.ImageRenditions;
+import com.dmdr.personal.portal.content.service.ImageVariant;
+import com.dmdr.personal.portal.content.service.MediaService;
+import com.dmdr.personal.portal.content.service.ThumbnailService;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
+import com.dmdr.personal.portal.content.service.storage.ObjectDownload;
+import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class MediaEntityControllerTest {
+
+    private static final String KEY = "photo.png-1a2b3c4d";
+
+    @TempDir
+    Path storageRoot;
+
+    @TempDir
+    Path cacheDirectory;
+
+    private final MediaService mediaService = mock(MediaService.class);
+    private final ObjectStorageService objectStorageService = mock(ObjectStorageService.class);
+    private final UUID mediaId = UUID.randomUUID();
+    private final byte[] image = new byte[1000];
+    private final MediaEntity media = new MediaEntity();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        // Local directory standing in for the bucket
+        Files.write(storageRoot.resolve(KEY), image);
+        when(objectStorageService.openDownload(anyString())).thenAnswer(invocation -> {
+            Path object = storageRoot.resolve(invocation.<String>getArgument(0));
+            if (!Files.exists(object)) {
+                return Optional.empty();
+            }
+            GetObjectResponse metadata = GetObjectResponse.builder().contentLength(Files.size(object)).build();
+            return Optional.of(new ObjectDownload(
+                    new ResponseInputStream<>(metadata, AbortableInputStream.create(Files.newInputStream(object))),
+                    Files.size(object), "image/png", "\"s3-etag\""));
+        });
+        media.setMediaId(mediaId);
+        media.setFileUrl(KEY);
+        media.setFileType("image/png");
+        when(mediaService.findById(mediaId)).thenReturn(Optional.of(media));
+
+        mockMvc = mockMvc(1_000_000);
+    }
+
+    @Test
+    void shouldServeImageWithValidatorsAndFetchItOnce() throws Exception {
+        MockHttpServletResponse first = perform(null, null);
+        MockHttpServletResponse second = perform(null, null);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getContentAsByteArray()).isEqualTo(image);
+        assertThat(first.getContentType()).isEqualTo("image/png");
+        assertThat(first.getHeader(HttpHeaders.ETAG)).matches("\"[0-9a-f]{32}\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(first.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(second.getContentAsByteArray()).isEqualTo(image);
+        verify(objectStorageService, times(1)).openDownload(KEY);
+    }
+
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        String etag = perform(null, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = perform(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    void shouldServeSingleByteRanges() throws Exception {
+        MockHttpServletResponse response = perform(HttpHeaders.RANGE, "bytes=100-199");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(image, 100, 200));
+
+        MockHttpServletResponse suffix = perform(HttpHeaders.RANGE, "bytes=-10");
+        assertThat(suffix.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 990-999/1000");
+        assertThat(suffix.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(image, 990, 1000));
+
+        MockHttpServletResponse unsatisfiable = perform(HttpHeaders.RANGE, "bytes=5000-");
+        assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+        assertThat(unsatisfiable.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    void shouldIgnoreRangeWhenIfRangeDoesNotMatch() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/public/media/image/{id}", mediaId)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(image);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingMediaOrObject() throws Exception {
+        assertThat(mockMvc.perform(get("/api/v1/public/media/image/{id}", UUID.randomUUID()))
+                .andReturn().getResponse().getStatus()).isEqualTo(404);
+        // No thumbnail object in the stand-in bucket
+        assertThat(mockMvc.perform(get("/api/v1/public/media/image/{id}/thumbnail", mediaId))
+                .andReturn().getResponse().getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldStreamObjectsTooLargeToCacheStraightFromStorage() throws Exception {
+        mockMvc = mockMvc(100);
+
+        MockHttpServletResponse response = perform(null, null);
+        MockHttpServletResponse conditional = perform(HttpHeaders.IF_NONE_MATCH, "\"s3-etag\"");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(image);
+        assertThat(response.getContentLengthLong()).isEqualTo(image.length);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"s3-etag\"");
+        assertThat(conditional.getStatus()).isEqualTo(304);
+        verify(objectStorageService, times(2)).openDownload(KEY);
+    }
+
+    @Test
+    void shouldServeNarrowestVariantAtLeastAsWideAsRequested() throws Exception {
+        storeVariants("480.jpeg", "480.webp", "960.jpeg");
+
+        MockHttpServletResponse response = performWidth(600, "image/jpeg,*/*");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getContentAsString()).isEqualTo("960.jpeg");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void shouldServeWebpOnlyToClientsListingIt() throws Exception {
+        storeVariants("480.jpeg", "480.webp", "960.jpeg");
+
+        MockHttpServletResponse browser = performWidth(400, "image/avif,image/webp,image/*,*/*;q=0.8");
+        MockHttpServletResponse legacy = performWidth(400, "image/*,*/*;q=0.8");
+
+        assertThat(browser.getContentType()).isEqualTo("image/webp");
+        assertThat(browser.getContentAsString()).isEqualTo("480.webp");
+        assertThat(legacy.getContentType()).isEqualTo("image/jpeg");
+        assertThat(legacy.getContentAsString()).isEqualTo("480.jpeg");
+    }
+
+    @Test
+    void shouldServeOriginalWhenNoVariantIsWideEnough() throws Exception {
+        storeVariants("480.jpeg", "960.jpeg");
+
+        MockHttpServletResponse response = performWidth(1200, "image/webp,*/*");
+
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getContentAsByteArray()).isEqualTo(image);
+    }
+
+    @Test
+    void shouldServeFarFewerBytesForMidSizeLayouts() throws Exception {
+        byte[] photo = photoJpeg(4000, 3000);
+        Files.write(storageRoot.resolve(KEY), photo);
+        ThumbnailService thumbnailService =
+                new ThumbnailService(100_000_000, 4_000_000, List.of(480, 960, 1600), List.of("webp", "jpeg"));
+        ImageRenditions renditions = thumbnailService.generateRenditions(photo);
+        for (Map.Entry<ImageVariant, byte[]> variant : renditions.variants().entrySet()) {
+            Path object = storageRoot.resolve(variant.getKey().storageKey(KEY));
+            Files.createDirectories(object.getParent());
+            Files.write(object, variant.getValue());
+        }
+        media.setVariants(renditions.variants().keySet().stream().map(ImageVariant::name).toList());
+
+        // An article body 800 CSS pixels wide on a 1x screen
+        long original = perform(null, null).getContentAsByteArray().length;
+        long variant = performWidth(800, "image/jpeg,*/*").getContentAsByteArray().length;
+        MockHttpServletResponse webp = performWidth(800, "image/avif,image/webp,image/*,*/*;q=0.8");
+
+        assertThat(original).isEqualTo(photo.length);
+        assertThat(variant).isLessThan(original / 5);
+        assertThat(webp.getContentType()).isEqualTo("image/webp");
+        assertThat((long) webp.getContentAsByteArray().length).isLessThan(variant / 2);
+    }
+
+    private void storeVariants(String... names) throws IOException {
+        for (String name : names) {
+            Path object = storageRoot.resolve(ImageVariant.parse(name).storageKey(KEY));
+            Files.createDirectories(object.getParent());
+            Files.writeString(object, name);
+        }
+        media.setVariants(List.of(names));
+    }
+
+    /**
+     * Smooth gradients with fine grain, which compresses about like a photograph.
+     */
+    private static byte[] photoJpeg(int width, int height) throws IOException {
+        BufferedImage photo = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random grain = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = grain.nextInt(24);
+                int r = Math.min(255, x * 200 / width + noise);
+                int g = Math.min(255, y * 200 / height + noise);
+                int b = Math.min(255, (x + y) * 100 / (width + height) + noise);
+                photo.setRGB(x, y, r << 16 | g << 8 | b);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(photo, "jpeg", bytes);
+        return bytes.toByteArray();
+    }
+
+    private MockHttpServletResponse performWidth(int width, String accept) throws Exception {
+        return mockMvc.perform(get("/api/v1/public/media/image/{id}", mediaId)
+                        .param("w", String.valueOf(width))
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andReturn().getResponse();
+    }
+
+    private MockMvc mockMvc(long maxObjectBytes) {
+        MediaFileCache cache = new MediaFileCache(objectStorageService, cacheDirectory, 1_000_000, maxObjectBytes);
+        return MockMvcBuilders.standaloneSetup(new MediaEntityController(cache, mediaService)).build();
+    }
+
+    private MockHttpServletResponse perform(String header, String value) throws Exception {
+        var request = get("/api/v1/public/media/image/{id}", mediaId);
+        if (header != null) {
+            request.header(header, value);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
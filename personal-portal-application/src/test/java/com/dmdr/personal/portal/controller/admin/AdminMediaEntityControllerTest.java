@@ -0,0 +1,88 @@
+package com.dmdr.personal.portal.controller.admin;
+
+import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.content.repository.ArticleRepository;
+import com.dmdr.personal.portal.content.repository.HomePageRepository;
+import com.dmdr.personal.portal.content.repository.MediaRepository;
+import com.dmdr.personal.portal.content.service.ImageRenditions;
+import com.dmdr.personal.portal.content.service.ThumbnailService;
+import com.dmdr.personal.portal.content.service.impl.MediaServiceImpl;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
+import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import com.dmdr.personal.portal.service.CurrentUserService;
+import com.dmdr.personal.portal.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminMediaEntityControllerTest {
+
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final ObjectStorageService objectStorageService = mock(ObjectStorageService.class);
+    private final ThumbnailService thumbnailService = mock(ThumbnailService.class);
+    private AdminMediaEntityController controller;
+
+    @BeforeEach
+    void setUp() {
+        CurrentUserService currentUserService = mock(CurrentUserService.class);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        when(currentUserService.getCurrentUser()).thenReturn(user);
+        when(thumbnailService.generateRenditions(any())).thenReturn(new ImageRenditions(new byte[8], Map.of()));
+        MediaServiceImpl mediaService = new MediaServiceImpl(mediaRepository, mock(ArticleRepository.class),
+                objectStorageService, mock(HomePageRepository.class), mock(MediaFileCache.class),
+                new SyncTaskExecutor());
+        controller = new AdminMediaEntityController(mediaService, currentUserService, thumbnailService);
+    }
+
+    @Test
+    void shouldReturnConcurrentlyStoredMediaWhenContentHashConflicts() {
+        MediaEntity winner = new MediaEntity();
+        winner.setMediaId(UUID.randomUUID());
+        // Not stored yet when this upload checks, committed by the time its insert fails
+        when(mediaRepository.findByContentHash(anyString())).thenReturn(Optional.empty(), Optional.of(winner));
+        when(mediaRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates idx_media_content_hash"));
+
+        ResponseEntity<Map<String, String>> response = controller.uploadImage(png());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).containsEntry("mediaId", winner.getMediaId().toString());
+        verify(mediaRepository, times(1)).saveAndFlush(any());
+        verify(objectStorageService, never()).uploadFile(anyString(), any());
+    }
+
+    @Test
+    void shouldFailUploadOnOtherIntegrityViolations() {
+        when(mediaRepository.findByContentHash(anyString())).thenReturn(Optional.empty());
+        when(mediaRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("insert violates foreign key fk_media_uploaded_by"));
+
+        ResponseEntity<Map<String, String>> response = controller.uploadImage(png());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(response.getBody().get("error")).contains("fk_media_uploaded_by");
+        verify(mediaRepository, times(1)).saveAndFlush(any());
+        verify(mediaRepository, times(2)).findByContentHash(anyString());
+    }
+
+    private static MockMultipartFile png() {
+        return new MockMultipartFile("file", "photo.png", "image/png", new byte[] {1, 2, 3, 4});
+    }
+}
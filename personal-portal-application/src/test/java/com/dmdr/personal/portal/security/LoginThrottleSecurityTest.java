@@ -0,0 +1,48 @@
+package com.dmdr.personal.portal.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Login Throttle Security Tests")
+class LoginThrottleSecurityTest extends SecurityTestBase {
+
+    private static final String PASSWORD = "Str0ng!Passw0rd";
+    // auth.login-throttle.max-failures-per-account
+    private static final int MAX_FAILURES_PER_ACCOUNT = 10;
+
+    @Test
+    @DisplayName("Should let the correct password in from another address while one address is throttled")
+    void shouldAllowCorrectPasswordFromOtherAddressWhileAccountIsThrottledElsewhere() throws Exception {
+        String email = "throttled" + System.currentTimeMillis() + "@example.com";
+        createTestUser(email, PASSWORD);
+
+        for (int i = 0; i < MAX_FAILURES_PER_ACCOUNT; i++) {
+            mockMvc.perform(login(email, "wrong-password", "203.0.113.7"))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.code").value("PEC-410"));
+        }
+        mockMvc.perform(login(email, PASSWORD, "203.0.113.7"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("PEC-423"));
+
+        mockMvc.perform(login(email, PASSWORD, "198.51.100.20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+    }
+
+    private static MockHttpServletRequestBuilder login(String email, String password, String address) {
+        return MockMvcRequestBuilders.post("/api/v1/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+    }
+}
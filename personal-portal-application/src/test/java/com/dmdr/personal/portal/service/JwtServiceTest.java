@@ -0,0 +1,73 @@
+package com.dmdr.personal.portal.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-256-bits-minimum";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+    private final JwtService jwtService = new JwtService(SECRET, "issuer", "audience", 10, cache, clock);
+
+    @Test
+    void shouldVerifyOnceAndServeRepeatsFromCache() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateToken(userId, Set.of("ROLE_USER", "ROLE_ADMIN"), UUID.randomUUID());
+
+        VerifiedClaims first = jwtService.verify(token);
+        VerifiedClaims second = jwtService.verify(token);
+
+        assertThat(first.userId()).isEqualTo(userId);
+        assertThat(first.roles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(first.expiresAt()).isEqualTo(Instant.parse("2030-01-01T10:10:00Z"));
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCachedTokenOnceExpired() {
+        String token = jwtService.generateToken(UUID.randomUUID(), Set.of("ROLE_USER"), UUID.randomUUID());
+        jwtService.verify(token);
+
+        clock.advance(Duration.ofMinutes(10).plusSeconds(1));
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        String token = jwtService.generateToken(UUID.randomUUID(), Set.of("ROLE_USER"), UUID.randomUUID());
+        JwtService otherIssuer = new JwtService(SECRET, "other", "audience", 10, cache, clock);
+
+        assertThatThrownBy(() -> otherIssuer.verify(token)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.verify(token.substring(0, token.length() - 2)))
+                .isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldStayWithinCapacity() {
+        for (int i = 0; i < 5; i++) {
+            jwtService.verify(jwtService.generateToken(UUID.randomUUID(), Set.of("ROLE_USER"), UUID.randomUUID()));
+        }
+        assertThat(cache.size()).isEqualTo(2);
+
+        // Expired entries make room for new tokens
+        clock.advance(Duration.ofMinutes(11));
+        String fresh = jwtService.generateToken(UUID.randomUUID(), Set.of("ROLE_USER"), UUID.randomUUID());
+        jwtService.verify(fresh);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.dmdr.personal.portal.service;
+
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final LoginAttemptThrottle throttle = new LoginAttemptThrottle(3, 5, Duration.ofMinutes(15), 100, clock);
+
+    @Test
+    void shouldBlockAccountFromAddressAfterLimitUntilOldestFailureLeavesWindow() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("User@Example.com", "10.0.0.1");
+            throttle.recordFailure("User@Example.com", "10.0.0.1");
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        assertBlocked("user@example.com", "10.0.0.1");
+        assertThatCode(() -> throttle.checkAllowed("other@example.com", "10.0.0.2")).doesNotThrowAnyException();
+
+        // The first failure was 15 minutes ago now; the window slides past it
+        clock.advance(Duration.ofMinutes(12));
+        assertThatCode(() -> throttle.checkAllowed("user@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotBlockAccountFromOtherAddressesWhileOneIsThrottled() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user@example.com", "10.0.0.1");
+        }
+
+        assertBlocked("user@example.com", "10.0.0.1");
+        assertThatCode(() -> throttle.checkAllowed("user@example.com", "10.0.0.2")).doesNotThrowAnyException();
+
+        // The owner's good login does not lift the block on the attacking address
+        throttle.recordSuccess("user@example.com", "10.0.0.2");
+        assertBlocked("user@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void shouldBlockAddressSprayingManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertBlocked("fresh@example.com", "10.0.0.1");
+        assertThatCode(() -> throttle.checkAllowed("fresh@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldClearAccountFailuresOnSuccess() {
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordSuccess("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+
+        assertThatCode(() -> throttle.checkAllowed("user@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldStopTrackingNewKeysWhenFullOfActiveKeys() {
+        LoginAttemptThrottle small = new LoginAttemptThrottle(1, 100, Duration.ofMinutes(15), 2, clock);
+        small.recordFailure("a@example.com", null);
+        small.recordFailure("b@example.com", null);
+        small.recordFailure("c@example.com", null);
+
+        assertThatCode(() -> small.checkAllowed("c@example.com", null)).doesNotThrowAnyException();
+
+        // Idle keys are swept to make room
+        clock.advance(Duration.ofMinutes(16));
+        small.recordFailure("c@example.com", null);
+        assertThatThrownBy(() -> small.checkAllowed("c@example.com", null))
+                .isInstanceOf(PersonalPortalRuntimeException.class);
+    }
+
+    private void assertBlocked(String account, String address) {
+        assertThatThrownBy(() -> throttle.checkAllowed(account, address))
+                .isInstanceOfSatisfying(PersonalPortalRuntimeException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(PortalErrorCode.TOO_MANY_ATTEMPTS));
+    }
+}
@@ -0,0 +1,83 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Booking admission under contention: the former single lock against {@link BookingAdmissionLock}'s day-bucket
+ * stripes. Each operation picks a booking on one of {@code bookableDays} days and holds the lock for
+ * {@code criticalSectionMicros}, standing in for the validation queries and the insert. The global lock stays
+ * flat as bookers are added; the striped one scales until bookers start landing on the same day.
+ * <p>
+ * Compare throughput across thread counts, e.g.
+ * {@code mvn -Pbenchmark -pl personal-portal-booking -am test -DskipTests -Djmh.args="BookingAdmission -t 8"}
+ * for {@code -t} 1, 2, 4 and 8.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BookingAdmissionBenchmark {
+
+    private static final Instant FIRST_DAY = Instant.parse("2030-03-01T00:00:00Z");
+
+    @Param({"30"})
+    public int bookableDays;
+
+    @Param({"50"})
+    public int criticalSectionMicros;
+
+    private final ReentrantLock globalLock = new ReentrantLock();
+    private BookingAdmissionLock.StripedLocks dayLocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dayLocks = new BookingAdmissionLock.StripedLocks(BookingAdmissionLock.STRIPES);
+    }
+
+    @Benchmark
+    public void globalLock() {
+        globalLock.lock();
+        try {
+            admit();
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    @Benchmark
+    public void dayStripedLock() {
+        Instant start = FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(bookableDays)))
+                .plus(Duration.ofHours(9 + ThreadLocalRandom.current().nextInt(8)));
+        int[] held = dayLocks.lock(BookingAdmissionLock.keys(null, start, start.plus(Duration.ofHours(1)), null, null));
+        try {
+            admit();
+        } finally {
+            dayLocks.unlock(held);
+        }
+    }
+
+    private void admit() {
+        LockSupport.parkNanos(criticalSectionMicros * 1_000L);
+    }
+}
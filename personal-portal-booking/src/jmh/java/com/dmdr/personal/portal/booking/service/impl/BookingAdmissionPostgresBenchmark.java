@@ -0,0 +1,89 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Booking admission through {@link BookingAdmissionLock} on a real PostgreSQL, where each day bucket is a
+ * {@code pg_advisory_xact_lock} taken inside the admitting transaction. Each operation is one transaction that
+ * locks the day of a booking on one of {@code bookableDays} days, holds it for {@code criticalSectionMicros}
+ * standing in for the validation queries and the insert, and commits. With {@code bookableDays=1} every booker
+ * queues on the same key, which is what the former single lock did.
+ * <p>
+ * Defaults match the {@code dev} profile database; override with {@code -Dbenchmark.jdbc.url=...},
+ * {@code -Dbenchmark.jdbc.username=...} and {@code -Dbenchmark.jdbc.password=...}. No tables are touched. Run with
+ * {@code mvn -Pbenchmark -pl personal-portal-booking -am test -DskipTests -Djmh.args="BookingAdmissionPostgres -t 8"}
+ * for {@code -t} 1, 2, 4 and 8.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class BookingAdmissionPostgresBenchmark {
+
+    private static final Instant FIRST_DAY = Instant.parse("2030-03-01T00:00:00Z");
+    private static final int MAX_THREADS = 64;
+
+    @Param({"1", "30"})
+    public int bookableDays;
+
+    @Param({"50"})
+    public int criticalSectionMicros;
+
+    private HikariDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private BookingAdmissionLock admissionLock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5422/personal_portal"));
+        config.setUsername(System.getProperty("benchmark.jdbc.username", "postgres"));
+        config.setPassword(System.getProperty("benchmark.jdbc.password", "password"));
+        // One connection per benchmark thread, so bookers wait on the advisory locks and not on the pool
+        config.setMaximumPoolSize(MAX_THREADS);
+        dataSource = new HikariDataSource(config);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        admissionLock = new BookingAdmissionLock(new JdbcTemplate(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void advisoryDayLock() {
+        Instant start = FIRST_DAY.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(bookableDays)))
+                .plus(Duration.ofHours(9 + ThreadLocalRandom.current().nextInt(8)));
+        transactionTemplate.executeWithoutResult(status -> {
+            admissionLock.lockDays(start, start.plus(Duration.ofHours(1)));
+            LockSupport.parkNanos(criticalSectionMicros * 1_000L);
+        });
+    }
+}
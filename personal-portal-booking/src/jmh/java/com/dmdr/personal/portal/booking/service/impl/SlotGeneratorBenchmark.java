@@ -0,0 +1,139 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.dto.booking.SuggestedSlots;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Slot generation for one busy day: the previous Instant/LocalDateTime generator against {@link SlotGenerator}.
+ * Compare {@code gc.alloc.rate.norm} (bytes per request) across the {@code slotIntervalMinutes} settings.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -pl personal-portal-booking -am test -DskipTests}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotGeneratorBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("+03:00");
+    private static final int SESSION_DURATION_MIN = 50;
+    private static final int SESSION_BUFFER_MIN = 10;
+
+    @Param({"5", "15", "60"})
+    public int slotIntervalMinutes;
+
+    @Param({"false", "true"})
+    public boolean roundToQuarterHour;
+
+    private IntervalSet freeRanges;
+    private DayOffsets offsets;
+    private SlotGenerator.Buffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate date = LocalDate.of(2030, 3, 14);
+        long dayStart = date.atStartOfDay(ZONE).toEpochSecond();
+        // Working hours 08:00-20:00 with a few bookings carved out, starting off the quarter-hour grid
+        freeRanges = IntervalSet.of(dayStart + hours(8) + 7 * 60, dayStart + hours(20))
+                .subtract(IntervalSet.builder()
+                        .add(dayStart + hours(10), dayStart + hours(11))
+                        .add(dayStart + hours(13), dayStart + hours(14) + 30 * 60)
+                        .add(dayStart + hours(17), dayStart + hours(18))
+                        .build());
+        offsets = DayOffsets.forDay(ZONE, ZONE.getRules(), dayStart, dayStart + hours(24) - 1);
+        buffer = new SlotGenerator.Buffer();
+    }
+
+    @Benchmark
+    public SuggestedSlots primitiveSlots() {
+        SlotGenerator generator = new SlotGenerator(
+                SESSION_DURATION_MIN, SESSION_BUFFER_MIN, slotIntervalMinutes, roundToQuarterHour, Long.MIN_VALUE);
+        buffer.clear();
+        for (int i = 0; i < freeRanges.size(); i++) {
+            generator.emit(freeRanges.start(i), freeRanges.end(i), offsets, buffer);
+        }
+        return SuggestedSlots.of(buffer.array(), buffer.size(), generator.durationSeconds());
+    }
+
+    @Benchmark
+    public List<LegacySuggestion> legacyInstantSlots() {
+        List<LegacySuggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < freeRanges.size(); i++) {
+            suggestions.addAll(legacyGenerate(
+                    Instant.ofEpochSecond(freeRanges.start(i)), Instant.ofEpochSecond(freeRanges.end(i))));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Generator as it was before {@link SlotGenerator}: Instant arithmetic and a zone round trip per candidate.
+     */
+    private List<LegacySuggestion> legacyGenerate(Instant rangeStart, Instant rangeEnd) {
+        List<LegacySuggestion> slots = new ArrayList<>();
+        Instant currentStart = rangeStart;
+        while (true) {
+            if (roundToQuarterHour) {
+                currentStart = legacyRoundUpToQuarterHour(currentStart);
+            }
+            if (currentStart.isAfter(rangeEnd) || currentStart.equals(rangeEnd)) {
+                break;
+            }
+            Instant slotEnd = currentStart.plusSeconds(SESSION_DURATION_MIN * 60L);
+            Instant slotWithBufferEnd = slotEnd.plusSeconds(SESSION_BUFFER_MIN * 60L);
+            if (slotWithBufferEnd.isAfter(rangeEnd)) {
+                break;
+            }
+            slots.add(new LegacySuggestion(currentStart, currentStart, slotEnd));
+            currentStart = currentStart.plusSeconds(slotIntervalMinutes * 60L);
+        }
+        return slots;
+    }
+
+    private static Instant legacyRoundUpToQuarterHour(Instant instant) {
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(instant, ZONE);
+        int minute = localDateTime.getMinute();
+        int mod = minute % 15;
+        int addMinutes;
+        if (mod == 0 && localDateTime.getSecond() == 0 && localDateTime.getNano() == 0) {
+            addMinutes = 0;
+        } else {
+            addMinutes = 15 - mod;
+        }
+        return localDateTime
+                .plusMinutes(addMinutes)
+                .withSecond(0)
+                .withNano(0)
+                .atZone(ZONE)
+                .toInstant();
+    }
+
+    private static long hours(int hours) {
+        return hours * 3600L;
+    }
+
+    /**
+     * Shape of the former per-slot DTO: three Instant fields.
+     */
+    public record LegacySuggestion(Instant startTimeInstant, Instant startTime, Instant endTime) {
+    }
+}
@@ -2,6 +2,7 @@ package com.dmdr.personal.portal.booking.config;
 
 import com.dmdr.personal.portal.booking.model.BookingSettings;
 import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
+import com.dmdr.personal.portal.booking.service.impl.BookingSettingsStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
@@ -12,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Initializes default BookingSettings on application startup if none exist.
  * This prevents IllegalStateException when the application tries to access
- * booking settings.
+ * booking settings. Then loads them into the {@link BookingSettingsStore}.
  */
 @Component
 @RequiredArgsConstructor
@@ -20,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class BookingSettingsInitializer implements ApplicationRunner {
 
     private final BookingSettingsRepository bookingSettingsRepository;
+    private final BookingSettingsStore bookingSettingsStore;
 
     // Default values for booking settings (all intervals are in minutes)
     private static final int DEFAULT_BOOKING_SLOTS_INTERVAL = 60; // 1 hour slots
@@ -62,5 +64,6 @@ public class BookingSettingsInitializer implements ApplicationRunner {
         } else {
             log.info("BookingSettings already exists. Skipping initialization.");
         }
+        bookingSettingsStore.refresh();
     }
 }
@@ -0,0 +1,16 @@
+package com.dmdr.personal.portal.booking.dto.availability.rule;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CreateAvailabilityRuleBatchRequest {
+	@NotEmpty
+	@Size(max = 200)
+	private List<@Valid CreateAvailabilityRuleRequest> rules;
+}
@@ -1,14 +0,0 @@
-package com.dmdr.personal.portal.booking.dto.booking;
-
-import java.time.Instant;
-import lombok.Getter;
-import lombok.Setter;
-
-@Getter
-@Setter
-public class BookingSuggestion {
-	private Instant startTimeInstant;
-	private Instant startTime;
-	private Instant endTime;
-}
-
@@ -0,0 +1,49 @@
+package com.dmdr.personal.portal.booking.dto.booking;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Booking slot suggestions for one day as primitive epoch seconds, in ascending start order.
+ * All slots share the session duration; controllers turn them into response DTOs.
+ */
+public final class SuggestedSlots {
+
+	private static final SuggestedSlots EMPTY = new SuggestedSlots(new long[0], 0);
+
+	private final long[] startSeconds;
+	private final long durationSeconds;
+
+	private SuggestedSlots(long[] startSeconds, long durationSeconds) {
+		this.startSeconds = startSeconds;
+		this.durationSeconds = durationSeconds;
+	}
+
+	public static SuggestedSlots of(long[] startSeconds, int count, long durationSeconds) {
+		return count == 0 ? EMPTY : new SuggestedSlots(Arrays.copyOf(startSeconds, count), durationSeconds);
+	}
+
+	public int size() {
+		return startSeconds.length;
+	}
+
+	public boolean isEmpty() {
+		return startSeconds.length == 0;
+	}
+
+	public long startEpochSecond(int index) {
+		return startSeconds[index];
+	}
+
+	public long endEpochSecond(int index) {
+		return startSeconds[index] + durationSeconds;
+	}
+
+	public Instant startTime(int index) {
+		return Instant.ofEpochSecond(startEpochSecond(index));
+	}
+
+	public Instant endTime(int index) {
+		return Instant.ofEpochSecond(endEpochSecond(index));
+	}
+}
@@ -11,30 +11,10 @@ public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRu
     //TODO in most cases we will need to load only ACTIVE rule with overlap given new rule to compare working hours.
 	List<AvailabilityRule> findByRuleStatus(AvailabilityRule.RuleStatus ruleStatus);
 
-	@Query("SELECT ar FROM AvailabilityRule ar " +
-		"WHERE ar.ruleStartInstant < :endInstant " +
-		"AND ar.ruleEndInstant > :startInstant " +
-		"AND (:excludeId IS NULL OR ar.id != :excludeId)")
-	List<AvailabilityRule> findOverlappingRules(
-		@Param("startInstant") Instant startInstant,
-		@Param("endInstant") Instant endInstant,
-		@Param("excludeId") Long excludeId
-	);
-
 	@Query("SELECT COUNT(ar) FROM AvailabilityRule ar " +
 		"WHERE ar.ruleStatus != :archivedStatus")
 	long countNonArchivedRules(@Param("archivedStatus") AvailabilityRule.RuleStatus archivedStatus);
 
-	@Query("SELECT ar FROM AvailabilityRule ar " +
-		"WHERE ar.ruleStatus = :status " +
-		"AND ar.ruleStartInstant < :endInstant " +
-		"AND ar.ruleEndInstant > :startInstant")
-	List<AvailabilityRule> findActiveOverlappingRules(
-		@Param("startInstant") Instant startInstant,
-		@Param("endInstant") Instant endInstant,
-		@Param("status") AvailabilityRule.RuleStatus status
-	);
-
 	@Query("SELECT ar FROM AvailabilityRule ar " +
 		"WHERE ar.ruleStatus != :archivedStatus " +
 		"AND (:excludeId IS NULL OR ar.id != :excludeId)")
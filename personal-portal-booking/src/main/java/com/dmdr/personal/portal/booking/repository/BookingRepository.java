@@ -15,14 +15,27 @@ import org.springframework.data.repository.query.Param;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 	List<Booking> findByClientId(UUID clientId);
 
-	@Query("SELECT b FROM Booking b WHERE b.status IN :statuses " +
-		"AND b.startTime < :dayEnd AND b.endTime > :dayStart")
-	List<Booking> findBookingsByStatusAndTimeRange(
-		@Param("statuses") List<BookingStatus> statuses,
+	/**
+	 * Overlap test on the generated {@code time_range} column, served by its GiST index (V18).
+	 */
+	String OVERLAPPING_BOOKINGS_QUERY = "SELECT b.* FROM bookings b WHERE b.status IN (:statuses) " +
+		"AND b.time_range && tstzrange(CAST(:dayStart AS timestamptz), CAST(:dayEnd AS timestamptz), '[)')";
+
+	@Query(value = OVERLAPPING_BOOKINGS_QUERY, nativeQuery = true)
+	List<Booking> findOverlappingBookingsByStatusNames(
+		@Param("statuses") List<String> statuses,
 		@Param("dayStart") Instant dayStart,
 		@Param("dayEnd") Instant dayEnd
 	);
 
+	default List<Booking> findBookingsByStatusAndTimeRange(
+		List<BookingStatus> statuses,
+		Instant dayStart,
+		Instant dayEnd
+	) {
+		return findOverlappingBookingsByStatusNames(statuses.stream().map(Enum::name).toList(), dayStart, dayEnd);
+	}
+
 	List<Booking> findByStatusOrderByStartTimeAsc(BookingStatus status);
 
 	Page<Booking> findByStatusOrderByStartTimeAsc(BookingStatus status, Pageable pageable);
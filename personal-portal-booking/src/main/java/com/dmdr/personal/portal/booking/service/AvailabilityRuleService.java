@@ -10,6 +10,7 @@ public interface AvailabilityRuleService {
 	List<AvailabilityRuleResponse> getAll();
 	List<AvailabilityRuleResponse> getAllActive();
 	AvailabilityRuleResponse create(CreateAvailabilityRuleRequest request);
+	List<AvailabilityRuleResponse> createAll(List<CreateAvailabilityRuleRequest> requests);
 	AvailabilityRuleResponse update(Long id, UpdateAvailabilityRuleRequest request);
 	void delete(Long id);
 }
@@ -4,7 +4,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
-import com.dmdr.personal.portal.booking.dto.booking.BookingSuggestion;
+import com.dmdr.personal.portal.booking.dto.booking.SuggestedSlots;
 import com.dmdr.personal.portal.booking.model.Booking;
 import com.dmdr.personal.portal.booking.model.SessionType;
 
@@ -16,10 +16,10 @@ public interface AvailabilityService {
     void validateBookingAvailabilityForAdmin(Instant startTime, Instant endTime);
     void validateBookingAvailabilityForAdminForUpdate(Booking updatingBooking, Instant startTime, Instant endTime);
 
-    List<BookingSuggestion> calculateBookingSuggestion(SessionType sessionType, LocalDate suggestedDate,
-                                                       Integer timezoneId);
+    SuggestedSlots calculateBookingSuggestion(SessionType sessionType, LocalDate suggestedDate,
+                                              Integer timezoneId);
 
-    List<BookingSuggestion> calculateBookingSuggestionForUpdate(
+    SuggestedSlots calculateBookingSuggestionForUpdate(
             Booking bookingToUpdate,
             LocalDate suggestedDate,
             Integer timezoneId);
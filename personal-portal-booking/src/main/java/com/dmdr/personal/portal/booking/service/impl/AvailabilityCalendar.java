@@ -0,0 +1,345 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.Booking;
+import com.dmdr.personal.portal.booking.model.BookingStatus;
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized per-day free-interval calendar for the public booking endpoints.
+ * <p>
+ * PENDING_APPROVAL/CONFIRMED bookings inside the lookahead window are loaded once and kept, together with the
+ * current {@link AvailabilityStore} snapshot of rules and overrides, as an immutable snapshot. Per-day free
+ * intervals are derived from that snapshot on first access and memoized per (timezone, date). Writes are applied
+ * incrementally after the surrounding transaction commits: only the days overlapping the changed booking, rule
+ * period or override are dropped.
+ * <p>
+ * The request-time minimum start ({@code bookingFirstSlotInterval}) is not materialized; callers clip on read.
+ * Booking validation keeps using the database, this calendar only serves read paths.
+ */
+@Component
+@Slf4j
+public class AvailabilityCalendar {
+
+    static final int WINDOW_PAST_DAYS = 2;
+    static final int WINDOW_FUTURE_DAYS = 370;
+
+    private static final List<BookingStatus> BLOCKING_STATUSES =
+            List.of(BookingStatus.PENDING_APPROVAL, BookingStatus.CONFIRMED);
+
+    private final AvailabilityStore store;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Clock clock;
+
+    private final Object mutationLock = new Object();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public AvailabilityCalendar(
+            AvailabilityStore store,
+            BookingSettingsStore settingsStore,
+            BookingRepository bookingRepository,
+            @Value("${booking.availability.calendar.enabled:true}") boolean enabled) {
+        this(store, settingsStore, bookingRepository, enabled, Clock.systemUTC());
+    }
+
+    AvailabilityCalendar(
+            AvailabilityStore store,
+            BookingSettingsStore settingsStore,
+            BookingRepository bookingRepository,
+            boolean enabled,
+            Clock clock) {
+        this.store = store;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.clock = clock;
+        store.addListener(this::onStoreChanged);
+        // Settings changes are rare admin actions; start over rather than reason about which days they touch
+        settingsStore.addListener((previous, current) -> invalidate());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns true when the client day ending at {@code dayEndInstant} lies inside the materialized window.
+     * Must be called inside a (read-only) transaction: the snapshot is loaded lazily.
+     */
+    boolean covers(Instant dayStartInstant, Instant dayEndInstant) {
+        Snapshot current = currentSnapshot();
+        return !dayStartInstant.isBefore(current.windowStart) && !dayEndInstant.isAfter(current.windowEnd);
+    }
+
+    /**
+     * Free ranges of the given client day with every blocking booking except {@code excludeBookingId}
+     * subtracted, clipped to {@code minimumStartTime}.
+     */
+    IntervalSet freeRanges(ZoneId zoneId, LocalDate date, Instant minimumStartTime, Long excludeBookingId) {
+        Snapshot current = currentSnapshot();
+        DayAvailability day = current.day(zoneId, date);
+        IntervalSet free = excludeBookingId == null
+                ? day.free
+                : day.base.subtract(day.bookedRangesExcluding(excludeBookingId));
+        return free.clipStart(IntervalSet.floorSecond(minimumStartTime));
+    }
+
+    /**
+     * Latest instant any active rule or available override (overlapping the given window) can offer time,
+     * or null when there is nothing to offer.
+     */
+    Instant latestAvailabilityEnd(Instant fromInstant, Instant toInstant) {
+        Snapshot current = currentSnapshot();
+        Instant latest = null;
+        for (AvailabilityRule rule : current.definitions.activeRules()) {
+            if (latest == null || rule.getRuleEndInstant().isAfter(latest)) {
+                latest = rule.getRuleEndInstant();
+            }
+        }
+        for (AvailabilityOverride override : current.definitions.availableOverridesOverlapping(fromInstant, toInstant)) {
+            if (latest == null || override.getOverrideEndInstant().isAfter(latest)) {
+                latest = override.getOverrideEndInstant();
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Records a booking write. Applied after the current transaction commits (immediately when there is none).
+     */
+    public void onBookingSaved(Booking booking) {
+        BookedRange range = new BookedRange(booking.getId(), booking.getStartTime(), booking.getEndTime());
+        boolean blocking = BLOCKING_STATUSES.contains(booking.getStatus());
+        TransactionHooks.afterCommit(() -> mutate(current -> {
+            BookedRange previous = current.findBooking(range.id());
+            List<BookedRange> bookings = current.bookings.stream()
+                    .filter(b -> !b.id().equals(range.id()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (blocking && range.overlaps(current.windowStart, current.windowEnd)) {
+                bookings.add(range);
+            }
+            Predicate<DayAvailability> affected = day -> day.overlaps(range.start(), range.end())
+                    || (previous != null && day.overlaps(previous.start(), previous.end()));
+            return current.withBookings(bookings, affected);
+        }));
+    }
+
+    /**
+     * Rule or override change published by the {@link AvailabilityStore}: swap in its new snapshot and drop the
+     * affected days, or everything when the store was reloaded.
+     */
+    private void onStoreChanged(AvailabilityStore.Snapshot definitions, Instant affectedStart, Instant affectedEnd) {
+        if (definitions == null) {
+            invalidate();
+            return;
+        }
+        mutate(current -> current.withDefinitions(definitions, day -> day.overlaps(affectedStart, affectedEnd)));
+    }
+
+    /**
+     * Drops the snapshot so the next read reloads it. Bounds staleness for writes this node did not see
+     * (other application nodes, cascaded deletes) and rolls the lookahead window forward.
+     */
+    @Scheduled(
+            fixedDelayString = "${booking.availability.calendar.refresh-interval-ms:900000}",
+            initialDelayString = "${booking.availability.calendar.refresh-interval-ms:900000}")
+    public void invalidate() {
+        synchronized (mutationLock) {
+            mutationCount.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        Instant now = clock.instant();
+        if (current != null && !current.windowEnd.isBefore(now.plus(Duration.ofDays(WINDOW_FUTURE_DAYS - 2)))) {
+            return current;
+        }
+        long mutationsBeforeLoad = mutationCount.get();
+        Snapshot loaded = load(now);
+        synchronized (mutationLock) {
+            // A write committed while we were reading may be missing from what we loaded; serve the loaded
+            // snapshot to this caller only and let the next read load again.
+            if (mutationCount.get() == mutationsBeforeLoad) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Snapshot load(Instant now) {
+        Instant windowStart = now.minus(Duration.ofDays(WINDOW_PAST_DAYS));
+        Instant windowEnd = now.plus(Duration.ofDays(WINDOW_FUTURE_DAYS));
+
+        AvailabilityStore.Snapshot definitions = store.snapshot();
+        List<BookedRange> bookings = bookingRepository
+                .findBookingsByStatusAndTimeRange(BLOCKING_STATUSES, windowStart, windowEnd).stream()
+                .map(b -> new BookedRange(b.getId(), b.getStartTime(), b.getEndTime()))
+                .collect(Collectors.toList());
+
+        log.info("Loaded availability calendar: storeVersion={}, bookings={}", definitions.version(), bookings.size());
+        return new Snapshot(windowStart, windowEnd, definitions, bookings, new ConcurrentHashMap<>());
+    }
+
+    private void mutate(UnaryOperator<Snapshot> change) {
+        synchronized (mutationLock) {
+            mutationCount.incrementAndGet();
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = change.apply(current);
+            }
+        }
+    }
+
+    private record BookedRange(Long id, Instant start, Instant end) {
+        boolean overlaps(Instant otherStart, Instant otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    private record DayKey(ZoneId zoneId, LocalDate date) {
+    }
+
+    private static final class DayAvailability {
+        private final Instant dayStart;
+        private final Instant dayEnd;
+        // Rules and overrides only, not clipped to any minimum start
+        private final IntervalSet base;
+        private final List<BookedRange> bookings;
+        private final IntervalSet free;
+
+        private DayAvailability(Instant dayStart, Instant dayEnd, IntervalSet base, List<BookedRange> bookings) {
+            this.dayStart = dayStart;
+            this.dayEnd = dayEnd;
+            this.base = base;
+            this.bookings = List.copyOf(bookings);
+            this.free = base.subtract(bookedRangesExcluding(null));
+        }
+
+        boolean overlaps(Instant otherStart, Instant otherEnd) {
+            return !dayStart.isAfter(otherEnd) && !dayEnd.isBefore(otherStart);
+        }
+
+        IntervalSet bookedRangesExcluding(Long bookingId) {
+            IntervalSet.Builder builder = IntervalSet.builder();
+            for (BookedRange booking : bookings) {
+                if (!booking.id().equals(bookingId)) {
+                    builder.addBlocked(booking.start(), booking.end());
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class Snapshot {
+        private final Instant windowStart;
+        private final Instant windowEnd;
+        private final AvailabilityStore.Snapshot definitions;
+        // Sorted by start so a day only scans the bookings that can reach it
+        private final List<BookedRange> bookings;
+        private final Duration longestBooking;
+        private final Map<DayKey, DayAvailability> days;
+
+        private Snapshot(
+                Instant windowStart,
+                Instant windowEnd,
+                AvailabilityStore.Snapshot definitions,
+                List<BookedRange> bookings,
+                Map<DayKey, DayAvailability> days) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.definitions = definitions;
+            this.bookings = bookings.stream()
+                    .sorted(Comparator.comparing(BookedRange::start))
+                    .toList();
+            this.longestBooking = bookings.stream()
+                    .map(b -> Duration.between(b.start(), b.end()))
+                    .max(Comparator.naturalOrder())
+                    .orElse(Duration.ZERO);
+            this.days = days;
+        }
+
+        DayAvailability day(ZoneId zoneId, LocalDate date) {
+            return days.computeIfAbsent(new DayKey(zoneId, date), this::computeDay);
+        }
+
+        private DayAvailability computeDay(DayKey key) {
+            Instant dayStart = key.date().atStartOfDay(key.zoneId()).toInstant();
+            Instant dayEnd = key.date().atTime(23, 59, 59, 999_999_999).atZone(key.zoneId()).toInstant();
+
+            List<AvailabilityRule> matchingRules =
+                    AvailabilityRanges.findMatchingRulesForDay(definitions.activeRules(), dayStart, dayEnd);
+            // Materialized without the request-time minimum start; freeRanges() clips on read
+            IntervalSet base = AvailabilityRanges.rulesAndOverridesRanges(
+                    matchingRules,
+                    definitions.unavailableOverridesOverlapping(dayStart, dayEnd),
+                    definitions.availableOverridesOverlapping(dayStart, dayEnd),
+                    dayStart,
+                    dayEnd,
+                    Long.MIN_VALUE);
+            return new DayAvailability(dayStart, dayEnd, base, bookingsOverlapping(dayStart, dayEnd));
+        }
+
+        private List<BookedRange> bookingsOverlapping(Instant dayStart, Instant dayEnd) {
+            Instant earliestStart = dayStart.minus(longestBooking);
+            int low = 0;
+            int high = bookings.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (bookings.get(mid).start().isBefore(earliestStart)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            List<BookedRange> result = new ArrayList<>();
+            for (int i = low; i < bookings.size() && bookings.get(i).start().isBefore(dayEnd); i++) {
+                if (bookings.get(i).overlaps(dayStart, dayEnd)) {
+                    result.add(bookings.get(i));
+                }
+            }
+            return result;
+        }
+
+        BookedRange findBooking(Long id) {
+            return bookings.stream().filter(b -> b.id().equals(id)).findFirst().orElse(null);
+        }
+
+        Snapshot withBookings(List<BookedRange> newBookings, Predicate<DayAvailability> affected) {
+            return new Snapshot(windowStart, windowEnd, definitions, newBookings, retainedDays(affected));
+        }
+
+        Snapshot withDefinitions(AvailabilityStore.Snapshot newDefinitions, Predicate<DayAvailability> affected) {
+            return new Snapshot(windowStart, windowEnd, newDefinitions, bookings, retainedDays(affected));
+        }
+
+        private Map<DayKey, DayAvailability> retainedDays(Predicate<DayAvailability> affected) {
+            Map<DayKey, DayAvailability> retained = new ConcurrentHashMap<>(days);
+            retained.values().removeIf(affected);
+            return retained;
+        }
+    }
+}
@@ -17,9 +17,13 @@ public class AvailabilityOverrideArchiveScheduler {
 	private static final Logger logger = LoggerFactory.getLogger(AvailabilityOverrideArchiveScheduler.class);
 
 	private final AvailabilityOverrideRepository repository;
+	private final AvailabilityStore availabilityStore;
 
-	public AvailabilityOverrideArchiveScheduler(AvailabilityOverrideRepository repository) {
+	public AvailabilityOverrideArchiveScheduler(
+			AvailabilityOverrideRepository repository,
+			AvailabilityStore availabilityStore) {
 		this.repository = repository;
+		this.availabilityStore = availabilityStore;
 	}
 
 	/**
@@ -44,6 +48,7 @@ public class AvailabilityOverrideArchiveScheduler {
 		for (AvailabilityOverride override : expiredOverrides) {
 			override.setOverrideStatus(OverrideStatus.ARCHIVED);
 			repository.save(override);
+			availabilityStore.onOverrideSaved(override);
 			archivedCount++;
 			logger.info("Archived expired AvailabilityOverride with ID: {}, overrideEndInstant: {}", 
 				override.getId(), override.getOverrideEndInstant());
@@ -30,14 +30,17 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 
 	private final BookingSettingsService bookingSettingsService;
 	private final AvailabilityOverrideValidator validator;
+	private final AvailabilityStore availabilityStore;
 
 	public AvailabilityOverrideServiceImpl(
 			AvailabilityOverrideRepository repository,
 			BookingSettingsService bookingSettingsService,
-			AvailabilityOverrideValidator validator) {
+			AvailabilityOverrideValidator validator,
+			AvailabilityStore availabilityStore) {
 		this.repository = repository;
 		this.bookingSettingsService = bookingSettingsService;
 		this.validator = validator;
+		this.availabilityStore = availabilityStore;
 	}
 
 	@Override
@@ -53,7 +56,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 	@Transactional
 	public AvailabilityOverrideResponse create(CreateAvailabilityOverrideRequest request) {
 		TimezoneEntry timezone = bookingSettingsService.getDefaultTimezone();
-		ZoneId zoneId = ZoneId.of(timezone.getGmtOffset());
+		ZoneId zoneId = timezone.zoneId();
 
 		validateOverrideDateNotInPast(request.getOverrideDate(), zoneId);
 
@@ -84,6 +87,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 		entity.setUtcOffset(utcOffset.toString());
 		entity.setOverrideStatus(OverrideStatus.ACTIVE);
 		AvailabilityOverride saved = repository.save(entity);
+		availabilityStore.onOverrideSaved(saved);
 		return toResponse(saved);
 	}
 
@@ -96,7 +100,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 		// Use existing timezone from entity (timezoneId cannot be updated)
 		Integer timezoneId = entity.getTimezoneId();
 		ZoneId zoneId = timezoneId != null
-				? ZoneId.of(TimezoneEntry.getById(timezoneId).getGmtOffset())
+				? TimezoneEntry.getById(timezoneId).zoneId()
 				: ZoneId.systemDefault();
 
 		validateOverrideDateNotInPast(request.getOverrideDate(), zoneId);
@@ -126,6 +130,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 		// timezone is preserved from existing entity (cannot be updated)
 		entity.setUtcOffset(utcOffset.toString());
 		AvailabilityOverride saved = repository.save(entity);
+		availabilityStore.onOverrideSaved(saved);
 		return toResponse(saved);
 	}
 
@@ -133,6 +138,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 	@Transactional
 	public void delete(Long id) {
 		repository.deleteById(id);
+		availabilityStore.onOverrideDeleted(id);
 	}
 
 	private static void validateOverrideDateNotInPast(LocalDate overrideDate, ZoneId zoneId) {
@@ -156,8 +162,8 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 	}
 
 	private void validateNoOverlappingActiveOverrides(Instant startInstant, Instant endInstant, Long excludeId) {
-		List<AvailabilityOverride> overlapping = repository.findOverlappingActiveOverrides(
-				startInstant, endInstant, OverrideStatus.ACTIVE, excludeId);
+		List<AvailabilityOverride> overlapping = availabilityStore.snapshot()
+				.activeOverridesOverlapping(startInstant, endInstant, excludeId);
 
 		if (!overlapping.isEmpty()) {
 			throw new IllegalArgumentException(
@@ -181,7 +187,7 @@ public class AvailabilityOverrideServiceImpl implements AvailabilityOverrideServ
 	private static AvailabilityOverrideResponse toResponse(AvailabilityOverride entity) {
 		Integer timezoneId = entity.getTimezoneId();
 		ZoneId zoneId = timezoneId != null
-				? ZoneId.of(TimezoneEntry.getById(timezoneId).getGmtOffset())
+				? TimezoneEntry.getById(timezoneId).zoneId()
 				: ZoneId.systemDefault();
 
 		ZonedDateTime startZoned = entity.getOverideStartInstant().atZone(zoneId);
@@ -1,7 +1,6 @@
 package com.dmdr.personal.portal.booking.service.impl;
 
 import com.dmdr.personal.portal.booking.model.AvailabilityRule;
-import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
 import com.dmdr.personal.portal.core.model.TimezoneEntry;
 import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
 import com.dmdr.personal.portal.service.exception.PortalErrorCode;
@@ -17,16 +16,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class AvailabilityOverrideValidator {
 
-	private final AvailabilityRuleRepository repository;
+	private final AvailabilityStore availabilityStore;
 
-	public AvailabilityOverrideValidator(AvailabilityRuleRepository repository) {
-		this.repository = repository;
+	public AvailabilityOverrideValidator(AvailabilityStore availabilityStore) {
+		this.availabilityStore = availabilityStore;
 	}
 
 	public void validateOverrideStartTime(Instant overrideStartInstant, TimezoneEntry timezone) {
 		Instant now = Instant.now();
 		if (overrideStartInstant.isBefore(now)) {
-			ZoneId zoneId = ZoneId.of(timezone.getGmtOffset());
+			ZoneId zoneId = timezone.zoneId();
 			throw new IllegalArgumentException(
 					"Override start time cannot be before the current time. " +
 							" Override start time: " + overrideStartInstant.atZone(zoneId)  +
@@ -50,14 +49,16 @@ public class AvailabilityOverrideValidator {
 			Instant overrideEndInstant,
 			boolean isAvailable,
 			TimezoneEntry overrideTimezone) {
+		AvailabilityStore.Snapshot definitions = availabilityStore.snapshot();
+
 		// Validate timezone consistency against ALL non-archived rules
-		validateTimezoneConsistency(overrideTimezone);
+		validateTimezoneConsistency(definitions, overrideTimezone);
 
 		// Find all ACTIVE rules that overlap with the override time period
-		List<AvailabilityRule> overlappingActiveRules = repository.findActiveOverlappingRules(
+		List<AvailabilityRule> overlappingActiveRules = definitions.activeRulesOverlapping(
 				overrideStartInstant,
 				overrideEndInstant,
-				AvailabilityRule.RuleStatus.ACTIVE);
+				null);
 
 		// Filter rules that actually overlap considering day of week and time range
 		List<AvailabilityRule> trulyOverlappingRules = overlappingActiveRules.stream()
@@ -85,13 +86,13 @@ public class AvailabilityOverrideValidator {
 	/**
 	 * Validates that all non-archived rules have the same timezone as the override.
 	 * 
+	 * @param definitions      Current rules and overrides
 	 * @param overrideTimezone Timezone of the override
 	 * @throws IllegalArgumentException if any non-archived rule has a different
 	 *                                  timezone
 	 */
-	private void validateTimezoneConsistency(TimezoneEntry overrideTimezone) {
-		List<AvailabilityRule> allNonArchivedRules = repository.findAllNonArchivedRules(
-				AvailabilityRule.RuleStatus.ARCHIVED, null);
+	private void validateTimezoneConsistency(AvailabilityStore.Snapshot definitions, TimezoneEntry overrideTimezone) {
+		List<AvailabilityRule> allNonArchivedRules = definitions.nonArchivedRules(null);
 
 		for (AvailabilityRule existingRule : allNonArchivedRules) {
 			Integer existingTimezoneId = existingRule.getTimezoneId();
@@ -116,7 +117,7 @@ public class AvailabilityOverrideValidator {
 
 	/**
 	 * Checks if a rule truly overlaps with an override considering:
-	 * 1. Time period overlap (already checked by repository query)
+	 * 1. Time period overlap (already checked by the snapshot lookup)
 	 * 2. Day of week overlap
 	 * 3. Time range overlap
 	 */
@@ -125,8 +126,7 @@ public class AvailabilityOverrideValidator {
 			Instant overrideStartInstant,
 			Instant overrideEndInstant,
 			TimezoneEntry overrideTimezone) {
-		ZoneId overrideZoneId = ZoneId.of(overrideTimezone.getGmtOffset());
-		String ruleTimezone = TimezoneEntry.getById(rule.getTimezoneId()).getGmtOffset();
+		ZoneId overrideZoneId = overrideTimezone.zoneId();
 
 		// Validate timezone consistency - all rules and overrides must be in the same
 		// timezone
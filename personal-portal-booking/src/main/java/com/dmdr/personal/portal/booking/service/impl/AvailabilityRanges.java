@@ -0,0 +1,151 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.core.model.TimezoneEntry;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pure per-day availability arithmetic shared by the DB-backed path in {@link AvailabilityServiceImpl}
+ * and the in-memory {@link AvailabilityCalendar}. Nothing here touches a repository; results are
+ * {@link IntervalSet}s in epoch seconds.
+ */
+final class AvailabilityRanges {
+
+    private AvailabilityRanges() {
+    }
+
+    /**
+     * Finds availability rules that match a specific day.
+     * A rule matches if:
+     * 1. The rule overlaps with the day
+     * 2. The day of week matches
+     */
+    static List<AvailabilityRule> findMatchingRulesForDay(
+            List<AvailabilityRule> activeRules,
+            Instant dayStartInstant,
+            Instant dayEndInstant) {
+        return activeRules.stream()
+                .filter(rule -> {
+                    // Check if rule overlaps with the day
+                    // Two intervals overlap if: ruleStart <= dayEnd AND ruleEnd >= dayStart
+                    Instant ruleStart = rule.getRuleStartInstant();
+                    Instant ruleEnd = rule.getRuleEndInstant();
+
+                    boolean ruleOverlapsDay = (ruleStart.isBefore(dayEndInstant) || ruleStart.equals(dayEndInstant))
+                            && (ruleEnd.isAfter(dayStartInstant) || ruleEnd.equals(dayStartInstant));
+
+                    if (!ruleOverlapsDay) {
+                        return false;
+                    }
+
+                    // Get day(s) of week in the rule's timezone
+                    // The client's day (dayStartInstant to dayEndInstant) may span two different
+                    // calendar days in the rule's timezone, so we need to check both
+                    ZoneId ruleZoneId = TimezoneEntry.getById(rule.getTimezoneId()).zoneId();
+
+                    LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
+                    LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
+
+                    DayOfWeek startDayOfWeek = startDateInRuleTimezone.getDayOfWeek();
+                    DayOfWeek endDayOfWeek = endDateInRuleTimezone.getDayOfWeek();
+
+                    boolean startDayMatches = containsDay(rule.getDaysOfWeekAsInt(), startDayOfWeek.getValue());
+                    boolean endDayMatches = containsDay(rule.getDaysOfWeekAsInt(), endDayOfWeek.getValue());
+
+                    return startDayMatches || endDayMatches;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the day's working time from the matching rules, removes unavailable overrides
+     * and adds available overrides, clipped to {@code minimumStartSecond}. Bookings are not subtracted here.
+     */
+    static IntervalSet rulesAndOverridesRanges(
+            List<AvailabilityRule> matchingRules,
+            List<AvailabilityOverride> unavailableOverrides,
+            List<AvailabilityOverride> availableOverrides,
+            Instant dayStartInstant,
+            Instant dayEndInstant,
+            long minimumStartSecond) {
+        IntervalSet day = IntervalSet.of(
+                IntervalSet.ceilSecond(dayStartInstant), IntervalSet.floorSecond(dayEndInstant));
+
+        // Collect working hours from all matching rules
+        // Note: Different rules' working hours don't overlap, so we process each separately
+        IntervalSet.Builder ruleRanges = IntervalSet.builder();
+        for (AvailabilityRule rule : matchingRules) {
+            ZoneId ruleZoneId = TimezoneEntry.getById(rule.getTimezoneId()).zoneId();
+            LocalTime availableStart = rule.getAvailableStartTime();
+            LocalTime availableEnd = rule.getAvailableEndTime();
+
+            // The client's day range may span multiple calendar days in the rule's timezone
+            // We need to check each calendar day in the rule's timezone that overlaps with
+            // the client's day
+            LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
+            LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
+
+            LocalDate candidateDate = startDateInRuleTimezone;
+            while (!candidateDate.isAfter(endDateInRuleTimezone)) {
+                // Check if this day of the week is in the rule's working days
+                DayOfWeek dayOfWeek = candidateDate.getDayOfWeek();
+                if (containsDay(rule.getDaysOfWeekAsInt(), dayOfWeek.getValue())) {
+                    // Calculate working hours for this specific day in the rule's timezone
+                    LocalDateTime candidateStartDateTime = candidateDate.atTime(availableStart);
+                    LocalDateTime candidateEndDateTime = candidateDate.atTime(availableEnd);
+                    Instant candidateStartInstant = candidateStartDateTime.atZone(ruleZoneId).toInstant();
+                    Instant candidateEndInstant = candidateEndDateTime.atZone(ruleZoneId).toInstant();
+
+                    if (candidateStartInstant.isAfter(rule.getRuleEndInstant())) {
+                        //the case when rule overlaps day, but ends before start time in this day
+                        break;
+                    }
+
+                    ruleRanges.addAvailable(candidateStartInstant, candidateEndInstant);
+                }
+
+                // Move to the next day in the rule's timezone
+                candidateDate = candidateDate.plusDays(1);
+            }
+        }
+
+        // Subtract unavailable overrides, then let available overrides extend availability beyond normal rules
+        IntervalSet available = ruleRanges.build()
+                .intersect(day)
+                .subtract(blockedRanges(unavailableOverrides))
+                .union(availableRanges(availableOverrides).intersect(day));
+
+        // Filter past intervals if today
+        return available.clipStart(minimumStartSecond);
+    }
+
+    static IntervalSet blockedRanges(List<AvailabilityOverride> overrides) {
+        IntervalSet.Builder builder = IntervalSet.builder();
+        for (AvailabilityOverride override : overrides) {
+            builder.addBlocked(override.getOverideStartInstant(), override.getOverrideEndInstant());
+        }
+        return builder.build();
+    }
+
+    private static IntervalSet availableRanges(List<AvailabilityOverride> overrides) {
+        IntervalSet.Builder builder = IntervalSet.builder();
+        for (AvailabilityOverride override : overrides) {
+            builder.addAvailable(override.getOverideStartInstant(), override.getOverrideEndInstant());
+        }
+        return builder.build();
+    }
+
+    static boolean containsDay(int[] daysOfWeekAsInt, int dayValue) {
+        return Arrays.stream(daysOfWeekAsInt)
+                .anyMatch(day -> day == dayValue);
+    }
+}
@@ -16,9 +16,13 @@ public class AvailabilityRuleArchiveScheduler {
 	private static final Logger logger = LoggerFactory.getLogger(AvailabilityRuleArchiveScheduler.class);
 
 	private final AvailabilityRuleRepository repository;
+	private final AvailabilityStore availabilityStore;
 
-	public AvailabilityRuleArchiveScheduler(AvailabilityRuleRepository repository) {
+	public AvailabilityRuleArchiveScheduler(
+			AvailabilityRuleRepository repository,
+			AvailabilityStore availabilityStore) {
 		this.repository = repository;
+		this.availabilityStore = availabilityStore;
 	}
 
 	/**
@@ -43,6 +47,7 @@ public class AvailabilityRuleArchiveScheduler {
 		for (AvailabilityRule rule : expiredRules) {
 			rule.setRuleStatus(AvailabilityRule.RuleStatus.ARCHIVED);
 			repository.save(rule);
+			availabilityStore.onRuleSaved(rule);
 			archivedCount++;
 			logger.info("Archived expired AvailabilityRule with ID: {}, ruleEndInstant: {}", 
 				rule.getId(), rule.getRuleEndInstant());
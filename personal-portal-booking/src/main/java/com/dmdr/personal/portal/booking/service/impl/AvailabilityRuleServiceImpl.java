@@ -13,6 +13,7 @@ import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -26,14 +27,17 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 	private final AvailabilityRuleRepository repository;
 	private final AvailabilityRuleValidator validator;
 	private final BookingSettingsService bookingSettingsService;
+	private final AvailabilityStore availabilityStore;
 
 	public AvailabilityRuleServiceImpl(
 			AvailabilityRuleRepository repository,
 			AvailabilityRuleValidator validator,
-			BookingSettingsService bookingSettingsService) {
+			BookingSettingsService bookingSettingsService,
+			AvailabilityStore availabilityStore) {
 		this.repository = repository;
 		this.validator = validator;
 		this.bookingSettingsService = bookingSettingsService;
+		this.availabilityStore = availabilityStore;
 	}
 
 	@Override
@@ -49,7 +53,7 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 	@Override
 	@Transactional(readOnly = true)
 	public List<AvailabilityRuleResponse> getAllActive() {
-		return repository.findByRuleStatus(AvailabilityRule.RuleStatus.ACTIVE).stream()
+		return availabilityStore.snapshot().activeRules().stream()
 				.map(this::toResponse)
 				.sorted(Comparator.comparing(AvailabilityRuleResponse::getRuleStartDate)
 						.thenComparing(AvailabilityRuleResponse::getAvailableStartTime))
@@ -60,36 +64,44 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 	@Transactional
 	public AvailabilityRuleResponse create(CreateAvailabilityRuleRequest request) {
 		TimezoneEntry timezone = bookingSettingsService.getDefaultTimezone();
-		ZoneId zoneId = ZoneId.of(timezone.getGmtOffset());
-
-		// Transform LocalDate to LocalDateTime using availableStartTime and
-		// availableEndTime, then to Instant
-		Instant ruleStartInstant = request.getRuleStartDate().atTime(request.getAvailableStartTime()).atZone(zoneId)
-				.toInstant();
-		Instant ruleEndInstant = request.getRuleEndDate().atTime(request.getAvailableEndTime()).atZone(zoneId)
-				.toInstant();
+		AvailabilityRule entity = toNewEntity(request, timezone);
 
 		// Validate rule start time (both ruleStartInstant and Instant.now() are in UTC)
-		validator.validateRuleStartTime(ruleStartInstant, timezone);
-
-		// Validate overlapping rules (timezone and active rule overlap) - single DB
-		// query
-		validator.validateOverlappingRules(request, ruleStartInstant, ruleEndInstant, timezone);
+		validator.validateRuleStartTime(entity.getRuleStartInstant(), timezone);
 
-		AvailabilityRule entity = new AvailabilityRule();
-		entity.setDaysOfWeekAsInt(convertToIntArray(request.getDaysOfWeek()));
-		entity.setAvailableStartTime(request.getAvailableStartTime());
-		entity.setAvailableEndTime(request.getAvailableEndTime());
-		entity.setRuleStartInstant(ruleStartInstant);
-		entity.setRuleEndInstant(ruleEndInstant);
+		// Validate overlapping rules (timezone and active rule overlap) against the
+		// in-memory snapshot
+		validator.validateOverlappingRules(request, entity.getRuleStartInstant(), entity.getRuleEndInstant(), timezone);
 
-		entity.setTimezoneId(timezone.getId());
-		entity.setUtcOffset(timezone.getGmtOffset());
-		entity.setRuleStatus(request.getRuleStatus());
 		AvailabilityRule saved = repository.save(entity);
+		availabilityStore.onRuleSaved(saved);
 		return toResponse(saved);
 	}
 
+	/**
+	 * Creates all rules or none: every rule is validated against the existing rules and the rest of the batch
+	 * before anything is saved.
+	 */
+	@Override
+	@Transactional
+	public List<AvailabilityRuleResponse> createAll(List<CreateAvailabilityRuleRequest> requests) {
+		TimezoneEntry timezone = bookingSettingsService.getDefaultTimezone();
+		List<AvailabilityRule> entities = new ArrayList<>(requests.size());
+		for (CreateAvailabilityRuleRequest request : requests) {
+			AvailabilityRule entity = toNewEntity(request, timezone);
+			validator.validateRuleStartTime(entity.getRuleStartInstant(), timezone);
+			entities.add(entity);
+		}
+
+		validator.validateOverlappingRules(entities, timezone);
+
+		List<AvailabilityRule> saved = repository.saveAll(entities);
+		saved.forEach(availabilityStore::onRuleSaved);
+		return saved.stream()
+				.map(this::toResponse)
+				.collect(Collectors.toList());
+	}
+
 	@Override
 	@Transactional
 	public AvailabilityRuleResponse update(Long id, UpdateAvailabilityRuleRequest request) {
@@ -100,7 +112,7 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 		Integer timezoneId = entity.getTimezoneId();
 		TimezoneEntry timezoneEntry = TimezoneEntry.getById(timezoneId);
 
-		ZoneId zoneId = ZoneId.of(timezoneEntry.getGmtOffset());
+		ZoneId zoneId = timezoneEntry.zoneId();
 		// Transform LocalDate to LocalDateTime using availableStartTime and
 		// availableEndTime, then to Instant
 		Instant ruleStartInstant = request.getRuleStartDate().atTime(request.getAvailableStartTime()).atZone(zoneId)
@@ -108,10 +120,8 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 		Instant ruleEndInstant = request.getRuleEndDate().atTime(request.getAvailableEndTime()).atZone(zoneId)
 				.toInstant();
 
-		// Validate overlapping rules (timezone and active rule overlap) - single DB
-		// query
-		// Validate overlapping rules (timezone and active rule overlap) - single DB
-		// query
+		// Validate overlapping rules (timezone and active rule overlap) against the
+		// in-memory snapshot
 		validator.validateOverlappingRules(request, ruleStartInstant, ruleEndInstant, timezoneId, id);
 		validator.validateOffsetConsistency(timezoneEntry, ruleStartInstant, ruleEndInstant);
 
@@ -124,6 +134,7 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 		entity.setUtcOffset(timezoneEntry.getGmtOffset());
 		entity.setRuleStatus(request.getRuleStatus());
 		AvailabilityRule saved = repository.save(entity);
+		availabilityStore.onRuleSaved(saved);
 		return toResponse(saved);
 	}
 
@@ -131,6 +142,30 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 	@Transactional
 	public void delete(Long id) {
 		repository.deleteById(id);
+		availabilityStore.onRuleDeleted(id);
+	}
+
+	private static AvailabilityRule toNewEntity(CreateAvailabilityRuleRequest request, TimezoneEntry timezone) {
+		ZoneId zoneId = timezone.zoneId();
+
+		// Transform LocalDate to LocalDateTime using availableStartTime and
+		// availableEndTime, then to Instant
+		Instant ruleStartInstant = request.getRuleStartDate().atTime(request.getAvailableStartTime()).atZone(zoneId)
+				.toInstant();
+		Instant ruleEndInstant = request.getRuleEndDate().atTime(request.getAvailableEndTime()).atZone(zoneId)
+				.toInstant();
+
+		AvailabilityRule entity = new AvailabilityRule();
+		entity.setDaysOfWeekAsInt(convertToIntArray(request.getDaysOfWeek()));
+		entity.setAvailableStartTime(request.getAvailableStartTime());
+		entity.setAvailableEndTime(request.getAvailableEndTime());
+		entity.setRuleStartInstant(ruleStartInstant);
+		entity.setRuleEndInstant(ruleEndInstant);
+
+		entity.setTimezoneId(timezone.getId());
+		entity.setUtcOffset(timezone.getGmtOffset());
+		entity.setRuleStatus(request.getRuleStatus());
+		return entity;
 	}
 
 	private AvailabilityRuleResponse toResponse(AvailabilityRule entity) {
@@ -144,7 +179,7 @@ public class AvailabilityRuleServiceImpl implements AvailabilityRuleService {
 
 		Integer timezoneId = entity.getTimezoneId();
 
-		ZoneId zoneId = ZoneId.of(TimezoneEntry.getById(timezoneId).getGmtOffset());
+		ZoneId zoneId = TimezoneEntry.getById(timezoneId).zoneId();
 		resp.setRuleStartDate(entity.getRuleStartInstant().atZone(zoneId).toLocalDate());
 		resp.setRuleEndDate(entity.getRuleEndInstant().atZone(zoneId).toLocalDate());
 
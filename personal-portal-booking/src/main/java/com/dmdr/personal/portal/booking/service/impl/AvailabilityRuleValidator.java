@@ -3,7 +3,6 @@ package com.dmdr.personal.portal.booking.service.impl;
 import com.dmdr.personal.portal.booking.dto.availability.rule.CreateAvailabilityRuleRequest;
 import com.dmdr.personal.portal.booking.dto.availability.rule.UpdateAvailabilityRuleRequest;
 import com.dmdr.personal.portal.booking.model.AvailabilityRule;
-import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
 import com.dmdr.personal.portal.core.model.TimezoneEntry;
 import java.time.DayOfWeek;
 import java.time.Instant;
@@ -17,10 +16,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class AvailabilityRuleValidator {
 
-	private final AvailabilityRuleRepository repository;
+	private final AvailabilityStore availabilityStore;
 
-	public AvailabilityRuleValidator(AvailabilityRuleRepository repository) {
-		this.repository = repository;
+	public AvailabilityRuleValidator(AvailabilityStore availabilityStore) {
+		this.availabilityStore = availabilityStore;
 	}
 
 	public void validateRuleStartTime(Instant ruleStartInstant, TimezoneEntry timezone) {
@@ -28,7 +27,7 @@ public class AvailabilityRuleValidator {
 		if (ruleStartInstant.isBefore(now)) {
 			// Both ruleStartInstant and now are in UTC, but provide timezone context in
 			// error message
-			ZoneId zoneId = ZoneId.of(timezone.getGmtOffset());
+			ZoneId zoneId = timezone.zoneId();
 			throw new IllegalArgumentException(
 					"Rule start time cannot be before the current time. " +
 							" Rule start time: " + ruleStartInstant.atZone(zoneId)  +
@@ -58,32 +57,77 @@ public class AvailabilityRuleValidator {
 	}
 
 	private void validateOverlappingRules(RuleValidationContext context) {
+		AvailabilityStore.Snapshot definitions = availabilityStore.snapshot();
+
 		// Validate timezone consistency against ALL non-archived rules
-		List<AvailabilityRule> allNonArchivedRules = repository.findAllNonArchivedRules(
-				AvailabilityRule.RuleStatus.ARCHIVED, context.excludeRuleId);
+		List<AvailabilityRule> allNonArchivedRules = definitions.nonArchivedRules(context.excludeRuleId);
 		for (AvailabilityRule existingRule : allNonArchivedRules) {
 			validateTimezoneConsistency(context.timezoneId, existingRule);
 		}
 
-		// Single DB query to get all overlapping rules for active rule overlap
-		// validation
-		List<AvailabilityRule> overlappingRules = repository.findOverlappingRules(
-				context.ruleStartInstant, context.ruleEndInstant, context.excludeRuleId);
-
-		int[] daysOfWeekAsInt = context.daysOfWeek != null ? convertToIntArray(context.daysOfWeek) : null;
-
 		// Validate active rule overlap (only if creating/updating to ACTIVE status)
-		for (AvailabilityRule existingRule : overlappingRules) {
-			if (context.isActiveRuleValidation()
-					&& existingRule.getRuleStatus() == AvailabilityRule.RuleStatus.ACTIVE) {
+		if (!context.isActiveRuleValidation()) {
+			return;
+		}
+		int[] daysOfWeekAsInt = convertToIntArray(context.daysOfWeek);
+		long[] mask = RuleOccupancyIndex.mask(daysOfWeekAsInt, context.availableStartTime, context.availableEndTime);
+		// The bitmap index narrows ACTIVE rules down to those sharing a weekday minute in an overlapping period
+		for (AvailabilityRule existingRule : definitions.activeRuleIndex().overlapCandidates(
+				context.ruleStartInstant, context.ruleEndInstant, mask)) {
+			if (!existingRule.getId().equals(context.excludeRuleId)) {
 				validateActiveRuleOverlap(context, daysOfWeekAsInt, existingRule);
 			}
 		}
 	}
 
+	/**
+	 * Validates a batch of new rules, all in {@code timezone}, as if they were created one after another:
+	 * against the existing non-archived rules and against each other.
+	 *
+	 * @throws IllegalArgumentException naming the 1-based position of the first offending rule
+	 */
+	public void validateOverlappingRules(List<AvailabilityRule> newRules, TimezoneEntry timezone) {
+		AvailabilityStore.Snapshot definitions = availabilityStore.snapshot();
+
+		for (AvailabilityRule existingRule : definitions.nonArchivedRules(null)) {
+			validateTimezoneConsistency(timezone.getId(), existingRule);
+		}
+
+		List<AvailabilityRule> activeNewRules = newRules.stream()
+				.filter(rule -> rule.getRuleStatus() == AvailabilityRule.RuleStatus.ACTIVE)
+				.toList();
+		RuleOccupancyIndex existingIndex = definitions.activeRuleIndex();
+		RuleOccupancyIndex batchIndex = RuleOccupancyIndex.of(activeNewRules);
+
+		for (AvailabilityRule newRule : activeNewRules) {
+			int position = positionOf(newRules, newRule);
+			long[] mask = RuleOccupancyIndex.mask(
+					newRule.getDaysOfWeekAsInt(), newRule.getAvailableStartTime(), newRule.getAvailableEndTime());
+
+			for (AvailabilityRule existingRule : existingIndex.overlapCandidates(
+					newRule.getRuleStartInstant(), newRule.getRuleEndInstant(), mask)) {
+				if (overlaps(newRule, existingRule)) {
+					throw new IllegalArgumentException(
+							"Cannot create ACTIVE rule #" + position + ": it overlaps with existing ACTIVE rule (ID: "
+									+ existingRule.getId() + "). " +
+									"Overlap is defined by rule period, days of week, and available time range.");
+				}
+			}
+			for (AvailabilityRule otherNewRule : batchIndex.overlapCandidates(
+					newRule.getRuleStartInstant(), newRule.getRuleEndInstant(), mask)) {
+				if (otherNewRule != newRule && overlaps(newRule, otherNewRule)) {
+					throw new IllegalArgumentException(
+							"Cannot create ACTIVE rule #" + position + ": it overlaps with rule #"
+									+ positionOf(newRules, otherNewRule) + " in the same request. " +
+									"Overlap is defined by rule period, days of week, and available time range.");
+				}
+			}
+		}
+	}
+
 	public void validateOffsetConsistency(TimezoneEntry timezone, Instant ruleStartInstant, Instant ruleEndInstant) {
 		try {
-			ZoneId zoneId = ZoneId.of(timezone.getGmtOffset());
+			ZoneId zoneId = timezone.zoneId();
 			ZoneOffset offsetAtStart = zoneId.getRules().getOffset(ruleStartInstant);
 			ZoneOffset offsetAtEnd = zoneId.getRules().getOffset(ruleEndInstant);
 
@@ -165,6 +209,21 @@ public class AvailabilityRuleValidator {
 		return timeRangeOverlaps;
 	}
 
+	private boolean overlaps(AvailabilityRule newRule, AvailabilityRule existingRule) {
+		return overlaps(newRule.getRuleStartInstant(), newRule.getRuleEndInstant(), newRule.getDaysOfWeekAsInt(),
+				newRule.getAvailableStartTime(), newRule.getAvailableEndTime(), existingRule);
+	}
+
+	// Unsaved rules all have a null id and compare equal, so look them up by identity
+	private static int positionOf(List<AvailabilityRule> rules, AvailabilityRule rule) {
+		for (int i = 0; i < rules.size(); i++) {
+			if (rules.get(i) == rule) {
+				return i + 1;
+			}
+		}
+		throw new IllegalStateException("Rule is not part of the batch");
+	}
+
 	private static boolean containsDay(int[] daysOfWeekAsInt, int dayValue) {
 		return Arrays.stream(daysOfWeekAsInt)
 				.anyMatch(day -> day == dayValue);
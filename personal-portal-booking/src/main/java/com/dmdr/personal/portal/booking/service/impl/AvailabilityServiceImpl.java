@@ -1,56 +1,52 @@
 package com.dmdr.personal.portal.booking.service.impl;
 
 import com.dmdr.personal.portal.core.model.TimezoneEntry;
-import com.dmdr.personal.portal.booking.dto.booking.BookingSuggestion;
+import com.dmdr.personal.portal.booking.dto.booking.SuggestedSlots;
 import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
 import com.dmdr.personal.portal.booking.model.AvailabilityRule;
 import com.dmdr.personal.portal.booking.model.Booking;
-import com.dmdr.personal.portal.booking.model.BookingSettings;
 import com.dmdr.personal.portal.booking.model.BookingStatus;
-import com.dmdr.personal.portal.booking.model.OverrideStatus;
 import com.dmdr.personal.portal.booking.model.SessionType;
-import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
-import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
 import com.dmdr.personal.portal.booking.repository.BookingRepository;
-import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
 import com.dmdr.personal.portal.booking.service.AvailabilityService;
 
-import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@ConditionalOnProperty(name = "booking.availability.engine", havingValue = "per-day", matchIfMissing = true)
 public class AvailabilityServiceImpl implements AvailabilityService {
 
     private static final int MAX_LOOKAHEAD_DAYS = 365;
 
-    private final AvailabilityRuleRepository repository;
-    private final BookingSettingsRepository bookingSettingsRepository;
-    private final AvailabilityOverrideRepository overrideRepository;
+    private static final ThreadLocal<SlotGenerator.Buffer> SLOT_BUFFER =
+            ThreadLocal.withInitial(SlotGenerator.Buffer::new);
+
+    private final AvailabilityStore store;
+    private final BookingSettingsStore settingsStore;
     private final BookingRepository bookingRepository;
+    private final AvailabilityCalendar calendar;
 
     public AvailabilityServiceImpl(
-            AvailabilityRuleRepository repository,
-            BookingSettingsRepository bookingSettingsRepository,
-            AvailabilityOverrideRepository overrideRepository,
-            BookingRepository bookingRepository) {
-        this.repository = repository;
-        this.bookingSettingsRepository = bookingSettingsRepository;
-        this.overrideRepository = overrideRepository;
+            AvailabilityStore store,
+            BookingSettingsStore settingsStore,
+            BookingRepository bookingRepository,
+            AvailabilityCalendar calendar) {
+        this.store = store;
+        this.settingsStore = settingsStore;
         this.bookingRepository = bookingRepository;
+        this.calendar = calendar;
     }
 
     @Override
@@ -74,8 +70,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         }
 
         // Get booking settings first to get the default timezone
-        BookingSettings settings = bookingSettingsRepository.mustFindTopByOrderByIdAsc();
-        ZoneId zoneId = ZoneId.of(TimezoneEntry.getById(settings.getDefaultTimezoneId()).getGmtOffset());
+        BookingSettingsStore.Snapshot settings = settingsStore.current();
+        ZoneId zoneId = TimezoneEntry.getById(settings.getDefaultTimezoneId()).zoneId();
         LocalDate requestedDate = requestedStartTime.atZone(zoneId).toLocalDate();
 
         // Calculate day boundaries in the default timezone
@@ -110,22 +106,18 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         // overrides)
         // 2. Calculate available time ranges (which includes subtracting unavailable,
         // adding available overrides, and subtracting booked)
-        List<TimeRange> allAvailableRanges = updatingBooking == null
-                ? calculateAvailableTimeRanges(
-                dayStartInstant, dayEndInstant, requestedDate, zoneId, minimumStartTime)
-                : calculateAvailableTimeRangesForUpdate(
-                dayStartInstant, dayEndInstant, requestedDate, zoneId, minimumStartTime, updatingBooking);
+        // Validation always reads bookings from the database: the calendar may lag behind other nodes.
+        IntervalSet allAvailableRanges = calculateAvailableTimeRanges(
+                store.snapshot(),
+                dayStartInstant,
+                dayEndInstant,
+                minimumStartTime,
+                updatingBooking == null ? null : updatingBooking.getId());
 
         // Check if requested time range is fully contained in any available range
-        TimeRange requestedRange = new TimeRange(requestedStartTime, requestedEndTime);
-        boolean isAvailable = allAvailableRanges.stream()
-                .anyMatch(availableRange -> {
-                    TimeRange overlap = findOverlap(availableRange, requestedRange);
-                    // The overlap must exactly match the requested range (fully contained)
-                    return overlap != null &&
-                            overlap.getStart().equals(requestedStartTime) &&
-                            overlap.getEnd().equals(requestedEndTime);
-                });
+        boolean isAvailable = allAvailableRanges.contains(
+                IntervalSet.floorSecond(requestedStartTime),
+                IntervalSet.ceilSecond(requestedEndTime));
 
         if (!isAvailable) {
             throw new IllegalArgumentException(
@@ -181,62 +173,40 @@ public class AvailabilityServiceImpl implements AvailabilityService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingSuggestion> calculateBookingSuggestion(
+    public SuggestedSlots calculateBookingSuggestion(
             SessionType sessionType,
             LocalDate suggestedDate,
             Integer timezoneId) {
         SuggestionContext context = buildSuggestionContext(suggestedDate, timezoneId);
 
         // Calculate available time ranges
-        List<TimeRange> allAvailableRanges = calculateAvailableTimeRanges(
-                context.dayStartInstant,
-                context.dayEndInstant,
-                suggestedDate,
-                context.zoneId,
-                context.minimumStartTime);
-
-        List<BookingSuggestion> suggestions = new ArrayList<>();
-        for (TimeRange availableRange : allAvailableRanges) {
-            suggestions
-                    .addAll(generateSlots(
-                                availableRange,
-                                sessionType.getDurationMinutes(),
-                                sessionType.getBufferMinutes(),
-                                context));
-        }
+        IntervalSet allAvailableRanges = calculateSuggestionRanges(suggestedDate, context, null);
 
-        return suggestions;
+        SlotGenerator generator = slotGenerator(
+                sessionType.getDurationMinutes(), sessionType.getBufferMinutes(), null, context);
+        return collectSlots(allAvailableRanges, generator, context);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingSuggestion> calculateBookingSuggestionForUpdate(
+    public SuggestedSlots calculateBookingSuggestionForUpdate(
             Booking bookingToUpdate,
             LocalDate suggestedDate,
             Integer timezoneId) {
 
         SuggestionContext context = buildSuggestionContext(suggestedDate, timezoneId);
 
-        // Calculate available time ranges
-        List<TimeRange> allAvailableRanges = calculateAvailableTimeRangesForUpdate(
-                context.dayStartInstant,
-                context.dayEndInstant,
-                suggestedDate,
-                context.zoneId,
-                context.minimumStartTime,
-                bookingToUpdate);
-
-        List<BookingSuggestion> suggestions = new ArrayList<>();
-        for (TimeRange availableRange : allAvailableRanges) {
-            List<BookingSuggestion> slots = generateSlotsForUpdate(
-                    availableRange,
-                    bookingToUpdate,
-                    context);
-
-            suggestions.addAll(slots);
-        }
+        // Calculate available time ranges; the booking being moved does not block itself
+        IntervalSet allAvailableRanges =
+                calculateSuggestionRanges(suggestedDate, context, bookingToUpdate.getId());
 
-        return suggestions;
+        // The booking's current start is not suggested again
+        SlotGenerator generator = slotGenerator(
+                bookingToUpdate.getSessionDurationMinutes(),
+                bookingToUpdate.getSessionBufferMinutes(),
+                bookingToUpdate.getStartTime(),
+                context);
+        return collectSlots(allAvailableRanges, generator, context);
     }
 
     @Override
@@ -245,7 +215,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return calculateAvailableDaysInternal(
                 sessionType.getDurationMinutes(),
                 sessionType.getBufferMinutes(),
-                timezoneId);
+                timezoneId,
+                null);
     }
 
     @Override
@@ -254,26 +225,42 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return calculateAvailableDaysInternal(
                 booking.getSessionDurationMinutes(),
                 booking.getSessionBufferMinutes(),
-                timezoneId);
+                timezoneId,
+                null);
     }
 
     private List<LocalDate> calculateAvailableDaysInternal(
             int sessionDurationMinutes,
             int sessionBufferMinutes,
-            Integer timezoneId) {
-        ZoneId userZone = ZoneId.of(TimezoneEntry.getById(timezoneId).getGmtOffset());
+            Integer timezoneId,
+            Long excludeBookingId) {
+        TimezoneEntry timezone = TimezoneEntry.getById(timezoneId);
+        ZoneId userZone = timezone.zoneId();
         LocalDate today = LocalDate.now(userZone);
         LocalDate capDate = today.plusDays(MAX_LOOKAHEAD_DAYS);
 
-        BookingSettings settings = bookingSettingsRepository.mustFindTopByOrderByIdAsc();
+        BookingSettingsStore.Snapshot settings = settingsStore.current();
         Instant minimumStart = Instant.now().plusSeconds(settings.getBookingFirstSlotInterval() * 60L);
 
         Instant todayStart = today.atStartOfDay(userZone).toInstant();
         Instant capInstant = capDate.atTime(23, 59, 59, 999_999_999).atZone(userZone).toInstant();
 
-        List<AvailabilityRule> allActiveRules = repository.findByRuleStatus(AvailabilityRule.RuleStatus.ACTIVE);
+        SlotGenerator generator = new SlotGenerator(
+                sessionDurationMinutes,
+                sessionBufferMinutes,
+                settings.getBookingSlotsInterval(),
+                settings.isRoundBookingSuggestions(),
+                Long.MIN_VALUE);
+
+        if (calendar.isEnabled() && calendar.covers(todayStart, capInstant)) {
+            return calculateAvailableDaysFromCalendar(
+                    generator, excludeBookingId, timezone, today, capDate, todayStart, capInstant, minimumStart);
+        }
+
+        AvailabilityStore.Snapshot definitions = store.snapshot();
+        List<AvailabilityRule> allActiveRules = definitions.activeRules();
         List<AvailabilityOverride> activeAvailableOverrides =
-                overrideRepository.findOverlappingAvailableOverrides(todayStart, capInstant, OverrideStatus.ACTIVE);
+                definitions.availableOverridesOverlapping(todayStart, capInstant);
 
         if (allActiveRules.isEmpty() && activeAvailableOverrides.isEmpty()) {
             return Collections.emptyList();
@@ -294,20 +281,18 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             maxDate = capDate;
         }
 
+        DayRangeCursor cursor = openDayRangeCursor(
+                definitions, todayStart, capInstant, minimumStart, excludeBookingId);
+
         List<LocalDate> result = new ArrayList<>();
         for (LocalDate date = today; !date.isAfter(maxDate); date = date.plusDays(1)) {
             Instant dayStart = date.atStartOfDay(userZone).toInstant();
             Instant dayEnd = date.atTime(23, 59, 59, 999_999_999).atZone(userZone).toInstant();
 
-            List<TimeRange> ranges = calculateAvailableTimeRangesWithPreloadedRules(
-                    allActiveRules, dayStart, dayEnd, date, userZone, minimumStart);
-
-            SuggestionContext ctx = new SuggestionContext(userZone, dayStart, dayEnd, settings, minimumStart);
-            boolean hasSlot = ranges.stream()
-                    .anyMatch(range -> !generateSlots(
-                            range, sessionDurationMinutes, sessionBufferMinutes, ctx).isEmpty());
+            IntervalSet ranges = cursor.rangesFor(dayStart, dayEnd);
 
-            if (hasSlot) {
+            DayOffsets offsets = DayOffsets.forDay(timezone, dayStart.getEpochSecond(), dayEnd.getEpochSecond());
+            if (hasAnySlot(ranges, generator, offsets)) {
                 result.add(date);
             }
         }
@@ -316,140 +301,102 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     /**
-     * Like calculateAvailableTimeRanges but accepts pre-loaded active rules to avoid
-     * a repeated DB query per day when checking availability across many dates.
+     * Source of free ranges for the database-backed available-days walk. This engine filters overrides and
+     * queries bookings once per day; {@link RangeSweepAvailabilityService} replaces it with a single window load.
      */
-    private List<TimeRange> calculateAvailableTimeRangesWithPreloadedRules(
-            List<AvailabilityRule> allActiveRules,
-            Instant dayStartInstant,
-            Instant dayEndInstant,
-            LocalDate date,
-            ZoneId zoneId,
-            Instant minimumStartTime) {
-
-        List<TimeRange> allAvailableRanges = calculateAvailableTimeRangesByRulesAndOverridesWithPreloadedRules(
-                allActiveRules, dayStartInstant, dayEndInstant, date, zoneId, minimumStartTime);
-
-        List<Booking> existingBookings = bookingRepository.findBookingsByStatusAndTimeRange(
-                List.of(BookingStatus.PENDING_APPROVAL, BookingStatus.CONFIRMED),
-                dayStartInstant,
-                dayEndInstant);
-
-        return subtractBookedRangesFromAll(allAvailableRanges, existingBookings);
+    DayRangeCursor openDayRangeCursor(
+            AvailabilityStore.Snapshot definitions,
+            Instant windowStart,
+            Instant windowEnd,
+            Instant minimumStartTime,
+            Long excludeBookingId) {
+        return (dayStart, dayEnd) -> calculateAvailableTimeRanges(
+                definitions, dayStart, dayEnd, minimumStartTime, excludeBookingId);
     }
 
     /**
-     * Like calculateAvailableTimeRangesByRulesAndOverrides but filters rules from the
-     * supplied pre-loaded list instead of issuing a per-day DB query.
+     * Same walk as the DB-backed loop in calculateAvailableDaysInternal, but every day is served from the
+     * materialized calendar, so the whole lookahead costs no per-day queries.
      */
-    private List<TimeRange> calculateAvailableTimeRangesByRulesAndOverridesWithPreloadedRules(
-            List<AvailabilityRule> allActiveRules,
-            Instant dayStartInstant,
-            Instant dayEndInstant,
-            LocalDate suggestedDate,
-            ZoneId zoneId,
-            Instant minimumStartTime) {
-
-        List<AvailabilityRule> matchingRules = findMatchingRulesForDayFromList(
-                allActiveRules, dayStartInstant, dayEndInstant, zoneId);
-
-        List<AvailabilityOverride> unavailableOverrides = overrideRepository.findOverlappingUnavailableOverrides(
-                dayStartInstant, dayEndInstant, OverrideStatus.ACTIVE);
-
-        List<TimeRange> ruleRanges = new ArrayList<>();
-        for (AvailabilityRule rule : matchingRules) {
-            ZoneId ruleZoneId = ZoneId.of(TimezoneEntry.getById(rule.getTimezoneId()).getGmtOffset());
-            LocalTime availableStart = rule.getAvailableStartTime();
-            LocalTime availableEnd = rule.getAvailableEndTime();
-
-            LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
-            LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
-
-            LocalDate candidateDate = startDateInRuleTimezone;
-            while (!candidateDate.isAfter(endDateInRuleTimezone)) {
-                DayOfWeek dayOfWeek = candidateDate.getDayOfWeek();
-                if (containsDay(rule.getDaysOfWeekAsInt(), dayOfWeek.getValue())) {
-                    LocalDateTime candidateStartDateTime = candidateDate.atTime(availableStart);
-                    LocalDateTime candidateEndDateTime = candidateDate.atTime(availableEnd);
-                    Instant candidateStartInstant = candidateStartDateTime.atZone(ruleZoneId).toInstant();
-                    Instant candidateEndInstant = candidateEndDateTime.atZone(ruleZoneId).toInstant();
-
-                    if (candidateStartInstant.isAfter(rule.getRuleEndInstant())) {
-                        break;
-                    }
-
-                    TimeRange ruleOverlap = findFutureOverlap(
-                            new TimeRange(dayStartInstant, dayEndInstant),
-                            new TimeRange(candidateStartInstant, candidateEndInstant),
-                            minimumStartTime);
-
-                    if (ruleOverlap != null) {
-                        ruleRanges.add(ruleOverlap);
-                    }
-                }
-                candidateDate = candidateDate.plusDays(1);
-            }
+    private List<LocalDate> calculateAvailableDaysFromCalendar(
+            SlotGenerator generator,
+            Long excludeBookingId,
+            TimezoneEntry timezone,
+            LocalDate today,
+            LocalDate capDate,
+            Instant todayStart,
+            Instant capInstant,
+            Instant minimumStart) {
+        ZoneId userZone = timezone.zoneId();
+        Instant latestAvailabilityEnd = calendar.latestAvailabilityEnd(todayStart, capInstant);
+        if (latestAvailabilityEnd == null) {
+            return Collections.emptyList();
         }
 
-        List<TimeRange> allAvailableRanges = subtractUnavailableRangesFromAll(ruleRanges, unavailableOverrides);
+        LocalDate maxDate = latestAvailabilityEnd.atZone(userZone).toLocalDate();
+        if (maxDate.isBefore(today)) {
+            maxDate = today;
+        }
+        if (maxDate.isAfter(capDate)) {
+            maxDate = capDate;
+        }
 
-        List<AvailabilityOverride> availableOverrides = overrideRepository.findOverlappingAvailableOverrides(
-                dayStartInstant, dayEndInstant, OverrideStatus.ACTIVE);
+        List<LocalDate> result = new ArrayList<>();
+        for (LocalDate date = today; !date.isAfter(maxDate); date = date.plusDays(1)) {
+            Instant dayStart = date.atStartOfDay(userZone).toInstant();
+            Instant dayEnd = date.atTime(23, 59, 59, 999_999_999).atZone(userZone).toInstant();
 
-        for (AvailabilityOverride override : availableOverrides) {
-            TimeRange overrideOverlap = findFutureOverlap(
-                    new TimeRange(dayStartInstant, dayEndInstant),
-                    new TimeRange(override.getOverideStartInstant(), override.getOverrideEndInstant()),
-                    minimumStartTime);
+            IntervalSet ranges = calendar.freeRanges(userZone, date, minimumStart, excludeBookingId);
 
-            if (overrideOverlap != null) {
-                allAvailableRanges.add(overrideOverlap);
+            DayOffsets offsets = DayOffsets.forDay(timezone, dayStart.getEpochSecond(), dayEnd.getEpochSecond());
+            if (hasAnySlot(ranges, generator, offsets)) {
+                result.add(date);
             }
         }
 
-        return allAvailableRanges;
+        return result;
     }
 
-    /**
-     * Like findMatchingRulesForDay but filters from a pre-loaded list instead of
-     * querying the DB, so rules only need to be fetched once per multi-day iteration.
-     */
-    private List<AvailabilityRule> findMatchingRulesForDayFromList(
-            List<AvailabilityRule> allActiveRules,
-            Instant dayStartInstant,
-            Instant dayEndInstant,
-            ZoneId zoneId) {
-
-        return allActiveRules.stream()
-                .filter(rule -> {
-                    Instant ruleStart = rule.getRuleStartInstant();
-                    Instant ruleEnd = rule.getRuleEndInstant();
-
-                    boolean ruleOverlapsDay = (ruleStart.isBefore(dayEndInstant) || ruleStart.equals(dayEndInstant))
-                            && (ruleEnd.isAfter(dayStartInstant) || ruleEnd.equals(dayStartInstant));
-
-                    if (!ruleOverlapsDay) {
-                        return false;
-                    }
-
-                    ZoneId ruleZoneId = ZoneId.of(TimezoneEntry.getById(rule.getTimezoneId()).getGmtOffset());
-                    LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
-                    LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
-
-                    DayOfWeek startDayOfWeek = startDateInRuleTimezone.getDayOfWeek();
-                    DayOfWeek endDayOfWeek = endDateInRuleTimezone.getDayOfWeek();
+    private static boolean hasAnySlot(IntervalSet ranges, SlotGenerator generator, DayOffsets offsets) {
+        for (int i = 0; i < ranges.size(); i++) {
+            if (generator.hasSlot(ranges.start(i), ranges.end(i), offsets)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                    boolean startDayMatches = containsDay(rule.getDaysOfWeekAsInt(), startDayOfWeek.getValue());
-                    boolean endDayMatches = containsDay(rule.getDaysOfWeekAsInt(), endDayOfWeek.getValue());
+    private static SlotGenerator slotGenerator(
+            int sessionDurationMin,
+            int sessionBufferTimeMin,
+            Instant skipStartTime,
+            SuggestionContext context) {
+        return new SlotGenerator(
+                sessionDurationMin,
+                sessionBufferTimeMin,
+                context.settings.getBookingSlotsInterval(),
+                context.settings.isRoundBookingSuggestions(),
+                skipStartTime == null ? Long.MIN_VALUE : IntervalSet.floorSecond(skipStartTime));
+    }
 
-                    return startDayMatches || endDayMatches;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Emits the slots of every free range into the thread's reusable buffer and copies them out once.
+     */
+    private static SuggestedSlots collectSlots(
+            IntervalSet ranges,
+            SlotGenerator generator,
+            SuggestionContext context) {
+        SlotGenerator.Buffer buffer = SLOT_BUFFER.get();
+        buffer.clear();
+        for (int i = 0; i < ranges.size(); i++) {
+            generator.emit(ranges.start(i), ranges.end(i), context.offsets, buffer);
+        }
+        return SuggestedSlots.of(buffer.array(), buffer.size(), generator.durationSeconds());
     }
 
     private SuggestionContext buildSuggestionContext(LocalDate suggestedDate, Integer timezoneId) {
-        String timezone = TimezoneEntry.getById(timezoneId).getGmtOffset();
-        ZoneId zoneId = ZoneId.of(timezone);
+        TimezoneEntry timezone = TimezoneEntry.getById(timezoneId);
+        ZoneId zoneId = timezone.zoneId();
 
         // Convert suggestedDate to start and end of day in the given timezone
         LocalDateTime startOfDay = suggestedDate.atStartOfDay();
@@ -464,13 +411,13 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         if (dayStartInstant.isBefore(todayStartInstant)) {
             throw new IllegalArgumentException(
                     "Cannot calculate booking suggestions for a date in the past. " +
-                            "Suggested date: " + suggestedDate + " (" + timezone + "), " +
+                            "Suggested date: " + suggestedDate + " (" + zoneId + "), " +
                             "Day start time: " + dayStartInstant.atZone(zoneId) + ", " +
                             "Today start time: " + todayStartInstant.atZone(zoneId));
         }
 
         // Get booking settings for slot interval
-        BookingSettings settings = bookingSettingsRepository.mustFindTopByOrderByIdAsc();
+        BookingSettingsStore.Snapshot settings = settingsStore.current();
 
         // Calculate minimum start time (now + bookingFirstSlotInterval)
         // This ensures sessions cannot be booked too soon (e.g., not within 5 minutes,
@@ -478,7 +425,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         Instant minimumStartTime = Instant.now().plusSeconds(settings.getBookingFirstSlotInterval() * 60L);
 
         return new SuggestionContext(
-                zoneId,
+                timezone,
                 dayStartInstant,
                 dayEndInstant,
                 settings,
@@ -489,466 +436,80 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         private final ZoneId zoneId;
         private final Instant dayStartInstant;
         private final Instant dayEndInstant;
-        private final BookingSettings settings;
+        private final BookingSettingsStore.Snapshot settings;
         private final Instant minimumStartTime;
+        private final DayOffsets offsets;
 
         private SuggestionContext(
-                ZoneId zoneId,
+                TimezoneEntry timezone,
                 Instant dayStartInstant,
                 Instant dayEndInstant,
-                BookingSettings settings,
+                BookingSettingsStore.Snapshot settings,
                 Instant minimumStartTime) {
-            this.zoneId = zoneId;
+            this.zoneId = timezone.zoneId();
             this.dayStartInstant = dayStartInstant;
             this.dayEndInstant = dayEndInstant;
             this.settings = settings;
             this.minimumStartTime = minimumStartTime;
+            this.offsets = DayOffsets.forDay(
+                    timezone, dayStartInstant.getEpochSecond(), dayEndInstant.getEpochSecond());
         }
     }
 
-    /**
-     * Finds availability rules that match a specific day.
-     * A rule matches if:
-     * 1. The rule overlaps with the day
-     * 2. The day of week matches
-     */
-    private List<AvailabilityRule> findMatchingRulesForDay(
-            Instant dayStartInstant, Instant dayEndInstant, LocalDate suggestedDate, ZoneId zoneId) {
-        List<AvailabilityRule> activeRules = repository.findByRuleStatus(AvailabilityRule.RuleStatus.ACTIVE);
-
-        return activeRules.stream()
-                .filter(rule -> {
-                    // Check if rule overlaps with the day
-                    // Two intervals overlap if: ruleStart <= dayEnd AND ruleEnd >= dayStart
-                    Instant ruleStart = rule.getRuleStartInstant();
-                    Instant ruleEnd = rule.getRuleEndInstant();
-
-                    boolean ruleOverlapsDay = (ruleStart.isBefore(dayEndInstant) || ruleStart.equals(dayEndInstant))
-                            && (ruleEnd.isAfter(dayStartInstant) || ruleEnd.equals(dayStartInstant));
-
-                    if (!ruleOverlapsDay) {
-                        return false;
-                    }
-
-                    // Get day(s) of week in the rule's timezone
-                    // The client's day (dayStartInstant to dayEndInstant) may span two different
-                    // calendar days in the rule's timezone, so we need to check both
-                    ZoneId ruleZoneId = ZoneId.of(TimezoneEntry.getById(rule.getTimezoneId()).getGmtOffset());
-
-                    // Get the date at the start of the client's day in the rule's timezone
-                    LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
-                    // Get the date at the end of the client's day in the rule's timezone
-                    LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
-
-                    // Check if at least one of these days matches the rule's days of week
-                    DayOfWeek startDayOfWeek = startDateInRuleTimezone.getDayOfWeek();
-                    DayOfWeek endDayOfWeek = endDateInRuleTimezone.getDayOfWeek();
-
-                    boolean startDayMatches = containsDay(rule.getDaysOfWeekAsInt(), startDayOfWeek.getValue());
-                    boolean endDayMatches = containsDay(rule.getDaysOfWeekAsInt(), endDayOfWeek.getValue());
-
-                    return startDayMatches || endDayMatches;
-                })
-                .collect(Collectors.toList());
-    }
-
     /**
      * Calculates available time ranges for a given day by considering availability
-     * rules,
-     * overrides, and existing bookings.
+     * rules, overrides, and existing bookings. Bookings are read straight from the database.
      */
-    private List<TimeRange> calculateAvailableTimeRanges(
+    private IntervalSet calculateAvailableTimeRanges(
+            AvailabilityStore.Snapshot definitions,
             Instant dayStartInstant,
             Instant dayEndInstant,
-            LocalDate suggestedDate,
-            ZoneId zoneId,
-            Instant minimumStartTime) {
-
-        List<TimeRange> allAvailableRanges =
-                calculateAvailableTimeRangesByRulesAndOverrides(
-                        dayStartInstant, dayEndInstant, suggestedDate,
-                        zoneId, minimumStartTime);
-
-        // Subtract booked time ranges from all available ranges
-        List<Booking> existingBookings = bookingRepository.findBookingsByStatusAndTimeRange(
+            Instant minimumStartTime,
+            Long excludeBookingId) {
+        List<AvailabilityRule> matchingRules = AvailabilityRanges.findMatchingRulesForDay(
+                definitions.activeRules(), dayStartInstant, dayEndInstant);
+
+        // Unavailable overrides reduce availability, available ones extend it
+        List<AvailabilityOverride> unavailableOverrides =
+                definitions.unavailableOverridesOverlapping(dayStartInstant, dayEndInstant);
+        List<AvailabilityOverride> availableOverrides =
+                definitions.availableOverridesOverlapping(dayStartInstant, dayEndInstant);
+
+        IntervalSet allAvailableRanges = AvailabilityRanges.rulesAndOverridesRanges(
+                matchingRules, unavailableOverrides, availableOverrides,
+                dayStartInstant, dayEndInstant, IntervalSet.floorSecond(minimumStartTime));
+
+        // When updating, the booking being moved must not block its own new slot -
+        // as if this booking was canceled and recreated.
+        IntervalSet.Builder bookedRanges = IntervalSet.builder();
+        for (Booking booking : bookingRepository.findBookingsByStatusAndTimeRange(
                 List.of(BookingStatus.PENDING_APPROVAL, BookingStatus.CONFIRMED),
                 dayStartInstant,
-                dayEndInstant);
-
-        allAvailableRanges = subtractBookedRangesFromAll(allAvailableRanges, existingBookings);
-
-        return allAvailableRanges;
-    }
-
-    private List<TimeRange> calculateAvailableTimeRangesForUpdate(
-            Instant dayStartInstant,
-            Instant dayEndInstant,
-            LocalDate suggestedDate,
-            ZoneId zoneId,
-            Instant minimumStartTime,
-            Booking bookingToUpdate) {
-
-        List<TimeRange> allAvailableRanges =
-                calculateAvailableTimeRangesByRulesAndOverrides(
-                        dayStartInstant, dayEndInstant, suggestedDate,
-                        zoneId, minimumStartTime);
-
-        // Get current booking excluding updating one - current booking time should not be substructed from available time
-        // As if this booking was canceled and recreated.
-        List<Booking> existingBookingsExcludeUpdatingItem = bookingRepository.findBookingsByStatusAndTimeRange(
-                        List.of(BookingStatus.PENDING_APPROVAL, BookingStatus.CONFIRMED),
-                        dayStartInstant,
-                        dayEndInstant).stream()
-                .filter(booking -> !booking.getId().equals(bookingToUpdate.getId())).
-                collect(Collectors.toList());
-
-        // Subtract booked time ranges from all available ranges
-        allAvailableRanges = subtractBookedRangesFromAll(allAvailableRanges, existingBookingsExcludeUpdatingItem);
-
-        return allAvailableRanges;
-    }
-
-    private List<TimeRange> calculateAvailableTimeRangesByRulesAndOverrides(
-            Instant dayStartInstant,
-            Instant dayEndInstant,
-            LocalDate suggestedDate,
-            ZoneId zoneId,
-            Instant minimumStartTime) {
-        // Find rules that match the day
-        List<AvailabilityRule> matchingRules = findMatchingRulesForDay(
-                dayStartInstant, dayEndInstant, suggestedDate, zoneId);
-
-        // Get unavailable overrides that reduce availability
-        List<AvailabilityOverride> unavailableOverrides = overrideRepository.findOverlappingUnavailableOverrides(
-                dayStartInstant, dayEndInstant, OverrideStatus.ACTIVE);
-
-        // Collect working hours from all matching rules and find overlap with client's
-        // day
-        // Note: Different rules' working hours don't overlap, so we process each
-        // separately
-        List<TimeRange> ruleRanges = new ArrayList<>();
-        for (AvailabilityRule rule : matchingRules) {
-            ZoneId ruleZoneId = ZoneId.of(TimezoneEntry.getById(rule.getTimezoneId()).getGmtOffset());
-            LocalTime availableStart = rule.getAvailableStartTime();
-            LocalTime availableEnd = rule.getAvailableEndTime();
-
-            // The client's day range may span multiple calendar days in the rule's timezone
-            // We need to check each calendar day in the rule's timezone that overlaps with
-            // the client's day
-            LocalDate startDateInRuleTimezone = dayStartInstant.atZone(ruleZoneId).toLocalDate();
-            LocalDate endDateInRuleTimezone = dayEndInstant.atZone(ruleZoneId).toLocalDate();
-
-            // Iterate through each calendar day in the rule's timezone that the client's
-            // day spans
-            LocalDate candidateDate = startDateInRuleTimezone;
-            while (!candidateDate.isAfter(endDateInRuleTimezone)) {
-                // Check if this day of the week is in the rule's working days
-                DayOfWeek dayOfWeek = candidateDate.getDayOfWeek();
-                if (containsDay(rule.getDaysOfWeekAsInt(), dayOfWeek.getValue())) {
-                    // Calculate working hours for this specific day in the rule's timezone
-                    LocalDateTime candidateStartDateTime = candidateDate.atTime(availableStart);
-                    LocalDateTime candidateEndDateTime = candidateDate.atTime(availableEnd);
-                    Instant candidateStartInstant = candidateStartDateTime.atZone(ruleZoneId).toInstant();
-                    Instant candidateEndInstant = candidateEndDateTime.atZone(ruleZoneId).toInstant();
-
-                    if (candidateStartInstant.isAfter(rule.getRuleEndInstant())) {
-                        //the case when rule overlaps day, but ends before start time in this day
-                        break;
-                    }
-
-                    // Find overlap between client's day and this day's working hours
-                    TimeRange ruleOverlap = findFutureOverlap(
-                            new TimeRange(dayStartInstant, dayEndInstant),
-                            new TimeRange(candidateStartInstant, candidateEndInstant),
-                            minimumStartTime);
-
-                    if (ruleOverlap != null) {
-                        ruleRanges.add(ruleOverlap);
-                    }
-                }
-
-                // Move to the next day in the rule's timezone
-                candidateDate = candidateDate.plusDays(1);
+                dayEndInstant)) {
+            if (excludeBookingId == null || !booking.getId().equals(excludeBookingId)) {
+                bookedRanges.addBlocked(booking.getStartTime(), booking.getEndTime());
             }
         }
 
-        // Subtract unavailable override ranges from rule ranges
-        List<TimeRange> allAvailableRanges = subtractUnavailableRangesFromAll(ruleRanges, unavailableOverrides);
-
-        // Always check for availability overrides with isAvailable = true
-        // These overrides extend availability beyond normal rules
-        List<AvailabilityOverride> availableOverrides = overrideRepository.findOverlappingAvailableOverrides(
-                dayStartInstant, dayEndInstant, OverrideStatus.ACTIVE);
-
-        for (AvailabilityOverride override : availableOverrides) {
-            // Calculate overlap between override and client's day (filter past intervals if
-            // today)
-            TimeRange overrideOverlap = findFutureOverlap(
-                    new TimeRange(dayStartInstant, dayEndInstant),
-                    new TimeRange(override.getOverideStartInstant(), override.getOverrideEndInstant()),
-                    minimumStartTime);
-
-            if (overrideOverlap != null) {
-                allAvailableRanges.add(overrideOverlap);
-            }
-        }
-
-        return allAvailableRanges;
-    }
-
-    private List<BookingSuggestion> generateSlots(TimeRange range, int sessionDurationMin, int sessionBufferTimeMin,
-                                                  SuggestionContext context) {
-        return generateSlotsInternal(
-                range,
-                sessionDurationMin,
-                sessionBufferTimeMin,
-                context.settings.getBookingSlotsInterval(),
-                null,
-                context);
-    }
-
-    private List<BookingSuggestion> generateSlotsForUpdate(
-            TimeRange range,
-            Booking bookingToUpdate,
-            SuggestionContext context
-    ) {
-        return generateSlotsInternal(
-                range,
-                bookingToUpdate.getSessionDurationMinutes(),
-                bookingToUpdate.getSessionBufferMinutes(),
-                context.settings.getBookingSlotsInterval(),
-                bookingToUpdate.getStartTime(),
-                context);
-    }
-
-    private List<BookingSuggestion> generateSlotsInternal(
-            TimeRange range,
-            int sessionDurationMin,
-            int sessionBufferTimeMin,
-            int slotIntervalMinutes,
-            Instant skipStartTime,
-            SuggestionContext context) {
-        List<BookingSuggestion> slots = new ArrayList<>();
-        Instant currentStart = range.getStart();
-        while (true) {
-            if (context.settings.isRoundBookingSuggestions()) {
-                currentStart = roundUpToQuarterHour(currentStart, context.zoneId);
-            }
-            // Check if next slot start would exceed the range
-            if (currentStart.isAfter(range.getEnd()) || currentStart.equals(range.getEnd())) {
-                break;
-            }
-            if (skipStartTime != null && currentStart.equals(skipStartTime)) {
-                // Skip current time from suggestion
-                currentStart = currentStart.plusSeconds(slotIntervalMinutes * 60L);
-                continue;
-            }
-
-            Instant slotEnd = currentStart.plusSeconds(sessionDurationMin * 60L);
-            Instant slotWithBufferEnd = slotEnd.plusSeconds(sessionBufferTimeMin * 60L);
-
-            // Check if slot end exceeds the range end
-            if (slotWithBufferEnd.isAfter(range.getEnd())) {
-                break;
-            }
-
-            BookingSuggestion suggestion = new BookingSuggestion();
-            suggestion.setStartTime(currentStart);
-            suggestion.setEndTime(slotEnd);
-            suggestion.setStartTimeInstant(currentStart);
-            slots.add(suggestion);
-
-            // Move to next slot start (current start + interval)
-            currentStart = currentStart.plusSeconds(slotIntervalMinutes * 60L);
-        }
-
-        return slots;
-    }
-
-    private TimeRange findOverlap(TimeRange range1, TimeRange range2) {
-        Instant overlapStart = range1.getStart().isAfter(range2.getStart()) ? range1.getStart() : range2.getStart();
-        Instant overlapEnd = range1.getEnd().isBefore(range2.getEnd()) ? range1.getEnd() : range2.getEnd();
-
-        // Check if there's actually an overlap (overlapStart must be before overlapEnd)
-        boolean hasOverlap = overlapStart.isBefore(overlapEnd);
-        if (!hasOverlap) {
-            return null;
-        }
-
-        return new TimeRange(overlapStart, overlapEnd);
-    }
-
-    private TimeRange findFutureOverlap(TimeRange range1, TimeRange range2, Instant minimumStartTime) {
-        Instant overlapStart = range1.getStart().isAfter(range2.getStart()) ? range1.getStart() : range2.getStart();
-        Instant overlapEnd = range1.getEnd().isBefore(range2.getEnd()) ? range1.getEnd() : range2.getEnd();
-
-        // Check if there's actually an overlap (overlapStart must be before overlapEnd)
-        boolean hasOverlap = overlapStart.isBefore(overlapEnd);
-        if (!hasOverlap) {
-            return null;
-        }
-
-        // If minimumStartTime is provided (for today's bookings), ensure overlap starts
-        // after it
-        if (minimumStartTime != null) {
-            if (overlapStart.isBefore(minimumStartTime)) {
-                // Adjust overlap start to minimumStartTime if it starts earlier
-                overlapStart = minimumStartTime;
-                // Check if there's still valid overlap after adjustment
-                if (!overlapStart.isBefore(overlapEnd)) {
-                    return null;
-                }
-            }
-        } else {
-            // For future dates, ensure overlap doesn't start in the past
-            Instant now = Instant.now();
-            if (overlapStart.isBefore(now) || overlapStart.equals(now)) {
-                return null;
-            }
-        }
-
-        return new TimeRange(overlapStart, overlapEnd);
-    }
-
-    /**
-     * Subtracts booked time ranges from all available time ranges.
-     * Returns a list of remaining available time ranges after excluding booked
-     * periods.
-     */
-    private List<TimeRange> subtractBookedRangesFromAll(
-            List<TimeRange> availableRanges,
-            List<Booking> bookingsToSubtract) {
-
-        if (bookingsToSubtract.isEmpty()) {
-            return availableRanges;
-        }
-
-        // Subtract booked time ranges from all available ranges
-        List<TimeRange> bookedRanges = bookingsToSubtract.stream()
-                .map(booking -> new TimeRange(booking.getStartTime(), booking.getEndTime()))
-                .collect(Collectors.toList());
-
-        List<TimeRange> result = new ArrayList<>(availableRanges);
-
-        // Apply each booked range to all current available ranges
-        for (TimeRange bookedRange : bookedRanges) {
-            List<TimeRange> newResult = new ArrayList<>();
-            for (TimeRange currentRange : result) {
-                // Subtract booked range from current range
-                List<TimeRange> remaining = subtractRange(currentRange, bookedRange);
-                newResult.addAll(remaining);
-            }
-            result = newResult;
-        }
-
-        return result;
+        return allAvailableRanges.subtract(bookedRanges.build());
     }
 
     /**
-     * Subtracts unavailable override ranges from all available time ranges.
-     * Returns a list of remaining available time ranges after excluding unavailable
-     * periods.
+     * Free ranges of a single client day for the suggestion endpoints: from the calendar when it covers
+     * the day, otherwise from the database.
      */
-    private List<TimeRange> subtractUnavailableRangesFromAll(
-            List<TimeRange> availableRanges,
-            List<AvailabilityOverride> unavailableOverrides) {
-        if (unavailableOverrides.isEmpty()) {
-            return availableRanges;
-        }
-
-        List<TimeRange> unavailableRanges = unavailableOverrides.stream()
-                .map(override -> new TimeRange(
-                        override.getOverideStartInstant(),
-                        override.getOverrideEndInstant()))
-                .collect(Collectors.toList());
-
-        List<TimeRange> result = new ArrayList<>(availableRanges);
-
-        // Apply each unavailable range to all current available ranges
-        for (TimeRange unavailableRange : unavailableRanges) {
-            List<TimeRange> newResult = new ArrayList<>();
-            for (TimeRange currentRange : result) {
-                // Subtract unavailable range from current range
-                List<TimeRange> remaining = subtractRange(currentRange, unavailableRange);
-                newResult.addAll(remaining);
-            }
-            result = newResult;
-        }
-
-        return result;
-    }
-
-    /**
-     * Subtracts a range from another range, returning the remaining parts.
-     * Can return 0, 1, or 2 ranges depending on how the ranges overlap.
-     */
-    private List<TimeRange> subtractRange(TimeRange original, TimeRange toSubtract) {
-        List<TimeRange> result = new ArrayList<>();
-
-        // Check if ranges overlap (no minimum start time restriction for subtraction)
-        TimeRange overlap = findOverlap(original, toSubtract);
-        if (overlap == null) {
-            // No overlap, return original range
-            result.add(original);
-            return result;
-        }
-
-        // If overlap completely covers original (overlap equals original), return empty
-        // list
-        if (overlap.getStart().equals(original.getStart()) && overlap.getEnd().equals(original.getEnd())) {
-            return result;
-        }
-
-        // Check if there's a part before the overlap
-        if (original.getStart().isBefore(overlap.getStart())) {
-            result.add(new TimeRange(original.getStart(), overlap.getStart()));
-        }
-
-        // Check if there's a part after the overlap
-        if (original.getEnd().isAfter(overlap.getEnd())) {
-            result.add(new TimeRange(overlap.getEnd(), original.getEnd()));
-        }
-
-        return result;
-    }
-
-    private static boolean containsDay(int[] daysOfWeekAsInt, int dayValue) {
-        return Arrays.stream(daysOfWeekAsInt)
-                .anyMatch(day -> day == dayValue);
-    }
-
-    private static Instant roundUpToQuarterHour(Instant instant, ZoneId zoneId) {
-        LocalDateTime localDateTime = LocalDateTime.ofInstant(instant, zoneId);
-        int minute = localDateTime.getMinute();
-        int mod = minute % 15;
-        int addMinutes;
-        if (mod == 0 && localDateTime.getSecond() == 0 && localDateTime.getNano() == 0) {
-            addMinutes = 0;
-        } else {
-            addMinutes = 15 - mod;
-        }
-        LocalDateTime rounded = localDateTime
-                .plusMinutes(addMinutes)
-                .withSecond(0)
-                .withNano(0);
-        return rounded.atZone(zoneId).toInstant();
-    }
-
-    private static class TimeRange {
-        private final Instant start;
-        private final Instant end;
-
-        TimeRange(Instant start, Instant end) {
-            this.start = start;
-            this.end = end;
-        }
-
-        Instant getStart() {
-            return start;
-        }
-
-        Instant getEnd() {
-            return end;
+    private IntervalSet calculateSuggestionRanges(
+            LocalDate suggestedDate,
+            SuggestionContext context,
+            Long excludeBookingId) {
+        if (calendar.isEnabled() && calendar.covers(context.dayStartInstant, context.dayEndInstant)) {
+            return calendar.freeRanges(context.zoneId, suggestedDate, context.minimumStartTime, excludeBookingId);
         }
+        return calculateAvailableTimeRanges(
+                store.snapshot(),
+                context.dayStartInstant,
+                context.dayEndInstant,
+                context.minimumStartTime,
+                excludeBookingId);
     }
 }
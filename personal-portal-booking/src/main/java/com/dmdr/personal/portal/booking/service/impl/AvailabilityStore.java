@@ -0,0 +1,379 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.OverrideStatus;
+import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
+import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of every non-archived availability rule and override.
+ * <p>
+ * Readers get an immutable, versioned {@link Snapshot}; there are only a few dozen rules and overrides, so the
+ * slot endpoints and the rule/override validators filter in memory instead of querying the database.
+ * Writes go through the rule and override services and the archive schedulers, which hand the saved entity to
+ * this store; a new snapshot is built after the surrounding transaction commits and swapped in atomically.
+ * A periodic reload bounds staleness for writes made on other application nodes.
+ */
+@Component
+@Slf4j
+public class AvailabilityStore {
+
+    private final AvailabilityRuleRepository ruleRepository;
+    private final AvailabilityOverrideRepository overrideRepository;
+
+    private final Object mutationLock = new Object();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final AtomicLong versions = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+
+    public AvailabilityStore(
+            AvailabilityRuleRepository ruleRepository,
+            AvailabilityOverrideRepository overrideRepository) {
+        this.ruleRepository = ruleRepository;
+        this.overrideRepository = overrideRepository;
+    }
+
+    /**
+     * Current snapshot, loaded on first access. Loading reads the database, so call it inside a transaction
+     * when one is available.
+     */
+    Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long mutationsBeforeLoad = mutationCount.get();
+        Snapshot loaded = load();
+        synchronized (mutationLock) {
+            // A write committed while we were reading may be missing from what we loaded; serve the loaded
+            // snapshot to this caller only and let the next read load again.
+            if (mutationCount.get() == mutationsBeforeLoad) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Registers a callback invoked, in commit order, after every snapshot swap.
+     */
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Records a rule write (create, update, archive). Applied after the current transaction commits.
+     */
+    public void onRuleSaved(AvailabilityRule rule) {
+        AvailabilityRule copy = copyOf(rule);
+        TransactionHooks.afterCommit(() -> mutate(current -> {
+            AvailabilityRule previous = current.findRule(copy.getId());
+            boolean keep = copy.getRuleStatus() != AvailabilityRule.RuleStatus.ARCHIVED;
+            return new Change(
+                    current.withRule(copy.getId(), keep ? copy : null, versions.incrementAndGet()),
+                    Period.span(rulePeriod(copy), rulePeriod(previous)));
+        }));
+    }
+
+    public void onRuleDeleted(Long ruleId) {
+        TransactionHooks.afterCommit(() -> mutate(current -> {
+            AvailabilityRule previous = current.findRule(ruleId);
+            if (previous == null) {
+                return null;
+            }
+            return new Change(current.withRule(ruleId, null, versions.incrementAndGet()), rulePeriod(previous));
+        }));
+    }
+
+    /**
+     * Records an override write (create, update, archive). Applied after the current transaction commits.
+     */
+    public void onOverrideSaved(AvailabilityOverride override) {
+        AvailabilityOverride copy = copyOf(override);
+        TransactionHooks.afterCommit(() -> mutate(current -> {
+            AvailabilityOverride previous = current.findOverride(copy.getId());
+            boolean keep = copy.getOverrideStatus() != OverrideStatus.ARCHIVED;
+            return new Change(
+                    current.withOverride(copy.getId(), keep ? copy : null, versions.incrementAndGet()),
+                    Period.span(overridePeriod(copy), overridePeriod(previous)));
+        }));
+    }
+
+    public void onOverrideDeleted(Long overrideId) {
+        TransactionHooks.afterCommit(() -> mutate(current -> {
+            AvailabilityOverride previous = current.findOverride(overrideId);
+            if (previous == null) {
+                return null;
+            }
+            return new Change(
+                    current.withOverride(overrideId, null, versions.incrementAndGet()), overridePeriod(previous));
+        }));
+    }
+
+    /**
+     * Drops the snapshot so the next read reloads it from the database.
+     */
+    @Scheduled(
+            fixedDelayString = "${booking.availability.store.refresh-interval-ms:300000}",
+            initialDelayString = "${booking.availability.store.refresh-interval-ms:300000}")
+    public void invalidate() {
+        synchronized (mutationLock) {
+            mutationCount.incrementAndGet();
+            snapshot = null;
+            for (Listener listener : listeners) {
+                listener.onStoreChanged(null, null, null);
+            }
+        }
+    }
+
+    private Snapshot load() {
+        List<AvailabilityRule> rules = ruleRepository
+                .findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null).stream()
+                .map(AvailabilityStore::copyOf)
+                .collect(Collectors.toList());
+        List<AvailabilityOverride> overrides = overrideRepository.findByOverrideStatus(OverrideStatus.ACTIVE).stream()
+                .map(AvailabilityStore::copyOf)
+                .collect(Collectors.toList());
+        Snapshot loaded = new Snapshot(versions.incrementAndGet(), rules, overrides);
+        log.info("Loaded availability store version {}: rules={}, overrides={}",
+                loaded.version(), rules.size(), overrides.size());
+        return loaded;
+    }
+
+    /**
+     * Swaps in the changed snapshot and tells listeners which period changed. A null change means the write
+     * did not touch anything held here.
+     */
+    private void mutate(Function<Snapshot, Change> change) {
+        synchronized (mutationLock) {
+            mutationCount.incrementAndGet();
+            Snapshot current = snapshot;
+            if (current == null) {
+                // Nothing materialized here, but a listener may hold data built from an uninstalled load
+                for (Listener listener : listeners) {
+                    listener.onStoreChanged(null, null, null);
+                }
+                return;
+            }
+            Change applied = change.apply(current);
+            if (applied == null) {
+                return;
+            }
+            snapshot = applied.next();
+            for (Listener listener : listeners) {
+                listener.onStoreChanged(applied.next(), applied.affected().start(), applied.affected().end());
+            }
+        }
+    }
+
+    private static Period rulePeriod(AvailabilityRule rule) {
+        if (rule == null) {
+            return null;
+        }
+        // Rule occurrences may start up to a day before the rule period in other timezones; widen accordingly
+        return new Period(rule.getRuleStartInstant().minus(Duration.ofDays(1)),
+                rule.getRuleEndInstant().plus(Duration.ofDays(1)));
+    }
+
+    private static Period overridePeriod(AvailabilityOverride override) {
+        if (override == null) {
+            return null;
+        }
+        return new Period(override.getOverideStartInstant(), override.getOverrideEndInstant());
+    }
+
+    private static AvailabilityRule copyOf(AvailabilityRule rule) {
+        AvailabilityRule copy = new AvailabilityRule();
+        copy.setId(rule.getId());
+        copy.setDaysOfWeekAsInt(rule.getDaysOfWeekAsInt().clone());
+        copy.setAvailableStartTime(rule.getAvailableStartTime());
+        copy.setAvailableEndTime(rule.getAvailableEndTime());
+        copy.setRuleStartInstant(rule.getRuleStartInstant());
+        copy.setRuleEndInstant(rule.getRuleEndInstant());
+        copy.setTimezoneId(rule.getTimezoneId());
+        copy.setUtcOffset(rule.getUtcOffset());
+        copy.setRuleStatus(rule.getRuleStatus());
+        return copy;
+    }
+
+    private static AvailabilityOverride copyOf(AvailabilityOverride override) {
+        AvailabilityOverride copy = new AvailabilityOverride();
+        copy.setId(override.getId());
+        copy.setAvailable(override.isAvailable());
+        copy.setOverideStartInstant(override.getOverideStartInstant());
+        copy.setOverrideEndInstant(override.getOverrideEndInstant());
+        copy.setTimezoneId(override.getTimezoneId());
+        copy.setUtcOffset(override.getUtcOffset());
+        copy.setOverrideStatus(override.getOverrideStatus());
+        return copy;
+    }
+
+    /**
+     * Notified after each swap with the new snapshot and the period whose availability may have changed.
+     * A null snapshot means everything must be considered changed.
+     */
+    @FunctionalInterface
+    interface Listener {
+        void onStoreChanged(Snapshot current, Instant affectedStart, Instant affectedEnd);
+    }
+
+    private record Change(Snapshot next, Period affected) {
+    }
+
+    private record Period(Instant start, Instant end) {
+        static Period span(Period a, Period b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return new Period(
+                    a.start().isBefore(b.start()) ? a.start() : b.start(),
+                    a.end().isAfter(b.end()) ? a.end() : b.end());
+        }
+    }
+
+    /**
+     * Immutable view of the non-archived rules and overrides at one version. Entities are detached copies
+     * and must not be modified.
+     */
+    static final class Snapshot {
+        private final long version;
+        private final List<AvailabilityRule> rules;
+        private final List<AvailabilityOverride> overrides;
+        private final List<AvailabilityRule> activeRules;
+        private final List<AvailabilityOverride> availableOverrides;
+        private final List<AvailabilityOverride> unavailableOverrides;
+        private volatile RuleOccupancyIndex activeRuleIndex;
+
+        Snapshot(long version, List<AvailabilityRule> rules, List<AvailabilityOverride> overrides) {
+            this.version = version;
+            this.rules = List.copyOf(rules);
+            this.overrides = List.copyOf(overrides);
+            this.activeRules = rules.stream()
+                    .filter(r -> r.getRuleStatus() == AvailabilityRule.RuleStatus.ACTIVE)
+                    .toList();
+            this.availableOverrides = overrides.stream()
+                    .filter(o -> o.getOverrideStatus() == OverrideStatus.ACTIVE && o.isAvailable())
+                    .toList();
+            this.unavailableOverrides = overrides.stream()
+                    .filter(o -> o.getOverrideStatus() == OverrideStatus.ACTIVE && !o.isAvailable())
+                    .toList();
+        }
+
+        long version() {
+            return version;
+        }
+
+        List<AvailabilityRule> activeRules() {
+            return activeRules;
+        }
+
+        /**
+         * Weekly occupancy index of the ACTIVE rules, built on first use.
+         */
+        RuleOccupancyIndex activeRuleIndex() {
+            RuleOccupancyIndex index = activeRuleIndex;
+            if (index == null) {
+                index = RuleOccupancyIndex.of(activeRules);
+                activeRuleIndex = index;
+            }
+            return index;
+        }
+
+        int nonArchivedRuleCount() {
+            return rules.size();
+        }
+
+        int nonArchivedOverrideCount() {
+            return overrides.size();
+        }
+
+        List<AvailabilityRule> nonArchivedRules(Long excludeRuleId) {
+            return rules.stream()
+                    .filter(r -> excludeRuleId == null || !r.getId().equals(excludeRuleId))
+                    .toList();
+        }
+
+        /**
+         * ACTIVE rules whose period overlaps {@code [start, end)}.
+         */
+        List<AvailabilityRule> activeRulesOverlapping(Instant start, Instant end, Long excludeRuleId) {
+            return activeRules.stream()
+                    .filter(r -> r.getRuleStartInstant().isBefore(end) && r.getRuleEndInstant().isAfter(start))
+                    .filter(r -> excludeRuleId == null || !r.getId().equals(excludeRuleId))
+                    .toList();
+        }
+
+        List<AvailabilityOverride> activeOverridesOverlapping(Instant start, Instant end, Long excludeOverrideId) {
+            List<AvailabilityOverride> result = new ArrayList<>();
+            addOverlapping(availableOverrides, start, end, excludeOverrideId, result);
+            addOverlapping(unavailableOverrides, start, end, excludeOverrideId, result);
+            return result;
+        }
+
+        List<AvailabilityOverride> availableOverridesOverlapping(Instant start, Instant end) {
+            List<AvailabilityOverride> result = new ArrayList<>();
+            addOverlapping(availableOverrides, start, end, null, result);
+            return result;
+        }
+
+        List<AvailabilityOverride> unavailableOverridesOverlapping(Instant start, Instant end) {
+            List<AvailabilityOverride> result = new ArrayList<>();
+            addOverlapping(unavailableOverrides, start, end, null, result);
+            return result;
+        }
+
+        private static void addOverlapping(
+                List<AvailabilityOverride> overrides,
+                Instant start,
+                Instant end,
+                Long excludeOverrideId,
+                List<AvailabilityOverride> out) {
+            for (AvailabilityOverride override : overrides) {
+                if (override.getOverideStartInstant().isBefore(end)
+                        && override.getOverrideEndInstant().isAfter(start)
+                        && (excludeOverrideId == null || !override.getId().equals(excludeOverrideId))) {
+                    out.add(override);
+                }
+            }
+        }
+
+        AvailabilityRule findRule(Long id) {
+            return rules.stream().filter(r -> r.getId().equals(id)).findFirst().orElse(null);
+        }
+
+        AvailabilityOverride findOverride(Long id) {
+            return overrides.stream().filter(o -> o.getId().equals(id)).findFirst().orElse(null);
+        }
+
+        Snapshot withRule(Long ruleId, AvailabilityRule replacement, long newVersion) {
+            List<AvailabilityRule> newRules = new ArrayList<>(rules);
+            newRules.removeIf(r -> r.getId().equals(ruleId));
+            if (replacement != null) {
+                newRules.add(replacement);
+            }
+            return new Snapshot(newVersion, newRules, overrides);
+        }
+
+        Snapshot withOverride(Long overrideId, AvailabilityOverride replacement, long newVersion) {
+            List<AvailabilityOverride> newOverrides = new ArrayList<>(overrides);
+            newOverrides.removeIf(o -> o.getId().equals(overrideId));
+            if (replacement != null) {
+                newOverrides.add(replacement);
+            }
+            return new Snapshot(newVersion, rules, newOverrides);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes booking admission (validate, then write) per UTC day bucket instead of globally. Two bookings can
+ * only conflict if their time ranges overlap, and overlapping ranges always share a day, so writers on different
+ * days never wait for each other.
+ * <p>
+ * On PostgreSQL each bucket is a transaction-scoped advisory lock ({@code pg_advisory_xact_lock}), which holds
+ * across application nodes and is released by the commit itself. On other databases (H2 in tests) the buckets
+ * map onto a fixed set of in-process lock stripes, released after the transaction completes. Keys are always
+ * taken in ascending order, so transactions locking several buckets cannot deadlock.
+ */
+@Component
+@Slf4j
+public class BookingAdmissionLock {
+
+    static final int STRIPES = 64;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    // High word tags the keys as ours ("BK") so they cannot meet other users of the advisory lock space.
+    // Client keys sort before day keys: create() takes the client's key, then its days.
+    private static final long CLIENT_NAMESPACE = 0x424B0001L << 32;
+    private static final long DAY_NAMESPACE = 0x424B0002L << 32;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StripedLocks localLocks = new StripedLocks(STRIPES);
+    private volatile Boolean advisoryLocks;
+
+    public BookingAdmissionLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the days of {@code [start, end)} until the current transaction completes.
+     */
+    public void lockDays(Instant start, Instant end) {
+        acquire(keys(null, start, end, null, null));
+    }
+
+    /**
+     * Locks the days of both the new range and the range the booking is moving away from.
+     */
+    public void lockDays(Instant start, Instant end, Instant previousStart, Instant previousEnd) {
+        acquire(keys(null, start, end, previousStart, previousEnd));
+    }
+
+    /**
+     * Locks the client (guarding its pending-booking limit) and the days of {@code [start, end)}.
+     */
+    public void lockClientAndDays(UUID clientId, Instant start, Instant end) {
+        acquire(keys(clientId, start, end, null, null));
+    }
+
+    /**
+     * Sorted, distinct lock keys for an optional client and one or two time ranges.
+     */
+    static long[] keys(UUID clientId, Instant start, Instant end, Instant previousStart, Instant previousEnd) {
+        long first = firstDay(start);
+        long last = lastDay(start, end);
+        int count = (int) (last - first + 1) + (clientId != null ? 1 : 0);
+        long previousFirst = 0;
+        long previousLast = -1;
+        if (previousStart != null && previousEnd != null) {
+            previousFirst = firstDay(previousStart);
+            previousLast = lastDay(previousStart, previousEnd);
+            count += (int) (previousLast - previousFirst + 1);
+        }
+
+        long[] keys = new long[count];
+        int i = 0;
+        if (clientId != null) {
+            keys[i++] = CLIENT_NAMESPACE | (clientId.hashCode() & 0xFFFFFFFFL);
+        }
+        for (long day = first; day <= last; day++) {
+            keys[i++] = dayKey(day);
+        }
+        for (long day = previousFirst; day <= previousLast; day++) {
+            keys[i++] = dayKey(day);
+        }
+        Arrays.sort(keys);
+        return Arrays.stream(keys).distinct().toArray();
+    }
+
+    private void acquire(long[] keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking admission lock must be taken inside a transaction");
+        }
+        if (useAdvisoryLocks()) {
+            for (long key : keys) {
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (RowCallbackHandler) rs -> { }, key);
+            }
+            return;
+        }
+        int[] held = localLocks.lock(keys);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                localLocks.unlock(held);
+            }
+        });
+    }
+
+    private boolean useAdvisoryLocks() {
+        Boolean advisory = advisoryLocks;
+        if (advisory == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            advisory = "PostgreSQL".equalsIgnoreCase(product);
+            advisoryLocks = advisory;
+            log.info("Booking admission uses {} locks (database: {})",
+                    advisory ? "PostgreSQL advisory" : "in-process striped", product);
+        }
+        return advisory;
+    }
+
+    private static long firstDay(Instant start) {
+        return Math.floorDiv(start.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    private static long lastDay(Instant start, Instant end) {
+        // The end is exclusive: a range ending exactly at midnight does not touch the next day
+        long endSecond = end.getNano() > 0 ? end.getEpochSecond() : end.getEpochSecond() - 1;
+        return Math.max(firstDay(start), Math.floorDiv(endSecond, SECONDS_PER_DAY));
+    }
+
+    private static long dayKey(long epochDay) {
+        return DAY_NAMESPACE | (epochDay & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Fixed array of reentrant locks addressed by key hash. Stripes are locked in ascending index order, which
+     * keeps multi-key acquisition deadlock-free even when key order and stripe order differ.
+     */
+    static final class StripedLocks {
+
+        private final ReentrantLock[] locks;
+
+        StripedLocks(int stripes) {
+            locks = new ReentrantLock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+        }
+
+        int[] lock(long[] keys) {
+            int[] stripes = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                stripes[i] = stripe(keys[i]);
+            }
+            Arrays.sort(stripes);
+            stripes = Arrays.stream(stripes).distinct().toArray();
+            int locked = 0;
+            try {
+                for (int stripe : stripes) {
+                    locks[stripe].lockInterruptibly();
+                    locked++;
+                }
+            } catch (InterruptedException e) {
+                unlock(Arrays.copyOf(stripes, locked));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for booking admission lock", e);
+            }
+            return stripes;
+        }
+
+        void unlock(int[] stripes) {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+
+        int stripe(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) ((mixed >>> 32) % locks.length);
+        }
+    }
+}
@@ -13,11 +13,9 @@ import com.dmdr.personal.portal.core.email.EmailService;
 import com.dmdr.personal.portal.core.model.Currency;
 import com.dmdr.personal.portal.core.security.SystemRole;
 import com.dmdr.personal.portal.booking.model.Booking;
-import com.dmdr.personal.portal.booking.model.BookingSettings;
 import com.dmdr.personal.portal.booking.model.BookingStatus;
 import com.dmdr.personal.portal.booking.model.SessionType;
 import com.dmdr.personal.portal.booking.repository.BookingRepository;
-import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
 import com.dmdr.personal.portal.booking.repository.SessionTypeRepository;
 import com.dmdr.personal.portal.booking.service.AvailabilityService;
 import com.dmdr.personal.portal.booking.service.BookingService;
@@ -27,6 +25,7 @@ import com.dmdr.personal.portal.users.model.User;
 import com.dmdr.personal.portal.users.repository.UserRepository;
 import com.dmdr.personal.portal.users.service.UserSettingsService;
 
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
@@ -49,38 +48,45 @@ import org.springframework.transaction.support.TransactionTemplate;
 @Service
 @Slf4j
 public class BookingServiceImpl implements BookingService {
-    private final Object bookingLock = new Object();
-
     private final BookingRepository bookingRepository;
     private final SessionTypeRepository sessionTypeRepository;
     private final UserRepository userRepository;
-    private final BookingSettingsRepository bookingSettingsRepository;
+    private final BookingSettingsStore settingsStore;
     private final AvailabilityService availabilityService;
     private final EmailService emailService;
     private final com.dmdr.personal.portal.users.service.UserService userService;
     private final UserSettingsService userSettingsService;
     private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCalendar availabilityCalendar;
+    private final BookingAdmissionLock admissionLock;
+    private final EntityManager entityManager;
 
     public BookingServiceImpl(
             BookingRepository bookingRepository,
             SessionTypeRepository sessionTypeRepository,
             UserRepository userRepository,
-            BookingSettingsRepository bookingSettingsRepository,
+            BookingSettingsStore settingsStore,
             AvailabilityService availabilityService,
             EmailService emailService,
             com.dmdr.personal.portal.users.service.UserService userService,
             UserSettingsService userSettingsService,
-            PlatformTransactionManager transactionManager
+            PlatformTransactionManager transactionManager,
+            AvailabilityCalendar availabilityCalendar,
+            BookingAdmissionLock admissionLock,
+            EntityManager entityManager
     ) {
         this.bookingRepository = bookingRepository;
         this.sessionTypeRepository = sessionTypeRepository;
         this.userRepository = userRepository;
-        this.bookingSettingsRepository = bookingSettingsRepository;
+        this.settingsStore = settingsStore;
         this.availabilityService = availabilityService;
         this.emailService = emailService;
         this.userService = userService;
         this.userSettingsService = userSettingsService;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.availabilityCalendar = availabilityCalendar;
+        this.admissionLock = admissionLock;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -132,57 +138,57 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingResponse create(UUID userId, CreateBookingRequest request) {
-        // transactionTemplate.execute() opens a transaction, validates, writes, and COMMITS
-        // before releasing the lock — so the next thread entering the synchronized block will
-        // see the committed booking and validateBookingAvailability will correctly detect the
-        // conflict. With @Transactional on the outer method the commit happened after the lock
-        // was released, making the synchronized guard ineffective.
-        Booking saved;
-        synchronized (bookingLock) {
-            saved = transactionTemplate.execute(status -> {
-                User client = userRepository.findById(userId)
-                        .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-                BookingSettings settings = getBookingSettings();
-                long pendingBookingsCount = bookingRepository.countByClientIdAndStatus(userId, BookingStatus.PENDING_APPROVAL);
-                if (pendingBookingsCount >= settings.getMaxPendingBookings()) {
-                    throw new PersonalPortalRuntimeException(PortalErrorCode.BOOKING_PENDING_LIMIT_EXCEEDED);
-                }
-                SessionType sessionType = sessionTypeRepository.findById(request.getSessionTypeId())
-                        .orElseThrow(() -> new IllegalArgumentException("SessionType not found: " + request.getSessionTypeId()));
+        // The admission lock is taken inside the transaction and released by its commit, so the next
+        // booker of the same day sees the committed booking and validateBookingAvailability detects
+        // the conflict. The session type is read first because its duration decides which days to lock.
+        Booking saved = transactionTemplate.execute(status -> {
+            SessionType sessionType = sessionTypeRepository.findById(request.getSessionTypeId())
+                    .orElseThrow(() -> new IllegalArgumentException("SessionType not found: " + request.getSessionTypeId()));
+
+            if (!sessionType.isActive()) {
+                throw new IllegalArgumentException("Cannot create booking with inactive session type");
+            }
 
-                if (!sessionType.isActive()) {
-                    throw new IllegalArgumentException("Cannot create booking with inactive session type");
-                }
+            Instant endTime = request.getStartTimeInstant().plusSeconds(
+                    (sessionType.getDurationMinutes() + sessionType.getBufferMinutes()) * 60L
+            );
 
-                Instant endTime = request.getStartTimeInstant().plusSeconds(
-                        (sessionType.getDurationMinutes() + sessionType.getBufferMinutes()) * 60L
-                );
+            // The client key also guards the pending-bookings limit against parallel requests on other days
+            admissionLock.lockClientAndDays(userId, request.getStartTimeInstant(), endTime);
 
-                availabilityService.validateBookingAvailability(request.getStartTimeInstant(), endTime);
-
-                Booking entity = new Booking();
-                entity.setClient(client);
-                applyClientSnapshot(entity, client);
-                entity.setSessionName(sessionType.getName());
-                entity.setSessionDurationMinutes(sessionType.getDurationMinutes());
-                entity.setSessionBufferMinutes(sessionType.getBufferMinutes());
-                Currency userCurrency = userSettingsService.getUserCurrency(userId);
-                Map<String, BigDecimal> filteredPrices = filterPricesByCurrency(sessionType.getPrices(), userCurrency);
-                entity.setSessionPrices(filteredPrices);
-                entity.setSessionDescription(sessionType.getDescription());
-                entity.setStartTime(request.getStartTimeInstant());
-                entity.setEndTime(endTime);
-                entity.setStatus(BookingStatus.PENDING_APPROVAL);
-                entity.setClientMessage(request.getClientMessage());
-
-                return bookingRepository.saveAndFlush(entity);
-            });
-            if (saved == null) {
-                throw new IllegalStateException("Booking transaction returned null unexpectedly");
+            User client = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+            BookingSettingsStore.Snapshot settings = settingsStore.current();
+            long pendingBookingsCount = bookingRepository.countByClientIdAndStatus(userId, BookingStatus.PENDING_APPROVAL);
+            if (pendingBookingsCount >= settings.getMaxPendingBookings()) {
+                throw new PersonalPortalRuntimeException(PortalErrorCode.BOOKING_PENDING_LIMIT_EXCEEDED);
             }
+
+            availabilityService.validateBookingAvailability(request.getStartTimeInstant(), endTime);
+
+            Booking entity = new Booking();
+            entity.setClient(client);
+            applyClientSnapshot(entity, client);
+            entity.setSessionName(sessionType.getName());
+            entity.setSessionDurationMinutes(sessionType.getDurationMinutes());
+            entity.setSessionBufferMinutes(sessionType.getBufferMinutes());
+            Currency userCurrency = userSettingsService.getUserCurrency(userId);
+            Map<String, BigDecimal> filteredPrices = filterPricesByCurrency(sessionType.getPrices(), userCurrency);
+            entity.setSessionPrices(filteredPrices);
+            entity.setSessionDescription(sessionType.getDescription());
+            entity.setStartTime(request.getStartTimeInstant());
+            entity.setEndTime(endTime);
+            entity.setStatus(BookingStatus.PENDING_APPROVAL);
+            entity.setClientMessage(request.getClientMessage());
+
+            return bookingRepository.saveAndFlush(entity);
+        });
+        if (saved == null) {
+            throw new IllegalStateException("Booking transaction returned null unexpectedly");
         }
+        availabilityCalendar.onBookingSaved(saved);
 
-        // Reload for email sending — outside the lock so we don't hold it during I/O
+        // Reload for email sending — outside the transaction so the admission lock is not held during I/O
         User client = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
         SessionType sessionType = sessionTypeRepository.findById(request.getSessionTypeId())
@@ -258,31 +264,31 @@ public class BookingServiceImpl implements BookingService {
         );
         Booking saved = null;
 
-        synchronized (bookingLock) {
-            // Validate availability using admin validation (no rules/overrides check)
-            availabilityService.validateBookingAvailabilityForAdmin(request.getStartTimeInstant(), endTime);
-
-            // Create booking entity
-            Booking entity = new Booking();
-            entity.setClient(client);
-            applyClientSnapshot(entity, client);
-            // Copy session type data into booking (denormalization)
-            entity.setSessionName(sessionType.getName());
-            entity.setSessionDurationMinutes(sessionType.getDurationMinutes());
-            entity.setSessionBufferMinutes(sessionType.getBufferMinutes());
-            // Copy session type prices filtered by user's currency
-            Currency userCurrency = userSettingsService.getUserCurrency(request.getUserId());
-            Map<String, BigDecimal> filteredPrices = filterPricesByCurrency(sessionType.getPrices(), userCurrency);
-            entity.setSessionPrices(filteredPrices);
-            entity.setSessionDescription(sessionType.getDescription());
-            entity.setStartTime(request.getStartTimeInstant());
-            // Set endTime (includes duration + buffer for validation purposes)
-            entity.setEndTime(endTime);
-            entity.setStatus(BookingStatus.PENDING_APPROVAL);
-            entity.setClientMessage(request.getClientMessage());
-
-            saved = bookingRepository.save(entity);
-        }
+        admissionLock.lockDays(request.getStartTimeInstant(), endTime);
+        // Validate availability using admin validation (no rules/overrides check)
+        availabilityService.validateBookingAvailabilityForAdmin(request.getStartTimeInstant(), endTime);
+
+        // Create booking entity
+        Booking entity = new Booking();
+        entity.setClient(client);
+        applyClientSnapshot(entity, client);
+        // Copy session type data into booking (denormalization)
+        entity.setSessionName(sessionType.getName());
+        entity.setSessionDurationMinutes(sessionType.getDurationMinutes());
+        entity.setSessionBufferMinutes(sessionType.getBufferMinutes());
+        // Copy session type prices filtered by user's currency
+        Currency userCurrency = userSettingsService.getUserCurrency(request.getUserId());
+        Map<String, BigDecimal> filteredPrices = filterPricesByCurrency(sessionType.getPrices(), userCurrency);
+        entity.setSessionPrices(filteredPrices);
+        entity.setSessionDescription(sessionType.getDescription());
+        entity.setStartTime(request.getStartTimeInstant());
+        // Set endTime (includes duration + buffer for validation purposes)
+        entity.setEndTime(endTime);
+        entity.setStatus(BookingStatus.PENDING_APPROVAL);
+        entity.setClientMessage(request.getClientMessage());
+
+        saved = bookingRepository.save(entity);
+        availabilityCalendar.onBookingSaved(saved);
 
         return toAdminResponse(saved);
     }
@@ -292,6 +298,11 @@ public class BookingServiceImpl implements BookingService {
     public BookingResponse update(UUID userId, UpdateBookingRequest request) {
         Booking bookingToUpdate = bookingRepository.findById(request.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found: " + request.getId()));
+        // Recalculate endTime based on session duration + buffer (for validation)
+        Instant endTime = request.getStartTime().plusSeconds(
+                (bookingToUpdate.getSessionDurationMinutes() + bookingToUpdate.getSessionBufferMinutes()) * 60L
+        );
+        lockDaysAndReload(bookingToUpdate, request.getStartTime(), endTime);
         User client = bookingToUpdate.getClient();
         Instant oldStartTime = bookingToUpdate.getStartTime();
 
@@ -312,7 +323,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         // Validate booking updating interval
-        BookingSettings settings = getBookingSettings();
+        BookingSettingsStore.Snapshot settings = settingsStore.current();
         Duration timeUntilBooking = Duration.between(now, bookingToUpdate.getStartTime());
         long minutesUntilBooking = timeUntilBooking.toMinutes();
 
@@ -321,22 +332,17 @@ public class BookingServiceImpl implements BookingService {
                     "Booking can only be updated at least " + settings.getBookingUpdatingInterval() + " minutes before the start time");
         }
 
-        // Recalculate endTime based on session duration + buffer (for validation)
-        Instant endTime = request.getStartTime().plusSeconds(
-                (bookingToUpdate.getSessionDurationMinutes() + bookingToUpdate.getSessionBufferMinutes()) * 60L
-        );
         Booking saved = null;
-        synchronized (bookingLock) {
-            // Validate booking availability for the new time slot
-            availabilityService.validateBookingAvailabilityForUpdate(bookingToUpdate, request.getStartTime(), endTime);
+        // Validate booking availability for the new time slot
+        availabilityService.validateBookingAvailabilityForUpdate(bookingToUpdate, request.getStartTime(), endTime);
 
-            bookingToUpdate.setStartTime(request.getStartTime());
-            bookingToUpdate.setEndTime(endTime);
-            bookingToUpdate.setClientMessage(request.getClientMessage());
-            bookingToUpdate.setStatus(BookingStatus.PENDING_APPROVAL);
+        bookingToUpdate.setStartTime(request.getStartTime());
+        bookingToUpdate.setEndTime(endTime);
+        bookingToUpdate.setClientMessage(request.getClientMessage());
+        bookingToUpdate.setStatus(BookingStatus.PENDING_APPROVAL);
 
-            saved = bookingRepository.saveAndFlush(bookingToUpdate);
-        }
+        saved = bookingRepository.saveAndFlush(bookingToUpdate);
+        availabilityCalendar.onBookingSaved(saved);
 
         try {
             if (userSettingsService.isEmailNotificationEnabled(client.getId())) {
@@ -392,6 +398,12 @@ public class BookingServiceImpl implements BookingService {
     public AdminBookingResponse updateByAdmin(UpdateBookingAdminRequest request) {
         Booking bookingToUpdate = bookingRepository.findById(request.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found: " + request.getId()));
+        // Recalculate endTime based on session duration + buffer (for validation)
+        // Use denormalized session data from booking
+        Instant endTime = request.getStartTime().plusSeconds(
+                (bookingToUpdate.getSessionDurationMinutes() + bookingToUpdate.getSessionBufferMinutes()) * 60L
+        );
+        lockDaysAndReload(bookingToUpdate, request.getStartTime(), endTime);
         Instant oldStartTime = bookingToUpdate.getStartTime();
 
         // Validate booking status is CONFIRMED or PENDING_APPROVAL
@@ -405,29 +417,23 @@ public class BookingServiceImpl implements BookingService {
         User client = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + request.getUserId()));
 
-        // Recalculate endTime based on session duration + buffer (for validation)
-        // Use denormalized session data from booking
-        Instant endTime = request.getStartTime().plusSeconds(
-                (bookingToUpdate.getSessionDurationMinutes() + bookingToUpdate.getSessionBufferMinutes()) * 60L
-        );
         Booking saved = null;
-        synchronized (bookingLock) {
-            // Validate booking availability using admin validation (no rules/overrides check)
-            availabilityService.validateBookingAvailabilityForAdminForUpdate(
-                    bookingToUpdate, request.getStartTime(), endTime);
-
-            // Update booking entity
-            bookingToUpdate.setClient(client);
-            applyClientSnapshot(bookingToUpdate, client);
-            bookingToUpdate.setStartTime(request.getStartTime());
-            // Set endTime (includes duration only, buffer is for validation purposes)
-            Instant endTimeForEntity = request.getStartTime().plusSeconds(bookingToUpdate.getSessionDurationMinutes() * 60L);
-            bookingToUpdate.setEndTime(endTimeForEntity);
-            bookingToUpdate.setClientMessage(request.getClientMessage());
-            // Keep the existing status (CONFIRMED or PENDING_APPROVAL)
-
-            saved = bookingRepository.saveAndFlush(bookingToUpdate);
-        }
+        // Validate booking availability using admin validation (no rules/overrides check)
+        availabilityService.validateBookingAvailabilityForAdminForUpdate(
+                bookingToUpdate, request.getStartTime(), endTime);
+
+        // Update booking entity
+        bookingToUpdate.setClient(client);
+        applyClientSnapshot(bookingToUpdate, client);
+        bookingToUpdate.setStartTime(request.getStartTime());
+        // Set endTime (includes duration only, buffer is for validation purposes)
+        Instant endTimeForEntity = request.getStartTime().plusSeconds(bookingToUpdate.getSessionDurationMinutes() * 60L);
+        bookingToUpdate.setEndTime(endTimeForEntity);
+        bookingToUpdate.setClientMessage(request.getClientMessage());
+        // Keep the existing status (CONFIRMED or PENDING_APPROVAL)
+
+        saved = bookingRepository.saveAndFlush(bookingToUpdate);
+        availabilityCalendar.onBookingSaved(saved);
 
         try {
             if (userSettingsService.isEmailNotificationEnabled(client.getId())) {
@@ -449,6 +455,22 @@ public class BookingServiceImpl implements BookingService {
         return toAdminResponse(saved);
     }
 
+    /**
+     * Locks the days of the new range and of the range the booking occupies, then reloads the booking so that
+     * every check runs on its state as of the lock. The vacated days come from the read before the lock; if another
+     * move committed in between, the reloaded range differs and the update is refused instead of locking more days
+     * out of order.
+     */
+    private void lockDaysAndReload(Booking booking, Instant start, Instant end) {
+        Instant previousStart = booking.getStartTime();
+        Instant previousEnd = booking.getEndTime();
+        admissionLock.lockDays(start, end, previousStart, previousEnd);
+        entityManager.refresh(booking);
+        if (!booking.getStartTime().equals(previousStart) || !booking.getEndTime().equals(previousEnd)) {
+            throw new PersonalPortalRuntimeException(PortalErrorCode.BOOKING_CHANGED_CONCURRENTLY);
+        }
+    }
+
     @Override
     @Transactional
     public BookingResponse cancel(UUID userId, Long bookingId) {
@@ -480,6 +502,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking saved = bookingRepository.save(entity);
+        availabilityCalendar.onBookingSaved(saved);
 
         User client = saved.getClient();
         try {
@@ -591,6 +614,7 @@ public class BookingServiceImpl implements BookingService {
         // Update status
         booking.setStatus(newStatus);
         Booking saved = bookingRepository.save(booking);
+        availabilityCalendar.onBookingSaved(saved);
 
         // Send email notifications for CONFIRMED or DECLINED only if email notifications are enabled
         User client = booking.getClient();
@@ -654,10 +678,6 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private BookingSettings getBookingSettings() {
-        return bookingSettingsRepository.mustFindTopByOrderByIdAsc();
-    }
-
     private static Map<String, BigDecimal> filterPricesByCurrency(Map<String, BigDecimal> prices, Currency currency) {
         Map<String, BigDecimal> filtered = new java.util.HashMap<>();
         if (prices != null) {
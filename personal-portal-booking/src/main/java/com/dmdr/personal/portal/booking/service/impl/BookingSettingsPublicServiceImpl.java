@@ -1,25 +1,21 @@
 package com.dmdr.personal.portal.booking.service.impl;
 
 import com.dmdr.personal.portal.booking.dto.booking.BookingSettingsResponse;
-import com.dmdr.personal.portal.booking.model.BookingSettings;
-import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
 import com.dmdr.personal.portal.booking.service.BookingSettingsPublicService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class BookingSettingsPublicServiceImpl implements BookingSettingsPublicService {
 
-	private final BookingSettingsRepository bookingSettingsRepository;
+	private final BookingSettingsStore settingsStore;
 
-	public BookingSettingsPublicServiceImpl(BookingSettingsRepository bookingSettingsRepository) {
-		this.bookingSettingsRepository = bookingSettingsRepository;
+	public BookingSettingsPublicServiceImpl(BookingSettingsStore settingsStore) {
+		this.settingsStore = settingsStore;
 	}
 
 	@Override
-	@Transactional(readOnly = true)
 	public BookingSettingsResponse getIntervals() {
-		BookingSettings settings = bookingSettingsRepository.mustFindTopByOrderByIdAsc();
+		BookingSettingsStore.Snapshot settings = settingsStore.current();
 		BookingSettingsResponse response = new BookingSettingsResponse();
 		response.setBookingCancelationInterval(settings.getBookingCancelationInterval());
 		response.setBookingUpdatingInterval(settings.getBookingUpdatingInterval());
@@ -2,12 +2,8 @@ package com.dmdr.personal.portal.booking.service.impl;
 
 import com.dmdr.personal.portal.booking.dto.booking.AdminBookingSettingsResponse;
 import com.dmdr.personal.portal.booking.dto.booking.UpdateBookingSettingsRequest;
-import com.dmdr.personal.portal.booking.model.AvailabilityRule;
 import com.dmdr.personal.portal.booking.model.BookingSettings;
 import com.dmdr.personal.portal.core.model.TimezoneEntry;
-import com.dmdr.personal.portal.booking.model.OverrideStatus;
-import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
-import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
 import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
 import com.dmdr.personal.portal.booking.service.BookingSettingsService;
 import org.springframework.stereotype.Service;
@@ -17,23 +13,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class BookingSettingsServiceImpl implements BookingSettingsService {
 
     private final BookingSettingsRepository repository;
-    private final AvailabilityRuleRepository availabilityRuleRepository;
-    private final AvailabilityOverrideRepository availabilityOverrideRepository;
+    private final AvailabilityStore availabilityStore;
+    private final BookingSettingsStore settingsStore;
 
     public BookingSettingsServiceImpl(
             BookingSettingsRepository repository,
-            AvailabilityRuleRepository availabilityRuleRepository,
-            AvailabilityOverrideRepository availabilityOverrideRepository) {
+            AvailabilityStore availabilityStore,
+            BookingSettingsStore settingsStore) {
         this.repository = repository;
-        this.availabilityRuleRepository = availabilityRuleRepository;
-        this.availabilityOverrideRepository = availabilityOverrideRepository;
+        this.availabilityStore = availabilityStore;
+        this.settingsStore = settingsStore;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AdminBookingSettingsResponse getSettings() {
-        BookingSettings settings = repository.mustFindTopByOrderByIdAsc();
-        return toResponse(settings);
+        return toResponse(settingsStore.current());
     }
 
     @Override
@@ -59,10 +53,12 @@ public class BookingSettingsServiceImpl implements BookingSettingsService {
             settings.setDefaultUtcOffset(timezone.getGmtOffset());
         }
         BookingSettings saved = repository.save(settings);
-        return toResponse(saved);
+        BookingSettingsStore.Snapshot published = BookingSettingsStore.Snapshot.of(saved);
+        settingsStore.onSettingsSaved(saved);
+        return toResponse(published);
     }
 
-    private static AdminBookingSettingsResponse toResponse(BookingSettings settings) {
+    private static AdminBookingSettingsResponse toResponse(BookingSettingsStore.Snapshot settings) {
         AdminBookingSettingsResponse resp = new AdminBookingSettingsResponse();
         resp.setId(settings.getId());
         resp.setBookingSlotsInterval(settings.getBookingSlotsInterval());
@@ -77,9 +73,8 @@ public class BookingSettingsServiceImpl implements BookingSettingsService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public TimezoneEntry getDefaultTimezone() {
-        BookingSettings settings = repository.mustFindTopByOrderByIdAsc();
+        BookingSettingsStore.Snapshot settings = settingsStore.current();
 
         Integer timezoneId = settings.getDefaultTimezoneId();
         if (timezoneId == null) {
@@ -91,10 +86,9 @@ public class BookingSettingsServiceImpl implements BookingSettingsService {
     }
 
     private void validateNoNonArchivedRulesOrOverrides() {
-        long nonArchivedRulesCount = availabilityRuleRepository.countNonArchivedRules(
-                AvailabilityRule.RuleStatus.ARCHIVED);
-        long nonArchivedOverridesCount = availabilityOverrideRepository.countNonArchivedOverrides(
-                OverrideStatus.ARCHIVED);
+        AvailabilityStore.Snapshot definitions = availabilityStore.snapshot();
+        long nonArchivedRulesCount = definitions.nonArchivedRuleCount();
+        long nonArchivedOverridesCount = definitions.nonArchivedOverrideCount();
 
         if (nonArchivedRulesCount > 0 || nonArchivedOverridesCount > 0) {
             StringBuilder errorMessage = new StringBuilder(
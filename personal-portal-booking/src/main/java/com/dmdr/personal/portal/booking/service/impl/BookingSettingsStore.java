@@ -0,0 +1,144 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.BookingSettings;
+import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Process-wide copy of the singleton {@link BookingSettings} row.
+ * <p>
+ * Every availability validation, slot and days computation and booking write needs the settings, often several
+ * times per request. Readers get an immutable {@link Snapshot} instead of querying the database. The snapshot is
+ * loaded at startup by {@code BookingSettingsInitializer}, replaced after {@code updateSettings} commits, and
+ * re-read periodically to pick up changes made on other application nodes. Listeners hear about every change.
+ */
+@Component
+@Slf4j
+public class BookingSettingsStore {
+
+    private final BookingSettingsRepository repository;
+
+    private final Object mutationLock = new Object();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+
+    public BookingSettingsStore(BookingSettingsRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Current settings, loaded on first access if startup has not loaded them yet.
+     *
+     * @throws IllegalStateException if no BookingSettings exists
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Registers a callback invoked after the settings change, with the settings before and after.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Records a settings write. Applied after the current transaction commits.
+     */
+    public void onSettingsSaved(BookingSettings settings) {
+        Snapshot saved = Snapshot.of(settings);
+        TransactionHooks.afterCommit(() -> {
+            synchronized (mutationLock) {
+                mutationCount.incrementAndGet();
+                install(saved);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the settings row and publishes it if it differs from the current snapshot.
+     */
+    @Scheduled(
+            fixedDelayString = "${booking.settings.refresh-interval-ms:300000}",
+            initialDelayString = "${booking.settings.refresh-interval-ms:300000}")
+    public void refresh() {
+        long mutationsBeforeLoad = mutationCount.get();
+        Snapshot loaded = Snapshot.of(repository.mustFindTopByOrderByIdAsc());
+        synchronized (mutationLock) {
+            // A save committed while we were reading wins over what we loaded
+            if (mutationCount.get() != mutationsBeforeLoad && snapshot != null) {
+                return;
+            }
+            install(loaded);
+        }
+    }
+
+    private void install(Snapshot next) {
+        Snapshot previous = snapshot;
+        snapshot = next;
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        log.info("Booking settings {}: {}", previous == null ? "loaded" : "changed", next);
+        if (previous == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.onSettingsChanged(previous, next);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onSettingsChanged(Snapshot previous, Snapshot current);
+    }
+
+    /**
+     * Immutable copy of {@link BookingSettings}; getters keep the entity's names. All intervals are in minutes.
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static final class Snapshot {
+        private final Long id;
+        private final int bookingSlotsInterval;
+        private final int bookingFirstSlotInterval;
+        private final int bookingCancelationInterval;
+        private final int bookingUpdatingInterval;
+        private final int maxPendingBookings;
+        private final Integer defaultTimezoneId;
+        private final String defaultUtcOffset;
+        private final boolean roundBookingSuggestions;
+
+        private Snapshot(BookingSettings settings) {
+            this.id = settings.getId();
+            this.bookingSlotsInterval = settings.getBookingSlotsInterval();
+            this.bookingFirstSlotInterval = settings.getBookingFirstSlotInterval();
+            this.bookingCancelationInterval = settings.getBookingCancelationInterval();
+            this.bookingUpdatingInterval = settings.getBookingUpdatingInterval();
+            this.maxPendingBookings = settings.getMaxPendingBookings();
+            this.defaultTimezoneId = settings.getDefaultTimezoneId();
+            this.defaultUtcOffset = settings.getDefaultUtcOffset();
+            this.roundBookingSuggestions = settings.isRoundBookingSuggestions();
+        }
+
+        static Snapshot of(BookingSettings settings) {
+            return new Snapshot(settings);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.core.model.TimezoneEntry;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UTC offset of a client zone over one day, resolved once so slot rounding is plain arithmetic on epoch
+ * seconds. Zone rules come from {@link TimezoneEntry#zoneRules()}. Fixed-offset zones (every {@code TimezoneEntry})
+ * share one cached instance per zone; a region zone with an offset transition inside the day falls back to exact
+ * {@link LocalDateTime} rounding.
+ */
+final class DayOffsets {
+
+    private static final long QUARTER_HOUR_SECONDS = 15 * 60L;
+    // Rounding can step up to a quarter-hour past the day end; look a little further for transitions
+    private static final long TRANSITION_MARGIN_SECONDS = 60 * 60L;
+
+    private static final Map<ZoneId, DayOffsets> FIXED = new ConcurrentHashMap<>();
+
+    private final ZoneId zoneId;
+    private final int offsetSeconds;
+    private final boolean hasTransition;
+
+    private DayOffsets(ZoneId zoneId, int offsetSeconds, boolean hasTransition) {
+        this.zoneId = zoneId;
+        this.offsetSeconds = offsetSeconds;
+        this.hasTransition = hasTransition;
+    }
+
+    static DayOffsets forDay(TimezoneEntry timezone, long dayStartSecond, long dayEndSecond) {
+        return forDay(timezone.zoneId(), timezone.zoneRules(), dayStartSecond, dayEndSecond);
+    }
+
+    static DayOffsets forDay(ZoneId zoneId, ZoneRules rules, long dayStartSecond, long dayEndSecond) {
+        if (rules.isFixedOffset()) {
+            return FIXED.computeIfAbsent(zoneId,
+                    id -> new DayOffsets(id, rules.getOffset(Instant.EPOCH).getTotalSeconds(), false));
+        }
+        Instant dayStart = Instant.ofEpochSecond(dayStartSecond);
+        ZoneOffsetTransition next = rules.nextTransition(dayStart);
+        boolean hasTransition = next != null && next.toEpochSecond() <= dayEndSecond + TRANSITION_MARGIN_SECONDS;
+        return new DayOffsets(zoneId, rules.getOffset(dayStart).getTotalSeconds(), hasTransition);
+    }
+
+    /**
+     * Rounds up to the next quarter-hour of local time; values already on a quarter-hour are kept.
+     */
+    long roundUpToQuarterHour(long epochSecond) {
+        if (hasTransition) {
+            return roundAcrossTransition(epochSecond);
+        }
+        long remainder = Math.floorMod(epochSecond + offsetSeconds, QUARTER_HOUR_SECONDS);
+        return remainder == 0 ? epochSecond : epochSecond + (QUARTER_HOUR_SECONDS - remainder);
+    }
+
+    private long roundAcrossTransition(long epochSecond) {
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zoneId);
+        int minute = localDateTime.getMinute();
+        int mod = minute % 15;
+        int addMinutes = mod == 0 && localDateTime.getSecond() == 0 ? 0 : 15 - mod;
+        return localDateTime
+                .plusMinutes(addMinutes)
+                .withSecond(0)
+                .atZone(zoneId)
+                .toEpochSecond();
+    }
+}
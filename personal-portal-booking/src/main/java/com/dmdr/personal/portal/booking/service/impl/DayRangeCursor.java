@@ -0,0 +1,13 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import java.time.Instant;
+
+/**
+ * Yields the free ranges of consecutive client days during an available-days walk.
+ * Days are requested in ascending order, which lets an implementation sweep forward instead of querying per day.
+ */
+@FunctionalInterface
+interface DayRangeCursor {
+
+    IntervalSet rangesFor(Instant dayStart, Instant dayEnd);
+}
@@ -0,0 +1,301 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Immutable set of half-open {@code [start, end)} intervals in epoch seconds, stored as one sorted
+ * {@code long[]} of {@code start0, end0, start1, end1, ...}. Intervals are disjoint and never touch, so
+ * union, intersection and subtraction are single merge passes over both operands (O(n + m)).
+ * <p>
+ * Availability is converted to whole seconds conservatively: time that is offered shrinks inward
+ * ({@link #ceilSecond} start, {@link #floorSecond} end) and time that is taken away grows outward.
+ */
+final class IntervalSet {
+
+    static final IntervalSet EMPTY = new IntervalSet(new long[0], 0);
+
+    private final long[] bounds;
+    private final int size;
+
+    private IntervalSet(long[] bounds, int size) {
+        this.bounds = bounds;
+        this.size = size;
+    }
+
+    static IntervalSet of(long start, long end) {
+        return start < end ? new IntervalSet(new long[] {start, end}, 1) : EMPTY;
+    }
+
+    /**
+     * Everything from {@code start} onwards.
+     */
+    static IntervalSet from(long start) {
+        return of(start, Instant.MAX.getEpochSecond());
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static long floorSecond(Instant instant) {
+        return instant.getEpochSecond();
+    }
+
+    static long ceilSecond(Instant instant) {
+        return instant.getNano() == 0 ? instant.getEpochSecond() : instant.getEpochSecond() + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long start(int index) {
+        return bounds[2 * index];
+    }
+
+    long end(int index) {
+        return bounds[2 * index + 1];
+    }
+
+    /**
+     * True when {@code [start, end)} lies entirely inside a single interval of this set.
+     */
+    boolean contains(long start, long end) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (end(mid) <= start) {
+                low = mid + 1;
+            } else if (start(mid) > start) {
+                high = mid - 1;
+            } else {
+                return end <= end(mid);
+            }
+        }
+        return false;
+    }
+
+    IntervalSet union(IntervalSet other) {
+        if (other.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return other;
+        }
+        long[] out = new long[2 * (size + other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            long start;
+            long end;
+            if (j >= other.size || (i < size && start(i) <= other.start(j))) {
+                start = start(i);
+                end = end(i++);
+            } else {
+                start = other.start(j);
+                end = other.end(j++);
+            }
+            if (count > 0 && start <= out[2 * count - 1]) {
+                out[2 * count - 1] = Math.max(out[2 * count - 1], end);
+            } else {
+                out[2 * count] = start;
+                out[2 * count + 1] = end;
+                count++;
+            }
+        }
+        return new IntervalSet(out, count);
+    }
+
+    IntervalSet intersect(IntervalSet other) {
+        if (size == 0 || other.size == 0) {
+            return EMPTY;
+        }
+        long[] out = new long[2 * (size + other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            long start = Math.max(start(i), other.start(j));
+            long end = Math.min(end(i), other.end(j));
+            if (start < end) {
+                out[2 * count] = start;
+                out[2 * count + 1] = end;
+                count++;
+            }
+            if (end(i) < other.end(j)) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new IntervalSet(out, count);
+    }
+
+    IntervalSet subtract(IntervalSet other) {
+        if (size == 0 || other.size == 0) {
+            return this;
+        }
+        // Each subtracted interval splits at most one remaining piece, so n + m pieces is the upper bound
+        long[] out = new long[2 * (size + other.size)];
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long start = start(i);
+            long end = end(i);
+            while (j < other.size && other.end(j) <= start) {
+                j++;
+            }
+            int k = j;
+            while (k < other.size && other.start(k) < end) {
+                if (other.start(k) > start) {
+                    out[2 * count] = start;
+                    out[2 * count + 1] = other.start(k);
+                    count++;
+                }
+                start = Math.max(start, other.end(k));
+                if (start >= end) {
+                    break;
+                }
+                k++;
+            }
+            if (start < end) {
+                out[2 * count] = start;
+                out[2 * count + 1] = end;
+                count++;
+            }
+        }
+        return new IntervalSet(out, count);
+    }
+
+    /**
+     * Drops everything before {@code minimumStart}.
+     */
+    IntervalSet clipStart(long minimumStart) {
+        if (size == 0 || start(0) >= minimumStart) {
+            return this;
+        }
+        return intersect(from(minimumStart));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntervalSet other)) {
+            return false;
+        }
+        return Arrays.equals(bounds, 0, 2 * size, other.bounds, 0, 2 * other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < 2 * size; i++) {
+            result = 31 * result + Long.hashCode(bounds[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(Instant.ofEpochSecond(start(i))).append('/').append(Instant.ofEpochSecond(end(i)));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Collects intervals in any order; {@link #build()} sorts and coalesces them.
+     */
+    static final class Builder {
+        private long[] bounds = new long[8];
+        private int count;
+
+        Builder add(long start, long end) {
+            if (start >= end) {
+                return this;
+            }
+            if (2 * count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[2 * count] = start;
+            bounds[2 * count + 1] = end;
+            count++;
+            return this;
+        }
+
+        /**
+         * Adds time that is offered: a partial second at either end is not usable.
+         */
+        Builder addAvailable(Instant start, Instant end) {
+            return add(ceilSecond(start), floorSecond(end));
+        }
+
+        /**
+         * Adds time that is taken: a partial second at either end is blocked entirely.
+         */
+        Builder addBlocked(Instant start, Instant end) {
+            return add(floorSecond(start), ceilSecond(end));
+        }
+
+        IntervalSet build() {
+            if (count == 0) {
+                return EMPTY;
+            }
+            if (!isSorted()) {
+                sortPairs();
+            }
+            long[] out = new long[2 * count];
+            int merged = 0;
+            for (int i = 0; i < count; i++) {
+                long start = bounds[2 * i];
+                long end = bounds[2 * i + 1];
+                if (merged > 0 && start <= out[2 * merged - 1]) {
+                    out[2 * merged - 1] = Math.max(out[2 * merged - 1], end);
+                } else {
+                    out[2 * merged] = start;
+                    out[2 * merged + 1] = end;
+                    merged++;
+                }
+            }
+            return new IntervalSet(out, merged);
+        }
+
+        private boolean isSorted() {
+            for (int i = 1; i < count; i++) {
+                if (bounds[2 * i] < bounds[2 * (i - 1)]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void sortPairs() {
+            // Insertion sort on pairs: per-day inputs are short and usually almost sorted
+            for (int i = 1; i < count; i++) {
+                long start = bounds[2 * i];
+                long end = bounds[2 * i + 1];
+                int j = i - 1;
+                while (j >= 0 && bounds[2 * j] > start) {
+                    bounds[2 * (j + 1)] = bounds[2 * j];
+                    bounds[2 * (j + 1) + 1] = bounds[2 * j + 1];
+                    j--;
+                }
+                bounds[2 * (j + 1)] = start;
+                bounds[2 * (j + 1) + 1] = end;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.Booking;
+import com.dmdr.personal.portal.booking.model.BookingStatus;
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Availability engine that answers the available-days walk with one range lookup per source
+ * (available overrides, unavailable overrides, bookings) for the whole lookahead window, then sweeps the
+ * days in order with a moving set of intervals that overlap the current day.
+ * Everything else - validation and single-day suggestions - behaves exactly like {@link AvailabilityServiceImpl}.
+ * <p>
+ * Enabled with {@code booking.availability.engine=range-sweep}.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.availability.engine", havingValue = "range-sweep")
+public class RangeSweepAvailabilityService extends AvailabilityServiceImpl {
+
+    private static final List<BookingStatus> BLOCKING_STATUSES =
+            List.of(BookingStatus.PENDING_APPROVAL, BookingStatus.CONFIRMED);
+
+    private final BookingRepository bookingRepository;
+
+    public RangeSweepAvailabilityService(
+            AvailabilityStore store,
+            BookingSettingsStore settingsStore,
+            BookingRepository bookingRepository,
+            AvailabilityCalendar calendar) {
+        super(store, settingsStore, bookingRepository, calendar);
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    DayRangeCursor openDayRangeCursor(
+            AvailabilityStore.Snapshot definitions,
+            Instant windowStart,
+            Instant windowEnd,
+            Instant minimumStartTime,
+            Long excludeBookingId) {
+        List<AvailabilityOverride> windowUnavailableOverrides =
+                definitions.unavailableOverridesOverlapping(windowStart, windowEnd);
+        List<AvailabilityOverride> windowAvailableOverrides =
+                definitions.availableOverridesOverlapping(windowStart, windowEnd);
+        List<Booking> windowBookings = bookingRepository.findBookingsByStatusAndTimeRange(
+                        BLOCKING_STATUSES, windowStart, windowEnd).stream()
+                .filter(booking -> excludeBookingId == null || !booking.getId().equals(excludeBookingId))
+                .collect(Collectors.toList());
+
+        SweepLane<AvailabilityOverride> unavailable = new SweepLane<>(
+                windowUnavailableOverrides,
+                AvailabilityOverride::getOverideStartInstant,
+                AvailabilityOverride::getOverrideEndInstant);
+        SweepLane<AvailabilityOverride> available = new SweepLane<>(
+                windowAvailableOverrides,
+                AvailabilityOverride::getOverideStartInstant,
+                AvailabilityOverride::getOverrideEndInstant);
+        SweepLane<Booking> booked = new SweepLane<>(windowBookings, Booking::getStartTime, Booking::getEndTime);
+
+        long minimumStartSecond = IntervalSet.floorSecond(minimumStartTime);
+        return new DayRangeCursor() {
+            private Instant previousDayStart;
+
+            @Override
+            public IntervalSet rangesFor(Instant dayStart, Instant dayEnd) {
+                if (previousDayStart != null && dayStart.isBefore(previousDayStart)) {
+                    throw new IllegalStateException("Days must be requested in ascending order");
+                }
+                previousDayStart = dayStart;
+
+                List<AvailabilityRule> matchingRules = AvailabilityRanges.findMatchingRulesForDay(
+                        definitions.activeRules(), dayStart, dayEnd);
+                IntervalSet ranges = AvailabilityRanges.rulesAndOverridesRanges(
+                        matchingRules,
+                        unavailable.advance(dayStart, dayEnd),
+                        available.advance(dayStart, dayEnd),
+                        dayStart,
+                        dayEnd,
+                        minimumStartSecond);
+
+                IntervalSet.Builder bookedRanges = IntervalSet.builder();
+                for (Booking booking : booked.advance(dayStart, dayEnd)) {
+                    bookedRanges.addBlocked(booking.getStartTime(), booking.getEndTime());
+                }
+                return ranges.subtract(bookedRanges.build());
+            }
+        };
+    }
+
+    /**
+     * Intervals sorted by start, plus the subset that overlaps the current day. Each interval enters the
+     * active set once and leaves it once, so a full walk is linear in the number of intervals.
+     */
+    private static final class SweepLane<T> {
+        private final List<T> pending;
+        private final Function<T, Instant> startOf;
+        private final Function<T, Instant> endOf;
+        private final List<T> active = new ArrayList<>();
+        private int next;
+
+        private SweepLane(List<T> items, Function<T, Instant> startOf, Function<T, Instant> endOf) {
+            this.pending = items.stream()
+                    .sorted(Comparator.comparing(startOf))
+                    .collect(Collectors.toList());
+            this.startOf = startOf;
+            this.endOf = endOf;
+        }
+
+        /**
+         * Same overlap test as the repository queries: {@code start < dayEnd && end > dayStart}.
+         */
+        private List<T> advance(Instant dayStart, Instant dayEnd) {
+            while (next < pending.size() && startOf.apply(pending.get(next)).isBefore(dayEnd)) {
+                active.add(pending.get(next++));
+            }
+            Iterator<T> iterator = active.iterator();
+            while (iterator.hasNext()) {
+                if (!endOf.apply(iterator.next()).isAfter(dayStart)) {
+                    iterator.remove();
+                }
+            }
+            return active;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Weekly occupancy of a set of rules as 7 x 1440-bit bitmaps (one bit per weekday minute), kept per effective
+ * date segment. Segments are the intervals between consecutive rule period boundaries, so every rule either
+ * covers a whole segment or none of it, and a segment's bitmap is the OR of the rules covering it.
+ * <p>
+ * {@link #overlapCandidates} answers "which rules can overlap this weekly schedule in this period" with one
+ * AND per segment, then one AND per rule only for segments that hit. Minute bits are rounded outwards, so
+ * callers confirm candidates with the exact time comparison.
+ */
+final class RuleOccupancyIndex {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (7 * MINUTES_PER_DAY + 63) / 64;
+
+    private static final RuleOccupancyIndex EMPTY =
+            new RuleOccupancyIndex(List.of(), new Instant[0], new long[0][], new int[0][]);
+
+    private final List<Entry> entries;
+    // boundaries[i]..boundaries[i + 1] is segment i
+    private final Instant[] boundaries;
+    private final long[][] segmentBits;
+    private final int[][] segmentEntries;
+
+    private RuleOccupancyIndex(
+            List<Entry> entries, Instant[] boundaries, long[][] segmentBits, int[][] segmentEntries) {
+        this.entries = entries;
+        this.boundaries = boundaries;
+        this.segmentBits = segmentBits;
+        this.segmentEntries = segmentEntries;
+    }
+
+    static RuleOccupancyIndex of(List<AvailabilityRule> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        List<Entry> entries = new ArrayList<>(rules.size());
+        TreeSet<Instant> boundarySet = new TreeSet<>();
+        for (AvailabilityRule rule : rules) {
+            if (!rule.getRuleStartInstant().isBefore(rule.getRuleEndInstant())) {
+                continue;
+            }
+            long[] mask = mask(rule.getDaysOfWeekAsInt(), rule.getAvailableStartTime(), rule.getAvailableEndTime());
+            entries.add(new Entry(rule, mask));
+            boundarySet.add(rule.getRuleStartInstant());
+            boundarySet.add(rule.getRuleEndInstant());
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+
+        Instant[] boundaries = boundarySet.toArray(new Instant[0]);
+        int segments = boundaries.length - 1;
+        long[][] segmentBits = new long[segments][];
+        int[][] segmentEntries = new int[segments][];
+        int[] covering = new int[entries.size()];
+        for (int s = 0; s < segments; s++) {
+            long[] bits = new long[WORDS];
+            int count = 0;
+            for (int e = 0; e < entries.size(); e++) {
+                AvailabilityRule rule = entries.get(e).rule();
+                if (!rule.getRuleStartInstant().isAfter(boundaries[s])
+                        && !rule.getRuleEndInstant().isBefore(boundaries[s + 1])) {
+                    or(bits, entries.get(e).mask());
+                    covering[count++] = e;
+                }
+            }
+            segmentBits[s] = bits;
+            segmentEntries[s] = Arrays.copyOf(covering, count);
+        }
+        return new RuleOccupancyIndex(List.copyOf(entries), boundaries, segmentBits, segmentEntries);
+    }
+
+    /**
+     * Bitmap of the given weekdays (1 = Monday) between {@code start} and {@code end}, minute precision with
+     * the end rounded up. An end not after the start occupies nothing, as in the exact comparison.
+     */
+    static long[] mask(int[] daysOfWeek, LocalTime start, LocalTime end) {
+        long[] bits = new long[WORDS];
+        if (!start.isBefore(end)) {
+            return bits;
+        }
+        int fromMinute = start.getHour() * 60 + start.getMinute();
+        int toMinute = end.getHour() * 60 + end.getMinute()
+                + (end.getSecond() != 0 || end.getNano() != 0 ? 1 : 0);
+        for (int day : daysOfWeek) {
+            int dayOffset = (day - 1) * MINUTES_PER_DAY;
+            setRange(bits, dayOffset + fromMinute, dayOffset + toMinute);
+        }
+        return bits;
+    }
+
+    /**
+     * Rules whose period overlaps {@code [periodStart, periodEnd)} and whose weekly bitmap intersects
+     * {@code mask}, each at most once, in index order.
+     */
+    List<AvailabilityRule> overlapCandidates(Instant periodStart, Instant periodEnd, long[] mask) {
+        if (boundaries.length == 0) {
+            return List.of();
+        }
+        List<AvailabilityRule> result = new ArrayList<>();
+        boolean[] seen = new boolean[entries.size()];
+        for (int s = firstSegmentEndingAfter(periodStart);
+                s < segmentBits.length && boundaries[s].isBefore(periodEnd);
+                s++) {
+            if (!intersects(segmentBits[s], mask)) {
+                continue;
+            }
+            for (int e : segmentEntries[s]) {
+                if (!seen[e] && intersects(entries.get(e).mask(), mask)) {
+                    seen[e] = true;
+                    result.add(entries.get(e).rule());
+                }
+            }
+        }
+        return result;
+    }
+
+    private int firstSegmentEndingAfter(Instant instant) {
+        int low = 0;
+        int high = segmentBits.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaries[mid + 1].isAfter(instant)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        for (int bit = from; bit < to; ) {
+            int word = bit >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            int length = end - bit;
+            long wordMask = length == 64 ? -1L : ((1L << length) - 1) << (bit & 63);
+            bits[word] |= wordMask;
+            bit = end;
+        }
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < WORDS; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Entry(AvailabilityRule rule, long[] mask) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Walks free intervals in epoch seconds and emits slot start times into a caller-owned {@link Buffer}.
+ * Nothing is allocated per candidate; DTOs are built once from the buffer at the end of a request.
+ */
+final class SlotGenerator {
+
+    private final long durationSeconds;
+    private final long durationWithBufferSeconds;
+    private final long stepSeconds;
+    private final boolean roundToQuarterHour;
+    private final long skipStartSecond;
+
+    /**
+     * @param skipStartSecond a start to leave out (the booking being moved), or {@link Long#MIN_VALUE}
+     */
+    SlotGenerator(
+            int sessionDurationMin,
+            int sessionBufferTimeMin,
+            int slotIntervalMinutes,
+            boolean roundToQuarterHour,
+            long skipStartSecond) {
+        this.durationSeconds = sessionDurationMin * 60L;
+        this.durationWithBufferSeconds = (sessionDurationMin + sessionBufferTimeMin) * 60L;
+        this.stepSeconds = slotIntervalMinutes * 60L;
+        this.roundToQuarterHour = roundToQuarterHour;
+        this.skipStartSecond = skipStartSecond;
+    }
+
+    long durationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Appends every slot start that fits in {@code [rangeStart, rangeEnd)}, session plus buffer included.
+     */
+    void emit(long rangeStart, long rangeEnd, DayOffsets offsets, Buffer out) {
+        long currentStart = rangeStart;
+        while (true) {
+            currentStart = nextCandidate(currentStart, rangeEnd, offsets);
+            if (currentStart == Long.MAX_VALUE) {
+                return;
+            }
+            out.add(currentStart);
+            currentStart += stepSeconds;
+        }
+    }
+
+    /**
+     * Same walk as {@link #emit} but stops at the first slot.
+     */
+    boolean hasSlot(long rangeStart, long rangeEnd, DayOffsets offsets) {
+        return nextCandidate(rangeStart, rangeEnd, offsets) != Long.MAX_VALUE;
+    }
+
+    private long nextCandidate(long currentStart, long rangeEnd, DayOffsets offsets) {
+        while (true) {
+            if (roundToQuarterHour) {
+                currentStart = offsets.roundUpToQuarterHour(currentStart);
+            }
+            // Check if next slot start would exceed the range
+            if (currentStart >= rangeEnd) {
+                return Long.MAX_VALUE;
+            }
+            if (currentStart == skipStartSecond) {
+                // Skip current time from suggestion
+                currentStart += stepSeconds;
+                continue;
+            }
+            // Check if slot end exceeds the range end
+            if (currentStart + durationWithBufferSeconds > rangeEnd) {
+                return Long.MAX_VALUE;
+            }
+            return currentStart;
+        }
+    }
+
+    /**
+     * Growable {@code long[]} of slot starts, cleared and reused between requests on the same thread.
+     */
+    static final class Buffer {
+        private long[] starts = new long[64];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(long start) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+            starts[size++] = start;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] array() {
+            return starts;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.Booking;
+import com.dmdr.personal.portal.booking.model.BookingStatus;
+import com.dmdr.personal.portal.booking.model.OverrideStatus;
+import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
+import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AvailabilityCalendarTest {
+
+    private static final int TIMEZONE_ID = 16;
+    private static final ZoneId ZONE = ZoneId.of("+03:00");
+    private static final Instant NOW = Instant.parse("2030-03-04T00:00:00Z");
+    private static final LocalDate DAY = LocalDate.parse("2030-03-05");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    // Committed rows as the database would return them
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<AvailabilityOverride> overrides = new ArrayList<>();
+    private BookingRepository bookingRepository;
+    private AvailabilityStore store;
+    private AvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        AvailabilityRuleRepository ruleRepository = mock(AvailabilityRuleRepository.class);
+        AvailabilityOverrideRepository overrideRepository = mock(AvailabilityOverrideRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        when(ruleRepository.findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null))
+                .thenReturn(List.of(rule()));
+        when(overrideRepository.findByOverrideStatus(OverrideStatus.ACTIVE)).thenReturn(overrides);
+        when(bookingRepository.findBookingsByStatusAndTimeRange(anyList(), any(), any()))
+                .thenAnswer(inv -> committed(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+
+        store = new AvailabilityStore(ruleRepository, overrideRepository);
+        BookingSettingsStore settingsStore = new BookingSettingsStore(mock(BookingSettingsRepository.class));
+        calendar = new AvailabilityCalendar(store, settingsStore, bookingRepository, true, clock);
+    }
+
+    @Test
+    void shouldSubtractBlockingBookingsAndHonourExcludedBooking() {
+        bookings.add(booking(1L, DAY, 10, 11, BookingStatus.CONFIRMED));
+        bookings.add(booking(2L, DAY, 15, 16, BookingStatus.PENDING_APPROVAL));
+
+        assertEquals(hours(DAY, 9, 10, 11, 15, 16, 17), free(DAY, null));
+        assertEquals(hours(DAY, 9, 15, 16, 17), free(DAY, 1L));
+        assertEquals(hours(DAY, 9, 10, 11, 15, 16, 17), free(DAY, 99L));
+        // Excluding a booking must not change what other callers see
+        assertEquals(hours(DAY, 9, 10, 11, 15, 16, 17), free(DAY, null));
+    }
+
+    @Test
+    void shouldClipToMinimumStartOnRead() {
+        IntervalSet ranges = calendar.freeRanges(ZONE, DAY, at(DAY, 12), null);
+
+        assertEquals(hours(DAY, 12, 17), ranges);
+    }
+
+    @Test
+    void shouldDiscardSnapshotLoadedWhileBookingWasCommitted() {
+        AtomicInteger loads = new AtomicInteger();
+        when(bookingRepository.findBookingsByStatusAndTimeRange(anyList(), any(), any())).thenAnswer(inv -> {
+            List<Booking> read = committed(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            if (loads.incrementAndGet() == 1) {
+                // Another request commits a booking after this load has read the table
+                Booking late = booking(2L, DAY, 13, 14, BookingStatus.CONFIRMED);
+                bookings.add(late);
+                calendar.onBookingSaved(late);
+            }
+            return read;
+        });
+
+        // The racing load is still served to its own caller...
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        // ...but not kept: the next read loads again and sees the booking
+        assertEquals(hours(DAY, 9, 13, 14, 17), free(DAY, null));
+        assertEquals(hours(DAY, 9, 13, 14, 17), free(DAY, null));
+        verify(bookingRepository, times(2)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+    }
+
+    @Test
+    void shouldApplyBookingOnlyAfterCommit() {
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        Booking booking = booking(1L, DAY, 10, 11, BookingStatus.CONFIRMED);
+
+        new TransactionTemplate(new InMemoryTransactionManager()).executeWithoutResult(status -> {
+            bookings.add(booking);
+            calendar.onBookingSaved(booking);
+            assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        });
+
+        assertEquals(hours(DAY, 9, 10, 11, 17), free(DAY, null));
+        verify(bookingRepository, times(1)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+    }
+
+    @Test
+    void shouldIgnoreBookingSavedInRolledBackTransaction() {
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+
+        new TransactionTemplate(new InMemoryTransactionManager()).executeWithoutResult(status -> {
+            calendar.onBookingSaved(booking(1L, DAY, 10, 11, BookingStatus.CONFIRMED));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        verify(bookingRepository, times(1)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+    }
+
+    @Test
+    void shouldRecomputeBothDaysWhenBookingMovesAndFreeCancelledBooking() {
+        LocalDate nextDay = DAY.plusDays(1);
+        bookings.add(booking(1L, DAY, 10, 11, BookingStatus.CONFIRMED));
+        assertEquals(hours(DAY, 9, 10, 11, 17), free(DAY, null));
+        assertEquals(hours(nextDay, 9, 17), free(nextDay, null));
+
+        calendar.onBookingSaved(booking(1L, nextDay, 12, 13, BookingStatus.CONFIRMED));
+
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        assertEquals(hours(nextDay, 9, 12, 13, 17), free(nextDay, null));
+
+        calendar.onBookingSaved(booking(1L, nextDay, 12, 13, BookingStatus.CANCELLED));
+
+        assertEquals(hours(nextDay, 9, 17), free(nextDay, null));
+        verify(bookingRepository, times(1)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+    }
+
+    @Test
+    void shouldRecomputeDaysTouchedByOverrideChange() {
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+
+        store.onOverrideSaved(override(DAY, 12, 14));
+
+        assertEquals(hours(DAY, 9, 12, 14, 17), free(DAY, null));
+        verify(bookingRepository, times(1)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+    }
+
+    @Test
+    void shouldRollWindowForwardAndLoadBookingsThatEnteredIt() {
+        LocalDate farDay = LocalDate.parse("2031-03-10");
+        bookings.add(booking(1L, farDay, 10, 11, BookingStatus.CONFIRMED));
+        assertTrue(covers(DAY));
+        assertFalse(covers(farDay));
+
+        // Less than the two days of slack: the loaded window is kept
+        clock.advance(Duration.ofDays(1));
+        assertFalse(covers(farDay));
+        verify(bookingRepository, times(1)).findBookingsByStatusAndTimeRange(anyList(), any(), any());
+
+        clock.advance(Duration.ofDays(2));
+
+        assertTrue(covers(farDay));
+        assertFalse(covers(DAY));
+        assertEquals(hours(farDay, 9, 10, 11, 17), free(farDay, null));
+        verify(bookingRepository).findBookingsByStatusAndTimeRange(
+                anyList(),
+                org.mockito.ArgumentMatchers.eq(NOW.plus(Duration.ofDays(3 - AvailabilityCalendar.WINDOW_PAST_DAYS))),
+                org.mockito.ArgumentMatchers.eq(NOW.plus(Duration.ofDays(3 + AvailabilityCalendar.WINDOW_FUTURE_DAYS))));
+    }
+
+    @Test
+    void invalidate_shouldReloadWritesThisNodeDidNotSee() throws NoSuchMethodException {
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+        // Committed by another application node: no onBookingSaved here
+        bookings.add(booking(1L, DAY, 10, 11, BookingStatus.CONFIRMED));
+        assertEquals(hours(DAY, 9, 17), free(DAY, null));
+
+        calendar.invalidate();
+
+        assertEquals(hours(DAY, 9, 10, 11, 17), free(DAY, null));
+        Scheduled scheduled = AvailabilityCalendar.class.getMethod("invalidate").getAnnotation(Scheduled.class);
+        assertEquals("${booking.availability.calendar.refresh-interval-ms:900000}", scheduled.fixedDelayString());
+    }
+
+    private IntervalSet free(LocalDate date, Long excludeBookingId) {
+        return calendar.freeRanges(ZONE, date, Instant.EPOCH, excludeBookingId);
+    }
+
+    private boolean covers(LocalDate date) {
+        return calendar.covers(
+                date.atStartOfDay(ZONE).toInstant(),
+                date.atTime(23, 59, 59, 999_999_999).atZone(ZONE).toInstant());
+    }
+
+    private List<Booking> committed(Collection<BookingStatus> statuses, Instant from, Instant to) {
+        return bookings.stream()
+                .filter(b -> statuses.contains(b.getStatus()))
+                .filter(b -> b.getStartTime().isBefore(to) && b.getEndTime().isAfter(from))
+                .toList();
+    }
+
+    /**
+     * Free ranges of one client day from consecutive start/end hours.
+     */
+    private static IntervalSet hours(LocalDate date, int... bounds) {
+        IntervalSet.Builder builder = IntervalSet.builder();
+        for (int i = 0; i < bounds.length; i += 2) {
+            builder.add(at(date, bounds[i]).getEpochSecond(), at(date, bounds[i + 1]).getEpochSecond());
+        }
+        return builder.build();
+    }
+
+    private static Instant at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).atZone(ZONE).toInstant();
+    }
+
+    private static AvailabilityRule rule() {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId(1L);
+        rule.setDaysOfWeekAsInt(new int[] {1, 2, 3, 4, 5, 6, 7});
+        rule.setAvailableStartTime(LocalTime.of(9, 0));
+        rule.setAvailableEndTime(LocalTime.of(17, 0));
+        rule.setRuleStartInstant(NOW.minus(Duration.ofDays(10)));
+        rule.setRuleEndInstant(NOW.plus(Duration.ofDays(400)));
+        rule.setTimezoneId(TIMEZONE_ID);
+        rule.setRuleStatus(AvailabilityRule.RuleStatus.ACTIVE);
+        return rule;
+    }
+
+    private static AvailabilityOverride override(LocalDate date, int fromHour, int toHour) {
+        AvailabilityOverride override = new AvailabilityOverride();
+        override.setId(10L);
+        override.setAvailable(false);
+        override.setOverideStartInstant(at(date, fromHour));
+        override.setOverrideEndInstant(at(date, toHour));
+        override.setTimezoneId(TIMEZONE_ID);
+        override.setOverrideStatus(OverrideStatus.ACTIVE);
+        return override;
+    }
+
+    private static Booking booking(Long id, LocalDate date, int fromHour, int toHour, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStartTime(at(date, fromHour));
+        booking.setEndTime(at(date, toHour));
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    /**
+     * Runs transaction synchronizations like a real transaction manager, without a database.
+     */
+    private static final class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
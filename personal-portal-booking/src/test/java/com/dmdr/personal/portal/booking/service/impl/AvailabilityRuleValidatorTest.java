@@ -0,0 +1,87 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.OverrideStatus;
+import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
+import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
+import com.dmdr.personal.portal.core.model.TimezoneEntry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AvailabilityRuleValidatorTest {
+
+    private static final Instant ORIGIN = Instant.parse("2030-01-01T00:00:00Z");
+    private static final TimezoneEntry TIMEZONE = TimezoneEntry.getById(16);
+
+    private AvailabilityRuleValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        AvailabilityRuleRepository ruleRepository = mock(AvailabilityRuleRepository.class);
+        AvailabilityOverrideRepository overrideRepository = mock(AvailabilityOverrideRepository.class);
+        when(ruleRepository.findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null)).thenReturn(List.of(
+                rule(7L, AvailabilityRule.RuleStatus.ACTIVE, new int[] {1, 2}, 9, 12, 0, 90)));
+        when(overrideRepository.findByOverrideStatus(OverrideStatus.ACTIVE)).thenReturn(List.of());
+        validator = new AvailabilityRuleValidator(new AvailabilityStore(ruleRepository, overrideRepository));
+    }
+
+    @Test
+    void shouldAcceptSeasonThatOnlyTouchesExistingRule() {
+        List<AvailabilityRule> season = List.of(
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {1, 2}, 12, 18, 0, 90),
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {3, 4, 5}, 9, 18, 0, 90),
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {1, 2}, 9, 12, 90, 180));
+
+        assertDoesNotThrow(() -> validator.validateOverlappingRules(season, TIMEZONE));
+    }
+
+    @Test
+    void shouldRejectBatchRuleOverlappingExistingRule() {
+        List<AvailabilityRule> season = List.of(
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {3}, 9, 18, 0, 90),
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {2}, 11, 13, 30, 60));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> validator.validateOverlappingRules(season, TIMEZONE));
+
+        assertTrue(error.getMessage().contains("rule #2"), error.getMessage());
+        assertTrue(error.getMessage().contains("ID: 7"), error.getMessage());
+    }
+
+    @Test
+    void shouldRejectOverlapInsideBatchButIgnoreInactiveRules() {
+        List<AvailabilityRule> season = List.of(
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {6}, 10, 14, 0, 90),
+                rule(null, AvailabilityRule.RuleStatus.INACTIVE, new int[] {6}, 10, 14, 0, 90),
+                rule(null, AvailabilityRule.RuleStatus.ACTIVE, new int[] {6, 7}, 13, 15, 60, 120));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> validator.validateOverlappingRules(season, TIMEZONE));
+
+        assertTrue(error.getMessage().contains("rule #1: it overlaps with rule #3"), error.getMessage());
+    }
+
+    private static AvailabilityRule rule(
+            Long id, AvailabilityRule.RuleStatus status, int[] days, int fromHour, int toHour, int fromDay, int toDay) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId(id);
+        rule.setDaysOfWeekAsInt(days);
+        rule.setAvailableStartTime(LocalTime.of(fromHour, 0));
+        rule.setAvailableEndTime(LocalTime.of(toHour, 0));
+        rule.setRuleStartInstant(ORIGIN.plus(Duration.ofDays(fromDay)));
+        rule.setRuleEndInstant(ORIGIN.plus(Duration.ofDays(toDay)));
+        rule.setTimezoneId(TIMEZONE.getId());
+        rule.setRuleStatus(status);
+        return rule;
+    }
+}
@@ -0,0 +1,142 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.OverrideStatus;
+import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
+import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AvailabilityStoreTest {
+
+    private static final Instant START = Instant.parse("2030-03-01T00:00:00Z");
+
+    private AvailabilityRuleRepository ruleRepository;
+    private AvailabilityOverrideRepository overrideRepository;
+    private AvailabilityStore store;
+    private final List<Instant[]> notifications = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository = mock(AvailabilityRuleRepository.class);
+        overrideRepository = mock(AvailabilityOverrideRepository.class);
+        when(ruleRepository.findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null))
+                .thenReturn(List.of(rule(1L, AvailabilityRule.RuleStatus.ACTIVE, 0, 30)));
+        when(overrideRepository.findByOverrideStatus(OverrideStatus.ACTIVE))
+                .thenReturn(List.of(override(10L, false, 5)));
+        store = new AvailabilityStore(ruleRepository, overrideRepository);
+        store.addListener((current, affectedStart, affectedEnd) ->
+                notifications.add(new Instant[] {affectedStart, affectedEnd}));
+    }
+
+    @Test
+    void shouldServeLoadedSnapshotWithoutRequerying() {
+        AvailabilityStore.Snapshot first = store.snapshot();
+        AvailabilityStore.Snapshot second = store.snapshot();
+
+        assertSame(first, second);
+        assertEquals(1, first.activeRules().size());
+        assertEquals(1, first.unavailableOverridesOverlapping(START, START.plus(Duration.ofDays(10))).size());
+        verify(ruleRepository, times(1)).findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null);
+    }
+
+    @Test
+    void shouldSwapNewVersionOnRuleWriteAndReportAffectedPeriod() {
+        AvailabilityStore.Snapshot before = store.snapshot();
+
+        store.onRuleSaved(rule(2L, AvailabilityRule.RuleStatus.INACTIVE, 40, 50));
+        AvailabilityStore.Snapshot afterInactive = store.snapshot();
+        store.onRuleSaved(rule(1L, AvailabilityRule.RuleStatus.ARCHIVED, 0, 30));
+        AvailabilityStore.Snapshot afterArchive = store.snapshot();
+
+        assertNotSame(before, afterInactive);
+        assertTrue(afterInactive.version() > before.version());
+        assertTrue(afterArchive.version() > afterInactive.version());
+        assertEquals(2, afterInactive.nonArchivedRuleCount());
+        assertEquals(1, afterInactive.activeRules().size());
+        assertEquals(List.of(2L), afterArchive.nonArchivedRules(null).stream().map(AvailabilityRule::getId).toList());
+        assertTrue(afterArchive.activeRules().isEmpty());
+        // Earlier snapshots are never modified
+        assertEquals(1, before.nonArchivedRuleCount());
+
+        assertEquals(2, notifications.size());
+        // Rule periods are widened by a day on both sides
+        assertEquals(START.plus(Duration.ofDays(39)), notifications.get(0)[0]);
+        assertEquals(START.plus(Duration.ofDays(51)), notifications.get(0)[1]);
+        assertEquals(START.minus(Duration.ofDays(1)), notifications.get(1)[0]);
+    }
+
+    @Test
+    void shouldCoverPreviousAndNewPeriodOnOverrideMove() {
+        store.snapshot();
+
+        store.onOverrideSaved(override(10L, true, 20));
+
+        AvailabilityStore.Snapshot after = store.snapshot();
+        assertTrue(after.unavailableOverridesOverlapping(START, START.plus(Duration.ofDays(30))).isEmpty());
+        assertEquals(1, after.availableOverridesOverlapping(START, START.plus(Duration.ofDays(30))).size());
+        assertEquals(START.plus(Duration.ofDays(5)), notifications.get(0)[0]);
+        assertEquals(START.plus(Duration.ofDays(20)).plus(Duration.ofHours(2)), notifications.get(0)[1]);
+    }
+
+    @Test
+    void shouldIgnoreDeleteOfUnknownEntity() {
+        AvailabilityStore.Snapshot before = store.snapshot();
+
+        store.onOverrideDeleted(99L);
+
+        assertSame(before, store.snapshot());
+        assertTrue(notifications.isEmpty());
+    }
+
+    @Test
+    void shouldReloadAfterInvalidate() {
+        AvailabilityStore.Snapshot before = store.snapshot();
+
+        store.invalidate();
+
+        assertNull(notifications.get(0)[0]);
+        assertNotSame(before, store.snapshot());
+        verify(ruleRepository, times(2)).findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null);
+    }
+
+    private static AvailabilityRule rule(Long id, AvailabilityRule.RuleStatus status, int fromDay, int toDay) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId(id);
+        rule.setDaysOfWeekAsInt(new int[] {1, 2, 3, 4, 5});
+        rule.setAvailableStartTime(LocalTime.of(9, 0));
+        rule.setAvailableEndTime(LocalTime.of(17, 0));
+        rule.setRuleStartInstant(START.plus(Duration.ofDays(fromDay)));
+        rule.setRuleEndInstant(START.plus(Duration.ofDays(toDay)));
+        rule.setTimezoneId(16);
+        rule.setRuleStatus(status);
+        return rule;
+    }
+
+    private static AvailabilityOverride override(Long id, boolean available, int day) {
+        AvailabilityOverride override = new AvailabilityOverride();
+        override.setId(id);
+        override.setAvailable(available);
+        override.setOverideStartInstant(START.plus(Duration.ofDays(day)));
+        override.setOverrideEndInstant(START.plus(Duration.ofDays(day)).plus(Duration.ofHours(2)));
+        override.setTimezoneId(16);
+        override.setOverrideStatus(OverrideStatus.ACTIVE);
+        return override;
+    }
+}
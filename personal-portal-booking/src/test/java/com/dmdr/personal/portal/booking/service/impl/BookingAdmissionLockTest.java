@@ -0,0 +1,91 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BookingAdmissionLockTest {
+
+    private static final Instant MIDNIGHT = Instant.parse("2030-03-14T00:00:00Z");
+
+    @Test
+    void shouldLockOnlyTheDaysTheRangeTouches() {
+        long[] sameDay = BookingAdmissionLock.keys(null, MIDNIGHT.plus(Duration.ofHours(9)),
+                MIDNIGHT.plus(Duration.ofHours(10)), null, null);
+        long[] endsAtMidnight = BookingAdmissionLock.keys(null, MIDNIGHT.plus(Duration.ofHours(23)),
+                MIDNIGHT.plus(Duration.ofHours(24)), null, null);
+        long[] crossesMidnight = BookingAdmissionLock.keys(null, MIDNIGHT.plus(Duration.ofHours(23)),
+                MIDNIGHT.plus(Duration.ofHours(25)), null, null);
+
+        assertEquals(1, sameDay.length);
+        // The end is exclusive, so a range ending at midnight stays on its own day
+        assertArrayEquals(sameDay, endsAtMidnight);
+        assertEquals(2, crossesMidnight.length);
+        assertEquals(sameDay[0], crossesMidnight[0]);
+    }
+
+    @Test
+    void shouldMergePreviousRangeAndPutClientKeyFirst() {
+        UUID clientId = UUID.randomUUID();
+        Instant start = MIDNIGHT.plus(Duration.ofHours(9));
+        long[] moved = BookingAdmissionLock.keys(null, start.plus(Duration.ofDays(2)),
+                start.plus(Duration.ofDays(2)).plus(Duration.ofHours(1)), start, start.plus(Duration.ofHours(1)));
+        long[] movedWithinDay = BookingAdmissionLock.keys(null, start.plus(Duration.ofHours(3)),
+                start.plus(Duration.ofHours(4)), start, start.plus(Duration.ofHours(1)));
+        long[] withClient = BookingAdmissionLock.keys(clientId, start, start.plus(Duration.ofHours(1)), null, null);
+
+        assertEquals(2, moved.length);
+        assertTrue(moved[0] < moved[1]);
+        assertEquals(1, movedWithinDay.length);
+        assertEquals(2, withClient.length);
+        assertEquals(movedWithinDay[0], withClient[1]);
+    }
+
+    @Test
+    void shouldBlockSameDayButLetOtherDaysThrough() throws Exception {
+        BookingAdmissionLock.StripedLocks locks = new BookingAdmissionLock.StripedLocks(BookingAdmissionLock.STRIPES);
+        long[] today = BookingAdmissionLock.keys(null, MIDNIGHT, MIDNIGHT.plus(Duration.ofHours(1)), null, null);
+        long[] tomorrow = findKeysOnAnotherStripe(locks, today[0]);
+
+        int[] held = locks.lock(today);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch sameDayAcquired = new CountDownLatch(1);
+            Future<?> sameDay = executor.submit(() -> {
+                locks.unlock(locks.lock(today));
+                sameDayAcquired.countDown();
+            });
+            assertFalse(sameDayAcquired.await(100, TimeUnit.MILLISECONDS));
+
+            locks.unlock(held);
+            sameDay.get(5, TimeUnit.SECONDS);
+
+            held = locks.lock(today);
+            executor.submit(() -> locks.unlock(locks.lock(tomorrow))).get(5, TimeUnit.SECONDS);
+        } finally {
+            locks.unlock(held);
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] findKeysOnAnotherStripe(BookingAdmissionLock.StripedLocks locks, long takenKey) {
+        for (int day = 1; ; day++) {
+            Instant start = MIDNIGHT.plus(Duration.ofDays(day));
+            long[] keys = BookingAdmissionLock.keys(null, start, start.plus(Duration.ofHours(1)), null, null);
+            if (locks.stripe(keys[0]) != locks.stripe(takenKey)) {
+                return keys;
+            }
+        }
+    }
+}
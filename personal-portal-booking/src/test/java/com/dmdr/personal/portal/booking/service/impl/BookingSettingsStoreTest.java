@@ -0,0 +1,80 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.booking.model.BookingSettings;
+import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookingSettingsStoreTest {
+
+    private BookingSettingsRepository repository;
+    private BookingSettingsStore store;
+    private final List<BookingSettingsStore.Snapshot[]> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookingSettingsRepository.class);
+        when(repository.mustFindTopByOrderByIdAsc()).thenReturn(settings(60));
+        store = new BookingSettingsStore(repository);
+        store.addListener((previous, current) -> changes.add(new BookingSettingsStore.Snapshot[] {previous, current}));
+    }
+
+    @Test
+    void shouldServeLoadedSettingsWithoutRequerying() {
+        BookingSettingsStore.Snapshot first = store.current();
+        BookingSettingsStore.Snapshot second = store.current();
+
+        assertSame(first, second);
+        assertEquals(60, first.getBookingSlotsInterval());
+        verify(repository, times(1)).mustFindTopByOrderByIdAsc();
+        // The initial load is not a change
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void shouldPublishSavedSettingsToListeners() {
+        BookingSettingsStore.Snapshot before = store.current();
+
+        store.onSettingsSaved(settings(30));
+
+        assertEquals(30, store.current().getBookingSlotsInterval());
+        assertEquals(1, changes.size());
+        assertSame(before, changes.get(0)[0]);
+        assertSame(store.current(), changes.get(0)[1]);
+    }
+
+    @Test
+    void shouldNotifyOnRefreshOnlyWhenTheRowChanged() {
+        store.current();
+
+        store.refresh();
+        when(repository.mustFindTopByOrderByIdAsc()).thenReturn(settings(15));
+        store.refresh();
+
+        assertEquals(1, changes.size());
+        assertEquals(15, changes.get(0)[1].getBookingSlotsInterval());
+    }
+
+    private static BookingSettings settings(int slotsInterval) {
+        BookingSettings settings = new BookingSettings();
+        settings.setId(1L);
+        settings.setBookingSlotsInterval(slotsInterval);
+        settings.setBookingFirstSlotInterval(120);
+        settings.setBookingCancelationInterval(60);
+        settings.setBookingUpdatingInterval(60);
+        settings.setMaxPendingBookings(3);
+        settings.setDefaultTimezoneId(16);
+        settings.setDefaultUtcOffset("+03:00");
+        return settings;
+    }
+}
@@ -0,0 +1,112 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntervalSetTest {
+
+    private static final int UNIVERSE = 200;
+
+    @Test
+    void shouldSortAndCoalesceOnBuild() {
+        IntervalSet set = IntervalSet.builder()
+                .add(50, 60)
+                .add(10, 20)
+                .add(20, 30)
+                .add(55, 70)
+                .add(5, 5)
+                .build();
+
+        assertEquals(2, set.size());
+        assertEquals(10, set.start(0));
+        assertEquals(30, set.end(0));
+        assertEquals(50, set.start(1));
+        assertEquals(70, set.end(1));
+    }
+
+    @Test
+    void shouldSplitOnSubtract() {
+        IntervalSet set = IntervalSet.of(0, 100)
+                .subtract(IntervalSet.builder().add(10, 20).add(40, 50).add(90, 120).build());
+
+        assertEquals(IntervalSet.builder().add(0, 10).add(20, 40).add(50, 90).build(), set);
+    }
+
+    @Test
+    void shouldRequireContainmentInSingleInterval() {
+        IntervalSet set = IntervalSet.builder().add(0, 10).add(11, 20).build();
+
+        assertTrue(set.contains(0, 10));
+        assertTrue(set.contains(12, 20));
+        assertFalse(set.contains(5, 15));
+        assertFalse(set.contains(19, 21));
+    }
+
+    @Test
+    void shouldRoundPartialSecondsConservatively() {
+        Instant start = Instant.ofEpochSecond(100, 500);
+        Instant end = Instant.ofEpochSecond(200, 500);
+
+        IntervalSet available = IntervalSet.builder().addAvailable(start, end).build();
+        IntervalSet blocked = IntervalSet.builder().addBlocked(start, end).build();
+
+        assertEquals(IntervalSet.of(101, 200), available);
+        assertEquals(IntervalSet.of(100, 201), blocked);
+    }
+
+    @Test
+    void shouldMatchBitmapModelOnRandomInput() {
+        Random random = new Random(17);
+        for (int round = 0; round < 500; round++) {
+            boolean[] a = new boolean[UNIVERSE];
+            boolean[] b = new boolean[UNIVERSE];
+            IntervalSet setA = randomSet(random, a);
+            IntervalSet setB = randomSet(random, b);
+
+            assertModel(setA.union(setB), (x, y) -> x || y, a, b);
+            assertModel(setA.intersect(setB), (x, y) -> x && y, a, b);
+            assertModel(setA.subtract(setB), (x, y) -> x && !y, a, b);
+
+            int min = random.nextInt(UNIVERSE);
+            boolean[] clipped = new boolean[UNIVERSE];
+            for (int i = min; i < UNIVERSE; i++) {
+                clipped[i] = a[i];
+            }
+            assertModel(setA.clipStart(min), (x, y) -> x, clipped, clipped);
+        }
+    }
+
+    private static IntervalSet randomSet(Random random, boolean[] model) {
+        IntervalSet.Builder builder = IntervalSet.builder();
+        int count = random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(UNIVERSE);
+            int end = Math.min(UNIVERSE, start + random.nextInt(40));
+            builder.add(start, end);
+            for (int p = start; p < end; p++) {
+                model[p] = true;
+            }
+        }
+        return builder.build();
+    }
+
+    private static void assertModel(IntervalSet actual, BooleanOperator operator, boolean[] a, boolean[] b) {
+        IntervalSet.Builder expected = IntervalSet.builder();
+        for (int p = 0; p < UNIVERSE; p++) {
+            if (operator.apply(a[p], b[p])) {
+                expected.add(p, p + 1);
+            }
+        }
+        assertEquals(expected.build(), actual);
+    }
+
+    @FunctionalInterface
+    private interface BooleanOperator {
+        boolean apply(boolean a, boolean b);
+    }
+}
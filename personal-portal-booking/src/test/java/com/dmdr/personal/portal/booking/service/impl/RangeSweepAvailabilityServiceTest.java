@@ -0,0 +1,171 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityOverride;
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import com.dmdr.personal.portal.booking.model.Booking;
+import com.dmdr.personal.portal.booking.model.BookingSettings;
+import com.dmdr.personal.portal.booking.model.BookingStatus;
+import com.dmdr.personal.portal.booking.model.OverrideStatus;
+import com.dmdr.personal.portal.booking.model.SessionType;
+import com.dmdr.personal.portal.booking.repository.AvailabilityOverrideRepository;
+import com.dmdr.personal.portal.booking.repository.AvailabilityRuleRepository;
+import com.dmdr.personal.portal.booking.repository.BookingRepository;
+import com.dmdr.personal.portal.booking.repository.BookingSettingsRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Differential test: the range-sweep engine must report the same available days as the per-day engine
+ * for randomly generated schedules.
+ */
+class RangeSweepAvailabilityServiceTest {
+
+    private static final int TIMEZONE_ID = 16;
+    private static final ZoneId ZONE = ZoneId.of("+03:00");
+    private static final int HORIZON_DAYS = 60;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 7L, 42L, 2024L, 31337L})
+    void shouldMatchPerDayEngineOnRandomSchedules(long seed) {
+        Random random = new Random(seed);
+        Fixture fixture = new Fixture(random);
+
+        for (boolean round : new boolean[] {true, false}) {
+            fixture.settings.setRoundBookingSuggestions(round);
+            AvailabilityServiceImpl perDay = fixture.service(false);
+            AvailabilityServiceImpl sweep = fixture.service(true);
+
+            for (int[] session : new int[][] {{30, 15}, {60, 0}, {90, 30}, {240, 0}}) {
+                SessionType sessionType = new SessionType();
+                sessionType.setDurationMinutes(session[0]);
+                sessionType.setBufferMinutes(session[1]);
+
+                List<LocalDate> expected = perDay.calculateAvailableDays(sessionType, TIMEZONE_ID);
+                List<LocalDate> actual = sweep.calculateAvailableDays(sessionType, TIMEZONE_ID);
+
+                assertFalse(expected.isEmpty(), "fixture should produce some availability");
+                assertEquals(expected, actual,
+                        "seed=" + seed + ", round=" + round + ", session=" + session[0] + "+" + session[1]);
+            }
+        }
+    }
+
+    private static final class Fixture {
+        private final List<AvailabilityRule> rules = new ArrayList<>();
+        private final List<AvailabilityOverride> overrides = new ArrayList<>();
+        private final List<Booking> bookings = new ArrayList<>();
+        private final BookingSettings settings = new BookingSettings();
+
+        private Fixture(Random random) {
+            LocalDate today = LocalDate.now(ZONE);
+
+            settings.setBookingSlotsInterval(15);
+            settings.setBookingFirstSlotInterval(120);
+            settings.setDefaultTimezoneId(TIMEZONE_ID);
+
+            // Morning and afternoon rules on different weekdays, one of them ending inside the horizon
+            rules.add(rule(1L, new int[] {1, 2, 3, 4, 5}, LocalTime.of(9, 0), LocalTime.of(13, 0),
+                    today.minusDays(3), today.plusDays(HORIZON_DAYS)));
+            rules.add(rule(2L, new int[] {2, 4, 6}, LocalTime.of(14, 0), LocalTime.of(19, 30),
+                    today.minusDays(10), today.plusDays(20 + random.nextInt(20))));
+            rules.add(rule(3L, new int[] {7}, LocalTime.of(10, 0), LocalTime.of(12, 0),
+                    today.plusDays(5), today.plusDays(HORIZON_DAYS - 5)));
+
+            long id = 1;
+            for (int i = 0; i < 25; i++) {
+                LocalDate date = today.plusDays(random.nextInt(HORIZON_DAYS + 5));
+                Instant start = quarterHour(date, 6 * 4 + random.nextInt(14 * 4));
+                // Some overrides span midnight to exercise multi-day overlap
+                Instant end = start.plusSeconds(15 * 60L * (1 + random.nextInt(i % 5 == 0 ? 120 : 24)));
+                AvailabilityOverride override = new AvailabilityOverride();
+                override.setId(id++);
+                override.setAvailable(random.nextBoolean());
+                override.setOverideStartInstant(start);
+                override.setOverrideEndInstant(end);
+                override.setTimezoneId(TIMEZONE_ID);
+                override.setOverrideStatus(random.nextInt(6) == 0 ? OverrideStatus.ARCHIVED : OverrideStatus.ACTIVE);
+                overrides.add(override);
+            }
+
+            BookingStatus[] statuses = BookingStatus.values();
+            for (int i = 0; i < 120; i++) {
+                LocalDate date = today.plusDays(random.nextInt(HORIZON_DAYS));
+                Instant start = quarterHour(date, 8 * 4 + random.nextInt(12 * 4));
+                Booking booking = new Booking();
+                booking.setId((long) i + 1);
+                booking.setStartTime(start);
+                booking.setEndTime(start.plusSeconds(15 * 60L * (2 + random.nextInt(8))));
+                booking.setStatus(statuses[random.nextInt(statuses.length)]);
+                bookings.add(booking);
+            }
+        }
+
+        private AvailabilityServiceImpl service(boolean rangeSweep) {
+            AvailabilityRuleRepository ruleRepository = mock(AvailabilityRuleRepository.class);
+            BookingSettingsRepository settingsRepository = mock(BookingSettingsRepository.class);
+            AvailabilityOverrideRepository overrideRepository = mock(AvailabilityOverrideRepository.class);
+            BookingRepository bookingRepository = mock(BookingRepository.class);
+            AvailabilityCalendar calendar = mock(AvailabilityCalendar.class);
+
+            when(ruleRepository.findAllNonArchivedRules(AvailabilityRule.RuleStatus.ARCHIVED, null)).thenReturn(rules);
+            when(settingsRepository.mustFindTopByOrderByIdAsc()).thenReturn(settings);
+            when(overrideRepository.findByOverrideStatus(OverrideStatus.ACTIVE)).thenReturn(overrides.stream()
+                    .filter(o -> o.getOverrideStatus() == OverrideStatus.ACTIVE)
+                    .collect(Collectors.toList()));
+            when(bookingRepository.findBookingsByStatusAndTimeRange(anyList(), any(), any()))
+                    .thenAnswer(inv -> bookings(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+
+            AvailabilityStore store = new AvailabilityStore(ruleRepository, overrideRepository);
+            BookingSettingsStore settingsStore = new BookingSettingsStore(settingsRepository);
+            return rangeSweep
+                    ? new RangeSweepAvailabilityService(store, settingsStore, bookingRepository, calendar)
+                    : new AvailabilityServiceImpl(store, settingsStore, bookingRepository, calendar);
+        }
+
+        private List<Booking> bookings(Collection<BookingStatus> statuses, Instant dayStart, Instant dayEnd) {
+            return bookings.stream()
+                    .filter(b -> statuses.contains(b.getStatus()))
+                    .filter(b -> b.getStartTime().isBefore(dayEnd) && b.getEndTime().isAfter(dayStart))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static AvailabilityRule rule(
+            Long id,
+            int[] daysOfWeek,
+            LocalTime availableStart,
+            LocalTime availableEnd,
+            LocalDate startDate,
+            LocalDate endDate) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId(id);
+        rule.setDaysOfWeekAsInt(daysOfWeek);
+        rule.setAvailableStartTime(availableStart);
+        rule.setAvailableEndTime(availableEnd);
+        rule.setRuleStartInstant(startDate.atTime(availableStart).atZone(ZONE).toInstant());
+        rule.setRuleEndInstant(endDate.atTime(availableEnd).atZone(ZONE).toInstant());
+        rule.setTimezoneId(TIMEZONE_ID);
+        rule.setRuleStatus(AvailabilityRule.RuleStatus.ACTIVE);
+        return rule;
+    }
+
+    private static Instant quarterHour(LocalDate date, int quarterOfDay) {
+        return date.atStartOfDay(ZONE).plusMinutes(15L * quarterOfDay).toInstant();
+    }
+}
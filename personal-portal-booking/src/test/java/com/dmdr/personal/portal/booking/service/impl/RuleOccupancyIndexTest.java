@@ -0,0 +1,107 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dmdr.personal.portal.booking.model.AvailabilityRule;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class RuleOccupancyIndexTest {
+
+    private static final Instant ORIGIN = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void shouldReturnNothingForEmptyIndex() {
+        long[] mask = RuleOccupancyIndex.mask(new int[] {1}, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertTrue(RuleOccupancyIndex.of(List.of()).overlapCandidates(ORIGIN, ORIGIN.plusSeconds(1), mask).isEmpty());
+    }
+
+    @Test
+    void shouldTreatTouchingTimesAndPeriodsAsNonOverlapping() {
+        AvailabilityRule morning = rule(1L, new int[] {1, 3}, LocalTime.of(9, 0), LocalTime.of(12, 0), 0, 30);
+        RuleOccupancyIndex index = RuleOccupancyIndex.of(List.of(morning));
+
+        long[] afternoon = RuleOccupancyIndex.mask(new int[] {1, 3}, LocalTime.of(12, 0), LocalTime.of(15, 0));
+        long[] otherDay = RuleOccupancyIndex.mask(new int[] {2}, LocalTime.of(9, 0), LocalTime.of(12, 0));
+        long[] sameSlot = RuleOccupancyIndex.mask(new int[] {3}, LocalTime.of(11, 59), LocalTime.of(13, 0));
+
+        assertTrue(index.overlapCandidates(day(0), day(30), afternoon).isEmpty());
+        assertTrue(index.overlapCandidates(day(0), day(30), otherDay).isEmpty());
+        assertTrue(index.overlapCandidates(day(30), day(60), sameSlot).isEmpty());
+        assertEquals(List.of(morning), index.overlapCandidates(day(29), day(60), sameSlot));
+    }
+
+    @Test
+    void shouldFindEveryExactOverlapOnRandomRules() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<AvailabilityRule> rules = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(30); i++) {
+                rules.add(randomRule(random, (long) i));
+            }
+            RuleOccupancyIndex index = RuleOccupancyIndex.of(rules);
+
+            for (int probe = 0; probe < 20; probe++) {
+                AvailabilityRule candidate = randomRule(random, -1L);
+                long[] mask = RuleOccupancyIndex.mask(candidate.getDaysOfWeekAsInt(),
+                        candidate.getAvailableStartTime(), candidate.getAvailableEndTime());
+
+                List<AvailabilityRule> found = index.overlapCandidates(
+                        candidate.getRuleStartInstant(), candidate.getRuleEndInstant(), mask);
+                List<AvailabilityRule> expected = rules.stream()
+                        .filter(rule -> exactOverlap(candidate, rule))
+                        .collect(Collectors.toList());
+
+                // Minute bitmaps never miss an overlap; candidates are confirmed exactly by the validator
+                assertTrue(found.containsAll(expected), "round=" + round + ", probe=" + probe);
+                // Every rule here is on whole minutes, so there are no false positives either
+                assertEquals(expected.size(), found.size(), "round=" + round + ", probe=" + probe);
+            }
+        }
+    }
+
+    private static boolean exactOverlap(AvailabilityRule a, AvailabilityRule b) {
+        boolean periods = a.getRuleStartInstant().isBefore(b.getRuleEndInstant())
+                && a.getRuleEndInstant().isAfter(b.getRuleStartInstant());
+        boolean days = Arrays.stream(a.getDaysOfWeekAsInt())
+                .anyMatch(day -> Arrays.stream(b.getDaysOfWeekAsInt()).anyMatch(other -> other == day));
+        boolean times = a.getAvailableStartTime().isBefore(b.getAvailableEndTime())
+                && a.getAvailableEndTime().isAfter(b.getAvailableStartTime());
+        return periods && days && times;
+    }
+
+    private static AvailabilityRule randomRule(Random random, Long id) {
+        int[] days = random.ints(1 + random.nextInt(4), 1, 8).distinct().toArray();
+        int startMinute = random.nextInt(22 * 60);
+        int endMinute = startMinute + 1 + random.nextInt(24 * 60 - startMinute - 1);
+        int fromDay = random.nextInt(120);
+        return rule(id, days, LocalTime.of(startMinute / 60, startMinute % 60),
+                LocalTime.of(endMinute / 60, endMinute % 60), fromDay, fromDay + 1 + random.nextInt(90));
+    }
+
+    private static AvailabilityRule rule(
+            Long id, int[] days, LocalTime start, LocalTime end, int fromDay, int toDay) {
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId(id);
+        rule.setDaysOfWeekAsInt(days);
+        rule.setAvailableStartTime(start);
+        rule.setAvailableEndTime(end);
+        rule.setRuleStartInstant(day(fromDay));
+        rule.setRuleEndInstant(day(toDay));
+        rule.setRuleStatus(AvailabilityRule.RuleStatus.ACTIVE);
+        return rule;
+    }
+
+    private static Instant day(int day) {
+        return ORIGIN.plus(Duration.ofDays(day));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dmdr.personal.portal.booking.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class SlotGeneratorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("+03:00");
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 14);
+
+    @Test
+    void shouldStepByIntervalUntilSessionAndBufferNoLongerFit() {
+        SlotGenerator generator = new SlotGenerator(60, 15, 30, false, Long.MIN_VALUE);
+
+        long[] starts = emit(generator, at(9, 0), at(12, 0));
+
+        assertArrayEquals(new long[] {at(9, 0), at(9, 30), at(10, 0), at(10, 30)}, starts);
+    }
+
+    @Test
+    void shouldRoundToLocalQuarterHourAndSkipCurrentBookingStart() {
+        SlotGenerator generator = new SlotGenerator(30, 0, 15, true, at(9, 30));
+
+        long[] starts = emit(generator, at(9, 7) + 20, at(10, 30));
+
+        assertArrayEquals(new long[] {at(9, 15), at(9, 45), at(10, 0)}, starts);
+    }
+
+    @Test
+    void shouldReportNoSlotWhenRangeIsTooShort() {
+        SlotGenerator generator = new SlotGenerator(60, 0, 15, false, Long.MIN_VALUE);
+
+        assertFalse(generator.hasSlot(at(9, 0), at(9, 59), offsets(ZONE)));
+    }
+
+    @Test
+    void shouldRoundLikeLocalDateTimeAcrossDaylightSavingTransition() {
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+        LocalDate transitionDay = LocalDate.of(2030, 3, 31);
+        long dayStart = transitionDay.atStartOfDay(berlin).toEpochSecond();
+        DayOffsets offsets = DayOffsets.forDay(berlin, berlin.getRules(), dayStart, dayStart + 23 * 3600L);
+
+        for (long second = dayStart; second < dayStart + 6 * 3600L; second += 7 * 60 + 13) {
+            LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), berlin);
+            int mod = local.getMinute() % 15;
+            int addMinutes = mod == 0 && local.getSecond() == 0 ? 0 : 15 - mod;
+            long expected = local.plusMinutes(addMinutes).withSecond(0).atZone(berlin).toEpochSecond();
+
+            assertEquals(expected, offsets.roundUpToQuarterHour(second), "second=" + second);
+        }
+    }
+
+    private static long[] emit(SlotGenerator generator, long rangeStart, long rangeEnd) {
+        SlotGenerator.Buffer buffer = new SlotGenerator.Buffer();
+        generator.emit(rangeStart, rangeEnd, offsets(ZONE), buffer);
+        return Arrays.copyOf(buffer.array(), buffer.size());
+    }
+
+    private static DayOffsets offsets(ZoneId zone) {
+        long dayStart = DATE.atStartOfDay(zone).toEpochSecond();
+        return DayOffsets.forDay(zone, zone.getRules(), dayStart, dayStart + 24 * 3600L - 1);
+    }
+
+    private static long at(int hour, int minute) {
+        return DATE.atTime(hour, minute).atZone(ZONE).toEpochSecond();
+    }
+}
@@ -0,0 +1,73 @@
+package com.dmdr.personal.portal.content.service;
+
+import net.coobird.thumbnailator.Thumbnails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thumbnail generation for a 24-megapixel upload: the previous full decode through Thumbnailator against
+ * {@link ThumbnailService}. Compare {@code gc.alloc.rate.norm} (bytes per thumbnail) across the inputs; the full
+ * decode cannot read CMYK at all and returns null for it.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -pl personal-portal-content -am test -DskipTests -Djmh.args="Thumbnail -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ThumbnailBenchmark {
+
+    @Param({"baseline", "progressive", "cmyk"})
+    public String input;
+
+    private byte[] image;
+    private ThumbnailService thumbnailService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        image = switch (input) {
+            case "baseline" -> TestImages.rgbJpeg(6000, 4000, false);
+            case "progressive" -> TestImages.rgbJpeg(6000, 4000, true);
+            case "cmyk" -> TestImages.invertedCmykJpeg(6000, 4000, 0, 255, 255, 0);
+            default -> throw new IllegalArgumentException(input);
+        };
+        thumbnailService = new ThumbnailService(100_000_000, 4_000_000);
+    }
+
+    @Benchmark
+    public byte[] fullDecode() {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Thumbnails.of(new ByteArrayInputStream(image))
+                    .width(200)
+                    .keepAspectRatio(true)
+                    .outputFormat("jpg")
+                    .toOutputStream(outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public byte[] subsampled() {
+        return thumbnailService.generateThumbnail(image);
+    }
+}
@@ -9,10 +9,14 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -41,6 +45,10 @@ public class MediaEntity {
     @Column(name = "file_type", nullable = false, length = 100)
     private String fileType;
 
+    /** Hex SHA-256 of the uploaded bytes; null for media uploaded before deduplication. */
+    @Column(name = "content_hash", length = 64, unique = true)
+    private String contentHash;
+
     @Column(name = "alt_text", length = 500)
     private String altText;
 
@@ -50,6 +58,11 @@ public class MediaEntity {
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
+    /** Names of the stored {@link com.dmdr.personal.portal.content.service.ImageVariant}s, such as {@code 960.webp}. */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "variants", columnDefinition = "VARCHAR(32)[]")
+    private List<String> variants = new ArrayList<>();
+
     @ManyToMany(mappedBy = "mediaFiles", fetch = FetchType.LAZY)
     @ToString.Exclude
     private Set<Article> articles = new HashSet<>();
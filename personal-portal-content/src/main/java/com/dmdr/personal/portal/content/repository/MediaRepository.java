@@ -13,6 +13,8 @@ public interface MediaRepository extends JpaRepository<MediaEntity, UUID> {
 
     Optional<MediaEntity> findByMediaId(UUID mediaId);
 
+    Optional<MediaEntity> findByContentHash(String contentHash);
+
     Page<MediaEntity> findAllByOrderByCreatedAtDesc(Pageable pageable);
 }
 
@@ -0,0 +1,12 @@
+package com.dmdr.personal.portal.content.service;
+
+import java.util.Map;
+
+/**
+ * Everything generated from one upload besides the original.
+ *
+ * @param thumbnail the 200 px JPEG thumbnail
+ * @param variants  resized renditions; only widths smaller than the original are generated
+ */
+public record ImageRenditions(byte[] thumbnail, Map<ImageVariant, byte[]> variants) {
+}
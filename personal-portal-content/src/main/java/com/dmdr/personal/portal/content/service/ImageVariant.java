@@ -0,0 +1,38 @@
+package com.dmdr.personal.portal.content.service;
+
+/**
+ * A pre-generated, resized rendition of an uploaded image.
+ *
+ * @param width  width in pixels; the height keeps the original aspect ratio
+ * @param format ImageIO format name, such as {@code jpeg} or {@code webp}
+ */
+public record ImageVariant(int width, String format) {
+
+    private static final String KEY_PREFIX = "variant/";
+
+    /**
+     * Parses the form stored on the media row, such as {@code 960.webp}.
+     */
+    public static ImageVariant parse(String name) {
+        int dot = name.indexOf('.');
+        if (dot < 1) {
+            throw new IllegalArgumentException("Invalid image variant: " + name);
+        }
+        return new ImageVariant(Integer.parseInt(name.substring(0, dot)), name.substring(dot + 1));
+    }
+
+    public String name() {
+        return width + "." + format;
+    }
+
+    public String mimeType() {
+        return "image/" + format;
+    }
+
+    /**
+     * Object storage key of this rendition, next to the {@code thumbnail/} copy of the same object.
+     */
+    public String storageKey(String fileUrl) {
+        return KEY_PREFIX + name() + "/" + fileUrl;
+    }
+}
@@ -1,10 +1,12 @@
 package com.dmdr.personal.portal.content.service;
 
 import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,22 +18,36 @@ public interface MediaService {
      * Creates media with file uploads to S3.
      * This method ensures atomicity: if S3 upload fails, the database transaction is rolled back.
      * Generates S3 keys internally using the original filename and a UUID hash.
+     * The original is uploaded in the background while the renditions are generated on the calling thread; they
+     * are then uploaded alongside it. If anything fails, the files that did upload are deleted again.
+     * If the entity carries a content hash that an existing media already has, that media is returned and nothing
+     * is generated or uploaded.
      * 
-     * @param mediaEntity The media entity to save (without fileUrl set)
+     * @param mediaEntity The media entity to save (without fileUrl set, with the content hash if known)
      * @param originalFilename The original filename to use for key generation
      * @param originalFileBytes The original image bytes
-     * @param thumbnailBytes The thumbnail bytes (must not be null - thumbnails are required)
-     * @return The saved MediaEntity
+     * @param renditionGenerator Produces the thumbnail and responsive variants, or null if generation fails
+     *                           (thumbnails are required)
+     * @return The saved MediaEntity, listing the stored variants, or the existing one with the same content
+     * @throws PersonalPortalRuntimeException with {@code THUMBNAIL_GENERATION_FAILED} if no thumbnail is produced
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent upload of the same content
+     *         was saved first ({@link #findByContentHash} then returns that media), or on any other constraint
      * @throws RuntimeException if S3 upload fails (will trigger transaction rollback)
      */
     MediaEntity createMediaWithS3Upload(
             MediaEntity mediaEntity,
             String originalFilename,
             byte[] originalFileBytes,
-            byte[] thumbnailBytes);
+            Supplier<ImageRenditions> renditionGenerator);
 
     Optional<MediaEntity> findById(UUID mediaId);
 
+    /**
+     * Looks the content hash up in a new transaction, so it sees a row committed by a concurrent upload even when
+     * called after a failed {@link #createMediaWithS3Upload}.
+     */
+    Optional<MediaEntity> findByContentHash(String contentHash);
+
     List<MediaEntity> findByIds(Set<UUID> mediaIds);
 
     List<MediaEntity> findAll();
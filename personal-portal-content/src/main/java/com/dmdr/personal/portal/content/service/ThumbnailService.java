@@ -1,52 +1,355 @@
 package com.dmdr.personal.portal.content.service;
 
+import com.dmdr.personal.portal.content.service.webp.WebpImageWriterSpi;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.util.exif.ExifFilterUtils;
+import net.coobird.thumbnailator.util.exif.ExifUtils;
+import net.coobird.thumbnailator.util.exif.Orientation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.w3c.dom.Node;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Generates thumbnails without decoding the full-resolution image.
+ * <p>
+ * The image dimensions are read from its header first. The decoder then keeps only every n-th pixel in each
+ * direction, so the decoded raster is at most about twice the largest output width and never more than
+ * {@code maxDecodedPixels}; Thumbnailator scales that down the rest of the way. Images whose header declares more
+ * than {@code maxSourcePixels} are rejected before decoding. CMYK and YCCK JPEGs, which {@link ImageIO} cannot
+ * read as images, are decoded as a raster and converted to RGB without a color profile.
+ * <p>
+ * On upload, the same decoded image also yields the responsive {@link ImageVariant}s: every configured width below
+ * the original's, in every configured format that has an ImageIO writer on the classpath. A variant is never wider
+ * than the decoded image, which the decode cap can make narrower than the configured width. WebP is written by the
+ * pure-Java {@link com.dmdr.personal.portal.content.service.webp.WebpImageWriter}; a WebP or other non-JPEG variant
+ * is only kept when it is smaller than the JPEG variant of the same width.
+ */
 @Service
 @Slf4j
 public class ThumbnailService {
 
     private static final int MAX_THUMBNAIL_WIDTH = 200;
+    /** Decode at least this multiple of the largest output width, so the final scaling step has pixels to average. */
+    private static final int DECODE_OVERSAMPLING = 2;
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int ADOBE_TRANSFORM_YCCK = 2;
+    private static final String JPEG_FORMAT = "jpeg";
+
+    static {
+        // Also listed in META-INF/services, but ImageIO only scans the class loader it first ran under
+        IIORegistry.getDefaultInstance().registerServiceProvider(new WebpImageWriterSpi());
+    }
+
+    private final long maxSourcePixels;
+    private final long maxDecodedPixels;
+    private final List<Integer> variantWidths;
+    private final List<String> variantFormats;
+
+    @Autowired
+    public ThumbnailService(
+            @Value("${media.thumbnail.max-source-pixels:100000000}") long maxSourcePixels,
+            @Value("${media.thumbnail.max-decoded-pixels:4000000}") long maxDecodedPixels,
+            @Value("${media.variants.widths:480,960,1600}") List<Integer> variantWidths,
+            @Value("${media.variants.formats:webp,jpeg}") List<String> variantFormats) {
+        this.maxSourcePixels = maxSourcePixels;
+        this.maxDecodedPixels = maxDecodedPixels;
+        this.variantWidths = variantWidths.stream().sorted().distinct().toList();
+        this.variantFormats = variantFormats.stream().filter(ThumbnailService::hasWriter).toList();
+    }
+
+    /**
+     * Thumbnails only, without responsive variants.
+     */
+    public ThumbnailService(long maxSourcePixels, long maxDecodedPixels) {
+        this(maxSourcePixels, maxDecodedPixels, List.of(), List.of());
+    }
+
+    /**
+     * Every variant an upload can have; an upload narrower than a width has none at that width.
+     */
+    List<ImageVariant> variants() {
+        List<ImageVariant> variants = new ArrayList<>();
+        for (int width : variantWidths) {
+            for (String format : variantFormats) {
+                variants.add(new ImageVariant(width, format));
+            }
+        }
+        return variants;
+    }
 
     /**
      * Generates a thumbnail from image bytes.
-     * Creates a thumbnail with max width of 200px, preserving aspect ratio.
-     * 
+     * Creates a thumbnail with max width of 200px, preserving aspect ratio and honouring the EXIF orientation.
+     *
      * @param imageBytes The original image bytes
      * @return The thumbnail bytes, or null if generation fails
      */
     public byte[] generateThumbnail(byte[] imageBytes) {
+        ImageRenditions renditions = render(imageBytes, false);
+        return renditions != null ? renditions.thumbnail() : null;
+    }
+
+    /**
+     * Generates the thumbnail and the responsive variants from one decode of the image. Animated GIFs and images
+     * with transparency get no variants, as they would lose their animation or alpha channel.
+     *
+     * @param imageBytes The original image bytes
+     * @return The renditions, or null if the thumbnail cannot be generated
+     */
+    public ImageRenditions generateRenditions(byte[] imageBytes) {
+        return render(imageBytes, true);
+    }
+
+    private ImageRenditions render(byte[] imageBytes, boolean withVariants) {
         if (imageBytes == null || imageBytes.length == 0) {
             log.warn("Cannot generate thumbnail: image bytes are null or empty");
             return null;
         }
 
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            
-            Thumbnails.of(new ByteArrayInputStream(imageBytes))
-                    .width(MAX_THUMBNAIL_WIDTH)
-                    .keepAspectRatio(true)
-                    .outputFormat("jpg") // Always output as JPEG for consistency
-                    .toOutputStream(outputStream);
-            
-            return outputStream.toByteArray();
-        } catch (IOException e) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.warn("Cannot generate thumbnail: unsupported image format");
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                return render(reader, withVariants);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
             log.error("Failed to generate thumbnail", e);
             return null;
         }
     }
 
+    private ImageRenditions render(ImageReader reader, boolean withVariants) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxSourcePixels) {
+            log.warn("Cannot generate thumbnail: image is {}x{} pixels, above the limit of {}",
+                    width, height, maxSourcePixels);
+            return null;
+        }
+
+        Orientation orientation = exifOrientation(reader);
+        boolean transposed = isTransposed(orientation);
+        int displayedWidth = transposed ? height : width;
+        List<Integer> widths = withVariants && !"gif".equalsIgnoreCase(reader.getFormatName())
+                ? variantWidths.stream().filter(variantWidth -> variantWidth < displayedWidth).toList()
+                : List.of();
+        int largestWidth = widths.isEmpty() ? MAX_THUMBNAIL_WIDTH : widths.get(widths.size() - 1);
+        int subsampling = subsampling(width, height, displayedWidth, largestWidth);
+
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        BufferedImage decoded = reader.getImageTypes(0).hasNext()
+                ? reader.read(0, param)
+                : readCmykJpeg(reader, param);
+        if (decoded == null) {
+            log.warn("Cannot generate thumbnail: unsupported color space");
+            return null;
+        }
+
+        // Always output as JPEG for consistency
+        byte[] thumbnail = scale(decoded, orientation, transposed, MAX_THUMBNAIL_WIDTH, "jpg");
+        Map<ImageVariant, byte[]> variants = new LinkedHashMap<>();
+        if (!decoded.getColorModel().hasAlpha()) {
+            int decodedWidth = transposed ? decoded.getHeight() : decoded.getWidth();
+            for (int variantWidth : widths) {
+                variants.putAll(variantsAt(decoded, orientation, transposed, variantWidth,
+                        Math.min(variantWidth, decodedWidth)));
+            }
+        }
+        return new ImageRenditions(thumbnail, variants);
+    }
+
+    /**
+     * Every configured format at one variant width, scaled to {@code targetWidth}, without the non-JPEG ones that
+     * came out no smaller than the JPEG.
+     */
+    private Map<ImageVariant, byte[]> variantsAt(BufferedImage decoded, Orientation orientation, boolean transposed,
+            int variantWidth, int targetWidth) throws IOException {
+        Map<ImageVariant, byte[]> variants = new LinkedHashMap<>();
+        for (String format : variantFormats) {
+            variants.put(new ImageVariant(variantWidth, format),
+                    scale(decoded, orientation, transposed, targetWidth, format));
+        }
+        byte[] jpeg = variants.get(new ImageVariant(variantWidth, JPEG_FORMAT));
+        if (jpeg != null) {
+            variants.entrySet().removeIf(variant -> !variant.getKey().format().equals(JPEG_FORMAT)
+                    && variant.getValue().length >= jpeg.length);
+        }
+        return variants;
+    }
+
+    private static byte[] scale(BufferedImage image, Orientation orientation, boolean transposed, int width,
+            String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Thumbnails.Builder<BufferedImage> builder = transposed
+                ? Thumbnails.of(image).height(width)
+                : Thumbnails.of(image).width(width);
+        if (orientation != null && orientation != Orientation.TOP_LEFT) {
+            builder.addFilter(ExifFilterUtils.getFilterForOrientation(orientation));
+        }
+        builder.keepAspectRatio(true)
+                .outputFormat(format)
+                .toOutputStream(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Largest step that still decodes at least {@link #DECODE_OVERSAMPLING} times the target width, raised
+     * until the decoded raster fits in {@code maxDecodedPixels}.
+     */
+    private int subsampling(int width, int height, int displayedWidth, int targetWidth) {
+        int step = Math.max(1, displayedWidth / (targetWidth * DECODE_OVERSAMPLING));
+        while (ceilDiv(width, step) * ceilDiv(height, step) > maxDecodedPixels) {
+            step++;
+        }
+        return step;
+    }
+
+    private static long ceilDiv(int size, int step) {
+        return (size + step - 1L) / step;
+    }
+
+    /**
+     * Orientations 5 to 8 swap the axes, so the stored height becomes the displayed width.
+     */
+    private static boolean isTransposed(Orientation orientation) {
+        if (orientation == null) {
+            return false;
+        }
+        return switch (orientation) {
+            case LEFT_TOP, RIGHT_TOP, RIGHT_BOTTOM, LEFT_BOTTOM -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean hasWriter(String format) {
+        if (ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            return true;
+        }
+        log.warn("No ImageIO writer for {} is available; {} image variants are disabled", format, format);
+        return false;
+    }
+
+    private static Orientation exifOrientation(ImageReader reader) {
+        try {
+            return ExifUtils.getExifOrientation(reader, 0);
+        } catch (IOException | RuntimeException e) {
+            // A damaged EXIF block only costs the rotation
+            log.debug("Ignoring unreadable EXIF orientation: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads a four-channel JPEG as a raster and converts it to RGB. Adobe applications store CMYK inverted and
+     * mark such files with an APP14 segment, which also says whether the channels are YCCK.
+     */
+    private static BufferedImage readCmykJpeg(ImageReader reader, ImageReadParam param) throws IOException {
+        if (!reader.canReadRaster()) {
+            return null;
+        }
+        Integer adobeTransform = adobeTransform(reader.getImageMetadata(0));
+        Raster raster = reader.readRaster(0, param);
+        if (raster.getNumBands() != 4) {
+            return null;
+        }
+        boolean inverted = adobeTransform != null;
+        boolean ycck = adobeTransform != null && adobeTransform == ADOBE_TRANSFORM_YCCK;
+
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] samples = new int[width * 4];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            raster.getPixels(raster.getMinX(), raster.getMinY() + y, width, 1, samples);
+            for (int x = 0, i = 0; x < width; x++, i += 4) {
+                int c = samples[i];
+                int m = samples[i + 1];
+                int ye = samples[i + 2];
+                if (ycck) {
+                    // YCbCr to RGB gives the stored (inverted) C, M and Y
+                    int luma = c;
+                    int cb = m - 128;
+                    int cr = ye - 128;
+                    c = clamp(luma + 1.402 * cr);
+                    m = clamp(luma - 0.344136 * cb - 0.714136 * cr);
+                    ye = clamp(luma + 1.772 * cb);
+                }
+                int k = samples[i + 3];
+                if (!inverted) {
+                    c = 255 - c;
+                    m = 255 - m;
+                    ye = 255 - ye;
+                    k = 255 - k;
+                }
+                // Each channel is now the fraction of light not absorbed
+                row[x] = (c * k / 255) << 16 | (m * k / 255) << 8 | (ye * k / 255);
+            }
+            rgb.setRGB(0, y, width, 1, row, 0, width);
+        }
+        return rgb;
+    }
+
+    private static Integer adobeTransform(IIOMetadata metadata) {
+        if (metadata == null || !JPEG_METADATA_FORMAT.equals(metadata.getNativeMetadataFormatName())) {
+            return null;
+        }
+        Node adobe = find(metadata.getAsTree(JPEG_METADATA_FORMAT), "app14Adobe");
+        if (adobe == null) {
+            return null;
+        }
+        Node transform = adobe.getAttributes().getNamedItem("transform");
+        return transform != null ? Integer.valueOf(transform.getNodeValue()) : 0;
+    }
+
+    private static Node find(Node node, String name) {
+        if (name.equals(node.getNodeName())) {
+            return node;
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            Node found = find(child, name);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static int clamp(double value) {
+        return (int) Math.max(0, Math.min(255, Math.round(value)));
+    }
+
     /**
      * Checks if the given file type or filename indicates an SVG image.
      * SVG files should not have thumbnails generated.
-     * 
+     *
      * @param fileType The MIME type (e.g., "image/svg+xml")
      * @param filename The original filename (may be null)
      * @return true if the file is an SVG, false otherwise
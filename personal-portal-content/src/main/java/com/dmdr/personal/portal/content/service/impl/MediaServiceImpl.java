@@ -4,21 +4,37 @@ import com.dmdr.personal.portal.content.model.MediaEntity;
 import com.dmdr.personal.portal.content.repository.ArticleRepository;
 import com.dmdr.personal.portal.content.repository.HomePageRepository;
 import com.dmdr.personal.portal.content.repository.MediaRepository;
+import com.dmdr.personal.portal.content.service.ImageRenditions;
+import com.dmdr.personal.portal.content.service.ImageVariant;
 import com.dmdr.personal.portal.content.service.MediaService;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
 import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import com.dmdr.personal.portal.content.service.storage.config.MediaUploadAsyncConfiguration;
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -28,14 +44,21 @@ public class MediaServiceImpl implements MediaService {
     private final ArticleRepository articleRepository;
     private final ObjectStorageService objectStorageService;
     private final HomePageRepository homePageRepository;
+    private final MediaFileCache mediaFileCache;
+    private final TaskExecutor mediaUploadTaskExecutor;
 
     public MediaServiceImpl(MediaRepository mediaRepository, ArticleRepository articleRepository,
             ObjectStorageService objectStorageService,
-            HomePageRepository homePageRepository) {
+            HomePageRepository homePageRepository,
+            MediaFileCache mediaFileCache,
+            @Qualifier(MediaUploadAsyncConfiguration.MEDIA_UPLOAD_TASK_EXECUTOR_BEAN_NAME)
+            TaskExecutor mediaUploadTaskExecutor) {
         this.mediaRepository = mediaRepository;
         this.articleRepository = articleRepository;
         this.objectStorageService = objectStorageService;
         this.homePageRepository = homePageRepository;
+        this.mediaFileCache = mediaFileCache;
+        this.mediaUploadTaskExecutor = mediaUploadTaskExecutor;
     }
 
     @Override
@@ -50,7 +73,18 @@ public class MediaServiceImpl implements MediaService {
             MediaEntity mediaEntity,
             String originalFilename,
             byte[] originalFileBytes,
-            byte[] thumbnailBytes) {
+            Supplier<ImageRenditions> renditionGenerator) {
+
+        // Identical bytes were uploaded before: reuse that media and its stored files instead of encoding and
+        // uploading them again. Articles then share the row, and deletion stays blocked while any of them uses it
+        if (mediaEntity.getContentHash() != null) {
+            Optional<MediaEntity> existing = mediaRepository.findByContentHash(mediaEntity.getContentHash());
+            if (existing.isPresent()) {
+                log.info("Reusing media {} for identical upload of {}", existing.get().getMediaId(),
+                        originalFilename);
+                return existing.get();
+            }
+        }
 
         // Generate storage keys: originalFilename-UUID8chars for original,
         // thumbnail/prefix for thumbnail
@@ -61,47 +95,94 @@ public class MediaServiceImpl implements MediaService {
         // Set the fileUrl before saving
         mediaEntity.setFileUrl(storageKey);
 
-        // Step 1: Save to database first (within transaction)
-        MediaEntity savedMedia = mediaRepository.save(mediaEntity);
+        // Step 1: Save to database first (within transaction), flushing so that a concurrent upload of the same
+        // bytes fails on the content hash before anything is uploaded
+        MediaEntity savedMedia = mediaRepository.saveAndFlush(mediaEntity);
         log.debug("Media entity saved to database with ID: {}", savedMedia.getMediaId());
 
-        boolean originalUploaded = false;
-        boolean thumbnailUploaded = false;
+        // Step 2: Upload the original on the upload executor while this thread generates the renditions, then
+        // upload those alongside it
+        Map<String, CompletableFuture<Void>> uploads = new LinkedHashMap<>();
+        uploads.put(storageKey, uploadAsync(storageKey, originalFileBytes));
 
+        RuntimeException failure = null;
         try {
-            // Step 2: Upload original file to object storage
-            objectStorageService.uploadFile(storageKey, originalFileBytes);
-            originalUploaded = true;
-            log.debug("Original file uploaded to object storage with key: {}", storageKey);
-
-            // Step 3: Upload thumbnail to object storage (thumbnails are required)
-            objectStorageService.uploadFile(thumbnailStorageKey, thumbnailBytes);
-            thumbnailUploaded = true;
-            log.debug("Thumbnail uploaded to object storage with key: {}", thumbnailStorageKey);
-
-            return savedMedia;
+            ImageRenditions renditions = renditionGenerator.get();
+            if (renditions == null || renditions.thumbnail() == null) {
+                throw new PersonalPortalRuntimeException(PortalErrorCode.THUMBNAIL_GENERATION_FAILED);
+            }
+            uploads.put(thumbnailStorageKey, uploadAsync(thumbnailStorageKey, renditions.thumbnail()));
+            renditions.variants().forEach((variant, bytes) -> {
+                String variantStorageKey = variant.storageKey(storageKey);
+                uploads.put(variantStorageKey, uploadAsync(variantStorageKey, bytes));
+            });
+            savedMedia.setVariants(renditions.variants().keySet().stream().map(ImageVariant::name).toList());
         } catch (RuntimeException e) {
-            // Cleanup: Delete any uploaded files from object storage
-            try {
-                if (thumbnailUploaded) {
-                    objectStorageService.deleteFile(thumbnailStorageKey);
-                    log.debug("Cleaned up thumbnail from object storage: {}", thumbnailStorageKey);
-                }
-                if (originalUploaded) {
-                    objectStorageService.deleteFile(storageKey);
-                    log.debug("Cleaned up original file from object storage: {}", storageKey);
-                }
-            } catch (RuntimeException cleanupException) {
-                log.error("Failed to cleanup object storage files after upload failure", cleanupException);
-                // Continue to throw original exception
+            failure = e;
+        }
+
+        // Step 3: Wait for every upload either way, so cleanup never races an upload still in flight
+        List<String> uploadedKeys = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<Void>> upload : uploads.entrySet()) {
+            RuntimeException uploadFailure = awaitUpload(upload.getValue());
+            if (uploadFailure == null) {
+                uploadedKeys.add(upload.getKey());
+            } else if (failure == null) {
+                failure = uploadFailure;
+            } else {
+                failure.addSuppressed(uploadFailure);
             }
+        }
+        if (failure == null) {
+            return savedMedia;
+        }
+
+        // Cleanup: Delete whichever files did reach object storage
+        uploadedKeys.forEach(this::deleteUploadedFile);
+
+        // Throw exception to trigger transaction rollback
+        if (failure instanceof PersonalPortalRuntimeException) {
+            log.error("Thumbnail generation failed for key: {}. Transaction will rollback.", storageKey);
+            throw failure;
+        }
+        log.error("Object storage upload failed for key: {}. Transaction will rollback.", storageKey, failure);
+        throw new RuntimeException("Failed to upload file to object storage: " + failure.getMessage(), failure);
+    }
+
+    private CompletableFuture<Void> uploadAsync(String key, byte[] bytes) {
+        return CompletableFuture.runAsync(() -> {
+            objectStorageService.uploadFile(key, bytes);
+            log.debug("File uploaded to object storage with key: {}", key);
+        }, mediaUploadTaskExecutor);
+    }
+
+    private static RuntimeException awaitUpload(CompletableFuture<Void> upload) {
+        try {
+            upload.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof RuntimeException cause ? cause : e;
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
 
-            // Throw exception to trigger transaction rollback
-            log.error("Object storage upload failed for key: {}. Transaction will rollback.", storageKey, e);
-            throw new RuntimeException("Failed to upload file to object storage: " + e.getMessage(), e);
+    private void deleteUploadedFile(String key) {
+        try {
+            objectStorageService.deleteFile(key);
+            log.debug("Cleaned up file from object storage: {}", key);
+        } catch (RuntimeException cleanupException) {
+            log.error("Failed to cleanup object storage file {} after upload failure", key, cleanupException);
+            // Continue to throw original exception
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<MediaEntity> findByContentHash(String contentHash) {
+        return mediaRepository.findByContentHash(contentHash);
+    }
+
     @Override
     public Optional<MediaEntity> findById(UUID mediaId) {
         if (mediaId == null) {
@@ -224,6 +305,16 @@ public class MediaServiceImpl implements MediaService {
         objectStorageService.deleteFile(key);
         log.info("Original file deleted from object storage with key: {}", key);
 
+        // Delete responsive variants from object storage
+        for (String variantName : mediaEntity.getVariants()) {
+            String variantKey = ImageVariant.parse(variantName).storageKey(key);
+            objectStorageService.deleteFile(variantKey);
+            mediaFileCache.evict(variantKey);
+        }
+
+        mediaFileCache.evict(thumbnailKey);
+        mediaFileCache.evict(key);
+
         // Step 4: Delete from database
         mediaRepository.deleteById(mediaId);
         log.debug("Media entity deleted from database with ID: {}", mediaId);
@@ -0,0 +1,20 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * An open handle on a file in the {@link MediaFileCache}. The channel stays readable even if the entry is evicted
+ * while the response is being written; callers must close it.
+ *
+ * @param channel read-only channel over the cached object
+ * @param size    object size in bytes
+ * @param etag    strong entity tag derived from the object's content, quoted
+ */
+public record CachedMediaFile(FileChannel channel, long size, String etag) implements MediaContent {
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
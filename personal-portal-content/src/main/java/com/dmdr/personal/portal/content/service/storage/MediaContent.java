@@ -0,0 +1,13 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import java.io.IOException;
+
+/**
+ * Media opened for a response: either a file in the {@link MediaFileCache} or, for objects too large to cache,
+ * a stream straight from object storage. Callers must close it.
+ */
+public sealed interface MediaContent extends AutoCloseable permits CachedMediaFile, ObjectDownload {
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,342 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Bounded, least-recently-used copy of object storage media on local disk, so popular images are fetched from
+ * object storage once per node instead of once per request.
+ * <p>
+ * Objects are written to a temporary file and moved into place atomically, so a reader never sees a partial file.
+ * Each file is named after the SHA-256 of its key plus the start of the SHA-256 of its content, which doubles as
+ * the strong ETag and lets the index be rebuilt from the directory on restart. Concurrent misses for one key share
+ * a single download. When the total size exceeds {@code maxBytes}, least recently used files are deleted; the most
+ * recent entry is always kept.
+ * <p>
+ * Objects are streamed from object storage to disk through a fixed-size buffer. Objects larger than
+ * {@code maxObjectBytes} are not cached at all: {@link #open(String)} hands back the open download for the caller
+ * to stream through.
+ */
+@Service
+@Slf4j
+public class MediaFileCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int ETAG_BYTES = 16;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    /** Completes a shared download whose object was too large to cache. */
+    private static final Entry UNCACHEABLE = new Entry("", -1, "");
+
+    private final ObjectStorageService objectStorageService;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    /** Keyed by key hash, in access order; guarded by {@code this}. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MediaFileCache(ObjectStorageService objectStorageService,
+            @Value("${media.cache.directory:${java.io.tmpdir}/personal-portal-media-cache}") String directory,
+            @Value("${media.cache.max-bytes:536870912}") long maxBytes,
+            @Value("${media.cache.max-object-bytes:33554432}") long maxObjectBytes) {
+        this(objectStorageService, Path.of(directory), maxBytes, maxObjectBytes);
+    }
+
+    public MediaFileCache(ObjectStorageService objectStorageService, Path directory, long maxBytes,
+            long maxObjectBytes) {
+        if (maxBytes < 1 || maxObjectBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must be positive and maxObjectBytes not negative");
+        }
+        this.objectStorageService = objectStorageService;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxObjectBytes = maxObjectBytes;
+        try {
+            Files.createDirectories(directory);
+            loadExisting();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot initialize media cache in " + directory, e);
+        }
+    }
+
+    /**
+     * Opens the cached copy of the object, downloading it first on a miss.
+     *
+     * @return the open file, or the open download for an object too large to cache, or empty if object storage
+     *         has no such object
+     */
+    public Optional<MediaContent> open(String key) throws IOException {
+        String keyHash = keyHash(key);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Entry entry = lookup(keyHash);
+            if (entry == null) {
+                Loaded loaded = load(key, keyHash);
+                if (loaded == null) {
+                    return Optional.empty();
+                }
+                if (loaded.passThrough() != null) {
+                    return Optional.of(loaded.passThrough());
+                }
+                entry = loaded.entry();
+            }
+            try {
+                FileChannel channel = FileChannel.open(directory.resolve(entry.fileName()), StandardOpenOption.READ);
+                return Optional.of(new CachedMediaFile(channel, entry.size(), entry.etag()));
+            } catch (NoSuchFileException e) {
+                // Evicted between lookup and open
+                remove(keyHash, entry);
+            }
+        }
+        throw new IOException("Media cache entry for " + key + " was evicted while opening it");
+    }
+
+    /**
+     * Drops the cached copy of the object, if any.
+     */
+    public void evict(String key) {
+        String keyHash = keyHash(key);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.remove(keyHash);
+            if (entry != null) {
+                totalBytes -= entry.size();
+            }
+        }
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry lookup(String keyHash) {
+        return entries.get(keyHash);
+    }
+
+    /**
+     * Downloads the object once however many threads miss on it at the same time.
+     *
+     * @return the new entry, or the open download if the object is too large to cache, or null if it is missing
+     */
+    private Loaded load(String key, String keyHash) throws IOException {
+        CompletableFuture<Entry> shared = new CompletableFuture<>();
+        CompletableFuture<Entry> inProgress = loading.putIfAbsent(keyHash, shared);
+        if (inProgress != null) {
+            Entry entry = await(inProgress);
+            if (entry == UNCACHEABLE) {
+                return objectStorageService.openDownload(key).map(Loaded::passThrough).orElse(null);
+            }
+            return entry == null ? null : Loaded.cached(entry);
+        }
+        try {
+            // Another thread may have finished loading between our lookup and claiming the download
+            Entry entry = lookup(keyHash);
+            if (entry != null) {
+                shared.complete(entry);
+                return Loaded.cached(entry);
+            }
+            ObjectDownload download = objectStorageService.openDownload(key).orElse(null);
+            if (download == null) {
+                shared.complete(null);
+                return null;
+            }
+            if (download.contentLength() > maxObjectBytes) {
+                shared.complete(UNCACHEABLE);
+                return Loaded.passThrough(download);
+            }
+            try (download) {
+                entry = store(key, keyHash, download);
+            }
+            shared.complete(entry);
+            return Loaded.cached(entry);
+        } catch (IOException | RuntimeException e) {
+            shared.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(keyHash, shared);
+        }
+    }
+
+    private Entry store(String key, String keyHash, ObjectDownload download) throws IOException {
+        Path temp = Files.createTempFile(directory, "media-", TEMP_SUFFIX);
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (InputStream in = download.body();
+                    OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                byte[] buffer = new byte[COPY_BUFFER_BYTES];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            String etagHex = HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+            Entry entry = new Entry(keyHash + "." + etagHex, size, quote(etagHex));
+            Files.move(temp, directory.resolve(entry.fileName()), StandardCopyOption.ATOMIC_MOVE);
+            register(keyHash, entry);
+            log.debug("Cached media object {} ({} bytes)", key, size);
+            return entry;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void register(String keyHash, Entry entry) {
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(keyHash, entry);
+            totalBytes += entry.size();
+            if (previous != null) {
+                totalBytes -= previous.size();
+                if (!previous.fileName().equals(entry.fileName())) {
+                    evicted.add(previous);
+                }
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && entries.size() > 1) {
+                Entry victim = eldest.next();
+                eldest.remove();
+                totalBytes -= victim.size();
+                evicted.add(victim);
+            }
+        }
+        evicted.forEach(this::delete);
+    }
+
+    private void remove(String keyHash, Entry entry) {
+        synchronized (this) {
+            if (!entries.remove(keyHash, entry)) {
+                return;
+            }
+            totalBytes -= entry.size();
+        }
+        delete(entry);
+    }
+
+    private void delete(Entry entry) {
+        try {
+            // Open channels keep reading the unlinked file
+            Files.deleteIfExists(directory.resolve(entry.fileName()));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached media file {}: {}", entry.fileName(), e.getMessage());
+        }
+    }
+
+    private void loadExisting() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<Path> cached = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                // Left behind by a download interrupted by a shutdown
+                Files.deleteIfExists(file);
+            } else if (name.indexOf('.') > 0) {
+                cached.add(file);
+            }
+        }
+        cached.sort(Comparator.comparing(MediaFileCache::lastModified));
+        for (Path file : cached) {
+            String name = file.getFileName().toString();
+            int dot = name.indexOf('.');
+            register(name.substring(0, dot), new Entry(name, Files.size(file), quote(name.substring(dot + 1))));
+        }
+        log.info("Media cache in {} holds {} files, {} bytes", directory, size(), totalBytes());
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> download) throws IOException {
+        try {
+            return download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for media download", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static String keyHash(String key) {
+        return HexFormat.of().formatHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String quote(String etagHex) {
+        return "\"" + etagHex + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(String fileName, long size, String etag) {
+    }
+
+    private record Loaded(Entry entry, ObjectDownload passThrough) {
+
+        private static Loaded cached(Entry entry) {
+            return new Loaded(entry, null);
+        }
+
+        private static Loaded passThrough(ObjectDownload download) {
+            return new Loaded(null, download);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+
+/**
+ * An object being streamed from object storage. Reading {@code body} pulls bytes from the open HTTP connection;
+ * closing it releases the connection back to the pool.
+ *
+ * @param body          the object content
+ * @param contentLength object size in bytes, or -1 if object storage did not report it
+ * @param contentType   content type stored with the object, may be null
+ * @param etag          entity tag reported by object storage, quoted, may be null
+ */
+public record ObjectDownload(
+        ResponseInputStream<GetObjectResponse> body,
+        long contentLength,
+        String contentType,
+        String etag) implements MediaContent {
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -4,14 +4,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.util.Optional;
+
 /**
  * Object storage service that works with any S3-compatible provider.
  * Supports AWS S3, Cloudflare R2, DigitalOcean Spaces, MinIO, Backblaze B2, and
@@ -86,6 +90,40 @@ public class ObjectStorageService {
         }
     }
 
+    /**
+     * Opens a file in object storage for streaming. Unlike {@link #downloadFile(String)}, the content is not
+     * read into memory; the caller reads and closes the returned stream.
+     *
+     * @param key the object key (path/filename)
+     * @return the open download, or empty if the object does not exist or the request fails
+     */
+    public Optional<ObjectDownload> openDownload(String key) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        try {
+            ResponseInputStream<GetObjectResponse> body = s3Client.getObject(getObjectRequest);
+            GetObjectResponse response = body.response();
+            log.debug("File download opened: {} ({} bytes)", key, response.contentLength());
+            long contentLength = response.contentLength() != null ? response.contentLength() : -1;
+            return Optional.of(new ObjectDownload(body, contentLength, response.contentType(), response.eTag()));
+        } catch (NoSuchKeyException e) {
+            log.debug("Object not found in storage: {}", key);
+            return Optional.empty();
+        } catch (S3Exception e) {
+            String errorMessage = String.format("Object storage download failed [%s]: %s", e.getClass().getSimpleName(),
+                    e.getMessage());
+            log.error(errorMessage, e);
+            return Optional.empty();
+        } catch (Exception e) {
+            String errorMessage = String.format("Object storage download error [%s]: %s", e.getClass().getSimpleName(),
+                    e.getMessage());
+            log.error(errorMessage, e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Deletes a file from object storage.
      * 
@@ -0,0 +1,51 @@
+package com.dmdr.personal.portal.content.service.storage.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for object storage uploads that run alongside the request thread, so an image and its thumbnail are
+ * uploaded at the same time. When the pool and queue are full, the upload runs on the calling thread instead.
+ */
+@Configuration
+public class MediaUploadAsyncConfiguration {
+
+    public static final String MEDIA_UPLOAD_TASK_EXECUTOR_BEAN_NAME = "mediaUploadTaskExecutor";
+
+    @Bean(name = MEDIA_UPLOAD_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor mediaUploadTaskExecutor(
+            @Value("${media.upload.pool-size:4}") int poolSize,
+            @Value("${media.upload.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> {
+            // Keep the correlation id on upload log lines
+            Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+            return () -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        // The request thread is waiting on every upload it started
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,196 @@
+package com.dmdr.personal.portal.content.service.webp;
+
+import org.jcodec.codecs.vpx.VP8Encoder;
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+import org.jcodec.common.model.Rect;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes lossy WebP: one VP8 key frame, encoded by JCodec's pure-Java {@link VP8Encoder}, in a RIFF container.
+ * <p>
+ * The encoder only takes macroblock-aligned frames with even dimensions, so the image is padded by repeating its
+ * last row and column, and the frame header is patched to the real size; decoders crop to it. Colors are converted
+ * to BT.601 studio-range YUV 4:2:0, which is what VP8 decoders assume. Compression quality maps linearly onto the
+ * VP8 quantizer index, 1.0 being the finest; no metadata is written.
+ */
+public class WebpImageWriter extends ImageWriter {
+
+    /** Within about 2 dB PSNR of the JPEG writer's default 0.75 on photo-like images, at well under its size. */
+    static final float DEFAULT_QUALITY = 0.9f;
+    private static final int MAX_QUANTIZER = 127;
+    private static final int MAX_DIMENSION = 0x3fff;
+    private static final int MACROBLOCK = 16;
+    /** Width and height follow the 3-byte frame tag and the 3-byte start code of a VP8 key frame. */
+    private static final int SIZE_OFFSET = 6;
+
+    WebpImageWriter(WebpImageWriterSpi originatingProvider) {
+        super(originatingProvider);
+    }
+
+    @Override
+    public ImageWriteParam getDefaultWriteParam() {
+        return new WebpWriteParam();
+    }
+
+    @Override
+    public IIOMetadata getDefaultStreamMetadata(ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata getDefaultImageMetadata(ImageTypeSpecifier imageType, ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata convertStreamMetadata(IIOMetadata inData, ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata convertImageMetadata(IIOMetadata inData, ImageTypeSpecifier imageType,
+            ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public void write(IIOMetadata streamMetadata, IIOImage image, ImageWriteParam param) throws IOException {
+        if (!(getOutput() instanceof ImageOutputStream output)) {
+            throw new IllegalStateException("Output must be set to an ImageOutputStream");
+        }
+        if (image.hasRaster()) {
+            throw new UnsupportedOperationException("Cannot write a Raster as WebP");
+        }
+        RenderedImage rendered = image.getRenderedImage();
+        int width = rendered.getWidth();
+        int height = rendered.getHeight();
+        if (width > MAX_DIMENSION || height > MAX_DIMENSION) {
+            throw new IIOException("WebP images are at most " + MAX_DIMENSION + " pixels wide and high, not "
+                    + width + "x" + height);
+        }
+
+        float quality = param != null && param.getCompressionMode() == ImageWriteParam.MODE_EXPLICIT
+                ? param.getCompressionQuality()
+                : DEFAULT_QUALITY;
+        byte[] frame = encodeFrame(toYuv(asBufferedImage(rendered)), quantizer(quality));
+        frame[SIZE_OFFSET] = (byte) width;
+        frame[SIZE_OFFSET + 1] = (byte) (width >> 8);
+        frame[SIZE_OFFSET + 2] = (byte) height;
+        frame[SIZE_OFFSET + 3] = (byte) (height >> 8);
+
+        int padding = frame.length & 1;
+        ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN)
+                .put("RIFF".getBytes(StandardCharsets.US_ASCII))
+                .putInt(12 + frame.length + padding)
+                .put("WEBP".getBytes(StandardCharsets.US_ASCII))
+                .put("VP8 ".getBytes(StandardCharsets.US_ASCII))
+                .putInt(frame.length);
+        output.write(header.array());
+        output.write(frame);
+        if (padding != 0) {
+            output.write(0);
+        }
+        output.flush();
+    }
+
+    static int quantizer(float quality) {
+        return Math.round((1 - Math.max(0, Math.min(1, quality))) * MAX_QUANTIZER);
+    }
+
+    private static byte[] encodeFrame(Picture picture, int quantizer) {
+        VP8Encoder encoder = VP8Encoder.createVP8Encoder(quantizer);
+        ByteBuffer buffer = ByteBuffer.allocate(encoder.estimateBufferSize(picture));
+        ByteBuffer encoded = encoder.encodeFrame(picture, buffer).getData();
+        byte[] frame = new byte[encoded.remaining()];
+        encoded.get(frame);
+        return frame;
+    }
+
+    private static BufferedImage asBufferedImage(RenderedImage image) {
+        if (image instanceof BufferedImage buffered) {
+            return buffered;
+        }
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        copy.setData(image.getData());
+        return copy;
+    }
+
+    /**
+     * Studio-range BT.601 planes, stored the JCodec way as {@code value - 128}; each chroma sample averages a
+     * 2x2 block.
+     */
+    private static Picture toYuv(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int paddedWidth = align(width, MACROBLOCK);
+        int paddedHeight = align(height, MACROBLOCK);
+        Picture picture = Picture.createCropped(paddedWidth, paddedHeight, ColorSpace.YUV420J,
+                new Rect(0, 0, align(width, 2), align(height, 2)));
+        byte[] luma = picture.getPlaneData(0);
+        byte[] cb = picture.getPlaneData(1);
+        byte[] cr = picture.getPlaneData(2);
+        int chromaWidth = paddedWidth / 2;
+        int[] cbSums = new int[cb.length];
+        int[] crSums = new int[cr.length];
+
+        int[] row = new int[width];
+        for (int y = 0; y < paddedHeight; y++) {
+            if (y < height) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+            }
+            int chromaRow = (y >> 1) * chromaWidth;
+            for (int x = 0; x < paddedWidth; x++) {
+                int rgb = row[Math.min(x, width - 1)];
+                int r = rgb >> 16 & 0xff;
+                int g = rgb >> 8 & 0xff;
+                int b = rgb & 0xff;
+                // 16-bit fixed point of Y = 16 + (65.481 R + 128.553 G + 24.966 B) / 255 and the like
+                luma[y * paddedWidth + x] = (byte) (((16829 * r + 33039 * g + 6416 * b + 32768) >> 16) + 16 - 128);
+                int chroma = chromaRow + (x >> 1);
+                cbSums[chroma] += -9714 * r - 19070 * g + 28784 * b;
+                crSums[chroma] += 28784 * r - 24103 * g - 4681 * b;
+            }
+        }
+        for (int i = 0; i < cb.length; i++) {
+            // Four samples of 16-bit fixed point: shift by 18, rounding to nearest
+            cb[i] = (byte) clampSigned((cbSums[i] + (1 << 17)) >> 18);
+            cr[i] = (byte) clampSigned((crSums[i] + (1 << 17)) >> 18);
+        }
+        return picture;
+    }
+
+    private static int clampSigned(int value) {
+        return Math.max(-128, Math.min(127, value));
+    }
+
+    private static int align(int size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Lossy VP8 is the only compression, so no compression type is offered; only the quality can be set.
+     */
+    private static final class WebpWriteParam extends ImageWriteParam {
+
+        WebpWriteParam() {
+            super(Locale.getDefault());
+            canWriteCompressed = true;
+            compressionQuality = DEFAULT_QUALITY;
+        }
+    }
+}
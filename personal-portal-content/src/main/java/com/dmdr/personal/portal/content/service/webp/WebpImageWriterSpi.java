@@ -0,0 +1,53 @@
+package com.dmdr.personal.portal.content.service.webp;
+
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageOutputStream;
+import java.util.Locale;
+
+/**
+ * Registers {@link WebpImageWriter} with ImageIO under the format name {@code webp}.
+ */
+public class WebpImageWriterSpi extends ImageWriterSpi {
+
+    public WebpImageWriterSpi() {
+        super(
+                "personal-portal",
+                "1.0",
+                new String[] {"webp", "WebP", "WEBP"},
+                new String[] {"webp"},
+                new String[] {"image/webp"},
+                WebpImageWriter.class.getName(),
+                new Class<?>[] {ImageOutputStream.class},
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null);
+    }
+
+    /**
+     * Any image ImageIO can hand over as RGB; an alpha channel is dropped.
+     */
+    @Override
+    public boolean canEncodeImage(ImageTypeSpecifier type) {
+        return true;
+    }
+
+    @Override
+    public ImageWriter createWriterInstance(Object extension) {
+        return new WebpImageWriter(this);
+    }
+
+    @Override
+    public String getDescription(Locale locale) {
+        return "Lossy WebP (VP8) image writer";
+    }
+}
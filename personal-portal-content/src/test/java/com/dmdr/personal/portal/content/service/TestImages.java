@@ -0,0 +1,101 @@
+package com.dmdr.personal.portal.content.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * JPEG inputs for thumbnail tests and benchmarks, encoded in memory.
+ */
+final class TestImages {
+
+    private TestImages() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * A baseline or progressive RGB JPEG with a gradient, so it does not compress to nothing.
+     */
+    static byte[] rgbJpeg(int width, int height, boolean progressive) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        WritableRaster raster = image.getRaster();
+        int[] row = new int[width * 3];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x * 3] = x * 255 / width;
+                row[x * 3 + 1] = y * 255 / height;
+                row[x * 3 + 2] = 128;
+            }
+            raster.setPixels(0, y, width, 1, row);
+        }
+        return encode(image, progressive);
+    }
+
+    /**
+     * Smooth gradients with fine grain, which compresses about like a photograph.
+     */
+    static byte[] grainyJpeg(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random grain = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = grain.nextInt(24);
+                int r = Math.min(255, x * 200 / width + noise);
+                int g = Math.min(255, y * 200 / height + noise);
+                int b = Math.min(255, (x + y) * 100 / (width + height) + noise);
+                image.setRGB(x, y, r << 16 | g << 8 | b);
+            }
+        }
+        return encode(image, false);
+    }
+
+    /**
+     * A four-channel JPEG filled with one color, with samples stored inverted the way Adobe applications write
+     * CMYK.
+     *
+     * @param cmyk ink amounts from 0 (none) to 255 (full)
+     */
+    static byte[] invertedCmykJpeg(int width, int height, int... cmyk) {
+        WritableRaster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, width, height, 4, null);
+        int[] row = new int[width * 4];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = 255 - cmyk[i % 4];
+        }
+        for (int y = 0; y < height; y++) {
+            raster.setPixels(0, y, width, 1, row);
+        }
+        return encode(raster, false);
+    }
+
+    private static byte[] encode(Object image, boolean progressive) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (progressive) {
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            IIOImage iioImage = image instanceof Raster raster
+                    ? new IIOImage(raster, null, null)
+                    : new IIOImage((RenderedImage) image, null, null);
+            writer.write(null, iioImage, param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
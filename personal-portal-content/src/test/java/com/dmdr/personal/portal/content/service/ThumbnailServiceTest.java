@@ -0,0 +1,152 @@
+package com.dmdr.personal.portal.content.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThumbnailServiceTest {
+
+    /** A full decode of 24 megapixels needs 72 MB for the raster alone. */
+    private static final long MAX_ALLOCATED_PER_THUMBNAIL = 16L * 1024 * 1024;
+
+    private final ThumbnailService thumbnailService = new ThumbnailService(100_000_000, 4_000_000);
+
+    @BeforeAll
+    static void warmUp() {
+        // Keep one-off ImageIO and Thumbnailator class loading out of the measurements
+        new ThumbnailService(100_000_000, 4_000_000).generateThumbnail(TestImages.rgbJpeg(640, 480, false));
+    }
+
+    @Test
+    void shouldDecodeLargeJpegSubsampled() throws IOException {
+        byte[] image = TestImages.rgbJpeg(6000, 4000, false);
+
+        long before = allocatedBytes();
+        byte[] thumbnail = thumbnailService.generateThumbnail(image);
+        long allocated = allocatedBytes() - before;
+
+        assertDimensions(thumbnail, 200, 133);
+        assertTrue(allocated < MAX_ALLOCATED_PER_THUMBNAIL, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldDecodeLargeProgressiveJpegSubsampled() throws IOException {
+        byte[] image = TestImages.rgbJpeg(6000, 4000, true);
+
+        long before = allocatedBytes();
+        byte[] thumbnail = thumbnailService.generateThumbnail(image);
+        long allocated = allocatedBytes() - before;
+
+        assertDimensions(thumbnail, 200, 133);
+        assertTrue(allocated < MAX_ALLOCATED_PER_THUMBNAIL, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldConvertCmykJpegToRgb() throws IOException {
+        // Full magenta and yellow ink make red
+        byte[] image = TestImages.invertedCmykJpeg(3000, 2000, 0, 255, 255, 0);
+
+        long before = allocatedBytes();
+        byte[] thumbnail = thumbnailService.generateThumbnail(image);
+        long allocated = allocatedBytes() - before;
+
+        BufferedImage decoded = assertDimensions(thumbnail, 200, 133);
+        int rgb = decoded.getRGB(100, 66);
+        assertTrue((rgb >> 16 & 0xff) > 200 && (rgb >> 8 & 0xff) < 60 && (rgb & 0xff) < 60,
+                "expected red, got " + Integer.toHexString(rgb));
+        assertTrue(allocated < MAX_ALLOCATED_PER_THUMBNAIL, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldKeepSmallImagesAtFullResolution() throws IOException {
+        byte[] thumbnail = thumbnailService.generateThumbnail(TestImages.rgbJpeg(300, 150, false));
+
+        assertDimensions(thumbnail, 200, 100);
+    }
+
+    @Test
+    void shouldRejectImagesAboveSourcePixelLimit() {
+        ThumbnailService limited = new ThumbnailService(1_000_000, 4_000_000);
+
+        assertNull(limited.generateThumbnail(TestImages.rgbJpeg(2000, 1000, false)));
+    }
+
+    @Test
+    void shouldGenerateVariantsNarrowerThanTheOriginal() throws IOException {
+        ThumbnailService withVariants =
+                new ThumbnailService(100_000_000, 4_000_000, List.of(1600, 480, 960), List.of("jpeg"));
+
+        ImageRenditions renditions = withVariants.generateRenditions(TestImages.rgbJpeg(1200, 800, false));
+
+        assertDimensions(renditions.thumbnail(), 200, 133);
+        assertEquals(List.of(new ImageVariant(480, "jpeg"), new ImageVariant(960, "jpeg")),
+                List.copyOf(renditions.variants().keySet()));
+        assertDimensions(renditions.variants().get(new ImageVariant(480, "jpeg")), 480, 320);
+        assertDimensions(renditions.variants().get(new ImageVariant(960, "jpeg")), 960, 640);
+    }
+
+    @Test
+    void shouldGenerateDecodableWebpVariantsSmallerThanJpeg() throws IOException {
+        ThumbnailService withVariants =
+                new ThumbnailService(100_000_000, 4_000_000, List.of(480, 960), List.of("webp", "jpeg"));
+
+        ImageRenditions renditions = withVariants.generateRenditions(TestImages.grainyJpeg(1200, 800));
+
+        for (int width : List.of(480, 960)) {
+            byte[] webp = renditions.variants().get(new ImageVariant(width, "webp"));
+            byte[] jpeg = renditions.variants().get(new ImageVariant(width, "jpeg"));
+            assertNotNull(webp, "no WebP variant at " + width);
+            assertEquals("RIFF", new String(webp, 0, 4, StandardCharsets.US_ASCII));
+            assertEquals("WEBP", new String(webp, 8, 4, StandardCharsets.US_ASCII));
+            assertTrue(webp.length < jpeg.length, webp.length + " >= " + jpeg.length + " bytes at " + width);
+            BufferedImage decoded = assertDimensions(webp, width, width * 2 / 3);
+            // The gradient runs from near black at the top left to light yellow at the bottom right
+            assertTrue((decoded.getRGB(width - 10, width * 2 / 3 - 10) >> 16 & 0xff) > 170);
+            assertTrue((decoded.getRGB(10, 10) >> 16 & 0xff) < 50);
+        }
+    }
+
+    @Test
+    void shouldNotUpscaleVariantsPastTheDecodedWidth() throws IOException {
+        // Subsampling by 4 is the least that fits 4000x100 into 40,000 decoded pixels, leaving 1000 pixels
+        ThumbnailService withVariants =
+                new ThumbnailService(100_000_000, 40_000, List.of(1600), List.of("jpeg"));
+
+        ImageRenditions renditions = withVariants.generateRenditions(TestImages.rgbJpeg(4000, 100, false));
+
+        assertDimensions(renditions.variants().get(new ImageVariant(1600, "jpeg")), 1000, 25);
+    }
+
+    @Test
+    void shouldSkipFormatsWithoutAnImageIoWriter() {
+        ThumbnailService withVariants =
+                new ThumbnailService(100_000_000, 4_000_000, List.of(480), List.of("jpeg", "no-such-format"));
+
+        assertEquals(List.of(new ImageVariant(480, "jpeg")), withVariants.variants());
+    }
+
+    private static BufferedImage assertDimensions(byte[] thumbnail, int width, int height) throws IOException {
+        assertNotNull(thumbnail);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(width, decoded.getWidth());
+        // Subsampling rounds the decoded height, which can shift the scaled height by a pixel
+        assertEquals(height, decoded.getHeight(), 1);
+        return decoded;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,197 @@
+package com.dmdr.personal.portal.content.service.impl;
+
+import com.dmdr.personal.portal.content.model.MediaEntity;
+import com.dmdr.personal.portal.content.repository.ArticleRepository;
+import com.dmdr.personal.portal.content.repository.HomePageRepository;
+import com.dmdr.personal.portal.content.repository.MediaRepository;
+import com.dmdr.personal.portal.content.service.ImageRenditions;
+import com.dmdr.personal.portal.content.service.ImageVariant;
+import com.dmdr.personal.portal.content.service.storage.MediaFileCache;
+import com.dmdr.personal.portal.content.service.storage.ObjectStorageService;
+import com.dmdr.personal.portal.service.exception.PersonalPortalRuntimeException;
+import com.dmdr.personal.portal.service.exception.PortalErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaServiceImplTest {
+
+    private static final long ORIGINAL_UPLOAD_MILLIS = 600;
+    private static final long THUMBNAIL_MILLIS = 200;
+
+    private final SlowObjectStorageService storage = new SlowObjectStorageService();
+    private final ThreadPoolTaskExecutor uploadExecutor = new ThreadPoolTaskExecutor();
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final MediaServiceImpl mediaService = newMediaService();
+
+    @AfterEach
+    void tearDown() {
+        uploadExecutor.shutdown();
+    }
+
+    @Test
+    void shouldOverlapThumbnailWithOriginalUpload() {
+        long started = System.nanoTime();
+        MediaEntity saved = mediaService.createMediaWithS3Upload(
+                new MediaEntity(), "photo.jpg", new byte[3 * 1024 * 1024], slowThumbnail(new byte[16]));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Sequentially this takes 600 + 200 + 200 ms; overlapped, about the original upload alone
+        assertTrue(elapsedMillis < ORIGINAL_UPLOAD_MILLIS + THUMBNAIL_MILLIS + THUMBNAIL_MILLIS - 100,
+                "took " + elapsedMillis + " ms");
+        assertEquals(Set.of(saved.getFileUrl(), "thumbnail/" + saved.getFileUrl()), storage.objects.keySet());
+    }
+
+    @Test
+    void shouldDeleteOriginalWhenThumbnailGenerationFails() {
+        PersonalPortalRuntimeException e = assertThrows(PersonalPortalRuntimeException.class,
+                () -> mediaService.createMediaWithS3Upload(new MediaEntity(), "photo.jpg", new byte[16],
+                        slowThumbnail(null)));
+
+        assertEquals(PortalErrorCode.THUMBNAIL_GENERATION_FAILED, e.getErrorCode());
+        assertTrue(storage.objects.isEmpty(), "left behind " + storage.objects.keySet());
+    }
+
+    @Test
+    void shouldDeleteThumbnailWhenOriginalUploadFails() {
+        storage.failKeysStartingWith = "photo.jpg";
+
+        assertThrows(RuntimeException.class,
+                () -> mediaService.createMediaWithS3Upload(new MediaEntity(), "photo.jpg", new byte[16],
+                        slowThumbnail(new byte[16])));
+
+        assertTrue(storage.objects.isEmpty(), "left behind " + storage.objects.keySet());
+    }
+
+    @Test
+    void shouldDeleteOriginalWhenThumbnailUploadFails() {
+        storage.failKeysStartingWith = "thumbnail/";
+
+        assertThrows(RuntimeException.class,
+                () -> mediaService.createMediaWithS3Upload(new MediaEntity(), "photo.jpg", new byte[16],
+                        slowThumbnail(new byte[16])));
+
+        assertTrue(storage.objects.isEmpty(), "left behind " + storage.objects.keySet());
+    }
+
+    @Test
+    void shouldUploadAndRecordVariants() {
+        Map<ImageVariant, byte[]> variants = new LinkedHashMap<>();
+        variants.put(new ImageVariant(480, "jpeg"), new byte[8]);
+        variants.put(new ImageVariant(960, "jpeg"), new byte[8]);
+
+        MediaEntity saved = mediaService.createMediaWithS3Upload(
+                new MediaEntity(), "photo.jpg", new byte[16], slowRenditions(new byte[16], variants));
+
+        assertEquals(List.of("480.jpeg", "960.jpeg"), saved.getVariants());
+        assertEquals(Set.of(saved.getFileUrl(), "thumbnail/" + saved.getFileUrl(),
+                        "variant/480.jpeg/" + saved.getFileUrl(), "variant/960.jpeg/" + saved.getFileUrl()),
+                storage.objects.keySet());
+    }
+
+    @Test
+    void shouldDeleteEveryUploadedFileWhenOneVariantFails() {
+        storage.failKeysStartingWith = "variant/960";
+        Map<ImageVariant, byte[]> variants = new LinkedHashMap<>();
+        variants.put(new ImageVariant(480, "jpeg"), new byte[8]);
+        variants.put(new ImageVariant(960, "jpeg"), new byte[8]);
+
+        assertThrows(RuntimeException.class,
+                () -> mediaService.createMediaWithS3Upload(new MediaEntity(), "photo.jpg", new byte[16],
+                        slowRenditions(new byte[16], variants)));
+
+        assertTrue(storage.objects.isEmpty(), "left behind " + storage.objects.keySet());
+    }
+
+    @Test
+    void shouldReuseStoredMediaForIdenticalContent() {
+        MediaEntity stored = new MediaEntity();
+        stored.setFileUrl("photo.jpg-1234abcd");
+        stored.setContentHash("ab".repeat(32));
+        when(mediaRepository.findByContentHash("ab".repeat(32))).thenReturn(Optional.of(stored));
+        MediaEntity upload = new MediaEntity();
+        upload.setContentHash("ab".repeat(32));
+
+        MediaEntity saved = mediaService.createMediaWithS3Upload(upload, "copy.jpg", new byte[16], () -> {
+            throw new AssertionError("renditions must not be generated for known content");
+        });
+
+        assertSame(stored, saved);
+        assertTrue(storage.objects.isEmpty(), "uploaded " + storage.objects.keySet());
+        verify(mediaRepository, never()).saveAndFlush(any());
+    }
+
+    private MediaServiceImpl newMediaService() {
+        uploadExecutor.setCorePoolSize(4);
+        uploadExecutor.initialize();
+        when(mediaRepository.saveAndFlush(any())).then(returnsFirstArg());
+        return new MediaServiceImpl(mediaRepository, mock(ArticleRepository.class), storage,
+                mock(HomePageRepository.class), mock(MediaFileCache.class), uploadExecutor);
+    }
+
+    private static Supplier<ImageRenditions> slowThumbnail(byte[] thumbnail) {
+        return slowRenditions(thumbnail, Map.of());
+    }
+
+    private static Supplier<ImageRenditions> slowRenditions(byte[] thumbnail, Map<ImageVariant, byte[]> variants) {
+        return () -> {
+            sleep(THUMBNAIL_MILLIS);
+            return thumbnail != null ? new ImageRenditions(thumbnail, variants) : null;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Object storage stand-in with upload latency: originals take longer than thumbnails and variants.
+     */
+    private static final class SlowObjectStorageService extends ObjectStorageService {
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private volatile String failKeysStartingWith = "-";
+
+        private SlowObjectStorageService() {
+            super(null, "test");
+        }
+
+        @Override
+        public void uploadFile(String key, byte[] fileBytes) {
+            boolean rendition = key.startsWith("thumbnail/") || key.startsWith("variant/");
+            sleep(rendition ? THUMBNAIL_MILLIS : ORIGINAL_UPLOAD_MILLIS);
+            if (key.startsWith(failKeysStartingWith)) {
+                throw new RuntimeException("Failed to upload file to object storage");
+            }
+            objects.put(key, fileBytes);
+        }
+
+        @Override
+        public void deleteFile(String key) {
+            objects.remove(key);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * Object storage stand-in backed by a local directory; counts downloads.
+ */
+class FileSystemObjectStorageService extends ObjectStorageService {
+
+    private final Path root;
+    final AtomicInteger downloads = new AtomicInteger();
+
+    FileSystemObjectStorageService(Path root) {
+        super(null, "local");
+        this.root = root;
+    }
+
+    @Override
+    public void uploadFile(String key, byte[] fileBytes) {
+        try {
+            Path target = root.resolve(key);
+            Files.createDirectories(target.getParent());
+            Files.write(target, fileBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Optional<ObjectDownload> openDownload(String key) {
+        downloads.incrementAndGet();
+        Path source = root.resolve(key);
+        if (!Files.exists(source)) {
+            return Optional.empty();
+        }
+        try {
+            long size = Files.size(source);
+            GetObjectResponse response = GetObjectResponse.builder().contentLength(size).build();
+            ResponseInputStream<GetObjectResponse> body =
+                    new ResponseInputStream<>(response, AbortableInputStream.create(Files.newInputStream(source)));
+            return Optional.of(new ObjectDownload(body, size, null, null));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(root.resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.dmdr.personal.portal.content.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MediaFileCacheTest {
+
+    @TempDir
+    Path storageRoot;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void shouldDownloadOnceAndServeRepeatsFromDisk() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("photo.jpg-1a2b3c4d", bytes(1000, 7));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 10_000, 10_000);
+
+        String firstEtag;
+        try (CachedMediaFile file = cached(cache, "photo.jpg-1a2b3c4d")) {
+            assertEquals(1000, file.size());
+            assertArrayEquals(bytes(1000, 7), read(file));
+            firstEtag = file.etag();
+        }
+        try (CachedMediaFile file = cached(cache, "photo.jpg-1a2b3c4d")) {
+            assertEquals(firstEtag, file.etag());
+        }
+
+        assertEquals(1, storage.downloads.get());
+        assertTrue(firstEtag.startsWith("\"") && firstEtag.endsWith("\""));
+        assertTrue(cache.open("missing").isEmpty());
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertTrue(files.noneMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFilesOverBudget() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("a", bytes(400, 1));
+        storage.uploadFile("b", bytes(400, 2));
+        storage.uploadFile("c", bytes(400, 3));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+
+        cached(cache, "a").close();
+        cached(cache, "b").close();
+        cached(cache, "a").close();
+        cached(cache, "c").close();
+
+        assertEquals(2, cache.size());
+        assertEquals(800, cache.totalBytes());
+        // "b" was the least recently used
+        cached(cache, "a").close();
+        cached(cache, "b").close();
+        assertEquals(4, storage.downloads.get());
+    }
+
+    @Test
+    void shouldKeepServingAnEvictedFileThroughAnOpenChannel() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("a", bytes(600, 1));
+        storage.uploadFile("b", bytes(600, 2));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+
+        try (CachedMediaFile open = cached(cache, "a")) {
+            cached(cache, "b").close();
+            assertEquals(1, cache.size());
+            assertArrayEquals(bytes(600, 1), read(open));
+        }
+    }
+
+    @Test
+    void shouldRebuildIndexFromDirectoryOnRestart() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("a", bytes(100, 1));
+        String etag;
+        MediaFileCache first = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+        try (CachedMediaFile file = cached(first, "a")) {
+            etag = file.etag();
+        }
+        Files.write(cacheDirectory.resolve("media-123.tmp"), bytes(10, 0));
+
+        MediaFileCache restarted = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+
+        assertEquals(1, restarted.size());
+        try (CachedMediaFile file = cached(restarted, "a")) {
+            assertEquals(etag, file.etag());
+        }
+        assertEquals(1, storage.downloads.get());
+        assertTrue(Files.notExists(cacheDirectory.resolve("media-123.tmp")));
+    }
+
+    @Test
+    void shouldChangeEtagWithContentAndDropEvictedKeys() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("a", bytes(100, 1));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+        String before;
+        try (CachedMediaFile file = cached(cache, "a")) {
+            before = file.etag();
+        }
+
+        storage.uploadFile("a", bytes(100, 2));
+        cache.evict("a");
+
+        try (CachedMediaFile file = cached(cache, "a")) {
+            assertNotEquals(before, file.etag());
+        }
+        assertEquals(2, storage.downloads.get());
+    }
+
+    @Test
+    void shouldShareOneDownloadBetweenConcurrentMisses() throws Exception {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot) {
+            @Override
+            public Optional<ObjectDownload> openDownload(String key) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.openDownload(key);
+            }
+        };
+        storage.uploadFile("a", bytes(100, 1));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 1000, 1000);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(() -> {
+                    try (CachedMediaFile file = cached(cache, "a")) {
+                        return file.size();
+                    }
+                });
+            }
+            for (Future<Long> size : pool.invokeAll(reads)) {
+                assertEquals(100L, size.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, storage.downloads.get());
+    }
+
+    @Test
+    void shouldHandOverObjectsTooLargeToCacheAsOpenDownloads() throws IOException {
+        FileSystemObjectStorageService storage = new FileSystemObjectStorageService(storageRoot);
+        storage.uploadFile("large", bytes(2000, 1));
+        MediaFileCache cache = new MediaFileCache(storage, cacheDirectory, 10_000, 1000);
+
+        try (MediaContent content = cache.open("large").orElseThrow()) {
+            ObjectDownload download = assertInstanceOf(ObjectDownload.class, content);
+            assertEquals(2000, download.contentLength());
+            assertArrayEquals(bytes(2000, 1), download.body().readAllBytes());
+        }
+        assertEquals(0, cache.size());
+    }
+
+    private static CachedMediaFile cached(MediaFileCache cache, String key) throws IOException {
+        return assertInstanceOf(CachedMediaFile.class, cache.open(key).orElseThrow());
+    }
+
+    private static byte[] read(CachedMediaFile file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) file.size());
+        while (buffer.hasRemaining() && file.channel().read(buffer, buffer.position()) > 0) {
+            // Positional reads until full
+        }
+        return buffer.array();
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31 + seed);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dmdr.personal.portal.content.service.webp;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through the TwelveMonkeys WebP reader, a decoder independent of the encoder.
+ */
+class WebpImageWriterTest {
+
+    @Test
+    void shouldWriteOddSizedImagesAtTheirOwnSize() throws IOException {
+        BufferedImage image = new BufferedImage(333, 211, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(200, 30, 40));
+        graphics.fillRect(0, 0, 333, 211);
+        graphics.setColor(new Color(20, 90, 220));
+        graphics.fillRect(0, 150, 333, 61);
+        graphics.dispose();
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(write(image, null)));
+
+        assertEquals(333, decoded.getWidth());
+        assertEquals(211, decoded.getHeight());
+        assertClose(new Color(200, 30, 40), new Color(decoded.getRGB(160, 60)));
+        assertClose(new Color(20, 90, 220), new Color(decoded.getRGB(332, 210)));
+    }
+
+    @Test
+    void shouldWriteSmallerFilesAtLowerQuality() throws IOException {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                image.setRGB(x, y, (x ^ y) << 16 | x << 8 | y);
+            }
+        }
+
+        int fine = write(image, 0.95f).length;
+        int coarse = write(image, 0.5f).length;
+
+        assertTrue(coarse < fine, coarse + " >= " + fine + " bytes");
+    }
+
+    @Test
+    void quantizerShouldMapQualityOntoVp8Range() {
+        assertEquals(0, WebpImageWriter.quantizer(1f));
+        assertEquals(127, WebpImageWriter.quantizer(0f));
+        assertEquals(13, WebpImageWriter.quantizer(WebpImageWriter.DEFAULT_QUALITY));
+    }
+
+    private static byte[] write(BufferedImage image, Float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("webp").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertClose(Color expected, Color actual) {
+        assertTrue(Math.abs(expected.getRed() - actual.getRed()) <= 12
+                        && Math.abs(expected.getGreen() - actual.getGreen()) <= 12
+                        && Math.abs(expected.getBlue() - actual.getBlue()) <= 12,
+                "expected " + expected + ", got " + actual);
+    }
+}
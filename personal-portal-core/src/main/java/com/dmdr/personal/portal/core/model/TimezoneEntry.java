@@ -1,16 +1,20 @@
 package com.dmdr.personal.portal.core.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.Arrays;
+import java.time.zone.ZoneRules;
 
+/**
+ * Supported timezones, addressed by id. Each entry resolves its {@link ZoneId} and {@link ZoneRules} once, so
+ * callers in per-rule and per-day loops use {@link #zoneId()} and {@link #offsetAt(Instant)} instead of parsing
+ * the offset string again.
+ */
 @Getter
-@AllArgsConstructor
 @JsonFormat(shape = JsonFormat.Shape.OBJECT)
 public enum TimezoneEntry {
     INTERNATIONAL_DATE_LINE_WEST(1, "International Date Line West", "GMT-12:00"),
@@ -41,23 +45,64 @@ public enum TimezoneEntry {
     AUCKLAND_FIJI_WELLINGTON(26, "Auckland, Fiji, Wellington", "GMT+12:00"),
     TONGA_SAMOA(27, "Tonga, Samoa", "GMT+13:00");
 
+    private static final TimezoneEntry[] BY_ID = indexById();
+
     private final int id;
     private final String displayName;
     private final String gmtOffset;
+    @Getter(AccessLevel.NONE)
+    private final ZoneRules zoneRules;
+    // The bare offset for fixed-offset entries, equal to ZoneId.of(getGmtOffset()) as callers used to build it
+    @Getter(AccessLevel.NONE)
+    private final ZoneId zoneId;
+
+    TimezoneEntry(int id, String displayName, String gmtOffset) {
+        this.id = id;
+        this.displayName = displayName;
+        this.gmtOffset = gmtOffset;
+        ZoneId zone = ZoneId.of(gmtOffset);
+        this.zoneRules = zone.getRules();
+        this.zoneId = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH) : zone;
+    }
 
     public static TimezoneEntry getById(int id) {
-        return Arrays.stream(values())
-                .filter(entry -> entry.id == id)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown timezone id: " + id));
+        TimezoneEntry entry = id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown timezone id: " + id);
+        }
+        return entry;
     }
 
     public String getGmtOffset() {
         // Some regions may have summer/winter time -> we get offset for today
-        Instant referenceTime = Instant.now();
-        ZoneId zoneId = ZoneId.of(this.gmtOffset);
-        ZoneOffset offset = zoneId.getRules().getOffset(referenceTime);
-        return offset.toString();
+        return offsetAt(Instant.now()).toString();
+    }
+
+    public ZoneId zoneId() {
+        return zoneId;
+    }
+
+    public ZoneRules zoneRules() {
+        return zoneRules;
+    }
+
+    /**
+     * Offset in effect at the given instant, which may differ from today's when the zone observes DST.
+     */
+    public ZoneOffset offsetAt(Instant instant) {
+        return zoneRules.getOffset(instant);
+    }
+
+    private static TimezoneEntry[] indexById() {
+        int maxId = 0;
+        for (TimezoneEntry entry : values()) {
+            maxId = Math.max(maxId, entry.id);
+        }
+        TimezoneEntry[] byId = new TimezoneEntry[maxId + 1];
+        for (TimezoneEntry entry : values()) {
+            byId[entry.id] = entry;
+        }
+        return byId;
     }
 
 }
@@ -0,0 +1,75 @@
+package com.dmdr.personal.portal.core.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * What the servlet filters need to know about a request path, computed once by {@link RequestClassifier} and
+ * shared through a request attribute.
+ *
+ * @param path             request URI the classification was computed for
+ * @param area             which part of the application the path belongs to
+ * @param media            path is under {@code /api/v{n}/public/media}
+ * @param credentialsEntry path is the login or registration endpoint
+ * @param activationExempt path stays reachable for accounts that are not activated yet
+ * @param staticAsset      path ends with a static asset extension
+ * @param logging          request-log capture policy for the path
+ */
+public record RequestClassification(
+        String path,
+        Area area,
+        boolean media,
+        boolean credentialsEntry,
+        boolean activationExempt,
+        boolean staticAsset,
+        LoggingPolicy logging) {
+
+    public static final String ATTRIBUTE = RequestClassification.class.getName();
+
+    /**
+     * Returns the classification attached to the request, classifying and attaching it on first use.
+     */
+    public static RequestClassification of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        Object attached = request.getAttribute(ATTRIBUTE);
+        // A forward or error dispatch changes the URI but keeps the attributes
+        if (attached instanceof RequestClassification classification && classification.path().equals(path)) {
+            return classification;
+        }
+        RequestClassification classification = RequestClassifier.classify(path);
+        request.setAttribute(ATTRIBUTE, classification);
+        return classification;
+    }
+
+    /**
+     * Public, admin and auth API paths; the account lock and activation checks do not apply to them.
+     */
+    public boolean isAccountCheckExempt() {
+        return area == Area.PUBLIC_API || area == Area.ADMIN_API || area == Area.AUTH_API;
+    }
+
+    public enum Area {
+        /** {@code /api/v{n}/public/**} */
+        PUBLIC_API,
+        /** {@code /api/v{n}/auth/**} */
+        AUTH_API,
+        /** {@code /api/v{n}/admin/**} */
+        ADMIN_API,
+        /** {@code /api/v{n}/user/**} */
+        USER_API,
+        /** Any other {@code /api/v{n}/**} path */
+        OTHER_API,
+        /** {@code /admin/**}: the Spring Boot Admin UI */
+        ADMIN_UI,
+        /** {@code /actuator/**} */
+        ACTUATOR,
+        OTHER
+    }
+
+    public enum LoggingPolicy {
+        /** Never written to the request log */
+        NONE,
+        /** Only non-2xx responses are written */
+        ERRORS_ONLY,
+        ALL
+    }
+}
@@ -0,0 +1,152 @@
+package com.dmdr.personal.portal.core.web;
+
+import com.dmdr.personal.portal.core.web.RequestClassification.Area;
+import com.dmdr.personal.portal.core.web.RequestClassification.LoggingPolicy;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classifies request paths with a trie over path segments, built once. A {@code {version}} segment matches
+ * {@code v} followed by digits. The deepest matching route wins; exact routes only match the whole path.
+ * <p>
+ * Replaces the per-filter regular expressions and prefix lists, which were evaluated by every filter on every
+ * request.
+ */
+public final class RequestClassifier {
+
+    private static final Set<String> STATIC_EXTENSIONS = Set.of(
+            "css", "js", "mjs", "map", "png", "jpg", "jpeg", "gif", "svg", "ico", "webp", "woff", "woff2", "ttf", "eot");
+
+    private static final Node ROOT = new Node(new Route(Area.OTHER, false, false, false));
+
+    static {
+        prefix("/api/{version}", new Route(Area.OTHER_API, false, false, false));
+        prefix("/api/{version}/public", new Route(Area.PUBLIC_API, false, false, false));
+        prefix("/api/{version}/public/media", new Route(Area.PUBLIC_API, true, false, false));
+        prefix("/api/{version}/auth", new Route(Area.AUTH_API, false, false, false));
+        exact("/api/{version}/auth/login", new Route(Area.AUTH_API, false, true, false));
+        exact("/api/{version}/auth/registry", new Route(Area.AUTH_API, false, true, false));
+        prefix("/api/{version}/admin", new Route(Area.ADMIN_API, false, false, false));
+        prefix("/api/{version}/user", new Route(Area.USER_API, false, false, false));
+        prefix("/api/{version}/user/account/activation", new Route(Area.USER_API, false, false, true));
+        prefix("/api/{version}/user/profile", new Route(Area.USER_API, false, false, true));
+        prefix("/admin", new Route(Area.ADMIN_UI, false, false, false));
+        prefix("/actuator", new Route(Area.ACTUATOR, false, false, false));
+    }
+
+    private RequestClassifier() {
+    }
+
+    public static RequestClassification classify(String path) {
+        String normalized = path == null || path.isEmpty() ? "/" : path;
+        Node node = ROOT;
+        Route route = ROOT.prefixRoute;
+        int start = normalized.charAt(0) == '/' ? 1 : 0;
+        boolean consumed = false;
+        while (true) {
+            int slash = normalized.indexOf('/', start);
+            int end = slash < 0 ? normalized.length() : slash;
+            Node next = node.child(normalized, start, end);
+            if (next == null) {
+                break;
+            }
+            node = next;
+            if (node.prefixRoute != null) {
+                route = node.prefixRoute;
+            }
+            if (slash < 0) {
+                consumed = true;
+                break;
+            }
+            start = slash + 1;
+        }
+        if (consumed && node.exactRoute != null) {
+            route = node.exactRoute;
+        }
+        return route.classification(normalized, isStaticAsset(normalized));
+    }
+
+    private static boolean isStaticAsset(String path) {
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/')) {
+            return false;
+        }
+        return STATIC_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static void prefix(String pattern, Route route) {
+        insert(pattern).prefixRoute = route;
+    }
+
+    private static void exact(String pattern, Route route) {
+        insert(pattern).exactRoute = route;
+    }
+
+    private static Node insert(String pattern) {
+        Node node = ROOT;
+        for (String segment : pattern.substring(1).split("/")) {
+            if ("{version}".equals(segment)) {
+                if (node.versionChild == null) {
+                    node.versionChild = new Node(null);
+                }
+                node = node.versionChild;
+            } else {
+                node = node.children.computeIfAbsent(segment, ignored -> new Node(null));
+            }
+        }
+        return node;
+    }
+
+    private static boolean isVersion(String path, int start, int end) {
+        if (end - start < 2 || path.charAt(start) != 'v') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node versionChild;
+        private Route prefixRoute;
+        private Route exactRoute;
+
+        private Node(Route prefixRoute) {
+            this.prefixRoute = prefixRoute;
+        }
+
+        private Node child(String path, int start, int end) {
+            for (Map.Entry<String, Node> entry : children.entrySet()) {
+                String segment = entry.getKey();
+                if (segment.length() == end - start && path.regionMatches(start, segment, 0, segment.length())) {
+                    return entry.getValue();
+                }
+            }
+            return versionChild != null && isVersion(path, start, end) ? versionChild : null;
+        }
+    }
+
+    private record Route(Area area, boolean media, boolean credentialsEntry, boolean activationExempt) {
+
+        private RequestClassification classification(String path, boolean staticAsset) {
+            return new RequestClassification(path, area, media, credentialsEntry, activationExempt, staticAsset,
+                    loggingPolicy());
+        }
+
+        private LoggingPolicy loggingPolicy() {
+            return switch (area) {
+                case ACTUATOR -> LoggingPolicy.NONE;
+                case ADMIN_UI -> LoggingPolicy.ERRORS_ONLY;
+                default -> LoggingPolicy.ALL;
+            };
+        }
+    }
+}
@@ -14,6 +14,10 @@ public enum PortalErrorCode {
     INVALID_SLUG_FORMAT("PEC-420", 400, "Slug must contain only lowercase letters, numbers, and hyphens."),
     BOOKING_PENDING_LIMIT_EXCEEDED("PEC-421", 409, "Maximum number of pending bookings reached."),
     ACCOUNT_LOCKED("PEC-422", 403, "Account is locked."),
+    TOO_MANY_ATTEMPTS("PEC-423", 429, "Too many failed attempts. Try again later."),
+    AUTHENTICATION_BUSY("PEC-424", 503, "Authentication is temporarily busy. Try again shortly."),
+    THUMBNAIL_GENERATION_FAILED("PEC-425", 500, "Failed to generate thumbnail."),
+    BOOKING_CHANGED_CONCURRENTLY("PEC-426", 409, "Booking was changed by another request. Reload it and try again."),
 
     UNEXPECTED_SERVER_ERROR("PEC-500", 500, "Unexpected server error.");
     private final String code;
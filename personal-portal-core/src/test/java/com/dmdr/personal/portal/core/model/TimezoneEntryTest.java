@@ -0,0 +1,34 @@
+package com.dmdr.personal.portal.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class TimezoneEntryTest {
+
+    @Test
+    void shouldFindEveryEntryById() {
+        for (TimezoneEntry entry : TimezoneEntry.values()) {
+            assertSame(entry, TimezoneEntry.getById(entry.getId()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> TimezoneEntry.getById(0));
+        assertThrows(IllegalArgumentException.class, () -> TimezoneEntry.getById(-1));
+        assertThrows(IllegalArgumentException.class, () -> TimezoneEntry.getById(1_000));
+    }
+
+    @Test
+    void shouldResolveTheSameZoneCallersUsedToBuild() {
+        Instant summer = Instant.parse("2030-07-01T12:00:00Z");
+        for (TimezoneEntry entry : TimezoneEntry.values()) {
+            assertEquals(ZoneId.of(entry.getGmtOffset()), entry.zoneId());
+            assertEquals(ZoneId.of(entry.getGmtOffset()).getRules().getOffset(summer), entry.offsetAt(summer));
+        }
+        assertEquals(ZoneOffset.of("+05:30"), TimezoneEntry.MUMBAI_KOLKATA_NEW_DELHI.zoneId());
+        assertEquals("+03:00", TimezoneEntry.getById(16).getGmtOffset());
+    }
+}
@@ -0,0 +1,74 @@
+package com.dmdr.personal.portal.core.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dmdr.personal.portal.core.web.RequestClassification.Area;
+import com.dmdr.personal.portal.core.web.RequestClassification.LoggingPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RequestClassifierTest {
+
+    @Test
+    void shouldClassifyApiAreasOnSegmentBoundaries() {
+        assertEquals(Area.PUBLIC_API, RequestClassifier.classify("/api/v1/public").area());
+        assertEquals(Area.PUBLIC_API, RequestClassifier.classify("/api/v12/public/pages/about-me").area());
+        assertEquals(Area.OTHER_API, RequestClassifier.classify("/api/v1/publicity").area());
+        assertEquals(Area.OTHER, RequestClassifier.classify("/api/version/public").area());
+        assertEquals(Area.OTHER, RequestClassifier.classify("/api/v/public").area());
+        assertEquals(Area.AUTH_API, RequestClassifier.classify("/api/v1/auth/refresh").area());
+        assertEquals(Area.ADMIN_API, RequestClassifier.classify("/api/v1/admin/users").area());
+        assertEquals(Area.USER_API, RequestClassifier.classify("/api/v1/user").area());
+        assertEquals(Area.OTHER_API, RequestClassifier.classify("/api/v1/health").area());
+        assertEquals(Area.OTHER, RequestClassifier.classify("/").area());
+        assertEquals(Area.OTHER, RequestClassifier.classify("").area());
+
+        assertTrue(RequestClassifier.classify("/api/v1/public/agreements").isAccountCheckExempt());
+        assertFalse(RequestClassifier.classify("/api/v1/user/session/booking").isAccountCheckExempt());
+    }
+
+    @Test
+    void shouldFlagSpecialEndpoints() {
+        assertTrue(RequestClassifier.classify("/api/v1/public/media/image/42/thumbnail").media());
+        assertFalse(RequestClassifier.classify("/api/v1/admin/media").media());
+
+        assertTrue(RequestClassifier.classify("/api/v1/auth/login").credentialsEntry());
+        assertTrue(RequestClassifier.classify("/api/v1/auth/registry").credentialsEntry());
+        assertFalse(RequestClassifier.classify("/api/v1/auth/login/extra").credentialsEntry());
+        assertFalse(RequestClassifier.classify("/api/v1/auth/logout").credentialsEntry());
+
+        assertTrue(RequestClassifier.classify("/api/v1/user/account/activation").activationExempt());
+        assertTrue(RequestClassifier.classify("/api/v1/user/account/activation/verify").activationExempt());
+        assertTrue(RequestClassifier.classify("/api/v1/user/profile").activationExempt());
+        assertFalse(RequestClassifier.classify("/api/v1/user/account").activationExempt());
+        assertFalse(RequestClassifier.classify("/api/v1/user/setting").activationExempt());
+    }
+
+    @Test
+    void shouldDeriveLoggingPolicyAndStaticAssets() {
+        assertEquals(LoggingPolicy.NONE, RequestClassifier.classify("/actuator/health").logging());
+        assertEquals(LoggingPolicy.ERRORS_ONLY, RequestClassifier.classify("/admin/sba/instances").logging());
+        assertEquals(LoggingPolicy.ALL, RequestClassifier.classify("/api/v1/admin/users").logging());
+
+        assertTrue(RequestClassifier.classify("/admin/assets/main.CSS").staticAsset());
+        assertFalse(RequestClassifier.classify("/assets.css/index").staticAsset());
+        assertFalse(RequestClassifier.classify("/api/v1/bookings").staticAsset());
+    }
+
+    @Test
+    void shouldAttachClassificationToRequestOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/setting");
+
+        RequestClassification first = RequestClassification.of(request);
+
+        assertSame(first, RequestClassification.of(request));
+        assertSame(first, request.getAttribute(RequestClassification.ATTRIBUTE));
+
+        // A forward to another path is classified again
+        request.setRequestURI("/error");
+        assertEquals(Area.OTHER, RequestClassification.of(request).area());
+    }
+}
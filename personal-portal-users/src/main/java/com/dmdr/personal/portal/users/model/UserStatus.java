@@ -0,0 +1,20 @@
+package com.dmdr.personal.portal.users.model;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The account flags the request filters check, read without loading the {@link User} entity.
+ *
+ * @param userId  user id
+ * @param locked  {@link User#isLocked()}
+ * @param active  {@link User#isActive()}, i.e. the account has been activated
+ * @param roleIds ids of the user's roles
+ * @param version {@code users.updated_at} of the row this was read from, in epoch milliseconds
+ */
+public record UserStatus(UUID userId, boolean locked, boolean active, Set<Long> roleIds, long version) {
+
+    public UserStatus {
+        roleIds = Set.copyOf(roleIds);
+    }
+}
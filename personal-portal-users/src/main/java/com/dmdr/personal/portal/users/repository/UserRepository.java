@@ -17,6 +17,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findUserById(UUID id);
 
+    /**
+     * Lock and activation flags of a user without loading the entity and its collections. Returns one row per
+     * role (a single row with a null role id for a user without roles), or no rows if the user does not exist.
+     * Columns: id, isLocked, isActive, updatedAt, role id.
+     */
+    @Query("select u.id, u.isLocked, u.isActive, u.updatedAt, r.id from User u left join u.roles r where u.id = :id")
+    List<Object[]> findStatusRowsById(@Param("id") UUID id);
+
     // Find all users that have a role with the given name (e.g., "ROLE_USER")
     List<User> findByRoles_Name(String name);
 }
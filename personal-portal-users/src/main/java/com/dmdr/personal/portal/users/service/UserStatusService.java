@@ -0,0 +1,27 @@
+package com.dmdr.personal.portal.users.service;
+
+import com.dmdr.personal.portal.users.model.UserStatus;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cached lookup of {@link UserStatus} for the per-request account checks.
+ */
+public interface UserStatusService {
+
+    /**
+     * @param userId user id
+     * @return the user's status, or empty if no such user exists
+     */
+    Optional<UserStatus> findStatus(UUID userId);
+
+    /**
+     * Drops the cached status of a user. Must be called by every write that changes the lock flag, the
+     * activation flag or the roles of a user, or deletes the user. Inside a transaction the entry is dropped
+     * again once the transaction completes, so a read racing the write cannot re-cache the old status.
+     *
+     * @param userId user id
+     */
+    void evict(UUID userId);
+}
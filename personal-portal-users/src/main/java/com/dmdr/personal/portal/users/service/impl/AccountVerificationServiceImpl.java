@@ -9,6 +9,7 @@ import com.dmdr.personal.portal.users.repository.AccountVerificationCodeReposito
 import com.dmdr.personal.portal.users.repository.UserRepository;
 import com.dmdr.personal.portal.users.service.AccountVerificationService;
 import com.dmdr.personal.portal.users.service.UserSettingsService;
+import com.dmdr.personal.portal.users.service.UserStatusService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,6 +33,7 @@ public class AccountVerificationServiceImpl implements AccountVerificationServic
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final UserSettingsService userSettingsService;
+    private final UserStatusService userStatusService;
     private final int codeExpiryMinutes;
     private final int maxAttempts;
     private final int maxResendsPerDay;
@@ -41,6 +43,7 @@ public class AccountVerificationServiceImpl implements AccountVerificationServic
                                           PasswordEncoder passwordEncoder,
                                           EmailService emailService,
                                           UserSettingsService userSettingsService,
+                                          UserStatusService userStatusService,
                                           @Value("${account.verification.code.expiry-minutes}") int codeExpiryMinutes,
                                           @Value("${account.verification.code.max-attempts}") int maxAttempts,
                                           @Value("${account.verification.resend.max-per-day}") int maxResendsPerDay) {
@@ -49,6 +52,7 @@ public class AccountVerificationServiceImpl implements AccountVerificationServic
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.userSettingsService = userSettingsService;
+        this.userStatusService = userStatusService;
         this.codeExpiryMinutes = codeExpiryMinutes;
         this.maxAttempts = maxAttempts;
         this.maxResendsPerDay = maxResendsPerDay;
@@ -133,6 +137,7 @@ public class AccountVerificationServiceImpl implements AccountVerificationServic
 
         user.setActive(true);
         userRepository.save(user);
+        userStatusService.evict(user.getId());
         verificationCodeRepository.delete(verificationCode);
         log.info("User account activated: {}", user.getId());
 
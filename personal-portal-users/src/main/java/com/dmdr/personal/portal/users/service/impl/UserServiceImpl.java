@@ -15,6 +15,7 @@ import com.dmdr.personal.portal.users.model.SignedAgreement;
 import com.dmdr.personal.portal.users.service.UserSettingsService;
 import com.dmdr.personal.portal.users.service.PasswordPolicyService;
 import com.dmdr.personal.portal.users.service.RefreshTokenService;
+import com.dmdr.personal.portal.users.service.UserStatusService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -43,13 +44,15 @@ public class UserServiceImpl implements UserService {
     private final AgreementVerifier agreementVerifier;
     private final PasswordPolicyService passwordPolicyService;
     private final RefreshTokenService refreshTokenService;
+    private final UserStatusService userStatusService;
 
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
             RoleService roleService,
             UserSettingsService userSettingsService,
             AgreementVerifier agreementVerifier,
             PasswordPolicyService passwordPolicyService,
-            RefreshTokenService refreshTokenService) {
+            RefreshTokenService refreshTokenService,
+            UserStatusService userStatusService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleService = roleService;
@@ -57,6 +60,7 @@ public class UserServiceImpl implements UserService {
         this.agreementVerifier = agreementVerifier;
         this.passwordPolicyService = passwordPolicyService;
         this.refreshTokenService = refreshTokenService;
+        this.userStatusService = userStatusService;
     }
 
     @Override
@@ -194,6 +198,7 @@ public class UserServiceImpl implements UserService {
             }
         }
 
+        userStatusService.evict(user.getId());
         return userRepository.save(user);
     }
 
@@ -208,6 +213,7 @@ public class UserServiceImpl implements UserService {
         validateClientUser(user);
         refreshTokenService.revokeAllSessions(user.getId());
         userRepository.delete(user);
+        userStatusService.evict(user.getId());
     }
 
     @Override
@@ -110,7 +110,7 @@ public class UserSettingsServiceImpl implements UserSettingsService {
 
 		try {
 			TimezoneEntry timezoneEntry = TimezoneEntry.getById(settings.getTimezoneId());
-			return ZoneId.of(timezoneEntry.getGmtOffset());
+			return timezoneEntry.zoneId();
 		} catch (IllegalArgumentException e) {
 			return DEFAULT_ZONE_ID;
 		}
@@ -0,0 +1,129 @@
+package com.dmdr.personal.portal.users.service.impl;
+
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.repository.UserRepository;
+import com.dmdr.personal.portal.users.service.UserStatusService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the status of recently seen users so the account filters do not load the full {@code User} entity on
+ * every authenticated request.
+ * <p>
+ * Entries are replaced after {@code users.status-cache.ttl-seconds} so changes made on other application nodes
+ * are picked up, and at most {@code users.status-cache.max-entries} users are kept. When full, expired entries
+ * are swept and users that still do not fit are looked up without being cached. Unknown users are never cached.
+ */
+@Service
+public class UserStatusServiceImpl implements UserStatusService {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that overlapped an eviction is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public UserStatusServiceImpl(UserRepository userRepository,
+                                 @Value("${users.status-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${users.status-cache.ttl-seconds:30}") long ttlSeconds) {
+        this(userRepository, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    UserStatusServiceImpl(UserRepository userRepository, int maxEntries, Duration ttl, Clock clock) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<UserStatus> findStatus(UUID userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        Entry cached = entries.get(userId);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return Optional.of(cached.status());
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        Optional<UserStatus> loaded = load(userId);
+        if (loaded.isEmpty()) {
+            entries.remove(userId);
+            return loaded;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(userId)) {
+            entries.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+        }
+        if (evictions.get() == evictionsBeforeLoad && (entries.size() < maxEntries || entries.containsKey(userId))) {
+            entries.put(userId, new Entry(loaded.get(), now.plus(ttl)));
+        }
+        return loaded;
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    private void remove(UUID userId) {
+        evictions.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    private Optional<UserStatus> load(UUID userId) {
+        List<Object[]> rows = userRepository.findStatusRowsById(userId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] first = rows.get(0);
+        Set<Long> roleIds = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[4] != null) {
+                roleIds.add((Long) row[4]);
+            }
+        }
+        OffsetDateTime updatedAt = (OffsetDateTime) first[3];
+        return Optional.of(new UserStatus(
+                (UUID) first[0],
+                (Boolean) first[1],
+                (Boolean) first[2],
+                roleIds,
+                updatedAt == null ? 0L : updatedAt.toInstant().toEpochMilli()));
+    }
+
+    private record Entry(UserStatus status, Instant expiresAt) {
+    }
+}
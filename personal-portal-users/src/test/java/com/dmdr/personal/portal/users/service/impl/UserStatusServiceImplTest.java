@@ -0,0 +1,79 @@
+package com.dmdr.personal.portal.users.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dmdr.personal.portal.users.model.UserStatus;
+import com.dmdr.personal.portal.users.repository.UserRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UserStatusServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserStatusServiceImpl service =
+            new UserStatusServiceImpl(userRepository, 100, Duration.ofSeconds(30), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldLoadStatusOnceAndServeItFromCache() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusRowsById(userId)).thenReturn(rows(userId, false, true, 1L, 2L));
+
+        UserStatus first = service.findStatus(userId).orElseThrow();
+        UserStatus second = service.findStatus(userId).orElseThrow();
+
+        assertEquals(first, second);
+        assertFalse(first.locked());
+        assertTrue(first.active());
+        assertEquals(Set.of(1L, 2L), first.roleIds());
+        assertEquals(NOW.toEpochMilli(), first.version());
+        verify(userRepository, times(1)).findStatusRowsById(userId);
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusRowsById(userId)).thenReturn(rows(userId, false, true, 1L));
+        service.findStatus(userId);
+
+        when(userRepository.findStatusRowsById(userId)).thenReturn(rows(userId, true, true, 1L));
+        service.evict(userId);
+
+        assertTrue(service.findStatus(userId).orElseThrow().locked());
+        verify(userRepository, times(2)).findStatusRowsById(userId);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusRowsById(userId)).thenReturn(List.of());
+
+        assertTrue(service.findStatus(userId).isEmpty());
+        assertTrue(service.findStatus(userId).isEmpty());
+        verify(userRepository, times(2)).findStatusRowsById(userId);
+    }
+
+    private static List<Object[]> rows(UUID userId, boolean locked, boolean active, Long... roleIds) {
+        OffsetDateTime updatedAt = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>();
+        for (Long roleId : roleIds) {
+            rows.add(new Object[] {userId, locked, active, updatedAt, roleId});
+        }
+        return rows;
+    }
+}